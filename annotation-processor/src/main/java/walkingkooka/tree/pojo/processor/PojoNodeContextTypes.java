@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests a {@link walkingkooka.tree.pojo.PojoNodeContext} be generated for the listed pojo types. The generated class
+ * is placed in the same package as the annotated type, named after it with a <code>PojoNodeContext</code> suffix, and
+ * returns pre-sorted properties that call getters and setters directly without any reflection.
+ * <pre>
+ * &#64;PojoNodeContextTypes({Order.class, Line.class})
+ * final class Orders {
+ * }
+ *
+ * PojoNode.wrap(name, order, OrdersPojoNodeContext.instance());
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface PojoNodeContextTypes {
+
+    /**
+     * The pojo types, each must be accessible from the package of the annotated type.
+     */
+    Class<?>[] value();
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An {@link javax.annotation.processing.Processor} that generates a {@link walkingkooka.tree.pojo.PojoNodeContext}
+ * for each type annotated with {@link PojoNodeContextTypes}. Properties are discovered using the same rules as the
+ * reflection based context: public instance methods without parameters that return a value, with an optional get or
+ * is prefix, and an optional setter taking the same type. Getters and setters inherited from a generic super type use the
+ * type arguments of the pojo type. Sub classes of a listed type that are not listed themselves use the properties of
+ * their nearest listed super class, and property names are interned so they are the same instances as those
+ * discovered by reflection.
+ * <br>
+ * Lists, sets and maps are created without reflection, by matching the requested type against the concrete collection
+ * types returned by properties along with the common <code>java.util</code> collections, falling back to an ordered
+ * collection for interfaces.
+ */
+@SupportedAnnotationTypes(PojoNodeContextTypesProcessor.ANNOTATION)
+public final class PojoNodeContextTypesProcessor extends AbstractProcessor {
+
+    final static String ANNOTATION = "walkingkooka.tree.pojo.processor.PojoNodeContextTypes";
+
+    private final static String SUFFIX = "PojoNodeContext";
+
+    /**
+     * Only available when compiling against Java 9 or later.
+     */
+    private final static String GENERATED = "javax.annotation.processing.Generated";
+
+    private final static String LIST = "java.util.List";
+
+    private final static String SET = "java.util.Set";
+
+    private final static String MAP = "java.util.Map";
+
+    public PojoNodeContextTypesProcessor() {
+        super();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+                           final RoundEnvironment environment) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : environment.getElementsAnnotatedWith(annotation)) {
+                this.process((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void process(final TypeElement annotated) {
+        final String packageName = this.processingEnv.getElementUtils()
+            .getPackageOf(annotated)
+            .getQualifiedName()
+            .toString();
+        final String className = annotated.getSimpleName() + SUFFIX;
+
+        try {
+            final List<TypeElement> types = this.types(annotated);
+            final String source = this.generate(
+                packageName,
+                className,
+                annotated,
+                types
+            );
+
+            final JavaFileObject file = this.processingEnv.getFiler()
+                .createSourceFile(
+                    packageName.isEmpty() ?
+                        className :
+                        packageName + "." + className,
+                    annotated
+                );
+            try (final Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (final PojoNodeContextTypesProcessorException cause) {
+            this.error(cause.getMessage(), cause.element);
+        } catch (final IOException cause) {
+            this.error("Failed to write " + className + ", " + cause.getMessage(), annotated);
+        }
+    }
+
+    /**
+     * Reads the types in {@link PojoNodeContextTypes#value()} as {@link TypeElement}, without loading any {@link Class}.
+     */
+    private List<TypeElement> types(final TypeElement annotated) {
+        final List<TypeElement> types = new ArrayList<>();
+
+        for (final AnnotationMirror mirror : annotated.getAnnotationMirrors()) {
+            if (!ANNOTATION.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                continue;
+            }
+
+            for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> nameAndValue : mirror.getElementValues().entrySet()) {
+                final Object value = nameAndValue.getValue().getValue();
+                if (value instanceof List) {
+                    for (final Object type : (List<?>) value) {
+                        this.addType((AnnotationValue) type, types, annotated);
+                    }
+                }
+            }
+        }
+
+        return types;
+    }
+
+    private void addType(final AnnotationValue value,
+                         final List<TypeElement> types,
+                         final TypeElement annotated) {
+        final Object typeOrError = value.getValue();
+        if (!(typeOrError instanceof TypeMirror)) {
+            return; // unresolved class literal, already reported by javac
+        }
+
+        final TypeMirror type = (TypeMirror) typeOrError;
+        if (type.getKind() != TypeKind.DECLARED) {
+            throw new PojoNodeContextTypesProcessorException("Expected class or interface got " + type, annotated);
+        }
+
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (!this.isAccessible(element, annotated)) {
+            throw new PojoNodeContextTypesProcessorException("Type " + element.getQualifiedName() + " is not accessible from " + annotated.getQualifiedName(), annotated);
+        }
+        types.add(element);
+    }
+
+    private boolean isAccessible(final TypeElement type,
+                                 final TypeElement annotated) {
+        final Set<Modifier> modifiers = type.getModifiers();
+
+        return !modifiers.contains(Modifier.PRIVATE) &&
+            (modifiers.contains(Modifier.PUBLIC) || this.packageOf(type).equals(this.packageOf(annotated))) &&
+            (!(type.getEnclosingElement() instanceof TypeElement) || this.isAccessible((TypeElement) type.getEnclosingElement(), annotated));
+    }
+
+    private PackageElement packageOf(final Element element) {
+        return this.processingEnv.getElementUtils()
+            .getPackageOf(element);
+    }
+
+    // generate.........................................................................................................
+
+    private String generate(final String packageName,
+                            final String className,
+                            final TypeElement annotated,
+                            final List<TypeElement> types) {
+        final StringBuilder b = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            b.append("package ").append(packageName).append(";\n\n");
+        }
+
+        b.append("/**\n")
+            .append(" * Generated from {@link ").append(annotated.getQualifiedName()).append("}, do not edit.\n")
+            .append(" */\n");
+        if (null != this.processingEnv.getElementUtils().getTypeElement(GENERATED)) {
+            b.append("@").append(GENERATED).append("(\"").append(PojoNodeContextTypesProcessor.class.getName()).append("\")\n");
+        }
+        b.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public final class ").append(className).append(" implements walkingkooka.tree.pojo.PojoNodeContext {\n\n");
+
+        b.append("    public static walkingkooka.tree.pojo.PojoNodeContext instance() {\n")
+            .append("        return INSTANCE;\n")
+            .append("    }\n\n")
+            .append("    private final static ").append(className).append(" INSTANCE = new ").append(className).append("();\n\n")
+            .append("    private ").append(className).append("() {\n")
+            .append("        super();\n")
+            .append("    }\n\n");
+
+        // properties
+        b.append("    @Override\n")
+            .append("    public java.util.List<walkingkooka.tree.pojo.PojoProperty> properties(final Class<?> type) {\n")
+            .append("        java.util.Objects.requireNonNull(type, \"type\");\n\n")
+            .append("        for (Class<?> t = type; null != t; t = t.getSuperclass()) {\n");
+        int i = 0;
+        for (final TypeElement type : types) {
+            b.append("            if (").append(type.getQualifiedName()).append(".class == t) {\n")
+                .append("                return TYPE").append(i).append(";\n")
+                .append("            }\n");
+            i++;
+        }
+        b.append("        }\n")
+            .append("        throw new IllegalArgumentException(\"Unknown type \" + type.getName());\n")
+            .append("    }\n\n");
+
+        final Set<String> lists = new TreeSet<>(Arrays.asList("java.util.ArrayList", "java.util.LinkedList"));
+        final Set<String> sets = new TreeSet<>(Arrays.asList("java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet"));
+        final Set<String> maps = new TreeSet<>(Arrays.asList("java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap"));
+
+        i = 0;
+        for (final TypeElement type : types) {
+            final Map<String, Property> properties = this.properties(type);
+            this.generateProperties(type, properties, i, b);
+
+            for (final Property property : properties.values()) {
+                this.addCollectionType(property.type, LIST, lists, annotated);
+                this.addCollectionType(property.type, SET, sets, annotated);
+                this.addCollectionType(property.type, MAP, maps, annotated);
+            }
+            i++;
+        }
+
+        b.append("    private static Object readOnly(final walkingkooka.tree.pojo.PojoProperty property,\n")
+            .append("                                   final Object instance,\n")
+            .append("                                   final Object value) {\n")
+            .append("        final Object current = property.get(instance);\n")
+            .append("        if (!java.util.Objects.equals(value, current)) {\n")
+            .append("            throw new walkingkooka.tree.pojo.PojoException(\"Unable to set(change) read-only property \\\"\" + property.name() + \"\\\" with different value \" + value + \", previous value: \" + current);\n")
+            .append("        }\n")
+            .append("        return null;\n")
+            .append("    }\n\n");
+
+        this.generateCreate("createList", LIST, "java.util.List<Object>", lists, Arrays.asList(), "java.util.ArrayList", b);
+        this.generateCreate("createSet", SET, "java.util.Set<Object>", sets, Arrays.asList("java.util.SortedSet", "java.util.NavigableSet"), "java.util.LinkedHashSet", b);
+        this.generateCreate("createMap", MAP, "java.util.Map<Object, Object>", maps, Arrays.asList("java.util.SortedMap", "java.util.NavigableMap"), "java.util.LinkedHashMap", b);
+
+        b.append("    @Override\n")
+            .append("    public String toString() {\n")
+            .append("        return \"").append(annotated.getSimpleName()).append("\";\n")
+            .append("    }\n")
+            .append("}\n");
+
+        return b.toString();
+    }
+
+    /**
+     * Generates a create method that returns a new instance of each concrete type when requested, a {@link java.util.TreeSet}
+     * or {@link java.util.TreeMap} for sorted interfaces, otherwise the given default.
+     */
+    private void generateCreate(final String method,
+                                final String interfaceName,
+                                final String returnType,
+                                final Set<String> concreteTypes,
+                                final List<String> sortedTypes,
+                                final String defaultType,
+                                final StringBuilder b) {
+        b.append("    @Override\n")
+            .append("    public ").append(returnType).append(' ').append(method).append("(final Class<?> type) {\n")
+            .append("        java.util.Objects.requireNonNull(type, \"type\");\n\n");
+        for (final String concreteType : concreteTypes) {
+            b.append("        if (").append(concreteType).append(".class == type) {\n")
+                .append("            return (").append(interfaceName).append(") new ").append(concreteType).append("();\n")
+                .append("        }\n");
+        }
+        for (final String sortedType : sortedTypes) {
+            b.append("        if (").append(sortedType).append(".class == type) {\n")
+                .append("            return new java.util.Tree").append(interfaceName.substring("java.util.".length())).append("<>();\n")
+                .append("        }\n");
+        }
+        b.append("        return new ").append(defaultType).append("<>();\n")
+            .append("    }\n\n");
+    }
+
+    /**
+     * Records the property type if it is a concrete implementation of the collection interface that may be created
+     * with its public no arguments constructor from the generated class.
+     */
+    private void addCollectionType(final TypeMirror type,
+                                   final String interfaceName,
+                                   final Set<String> concreteTypes,
+                                   final TypeElement annotated) {
+        final javax.lang.model.util.Types types = this.processingEnv.getTypeUtils();
+        final TypeMirror erased = types.erasure(type);
+
+        if (erased.getKind() == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+
+            if (element.getKind() == ElementKind.CLASS &&
+                !element.getModifiers().contains(Modifier.ABSTRACT) &&
+                !(element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC)) &&
+                this.isAccessible(element, annotated) &&
+                this.hasPublicConstructor(element) &&
+                types.isAssignable(erased, types.erasure(this.processingEnv.getElementUtils().getTypeElement(interfaceName).asType()))) {
+                concreteTypes.add(element.getQualifiedName().toString());
+            }
+        }
+    }
+
+    private boolean hasPublicConstructor(final TypeElement type) {
+        boolean constructor = false;
+
+        for (final ExecutableElement method : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().isEmpty()) {
+                constructor = true;
+                break;
+            }
+        }
+        return constructor;
+    }
+
+    private void generateProperties(final TypeElement type,
+                                    final Map<String, Property> properties,
+                                    final int typeIndex,
+                                    final StringBuilder b) {
+        final String typeName = type.getQualifiedName().toString();
+
+        b.append("    private final static java.util.List<walkingkooka.tree.pojo.PojoProperty> TYPE").append(typeIndex).append(" = java.util.Collections.unmodifiableList(\n")
+            .append("        java.util.Arrays.asList(\n");
+
+        String separator = "";
+        for (final Entry<String, Property> nameAndProperty : properties.entrySet()) {
+            final String name = nameAndProperty.getKey();
+            final Property property = nameAndProperty.getValue();
+            final String cast = "((" + typeName + ") instance)";
+
+            b.append(separator)
+                .append("            new walkingkooka.tree.pojo.PojoProperty() {\n")
+                .append("                private final walkingkooka.tree.pojo.PojoName name = walkingkooka.tree.pojo.PojoName.intern(\"").append(name).append("\");\n\n")
+                .append("                @Override\n")
+                .append("                public walkingkooka.tree.pojo.PojoName name() {\n")
+                .append("                    return this.name;\n")
+                .append("                }\n\n")
+                .append("                @Override\n")
+                .append("                public Object get(final Object instance) {\n")
+                .append("                    return ").append(cast).append('.').append(property.getter.getSimpleName()).append("();\n")
+                .append("                }\n\n")
+                .append("                @Override\n")
+                .append("                public Object set(final Object instance, final Object value) {\n");
+
+            final ExecutableElement setter = property.setter;
+            if (null == setter) {
+                b.append("                    return readOnly(this, instance, value);\n");
+            } else {
+                final String call = cast + "." + setter.getSimpleName() + "((" + this.boxedErasure(property.type) + ") value)";
+                if (this.isMutable(setter)) {
+                    b.append("                    ").append(call).append(";\n")
+                        .append("                    return null;\n");
+                } else {
+                    b.append("                    return ").append(call).append(";\n");
+                }
+            }
+
+            b.append("                }\n\n")
+                .append("                @Override\n")
+                .append("                public boolean isReadOnly() {\n")
+                .append("                    return ").append(null == setter).append(";\n")
+                .append("                }\n\n")
+                .append("                @Override\n")
+                .append("                public String toString() {\n")
+                .append("                    return this.name.toString();\n")
+                .append("                }\n")
+                .append("            }");
+            separator = ",\n";
+        }
+
+        b.append("\n        )\n")
+            .append("    );\n\n");
+    }
+
+    /**
+     * Discovers all properties sorted by name.
+     */
+    private Map<String, Property> properties(final TypeElement type) {
+        final Map<String, Property> properties = new TreeMap<>();
+        final DeclaredType owner = (DeclaredType) type.asType();
+
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(
+            this.processingEnv.getElementUtils()
+                .getAllMembers(type)
+        );
+
+        for (final ExecutableElement method : methods) {
+            if (!isPublicInstance(method)) {
+                continue;
+            }
+            if (!method.getParameters().isEmpty()) {
+                continue;
+            }
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                continue;
+            }
+            final String methodName = method.getSimpleName().toString();
+            if (isObjectMethod(methodName)) {
+                continue;
+            }
+
+            final TypeMirror returnType = this.member(owner, method).getReturnType();
+            final Optional<String> propertyName = propertyName(method, returnType);
+            if (propertyName.isPresent()) {
+                final String name = propertyName.get();
+                if (!properties.containsKey(name)) {
+                    properties.put(
+                        name,
+                        new Property(
+                            method,
+                            returnType,
+                            this.setter(name, returnType, owner, methods)
+                        )
+                    );
+                }
+            }
+        }
+
+        return properties;
+    }
+
+    private static boolean isPublicInstance(final ExecutableElement method) {
+        final Set<Modifier> modifiers = method.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC);
+    }
+
+    private static boolean isObjectMethod(final String name) {
+        return "getClass".equals(name) || "hashCode".equals(name) || "toString".equals(name);
+    }
+
+    /**
+     * Returns the method with any type variables of super types replaced by the type arguments of the owner, so a
+     * <code>T getValue()</code> inherited by a <code>Bean extends Base&lt;String&gt;</code> returns a {@link String}.
+     */
+    private ExecutableType member(final DeclaredType owner,
+                                  final ExecutableElement method) {
+        return (ExecutableType) this.processingEnv.getTypeUtils()
+            .asMemberOf(owner, method);
+    }
+
+    private static Optional<String> propertyName(final ExecutableElement getter,
+                                                 final TypeMirror type) {
+        final String methodName = getter.getSimpleName().toString();
+
+        String name = null;
+        for (; ; ) {
+            if (type.getKind() == TypeKind.BOOLEAN || "java.lang.Boolean".equals(type.toString())) {
+                if (isPrefixed(methodName, "is")) {
+                    name = removePrefix(methodName, "is");
+                    break;
+                }
+            }
+            if (isPrefixed(methodName, "get")) {
+                name = removePrefix(methodName, "get");
+                break;
+            }
+            if (Character.isLowerCase(methodName.charAt(0))) {
+                name = methodName;
+            }
+            break;
+        }
+
+        return Optional.ofNullable(name);
+    }
+
+    // isX where X is a capital letter
+    private static boolean isPrefixed(final String name, final String prefix) {
+        final int prefixLength = prefix.length();
+        return name.length() >= prefixLength + 1 &&
+            name.startsWith(prefix) &&
+            Character.isUpperCase(name.charAt(prefixLength));
+    }
+
+    private static String removePrefix(final String name, final String prefix) {
+        final int prefixLength = prefix.length();
+        return Character.toLowerCase(name.charAt(prefixLength)) + name.substring(prefixLength + 1);
+    }
+
+    /**
+     * Finds a public instance setter whose single parameter has the same erased type as the getter return type, both
+     * as members of the owner type.
+     */
+    private ExecutableElement setter(final String propertyName,
+                                     final TypeMirror returnType,
+                                     final DeclaredType owner,
+                                     final List<ExecutableElement> methods) {
+        final String name = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        final javax.lang.model.util.Types types = this.processingEnv.getTypeUtils();
+        final TypeMirror type = types.erasure(returnType);
+
+        ExecutableElement setter = null;
+        for (final ExecutableElement method : methods) {
+            if (isPublicInstance(method) &&
+                method.getSimpleName().contentEquals(name) &&
+                method.getParameters().size() == 1 &&
+                types.isSameType(type, types.erasure(this.member(owner, method).getParameterTypes().get(0)))) {
+                setter = method;
+                break;
+            }
+        }
+        return setter;
+    }
+
+    /**
+     * Setters that return void or Object update the instance, anything else is a would be setter returning a new instance.
+     */
+    private boolean isMutable(final ExecutableElement setter) {
+        final TypeMirror returnType = setter.getReturnType();
+        return returnType.getKind() == TypeKind.VOID || "java.lang.Object".equals(returnType.toString());
+    }
+
+    private String boxedErasure(final TypeMirror type) {
+        final javax.lang.model.util.Types types = this.processingEnv.getTypeUtils();
+
+        return type.getKind().isPrimitive() ?
+            types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString() :
+            types.erasure(type).toString();
+    }
+
+    private void error(final String message, final Element element) {
+        this.processingEnv.getMessager()
+            .printMessage(Kind.ERROR, message, element);
+    }
+
+    /**
+     * A discovered getter, its return type as a member of the pojo type and optional setter.
+     */
+    private final static class Property {
+
+        Property(final ExecutableElement getter, final TypeMirror type, final ExecutableElement setter) {
+            this.getter = getter;
+            this.type = type;
+            this.setter = setter;
+        }
+
+        final ExecutableElement getter;
+
+        final TypeMirror type;
+
+        final ExecutableElement setter;
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.processor;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.tree.pojo.PojoException;
+import walkingkooka.tree.pojo.PojoName;
+import walkingkooka.tree.pojo.PojoNodeContext;
+import walkingkooka.tree.pojo.PojoNodeContexts;
+import walkingkooka.tree.pojo.PojoProperty;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class PojoNodeContextTypesProcessorTest {
+
+    private final static String BEAN = "package test;\n" +
+        "public class Bean {\n" +
+        "  public String getString() { return this.string; }\n" +
+        "  public void setString(final String string) { this.string = string; }\n" +
+        "  private String string = \"abc\";\n" +
+        "  public int getNumber() { return this.number; }\n" +
+        "  public void setNumber(final int number) { this.number = number; }\n" +
+        "  private int number = 1;\n" +
+        "  public boolean isEnabled() { return true; }\n" +
+        "  public Bean setEnabled(final boolean enabled) { return new Bean(); }\n" +
+        "  public java.util.List<String> list() { return null; }\n" +
+        "  public static String ignored() { return null; }\n" +
+        "}\n";
+
+    private final static String ANNOTATED = "package test;\n" +
+        "@walkingkooka.tree.pojo.processor.PojoNodeContextTypes(Bean.class)\n" +
+        "class Beans {\n" +
+        "}\n";
+
+    @Test
+    public void testProperties() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+
+        final List<PojoProperty> properties = this.context(loader).properties(bean);
+        assertEquals(
+            "enabled, list, number, string",
+            properties.stream()
+                .map(p -> p.name().value())
+                .collect(Collectors.joining(", "))
+        );
+    }
+
+    @Test
+    public void testGetAndSetMutable() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+        final Object instance = bean.getDeclaredConstructor().newInstance();
+
+        final PojoProperty string = this.property(loader, bean, "string");
+        assertFalse(string.isReadOnly(), "isReadOnly");
+        assertEquals("abc", string.get(instance));
+        assertNull(string.set(instance, "xyz"));
+        assertEquals("xyz", string.get(instance));
+    }
+
+    @Test
+    public void testSetPrimitive() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+        final Object instance = bean.getDeclaredConstructor().newInstance();
+
+        final PojoProperty number = this.property(loader, bean, "number");
+        assertNull(number.set(instance, 2));
+        assertEquals(2, number.get(instance));
+    }
+
+    @Test
+    public void testSetImmutable() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+        final Object instance = bean.getDeclaredConstructor().newInstance();
+
+        final Object result = this.property(loader, bean, "enabled").set(instance, false);
+        assertSame(bean, result.getClass());
+    }
+
+    @Test
+    public void testSetReadOnlySame() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+
+        final PojoProperty list = this.property(loader, bean, "list");
+        assertTrue(list.isReadOnly(), "isReadOnly");
+        assertNull(list.set(bean.getDeclaredConstructor().newInstance(), null));
+    }
+
+    @Test
+    public void testSetReadOnlyDifferentFails() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+        final Object instance = bean.getDeclaredConstructor().newInstance();
+
+        assertThrows(PojoException.class, () -> this.property(loader, bean, "list").set(instance, Arrays.asList("different")));
+    }
+
+    @Test
+    public void testGenericSuperTypeProperty() throws Exception {
+        final ClassLoader loader = this.compile(
+            "package test;\n" +
+                "@walkingkooka.tree.pojo.processor.PojoNodeContextTypes(Child.class)\n" +
+                "class Beans {\n" +
+                "}\n",
+            "package test;\n" +
+                "public class Base<T> {\n" +
+                "  public T getValue() { return this.value; }\n" +
+                "  T value;\n" +
+                "}\n",
+            "package test;\n" +
+                "public class Child extends Base<String> {\n" +
+                "  public void setValue(final String value) { this.value = value; }\n" +
+                "}\n"
+        );
+        final Class<?> child = loader.loadClass("test.Child");
+        final Object instance = child.getDeclaredConstructor().newInstance();
+
+        final PojoProperty value = this.property(loader, child, "value");
+        assertFalse(value.isReadOnly(), "isReadOnly");
+        assertNull(value.set(instance, "xyz"));
+        assertEquals("xyz", value.get(instance));
+    }
+
+    @Test
+    public void testCreateCollectionPropertyType() throws Exception {
+        final ClassLoader loader = this.compileCollections();
+        final Class<?> tags = loader.loadClass("test.Tags");
+
+        assertSame(tags, this.context(loader).createList(tags).getClass());
+    }
+
+    @Test
+    public void testCreateCollectionJdkType() throws Exception {
+        final PojoNodeContext context = this.context(this.compileCollections());
+
+        assertSame(LinkedList.class, context.createList(LinkedList.class).getClass(), "LinkedList");
+        assertSame(TreeSet.class, context.createSet(TreeSet.class).getClass(), "TreeSet");
+        assertSame(HashMap.class, context.createMap(HashMap.class).getClass(), "HashMap");
+    }
+
+    @Test
+    public void testCreateCollectionSortedInterface() throws Exception {
+        final PojoNodeContext context = this.context(this.compileCollections());
+
+        assertSame(TreeSet.class, context.createSet(SortedSet.class).getClass(), "SortedSet");
+        assertSame(TreeMap.class, context.createMap(NavigableMap.class).getClass(), "NavigableMap");
+    }
+
+    @Test
+    public void testCreateCollectionInterface() throws Exception {
+        final PojoNodeContext context = this.context(this.compileCollections());
+
+        assertSame(ArrayList.class, context.createList(List.class).getClass(), "List");
+        assertSame(LinkedHashSet.class, context.createSet(Set.class).getClass(), "Set");
+        assertSame(LinkedHashMap.class, context.createMap(Map.class).getClass(), "Map");
+    }
+
+    private ClassLoader compileCollections() throws IOException {
+        return this.compile(
+            ANNOTATED,
+            "package test;\n" +
+                "public class Bean {\n" +
+                "  public Tags getTags() { return null; }\n" +
+                "}\n",
+            "package test;\n" +
+                "public class Tags extends java.util.ArrayList<String> {\n" +
+                "}\n"
+        );
+    }
+
+    @Test
+    public void testPropertiesSubClass() throws Exception {
+        final ClassLoader loader = this.compile(
+            ANNOTATED,
+            BEAN,
+            "package test;\n" +
+                "public class SubBean extends Bean {\n" +
+                "}\n"
+        );
+        final PojoNodeContext context = this.context(loader);
+
+        assertSame(
+            context.properties(loader.loadClass("test.Bean")),
+            context.properties(loader.loadClass("test.SubBean"))
+        );
+    }
+
+    @Test
+    public void testPropertyNamesInterned() throws Exception {
+        final ClassLoader loader = this.compile();
+        final Class<?> bean = loader.loadClass("test.Bean");
+
+        final List<PojoProperty> generated = this.context(loader).properties(bean);
+        final List<PojoProperty> reflection = PojoNodeContexts.reflection().properties(bean);
+        assertEquals(reflection.size(), generated.size(), "size");
+        for (int i = 0; i < generated.size(); i++) {
+            assertSame(reflection.get(i).name(), generated.get(i).name());
+        }
+    }
+
+    @Test
+    public void testPropertiesUnknownTypeFails() throws Exception {
+        final PojoNodeContext context = this.context(this.compile());
+        assertThrows(IllegalArgumentException.class, () -> context.properties(String.class));
+    }
+
+    @Test
+    public void testInaccessibleTypeFails() throws Exception {
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(
+            this.compile(
+                Files.createTempDirectory(this.getClass().getSimpleName()),
+                diagnostics,
+                "package other;\n" +
+                    "public class Outer {\n" +
+                    "  protected static class Hidden {}\n" +
+                    "}\n",
+                "package test;\n" +
+                    "class Beans extends other.Outer {\n" +
+                    "  @walkingkooka.tree.pojo.processor.PojoNodeContextTypes(Hidden.class)\n" +
+                    "  static class Inner {}\n" +
+                    "}\n"
+            ),
+            "compile should fail"
+        );
+        assertTrue(diagnostics.getDiagnostics().toString().contains("not accessible"), () -> diagnostics.getDiagnostics().toString());
+    }
+
+    private PojoProperty property(final ClassLoader loader,
+                                  final Class<?> type,
+                                  final String name) throws Exception {
+        final PojoName pojoName = PojoName.property(name);
+        return this.context(loader)
+            .properties(type)
+            .stream()
+            .filter(p -> p.name().equals(pojoName))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Property " + name + " missing"));
+    }
+
+    private PojoNodeContext context(final ClassLoader loader) throws Exception {
+        return (PojoNodeContext) loader.loadClass("test.BeansPojoNodeContext")
+            .getMethod("instance")
+            .invoke(null);
+    }
+
+    private ClassLoader compile() throws IOException {
+        return this.compile(ANNOTATED, BEAN);
+    }
+
+    private ClassLoader compile(final String... sources) throws IOException {
+        final Path output = Files.createTempDirectory(this.getClass().getSimpleName());
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(this.compile(output, diagnostics, sources), () -> diagnostics.getDiagnostics().toString());
+
+        return new URLClassLoader(
+            new URL[]{output.toUri().toURL()},
+            this.getClass().getClassLoader()
+        );
+    }
+
+    private boolean compile(final Path output,
+                            final DiagnosticCollector<JavaFileObject> diagnostics,
+                            final String... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                files,
+                diagnostics,
+                Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString(),
+                    "-s", output.toString()
+                ),
+                null,
+                Arrays.stream(sources)
+                    .map(PojoNodeContextTypesProcessorTest::source)
+                    .collect(Collectors.toList())
+            );
+            task.setProcessors(Arrays.asList(new PojoNodeContextTypesProcessor()));
+            return task.call();
+        }
+    }
+
+    private static JavaFileObject source(final String text) {
+        final String packageName = text.substring("package ".length(), text.indexOf(';'));
+        final int className = text.indexOf("class ") + "class ".length();
+        int end = className;
+        while (Character.isJavaIdentifierPart(text.charAt(end))) {
+            end++;
+        }
+        final String name = text.substring(className, end);
+        return new SimpleJavaFileObject(URI.create("string:///" + packageName + "/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return text;
+            }
+        };
+    }
+}
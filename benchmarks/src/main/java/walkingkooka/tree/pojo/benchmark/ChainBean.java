@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+/**
+ * A bean that links to the next, forming a deep chain.
+ */
+public class ChainBean {
+
+    ChainBean(final String value,
+              final ChainBean next) {
+        this.value = value;
+        this.next = next;
+    }
+
+    public String getValue() {
+        return this.value;
+    }
+
+    public void setValue(final String value) {
+        this.value = value;
+    }
+
+    private String value;
+
+    public ChainBean getNext() {
+        return this.next;
+    }
+
+    public void setNext(final ChainBean next) {
+        this.next = next;
+    }
+
+    private ChainBean next;
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import java.util.Objects;
+
+/**
+ * An immutable pojo whose would be setters return a new instance when the value is different.
+ */
+public final class ImmutableBean {
+
+    ImmutableBean(final String name,
+                  final int quantity) {
+        this.name = name;
+        this.quantity = quantity;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ImmutableBean setName(final String name) {
+        return this.name.equals(name) ?
+            this :
+            new ImmutableBean(name, this.quantity);
+    }
+
+    private final String name;
+
+    public int getQuantity() {
+        return this.quantity;
+    }
+
+    public ImmutableBean setQuantity(final int quantity) {
+        return this.quantity == quantity ?
+            this :
+            new ImmutableBean(this.name, quantity);
+    }
+
+    private final int quantity;
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.quantity);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof ImmutableBean &&
+                this.equals0((ImmutableBean) other);
+    }
+
+    private boolean equals0(final ImmutableBean other) {
+        return this.name.equals(other.name) &&
+            this.quantity == other.quantity;
+    }
+}
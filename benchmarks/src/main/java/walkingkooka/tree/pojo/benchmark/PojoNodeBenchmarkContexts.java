@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import walkingkooka.tree.pojo.PojoNodeContext;
+import walkingkooka.tree.pojo.PojoNodeContexts;
+
+/**
+ * Maps the name of a benchmark parameter to a {@link PojoNodeContext}.
+ */
+final class PojoNodeBenchmarkContexts {
+
+    static PojoNodeContext context(final String name) {
+        final PojoNodeContext context;
+        switch (name) {
+            case "reflection":
+                context = PojoNodeContexts.reflection();
+                break;
+            case "methodHandles":
+                context = PojoNodeContexts.methodHandles();
+                break;
+            case "persistent":
+                context = PojoNodeContexts.persistent(PojoNodeContexts.methodHandles());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown context " + name);
+        }
+        return context;
+    }
+
+    private PojoNodeBenchmarkContexts() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.ParserReporters;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.pojo.PojoName;
+import walkingkooka.tree.pojo.PojoNode;
+import walkingkooka.tree.pojo.PojoNodeAttributeName;
+import walkingkooka.tree.pojo.PojoNodeContext;
+import walkingkooka.tree.pojo.PojoSelectorPlan;
+import walkingkooka.tree.select.NodeSelector;
+import walkingkooka.tree.select.NodeSelectorContext;
+import walkingkooka.tree.select.NodeSelectorContexts;
+import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.NodeSelectorParserContexts;
+import walkingkooka.tree.select.parser.NodeSelectorParsers;
+
+import java.math.MathContext;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Measures selecting nodes by their class attribute, the equivalent of the selector
+ * <code>//*[@class='java.lang.String']</code>, walking every descendant sequentially, in parallel and with a
+ * {@link NodeSelector}, and also the path of each {@link PojoNodeShape} both as a {@link PojoSelectorPlan} and as the
+ * {@link NodeSelector} parsed from the same path, so the plan may be compared with the generic traversal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+@State(Scope.Thread)
+public class PojoNodeSelectBenchmark {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    private final static Predicate<PojoNode> STRING = (n) -> String.class.getName()
+        .equals(n.attributes().get(PojoNodeAttributeName.CLASS));
+
+    @Param
+    public PojoNodeShape shape;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"reflection", "methodHandles"})
+    public String context;
+
+    private Object value;
+
+    private PojoNodeContext pojoNodeContext;
+
+    private PojoSelectorPlan plan;
+
+    private NodeSelector<PojoNode, PojoName, PojoNodeAttributeName, Object> pathSelector;
+
+    @Setup
+    public void setup() {
+        this.value = this.shape.create(this.size);
+        this.pojoNodeContext = PojoNodeBenchmarkContexts.context(this.context);
+
+        final ExpressionNodeSelectorParserToken path = (ExpressionNodeSelectorParserToken) NodeSelectorParsers.expression()
+            .orFailIfCursorNotEmpty(ParserReporters.basic())
+            .parse(
+                TextCursors.charSequence(this.shape.path()),
+                NodeSelectorParserContexts.basic(ExpressionNumberKind.DEFAULT, MathContext.DECIMAL32)
+            ).get();
+        this.plan = PojoSelectorPlan.compile(
+            path,
+            this.value.getClass(),
+            this.pojoNodeContext
+        );
+        this.pathSelector = PojoNode.nodeSelectorExpressionParserToken(
+            path,
+            (f) -> false,
+            () -> ExpressionNumberKind.DEFAULT
+        );
+    }
+
+    @Benchmark
+    public List<PojoNode> descendants() {
+        final List<PojoNode> selected = new ArrayList<>();
+
+        final Deque<PojoNode> pending = new ArrayDeque<>();
+        pending.push(this.wrap());
+
+        while (false == pending.isEmpty()) {
+            final PojoNode node = pending.pop();
+            if (STRING.test(node)) {
+                selected.add(node);
+            }
+
+            final List<PojoNode> children = node.children();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                pending.push(children.get(i));
+            }
+        }
+        return selected;
+    }
+
+    @Benchmark
+    public List<PojoNode> descendantsParallel() {
+        return this.wrap()
+            .selectParallel(STRING);
+    }
+
+    @Benchmark
+    public List<PojoNode> descendantsNodeSelector() {
+        final List<PojoNode> selected = new ArrayList<>();
+        DESCENDANTS.apply(
+            this.wrap(),
+            context(
+                (n) -> {
+                    if (STRING.test(n)) {
+                        selected.add(n);
+                    }
+                }
+            )
+        );
+        return selected;
+    }
+
+    private final static NodeSelector<PojoNode, PojoName, PojoNodeAttributeName, Object> DESCENDANTS = PojoNode.absoluteNodeSelector()
+        .descendantOrSelf();
+
+    @Benchmark
+    public List<PojoNode> plan() {
+        return this.plan.select(this.wrap());
+    }
+
+    @Benchmark
+    public List<PojoNode> pathNodeSelector() {
+        final List<PojoNode> selected = new ArrayList<>();
+        this.pathSelector.apply(
+            this.wrap(),
+            context(selected::add)
+        );
+        return selected;
+    }
+
+    /**
+     * A {@link NodeSelectorContext} that visits every node and gives each selected node to the {@link Consumer}. The
+     * selectors have no predicates, so nothing evaluates an expression.
+     */
+    private static NodeSelectorContext<PojoNode, PojoName, PojoNodeAttributeName, Object> context(final Consumer<PojoNode> selected) {
+        return NodeSelectorContexts.basic(
+            () -> false,
+            (n) -> true,
+            (n) -> {
+                selected.accept(n);
+                return n;
+            },
+            (c) -> {
+                throw new UnsupportedOperationException();
+            },
+            PojoNode.class
+        );
+    }
+
+    private PojoNode wrap() {
+        return PojoNode.wrap(NAME, this.value, this.pojoNodeContext);
+    }
+}
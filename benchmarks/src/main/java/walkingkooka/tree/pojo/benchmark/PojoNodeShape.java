@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The representative graphs measured by the {@link walkingkooka.tree.pojo.PojoNode} benchmarks, each with about the
+ * given number of values.
+ */
+public enum PojoNodeShape {
+
+    WIDE_BEAN {
+        @Override
+        Object create(final int size) {
+            final List<WideBean> beans = new ArrayList<>();
+            for (int i = 0; i < size / 16; i++) {
+                beans.add(new WideBean(i));
+            }
+            return beans;
+        }
+
+        @Override
+        String path() {
+            return "/*/text0";
+        }
+    },
+
+    DEEP_CHAIN {
+        @Override
+        Object create(final int size) {
+            ChainBean chain = null;
+            for (int i = size / 2; i > 0; i--) {
+                chain = new ChainBean("value-" + i, chain);
+            }
+            return chain;
+        }
+
+        @Override
+        String path() {
+            return "/next/next/next/next/value";
+        }
+    },
+
+    PRIMITIVE_ARRAY {
+        @Override
+        Object create(final int size) {
+            final int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = i;
+            }
+            return array;
+        }
+
+        @Override
+        String path() {
+            return "/*";
+        }
+    },
+
+    MAP {
+        @Override
+        Object create(final int size) {
+            final Map<String, Integer> map = new HashMap<>();
+            for (int i = 0; i < size / 2; i++) {
+                map.put("key-" + i, i);
+            }
+            return map;
+        }
+
+        @Override
+        String path() {
+            return "/*";
+        }
+    },
+
+    SET {
+        @Override
+        Object create(final int size) {
+            final Set<String> set = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                set.add("element-" + i);
+            }
+            return set;
+        }
+
+        @Override
+        String path() {
+            return "/*";
+        }
+    },
+
+    IMMUTABLE {
+        @Override
+        Object create(final int size) {
+            final List<ImmutableBean> beans = new ArrayList<>();
+            for (int i = 0; i < size / 2; i++) {
+                beans.add(new ImmutableBean("name-" + i, i));
+            }
+            return beans;
+        }
+
+        @Override
+        String path() {
+            return "/*/name";
+        }
+    };
+
+    /**
+     * Creates a new graph with about the given number of values.
+     */
+    abstract Object create(final int size);
+
+    /**
+     * A {@link walkingkooka.tree.pojo.PojoSelectorPlan} selector that selects many nodes of this shape.
+     */
+    abstract String path();
+
+    /**
+     * Returns a different value of the same type, which returns the original when replaced again, so repeated
+     * updates do not grow values.
+     */
+    static Object replacement(final Object value) {
+        final Object replacement;
+        if (value instanceof String) {
+            final String string = (String) value;
+            replacement = string.endsWith("!") ?
+                string.substring(0, string.length() - 1) :
+                string + "!";
+        } else {
+            if (value instanceof Integer) {
+                replacement = -(Integer) value - 1;
+            } else {
+                replacement = value;
+            }
+        }
+        return replacement;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.tree.pojo.PojoName;
+import walkingkooka.tree.pojo.PojoNode;
+import walkingkooka.tree.pojo.PojoNodeContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replacing a single leaf value using {@link PojoNode#setValue(Object)} and
+ * {@link PojoNode#setChildren(List)}, both of which rebuild every ancestor. Each invocation toggles the leaf between two
+ * values so mutable graphs do not drift.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+@State(Scope.Thread)
+public class PojoNodeUpdateBenchmark {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    @Param
+    public PojoNodeShape shape;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"reflection", "persistent"})
+    public String context;
+
+    private PojoNodeContext pojoNodeContext;
+
+    private PojoNode root;
+
+    /**
+     * The child indices from the root to a leaf that has a value.
+     */
+    private int[] leafPath;
+
+    @Setup
+    public void setup() {
+        this.pojoNodeContext = PojoNodeBenchmarkContexts.context(this.context);
+        this.root = PojoNode.wrap(NAME, this.shape.create(this.size), this.pojoNodeContext);
+        this.leafPath = leafPath(this.root);
+    }
+
+    @Benchmark
+    public PojoNode setValue() {
+        final PojoNode leaf = this.leaf();
+        return leaf.setValue(PojoNodeShape.replacement(leaf.value()));
+    }
+
+    @Benchmark
+    public PojoNode setChildren() {
+        final PojoNode leaf = this.leaf();
+        final PojoNode parent = leaf.parentOrFail();
+
+        final List<PojoNode> children = new ArrayList<>(parent.children());
+        children.set(
+            leaf.index(),
+            PojoNode.wrap(leaf.name(), PojoNodeShape.replacement(leaf.value()), this.pojoNodeContext)
+        );
+        return parent.setChildren(children);
+    }
+
+    private PojoNode leaf() {
+        PojoNode node = this.root;
+        for (final int index : this.leafPath) {
+            node = node.children().get(index);
+        }
+        return node;
+    }
+
+    /**
+     * Follows the first child with children, until only leaves remain, then picks the last leaf with a value.
+     */
+    private static int[] leafPath(final PojoNode root) {
+        final List<Integer> path = new ArrayList<>();
+
+        PojoNode node = root;
+        for (; ; ) {
+            final List<PojoNode> children = node.children();
+            PojoNode next = null;
+
+            for (final PojoNode child : children) {
+                if (false == child.children().isEmpty()) {
+                    next = child;
+                    break;
+                }
+            }
+            if (null == next) {
+                // the last leaf, so map entries update their value and not the read only key
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    final PojoNode child = children.get(i);
+                    if (null != child.value()) {
+                        next = child;
+                        break;
+                    }
+                }
+                path.add(next.index());
+                break;
+            }
+            path.add(next.index());
+            node = next;
+        }
+
+        final int[] indices = new int[path.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = path.get(i);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import walkingkooka.tree.pojo.PojoName;
+import walkingkooka.tree.pojo.PojoNode;
+import walkingkooka.tree.pojo.PojoNodeContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PojoNode#wrap(PojoName, Object, PojoNodeContext)} alone and together with wrapping every child of the root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+@State(Scope.Thread)
+public class PojoNodeWrapBenchmark {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    @Param
+    public PojoNodeShape shape;
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"reflection", "methodHandles"})
+    public String context;
+
+    private Object value;
+
+    private PojoNodeContext pojoNodeContext;
+
+    @Setup
+    public void setup() {
+        this.value = this.shape.create(this.size);
+        this.pojoNodeContext = PojoNodeBenchmarkContexts.context(this.context);
+    }
+
+    @Benchmark
+    public PojoNode wrap() {
+        return PojoNode.wrap(NAME, this.value, this.pojoNodeContext);
+    }
+
+    @Benchmark
+    public void wrapChildren(final Blackhole blackhole) {
+        for (final PojoNode child : this.wrap().children()) {
+            blackhole.consume(child);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.tree.pojo.PojoNodeContext;
+import walkingkooka.tree.pojo.PojoNodeContexts;
+import walkingkooka.tree.pojo.PojoProperty;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PojoProperty#get(Object)} and {@link PojoProperty#set(Object, Object)} for each {@link PojoNodeContext}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PojoPropertyBenchmark {
+
+    @Param({"reflection", "methodHandles"})
+    public String context;
+
+    private TestBean bean;
+
+    private PojoProperty getter;
+
+    private PojoProperty setter;
+
+    @Setup
+    public void setup() {
+        final PojoNodeContext context = "reflection".equals(this.context) ?
+            PojoNodeContexts.reflection() :
+            PojoNodeContexts.methodHandles();
+
+        final List<PojoProperty> properties = context.properties(TestBean.class);
+        this.getter = properties.get(0);
+        this.setter = properties.get(1);
+        this.bean = new TestBean();
+    }
+
+    @Benchmark
+    public Object get() {
+        return this.getter.get(this.bean);
+    }
+
+    @Benchmark
+    public Object set() {
+        return this.setter.set(this.bean, "value");
+    }
+
+    public static class TestBean {
+
+        public int getCount() {
+            return this.count;
+        }
+
+        public void setCount(final int count) {
+            this.count = count;
+        }
+
+        private int count = 123;
+
+        public String getValue() {
+            return this.value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+
+        private String value = "value";
+    }
+}
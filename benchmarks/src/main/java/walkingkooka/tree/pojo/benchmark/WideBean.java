@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo.benchmark;
+
+/**
+ * A mutable bean with many properties, representative of a wide DTO.
+ */
+public class WideBean {
+
+    WideBean(final int i) {
+        this.text0 = "text0-" + i;
+        this.text1 = "text1-" + i;
+        this.text2 = "text2-" + i;
+        this.text3 = "text3-" + i;
+        this.text4 = "text4-" + i;
+        this.text5 = "text5-" + i;
+        this.text6 = "text6-" + i;
+        this.text7 = "text7-" + i;
+        this.number0 = i;
+        this.number1 = i + 1;
+        this.number2 = i + 2;
+        this.number3 = i + 3;
+        this.number4 = i + 4;
+        this.number5 = i + 5;
+        this.number6 = i + 6;
+        this.number7 = i + 7;
+    }
+
+    public String getText0() {
+        return this.text0;
+    }
+
+    public void setText0(final String text0) {
+        this.text0 = text0;
+    }
+
+    private String text0;
+
+    public String getText1() {
+        return this.text1;
+    }
+
+    public void setText1(final String text1) {
+        this.text1 = text1;
+    }
+
+    private String text1;
+
+    public String getText2() {
+        return this.text2;
+    }
+
+    public void setText2(final String text2) {
+        this.text2 = text2;
+    }
+
+    private String text2;
+
+    public String getText3() {
+        return this.text3;
+    }
+
+    public void setText3(final String text3) {
+        this.text3 = text3;
+    }
+
+    private String text3;
+
+    public String getText4() {
+        return this.text4;
+    }
+
+    public void setText4(final String text4) {
+        this.text4 = text4;
+    }
+
+    private String text4;
+
+    public String getText5() {
+        return this.text5;
+    }
+
+    public void setText5(final String text5) {
+        this.text5 = text5;
+    }
+
+    private String text5;
+
+    public String getText6() {
+        return this.text6;
+    }
+
+    public void setText6(final String text6) {
+        this.text6 = text6;
+    }
+
+    private String text6;
+
+    public String getText7() {
+        return this.text7;
+    }
+
+    public void setText7(final String text7) {
+        this.text7 = text7;
+    }
+
+    private String text7;
+
+    public int getNumber0() {
+        return this.number0;
+    }
+
+    public void setNumber0(final int number0) {
+        this.number0 = number0;
+    }
+
+    private int number0;
+
+    public int getNumber1() {
+        return this.number1;
+    }
+
+    public void setNumber1(final int number1) {
+        this.number1 = number1;
+    }
+
+    private int number1;
+
+    public int getNumber2() {
+        return this.number2;
+    }
+
+    public void setNumber2(final int number2) {
+        this.number2 = number2;
+    }
+
+    private int number2;
+
+    public int getNumber3() {
+        return this.number3;
+    }
+
+    public void setNumber3(final int number3) {
+        this.number3 = number3;
+    }
+
+    private int number3;
+
+    public int getNumber4() {
+        return this.number4;
+    }
+
+    public void setNumber4(final int number4) {
+        this.number4 = number4;
+    }
+
+    private int number4;
+
+    public int getNumber5() {
+        return this.number5;
+    }
+
+    public void setNumber5(final int number5) {
+        this.number5 = number5;
+    }
+
+    private int number5;
+
+    public int getNumber6() {
+        return this.number6;
+    }
+
+    public void setNumber6(final int number6) {
+        this.number6 = number6;
+    }
+
+    private int number6;
+
+    public int getNumber7() {
+        return this.number7;
+    }
+
+    public void setNumber7(final int number7) {
+        this.number7 = number7;
+    }
+
+    private int number7;
+}
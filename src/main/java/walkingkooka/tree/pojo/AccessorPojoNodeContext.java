@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link PojoNodeContext} that creates a single {@link PojoAccessor} for each type, with all properties being
+ * {@link AccessorPojoProperty} that delegate to it. Types with properties that are not {@link ReflectionPojoProperty},
+ * such as records, or whose properties cannot be invoked, continue to use the properties discovered by the wrapped
+ * {@link ReflectionPojoNodeContext}. Accessors are shared with all other contexts.
+ */
+final class AccessorPojoNodeContext implements PojoNodeContext,
+    HasPojoCacheStatistics {
+
+    static AccessorPojoNodeContext with() {
+        return new AccessorPojoNodeContext(ReflectionPojoNodeContext.with());
+    }
+
+    private AccessorPojoNodeContext(final ReflectionPojoNodeContext reflection) {
+        super();
+        this.reflection = reflection;
+    }
+
+    // properties....
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return this.typeToProperties.get(type);
+    }
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(name, "name");
+
+        return this.typeToProperties.index(type)
+            .indexOf(name);
+    }
+
+    /**
+     * A cache that holds class to its properties for future reuse.
+     */
+    private final PojoPropertiesCache typeToProperties = PojoPropertiesCache.with(this::accessorProperties);
+
+    @Override
+    public PojoCacheStatistics cacheStatistics() {
+        return this.typeToProperties.cacheStatistics();
+    }
+
+    private List<PojoProperty> accessorProperties(final Class<?> type) {
+        final List<PojoProperty> properties = this.reflection.properties(type);
+
+        return properties.stream()
+            .allMatch(p -> p instanceof ReflectionPojoProperty) ?
+            this.accessorProperties(type, properties) :
+            properties;
+    }
+
+    private List<PojoProperty> accessorProperties(final Class<?> type,
+                                                  final List<PojoProperty> properties) {
+        List<PojoProperty> accessorProperties;
+        try {
+            final PojoAccessor accessor = PojoAccessor.with(type);
+
+            accessorProperties = Lists.array();
+            int i = 0;
+            for (final PojoProperty property : properties) {
+                accessorProperties.add(AccessorPojoProperty.with(property.name(), accessor, i));
+                i++;
+            }
+        } catch (final ReflectionPojoException fallback) {
+            accessorProperties = properties;
+        }
+        return accessorProperties;
+    }
+
+    private final ReflectionPojoNodeContext reflection;
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return this.reflection.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return this.reflection.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return this.reflection.createMap(type);
+    }
+
+    @Override
+    public String toString() {
+        return this.typeToProperties.toString();
+    }
+}
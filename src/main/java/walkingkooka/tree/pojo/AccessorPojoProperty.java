@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+/**
+ * A {@link PojoProperty} that delegates to the {@link PojoAccessor} shared by all properties of the same type.
+ */
+final class AccessorPojoProperty implements PojoProperty {
+
+    static AccessorPojoProperty with(final PojoName name,
+                                     final PojoAccessor accessor,
+                                     final int index) {
+        return new AccessorPojoProperty(name, accessor, index);
+    }
+
+    private AccessorPojoProperty(final PojoName name,
+                                 final PojoAccessor accessor,
+                                 final int index) {
+        this.name = name;
+        this.accessor = accessor;
+        this.index = index;
+    }
+
+    // PojoProperty ...................................................................................
+
+    @Override
+    public PojoName name() {
+        return this.name;
+    }
+
+    private final PojoName name;
+
+    @Override
+    public Object get(final Object instance) {
+        return this.accessor.get(instance, this.index);
+    }
+
+    @Override
+    public Object set(final Object instance, final Object value) {
+        return this.accessor.set(instance, this.index, value);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return this.accessor.isReadOnly(this.index);
+    }
+
+    final PojoAccessor accessor;
+
+    private final int index;
+
+    // Object ...................................................................................
+
+    @Override
+    public String toString() {
+        return this.name.toString();
+    }
+}
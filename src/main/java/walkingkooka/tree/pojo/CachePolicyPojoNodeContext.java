@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link PojoNodeContext} that wraps another, replacing only its {@link PojoNodeCachePolicy}.
+ */
+final class CachePolicyPojoNodeContext implements PojoNodeContext {
+
+    static CachePolicyPojoNodeContext with(final PojoNodeContext context,
+                                           final PojoNodeCachePolicy cachePolicy) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(cachePolicy, "cachePolicy");
+
+        return new CachePolicyPojoNodeContext(
+            context instanceof CachePolicyPojoNodeContext ?
+                ((CachePolicyPojoNodeContext) context).context :
+                context,
+            cachePolicy
+        );
+    }
+
+    private CachePolicyPojoNodeContext(final PojoNodeContext context,
+                                       final PojoNodeCachePolicy cachePolicy) {
+        super();
+        this.context = context;
+        this.cachePolicy = cachePolicy;
+    }
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        return this.context.properties(type);
+    }
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        return this.context.propertyIndex(type, name);
+    }
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return this.context.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return this.context.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return this.context.createMap(type);
+    }
+
+    @Override
+    public PojoNodeFactory nodeFactory(final Class<?> type) {
+        return this.context.nodeFactory(type);
+    }
+
+    @Override
+    public PojoNodeCachePolicy cachePolicy() {
+        return this.cachePolicy;
+    }
+
+    @Override
+    public PojoNode wrapChild(final PojoName name,
+                              final Object value,
+                              final int index,
+                              final PojoNode parent) {
+        return this.context.wrapChild(name, value, index, parent);
+    }
+
+    @Override
+    public Optional<Object> cycleMarker() {
+        return this.context.cycleMarker();
+    }
+
+    @Override
+    public PojoNode replaceChild(final PojoNode child,
+                                 final PojoNode parent) {
+        return this.context.replaceChild(child, parent);
+    }
+
+    private final PojoNodeCachePolicy cachePolicy;
+
+    private final PojoNodeContext context;
+
+    @Override
+    public String toString() {
+        return this.cachePolicy + " " + this.context;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.text.CharSequences;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link PojoNodeContext} that discovers properties from the non private instance fields of a type, including those
+ * inherited from super classes. Fields are read and written using {@link java.lang.invoke.VarHandle} so they are
+ * plain field accesses rather than reflective method calls.
+ */
+final class FieldPojoNodeContext implements PojoNodeContext,
+    HasPojoCacheStatistics {
+
+    static FieldPojoNodeContext with(final PojoFieldAccessMode mode) {
+        Objects.requireNonNull(mode, "mode");
+
+        return new FieldPojoNodeContext(mode);
+    }
+
+    private FieldPojoNodeContext(final PojoFieldAccessMode mode) {
+        super();
+        this.mode = mode;
+    }
+
+    // properties....
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return this.typeToProperties.get(type);
+    }
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(name, "name");
+
+        return this.typeToProperties.index(type)
+            .indexOf(name);
+    }
+
+    /**
+     * A cache that holds class to its properties for future reuse.
+     */
+    private final PojoPropertiesCache typeToProperties = PojoPropertiesCache.with(this::discoverProperties);
+
+    @Override
+    public PojoCacheStatistics cacheStatistics() {
+        return this.typeToProperties.cacheStatistics();
+    }
+
+    private List<PojoProperty> discoverProperties(final Class<?> type) {
+        if (type.isPrimitive()) {
+            throw new IllegalArgumentException("Primitive types not supported, type= " + CharSequences.quote(type.getName()));
+        }
+
+        try {
+            return this.discoverProperties0(type);
+        } catch (final ReflectionPojoException cause) {
+            throw cause;
+        } catch (final Exception cause) {
+            throw new ReflectionPojoException("Failed to retrieve all properties for " + CharSequences.quote(type.getName()) + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    private List<PojoProperty> discoverProperties0(final Class<?> type) {
+        final List<PojoProperty> properties = Lists.array();
+        final Set<String> names = Sets.hash();
+
+        // fields in sub classes hide those with the same name in super classes.
+        for (Class<?> current = type; null != current && Object.class != current; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (isProperty(field) && names.add(field.getName())) {
+                    properties.add(FieldPojoProperty.with(field, this.mode));
+                }
+            }
+        }
+
+        properties.sort(ReflectionPojoNodeContext.POJO_PROPERTY_COMPARATOR);
+        return properties;
+    }
+
+    private static boolean isProperty(final Field field) {
+        final int modifiers = field.getModifiers();
+        return !Modifier.isStatic(modifiers) &&
+            !Modifier.isPrivate(modifiers) &&
+            !field.isSynthetic();
+    }
+
+    private final PojoFieldAccessMode mode;
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return this.reflection.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return this.reflection.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return this.reflection.createMap(type);
+    }
+
+    private final ReflectionPojoNodeContext reflection = ReflectionPojoNodeContext.with();
+
+    @Override
+    public String toString() {
+        return this.mode + " " + this.typeToProperties;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.text.CharSequences;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * A {@link PojoProperty} that reads and writes a field using a {@link VarHandle}, using the access mode selected by
+ * {@link PojoFieldAccessMode}. Final fields are read only.
+ */
+final class FieldPojoProperty implements PojoProperty {
+
+    static FieldPojoProperty with(final Field field,
+                                  final PojoFieldAccessMode mode) {
+        final VarHandle handle = varHandle(field);
+
+        return new FieldPojoProperty(
+            PojoName.intern(field.getName()),
+            handle.toMethodHandle(mode.get)
+                .asType(GETTER),
+            Modifier.isFinal(field.getModifiers()) ?
+                null :
+                handle.toMethodHandle(mode.set)
+                    .asType(SETTER)
+        );
+    }
+
+    private final static MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private final static MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static VarHandle varHandle(final Field field) {
+        final Class<?> type = field.getDeclaringClass();
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                .findVarHandle(type, field.getName(), field.getType());
+        } catch (final Exception cause) {
+            throw new ReflectionPojoException("Unable to create handle for " + field + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    private FieldPojoProperty(final PojoName name,
+                              final MethodHandle getter,
+                              final MethodHandle setter) {
+        super();
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    // PojoProperty ...................................................................................
+
+    @Override
+    public PojoName name() {
+        return this.name;
+    }
+
+    private final PojoName name;
+
+    @Override
+    public Object get(final Object instance) {
+        try {
+            return (Object) this.getter.invokeExact(instance);
+        } catch (final Throwable cause) {
+            throw new ReflectionPojoException("Unable to get property " + this.name().inQuotes() + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    private final MethodHandle getter;
+
+    @Override
+    public Object set(final Object instance, final Object value) {
+        if (null == this.setter) {
+            final Object current = this.get(instance);
+            if (!Objects.equals(value, current)) {
+                throw new ReflectionPojoException("Unable to set(change) read-only property " + this.name().inQuotes() +
+                    " with different value " + CharSequences.quoteIfChars(value) +
+                    ", previous value: " + CharSequences.quoteIfChars(current));
+            }
+        } else {
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (final Throwable cause) {
+                throw new ReflectionPojoException("Unable to set property " + this.name().inQuotes() + " with " + CharSequences.quoteIfChars(value) + ", " + cause.getMessage(), cause);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return null == this.setter;
+    }
+
+    /**
+     * Null when the field is final.
+     */
+    private final MethodHandle setter;
+
+    // Object ...................................................................................
+
+    @Override
+    public String toString() {
+        return this.name.toString();
+    }
+}
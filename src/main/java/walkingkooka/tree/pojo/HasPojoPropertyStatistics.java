@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.List;
+
+/**
+ * Implemented by {@link PojoNodeContext} that measure their {@link PojoProperty} invocations.
+ */
+public interface HasPojoPropertyStatistics {
+
+    /**
+     * Returns a snapshot of the counters of every property that has been discovered, sorted by class then property name.
+     */
+    List<PojoPropertyStatistics> propertyStatistics();
+
+    /**
+     * Returns a snapshot of the counters of the properties of the given type sorted by property name, or an empty list
+     * if its properties have not been discovered.
+     */
+    List<PojoPropertyStatistics> propertyStatistics(final Class<?> type);
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link PojoNodeContext} that wraps another, tracking the identity of values as children are wrapped. A child whose
+ * value is the same instance as the value of one of its ancestors is replaced by a node without children holding the
+ * cycle marker, so descendant selectors always finish. Shared references that are not cycles are wrapped again for
+ * every path that reaches them, as a node has a single parent and so cannot be reused. Only {@link PojoSelectorPlan}
+ * reuses the matches below a shared value.
+ */
+final class IdentityPojoNodeContext implements PojoNodeContext {
+
+    static IdentityPojoNodeContext with(final PojoNodeContext context,
+                                        final Object cycleMarker) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(cycleMarker, "cycleMarker");
+
+        return context instanceof IdentityPojoNodeContext ?
+            with0((IdentityPojoNodeContext) context, cycleMarker) :
+            new IdentityPojoNodeContext(context, cycleMarker);
+    }
+
+    private static IdentityPojoNodeContext with0(final IdentityPojoNodeContext context,
+                                                 final Object cycleMarker) {
+        return context.cycleMarker.equals(cycleMarker) ?
+            context :
+            new IdentityPojoNodeContext(context.context, cycleMarker);
+    }
+
+    private IdentityPojoNodeContext(final PojoNodeContext context,
+                                    final Object cycleMarker) {
+        super();
+        this.context = context;
+        this.cycleMarker = cycleMarker;
+    }
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        return this.context.properties(type);
+    }
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        return this.context.propertyIndex(type, name);
+    }
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return this.context.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return this.context.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return this.context.createMap(type);
+    }
+
+    @Override
+    public PojoNodeFactory nodeFactory(final Class<?> type) {
+        return this.context.nodeFactory(type);
+    }
+
+    @Override
+    public PojoNodeCachePolicy cachePolicy() {
+        return this.context.cachePolicy();
+    }
+
+    /**
+     * Wraps the child value, replacing it with the cycle marker if the same instance is the value of the parent or any
+     * of its ancestors, otherwise the wrapped context wraps the value.
+     */
+    @Override
+    public PojoNode wrapChild(final PojoName name,
+                              final Object value,
+                              final int index,
+                              final PojoNode parent) {
+        return null != value && isAncestor(value, parent) ?
+            this.cycle(name, index, parent.context) :
+            this.context.wrapChild(name, value, index, parent);
+    }
+
+    @Override
+    public Optional<Object> cycleMarker() {
+        return Optional.of(this.cycleMarker);
+    }
+
+    @Override
+    public PojoNode replaceChild(final PojoNode child,
+                                 final PojoNode parent) {
+        return this.context.replaceChild(child, parent);
+    }
+
+    /**
+     * Tests if the value is the same instance as the value of the given node or any of its ancestors.
+     */
+    static boolean isAncestor(final Object value,
+                              final PojoNode node) {
+        boolean ancestor = false;
+
+        for (PojoNode current = node; null != current; current = current.parentOrNull()) {
+            if (value == current.value()) {
+                ancestor = true;
+                break;
+            }
+        }
+        return ancestor;
+    }
+
+    /**
+     * Creates the node without children that replaces a value that would start a cycle.
+     */
+    PojoNode cycle(final PojoName name,
+                   final int index,
+                   final PojoNodeContext context) {
+        return PojoNodeBasic.with(name, this.cycleMarker, index, context);
+    }
+
+    /**
+     * The value of nodes that replace a cycle back to an ancestor.
+     */
+    final Object cycleMarker;
+
+    private final PojoNodeContext context;
+
+    @Override
+    public String toString() {
+        return "identity " + this.context;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link PojoNodeContext} that wraps another, returning {@link InstrumentedPojoProperty} that count and time every
+ * get and set, so a slow getter within a selector may be found. The wrapped properties of each class are created once
+ * and kept in a {@link PojoPropertiesCache}, so neither they nor the list of instrumented types keep classes alive.
+ * <br>
+ * Records whose children are replaced together are still rebuilt with a single canonical constructor call, which reads
+ * the wrapped components directly and so is not counted.
+ */
+final class InstrumentedPojoNodeContext implements PojoNodeContext, HasPojoPropertyStatistics {
+
+    static InstrumentedPojoNodeContext with(final PojoNodeContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return new InstrumentedPojoNodeContext(context);
+    }
+
+    private InstrumentedPojoNodeContext(final PojoNodeContext context) {
+        super();
+        this.context = context;
+    }
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return this.typeToProperties.get(type);
+    }
+
+    private List<PojoProperty> instrument(final Class<?> type) {
+        final List<PojoProperty> instrumented = Lists.array();
+        for (final PojoProperty property : this.context.properties(type)) {
+            instrumented.add(InstrumentedPojoProperty.with(type, property));
+        }
+
+        synchronized (this.types) {
+            this.types.put(type, Boolean.TRUE);
+        }
+        return Lists.readOnly(instrumented);
+    }
+
+    private final PojoPropertiesCache typeToProperties = PojoPropertiesCache.with(this::instrument);
+
+    /**
+     * The types whose properties were instrumented, weakly held so {@link #propertyStatistics()} may list them.
+     */
+    private final Map<Class<?>, Boolean> types = new WeakHashMap<>();
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        return this.context.propertyIndex(type, name);
+    }
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return this.context.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return this.context.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return this.context.createMap(type);
+    }
+
+    @Override
+    public PojoNodeFactory nodeFactory(final Class<?> type) {
+        return this.context.nodeFactory(type);
+    }
+
+    @Override
+    public PojoNodeCachePolicy cachePolicy() {
+        return this.context.cachePolicy();
+    }
+
+    @Override
+    public PojoNode wrapChild(final PojoName name,
+                              final Object value,
+                              final int index,
+                              final PojoNode parent) {
+        return this.context.wrapChild(name, value, index, parent);
+    }
+
+    @Override
+    public Optional<Object> cycleMarker() {
+        return this.context.cycleMarker();
+    }
+
+    @Override
+    public PojoNode replaceChild(final PojoNode child,
+                                 final PojoNode parent) {
+        return this.context.replaceChild(child, parent);
+    }
+
+    // HasPojoPropertyStatistics........................................................................................
+
+    @Override
+    public List<PojoPropertyStatistics> propertyStatistics() {
+        final List<Class<?>> types;
+        synchronized (this.types) {
+            types = Lists.array();
+            types.addAll(this.types.keySet());
+        }
+
+        final List<PojoPropertyStatistics> statistics = Lists.array();
+        for (final Class<?> type : types) {
+            this.propertyStatistics(type, statistics);
+        }
+        statistics.sort(STATISTICS_COMPARATOR);
+        return Lists.readOnly(statistics);
+    }
+
+    @Override
+    public List<PojoPropertyStatistics> propertyStatistics(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        final boolean instrumented;
+        synchronized (this.types) {
+            instrumented = this.types.containsKey(type);
+        }
+
+        final List<PojoPropertyStatistics> statistics = Lists.array();
+        if (instrumented) {
+            this.propertyStatistics(type, statistics);
+            statistics.sort(STATISTICS_COMPARATOR);
+        }
+        return Lists.readOnly(statistics);
+    }
+
+    private void propertyStatistics(final Class<?> type,
+                                    final List<PojoPropertyStatistics> statistics) {
+        for (final PojoProperty property : this.typeToProperties.get(type)) {
+            statistics.add(((InstrumentedPojoProperty) property).statistics());
+        }
+    }
+
+    private final static Comparator<PojoPropertyStatistics> STATISTICS_COMPARATOR = Comparator.<PojoPropertyStatistics, String>comparing(s -> s.type().getName())
+        .thenComparing(PojoPropertyStatistics::name);
+
+    private final PojoNodeContext context;
+
+    @Override
+    public String toString() {
+        return "instrumented " + this.context;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PojoProperty} that wraps another, counting and timing every get and set. All counters are {@link LongAdder}
+ * which are striped, so concurrent readers do not contend on a single counter.
+ */
+final class InstrumentedPojoProperty implements WrapperPojoProperty {
+
+    static InstrumentedPojoProperty with(final Class<?> type,
+                                         final PojoProperty property) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(property, "property");
+
+        return new InstrumentedPojoProperty(type, property);
+    }
+
+    private InstrumentedPojoProperty(final Class<?> type,
+                                     final PojoProperty property) {
+        super();
+        this.type = type;
+        this.property = property;
+
+        final LongAdder[] latencies = new LongAdder[PojoPropertyStatistics.BUCKET_COUNT];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LongAdder();
+        }
+        this.latencies = latencies;
+    }
+
+    @Override
+    public PojoName name() {
+        return this.property.name();
+    }
+
+    @Override
+    public Object get(final Object instance) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Object value = this.property.get(instance);
+            failed = false;
+            return value;
+        } finally {
+            this.record(start, failed);
+        }
+    }
+
+    @Override
+    public Object set(final Object instance,
+                      final Object value) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Object result = this.property.set(instance, value);
+            failed = false;
+            return result;
+        } finally {
+            this.record(start, failed);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return this.property.isReadOnly();
+    }
+
+    @Override
+    public PojoProperty wrapped() {
+        return this.property;
+    }
+
+    private void record(final long start,
+                        final boolean failed) {
+        final long nanos = System.nanoTime() - start;
+
+        this.invocations.increment();
+        if (failed) {
+            this.exceptions.increment();
+        }
+        this.totalNanos.add(nanos);
+        this.latencies[PojoPropertyStatistics.bucket(nanos)].increment();
+    }
+
+    /**
+     * Returns a snapshot of the counters. Counters are read one at a time, so an invocation that completes during a
+     * snapshot may only be partially included.
+     */
+    PojoPropertyStatistics statistics() {
+        final LongAdder[] latencies = this.latencies;
+        final long[] counts = new long[latencies.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = latencies[i].sum();
+        }
+
+        return PojoPropertyStatistics.with(
+            this.type,
+            this.name(),
+            this.invocations.sum(),
+            this.exceptions.sum(),
+            Duration.ofNanos(this.totalNanos.sum()),
+            counts
+        );
+    }
+
+    private final Class<?> type;
+
+    private final PojoProperty property;
+
+    private final LongAdder invocations = new LongAdder();
+
+    private final LongAdder exceptions = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAdder[] latencies;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.property.toString();
+    }
+}
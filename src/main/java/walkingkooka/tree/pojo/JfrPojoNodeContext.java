@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link PojoNodeContext} that wraps another, recording JFR events for the discovery of properties, slow property
+ * gets and sets, and the rebuild of parents when a node is replaced. Events are only recorded when a JFR recording has
+ * enabled them, otherwise each costs a single check. This only runs on a JVM, so core classes never reference JFR.
+ * <br>
+ * A {@link PojoPropertyDiscoveryEvent} is recorded the first time this decorator lists the properties of a type, which
+ * times the wrapped context. It may have already discovered and cached them, for example when shared with another
+ * decorator. The wrapped properties are kept in a {@link PojoPropertiesCache} so classes are not kept alive.
+ */
+@GwtIncompatible("jdk.jfr")
+final class JfrPojoNodeContext implements PojoNodeContext {
+
+    static JfrPojoNodeContext with(final PojoNodeContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return new JfrPojoNodeContext(context);
+    }
+
+    private JfrPojoNodeContext(final PojoNodeContext context) {
+        super();
+        this.context = context;
+    }
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return this.typeToProperties.get(type);
+    }
+
+    private List<PojoProperty> discover(final Class<?> type) {
+        final List<PojoProperty> wrapped = Lists.array();
+        for (final PojoProperty property : PojoPropertyDiscoveryEvent.discover(type, this.context::properties)) {
+            wrapped.add(JfrPojoProperty.with(property));
+        }
+        return Lists.readOnly(wrapped);
+    }
+
+    private final PojoPropertiesCache typeToProperties = PojoPropertiesCache.with(this::discover);
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        return this.context.propertyIndex(type, name);
+    }
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return this.context.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return this.context.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return this.context.createMap(type);
+    }
+
+    @Override
+    public PojoNodeFactory nodeFactory(final Class<?> type) {
+        return this.context.nodeFactory(type);
+    }
+
+    @Override
+    public PojoNodeCachePolicy cachePolicy() {
+        return this.context.cachePolicy();
+    }
+
+    @Override
+    public PojoNode wrapChild(final PojoName name,
+                              final Object value,
+                              final int index,
+                              final PojoNode parent) {
+        return this.context.wrapChild(name, value, index, parent);
+    }
+
+    @Override
+    public Optional<Object> cycleMarker() {
+        return this.context.cycleMarker();
+    }
+
+    @Override
+    public PojoNode replaceChild(final PojoNode child,
+                                 final PojoNode parent) {
+        return PojoNodeRebuildEvent.replaceChild(
+            child,
+            parent,
+            this.context
+        );
+    }
+
+    private final PojoNodeContext context;
+
+    @Override
+    public String toString() {
+        return "jfr " + this.context;
+    }
+}
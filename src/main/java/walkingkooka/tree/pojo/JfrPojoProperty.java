@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import java.util.Objects;
+
+/**
+ * A {@link PojoProperty} that wraps another, recording a {@link PojoPropertyAccessEvent} for slow gets and sets.
+ */
+@GwtIncompatible("jdk.jfr")
+final class JfrPojoProperty implements WrapperPojoProperty {
+
+    static JfrPojoProperty with(final PojoProperty property) {
+        Objects.requireNonNull(property, "property");
+
+        return new JfrPojoProperty(property);
+    }
+
+    private JfrPojoProperty(final PojoProperty property) {
+        super();
+        this.property = property;
+    }
+
+    @Override
+    public PojoName name() {
+        return this.property.name();
+    }
+
+    @Override
+    public Object get(final Object instance) {
+        return PojoPropertyAccessEvent.get(this.property, instance);
+    }
+
+    @Override
+    public Object set(final Object instance,
+                      final Object value) {
+        return PojoPropertyAccessEvent.set(this.property, instance, value);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return this.property.isReadOnly();
+    }
+
+    @Override
+    public PojoProperty wrapped() {
+        return this.property;
+    }
+
+    private final PojoProperty property;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.property.toString();
+    }
+}
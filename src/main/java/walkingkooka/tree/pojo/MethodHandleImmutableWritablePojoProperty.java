@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * A {@link PojoProperty} for would be setters, returning the instance returned by the setter.
+ */
+final class MethodHandleImmutableWritablePojoProperty extends MethodHandleWritablePojoProperty {
+
+    static MethodHandleImmutableWritablePojoProperty with(final PojoName name, final Method getter, final Method setter) {
+        return new MethodHandleImmutableWritablePojoProperty(name, getter, setter);
+    }
+
+    private final static MethodType SETTER = MethodType.methodType(Object.class, Object.class, Object.class);
+
+    private MethodHandleImmutableWritablePojoProperty(final PojoName name, final Method getter, final Method setter) {
+        super(name, getter, setter);
+        this.setterHandle = handle(setter, SETTER);
+    }
+
+    @Override
+    Object set0(final Object instance, final Object value) throws Throwable {
+        return (Object) this.setterHandle.invokeExact(instance, value);
+    }
+
+    private final MethodHandle setterHandle;
+}
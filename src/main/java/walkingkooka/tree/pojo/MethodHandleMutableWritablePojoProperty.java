@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * A {@link PojoProperty} for setters that return void or Object, any returned value is ignored.
+ */
+final class MethodHandleMutableWritablePojoProperty extends MethodHandleWritablePojoProperty {
+
+    static MethodHandleMutableWritablePojoProperty with(final PojoName name, final Method getter, final Method setter) {
+        return new MethodHandleMutableWritablePojoProperty(name, getter, setter);
+    }
+
+    private final static MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private MethodHandleMutableWritablePojoProperty(final PojoName name, final Method getter, final Method setter) {
+        super(name, getter, setter);
+        this.setterHandle = handle(setter, SETTER);
+    }
+
+    @Override
+    Object set0(final Object instance, final Object value) throws Throwable {
+        this.setterHandle.invokeExact(instance, value);
+        return null;
+    }
+
+    private final MethodHandle setterHandle;
+}
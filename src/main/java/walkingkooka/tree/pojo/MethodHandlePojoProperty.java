@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Base class for all {@link PojoProperty} that resolve their getter and setter {@link Method} into a {@link MethodHandle}
+ * once, avoiding the cost of {@link Method#invoke(Object, Object...)} for every get or set.
+ */
+abstract class MethodHandlePojoProperty implements PojoProperty {
+
+    static PojoProperty with(final PojoName name, final Method getter, final Method setter) {
+        return null != setter ?
+            MethodHandleWritablePojoProperty.with(name, getter, setter) :
+            MethodHandleReadOnlyPojoProperty.with(name, getter);
+    }
+
+    private final static MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * package private to limit sub classing, use factory.
+     */
+    MethodHandlePojoProperty(final PojoName name, final Method getter) {
+        this.name = name;
+        this.getter = handle(getter, GETTER);
+    }
+
+    /**
+     * Unreflects the {@link Method} and adapts it to the given {@link MethodType} so it may be invoked exactly.
+     */
+    static MethodHandle handle(final Method method, final MethodType type) {
+        method.setAccessible(true);
+        try {
+            return MethodHandles.lookup()
+                .unreflect(method)
+                .asType(type);
+        } catch (final Exception cause) {
+            throw new ReflectionPojoException("Unable to create handle for " + method + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    // PojoProperty ...................................................................................
+
+    @Override
+    public final PojoName name() {
+        return this.name;
+    }
+
+    private final PojoName name;
+
+    @Override
+    public final Object get(final Object instance) {
+        try {
+            return (Object) this.getter.invokeExact(instance);
+        } catch (final Throwable cause) {
+            throw new ReflectionPojoException("Unable to get property " + this.name().inQuotes() + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    private final MethodHandle getter;
+
+    // Object ...................................................................................
+
+    @Override
+    public final String toString() {
+        return this.name.toString();
+    }
+}
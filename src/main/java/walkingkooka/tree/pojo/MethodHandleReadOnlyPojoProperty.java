@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.text.CharSequences;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * A {@link PojoProperty} with only a getter {@link java.lang.invoke.MethodHandle}. Setting the same value is ignored,
+ * while setting a different value fails.
+ */
+final class MethodHandleReadOnlyPojoProperty extends MethodHandlePojoProperty {
+
+    static MethodHandleReadOnlyPojoProperty with(final PojoName name, final Method getter) {
+        return new MethodHandleReadOnlyPojoProperty(name, getter);
+    }
+
+    private MethodHandleReadOnlyPojoProperty(final PojoName name, final Method getter) {
+        super(name, getter);
+    }
+
+    @Override
+    public Object set(final Object instance, final Object value) {
+        final Object current = this.get(instance);
+        if (!Objects.equals(value, current)) {
+            throw new ReflectionPojoException("Unable to set(change) read-only property " + this.name().inQuotes() +
+                " with different value " + CharSequences.quoteIfChars(value) +
+                ", previous value: " + CharSequences.quoteIfChars(current));
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
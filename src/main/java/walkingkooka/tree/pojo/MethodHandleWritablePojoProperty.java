@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.text.CharSequences;
+
+import java.lang.reflect.Method;
+
+/**
+ * A {@link PojoProperty} with both a getter and setter {@link java.lang.invoke.MethodHandle}.
+ */
+abstract class MethodHandleWritablePojoProperty extends MethodHandlePojoProperty {
+
+    static MethodHandleWritablePojoProperty with(final PojoName name, final Method getter, final Method setter) {
+        return isMutable(setter) ?
+            MethodHandleMutableWritablePojoProperty.with(name, getter, setter) :
+            MethodHandleImmutableWritablePojoProperty.with(name, getter, setter);
+    }
+
+    /**
+     * Matches {@link ReflectionWritablePojoProperty}, setters returning void or Object are mutable.
+     */
+    private static boolean isMutable(final Method setter) {
+        final Class<?> returnType = setter.getReturnType();
+        return Void.TYPE == returnType || Object.class == returnType;
+    }
+
+    MethodHandleWritablePojoProperty(final PojoName name, final Method getter, final Method setter) {
+        super(name, getter);
+        this.setter = setter;
+    }
+
+    @Override
+    public final Object set(final Object instance, final Object value) {
+        try {
+            return this.set0(instance, value);
+        } catch (final Throwable cause) {
+            throw new ReflectionPojoException("Unable to set property " + this.name().inQuotes() + " (" + this.setter + ")" +
+                " with " + (null == value ? null : value.getClass() + "=" + CharSequences.quoteIfChars(value)) +
+                ", " + cause.getMessage(), cause);
+        }
+    }
+
+    abstract Object set0(final Object instance, final Object value) throws Throwable;
+
+    /**
+     * The original setter {@link Method} kept only for error messages.
+     */
+    private final Method setter;
+
+    @Override
+    public final boolean isReadOnly() {
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link PojoNodeContext} that wraps another, creating {@link PojoPersistentVector}, {@link PojoPersistentHashMap} and
+ * {@link PojoPersistentHashSet} for lists, maps and sets. The first update of a list, map or set node copies its
+ * elements into a persistent collection, after which each replacement of a single child shares all but O(log n) of the
+ * previous version.
+ * <br>
+ * Persistent collections are only created when the requested type promises nothing beyond its interface: the
+ * interface itself, or an abstract or non public class such as an immutable list. Every public concrete class, such as
+ * a {@link java.util.ArrayList}, {@link java.util.HashMap} or {@link java.util.TreeMap}, is created by the wrapped
+ * context, as a property or setter may require that exact type and its ordering and behaviour must be kept.
+ * <br>
+ * Arrays are not persistent. The parent of an array node holds the real array, so every replaced element still copies
+ * the whole array. Use a {@link PojoNodeEditor} to apply many edits to an array with a single copy.
+ */
+final class PersistentPojoNodeContext implements PojoNodeContext {
+
+    static PersistentPojoNodeContext with(final PojoNodeContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return context instanceof PersistentPojoNodeContext ?
+            (PersistentPojoNodeContext) context :
+            new PersistentPojoNodeContext(context);
+    }
+
+    private PersistentPojoNodeContext(final PojoNodeContext context) {
+        super();
+        this.context = context;
+    }
+
+    @Override
+    public List<PojoProperty> properties(final Class<?> type) {
+        return this.context.properties(type);
+    }
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        return this.context.propertyIndex(type, name);
+    }
+
+    @Override
+    public List<Object> createList(final Class<?> type) {
+        return isInterfaceOnly(type) ?
+            PojoPersistentVector.empty() :
+            this.context.createList(type);
+    }
+
+    @Override
+    public Set<Object> createSet(final Class<?> type) {
+        return isInterfaceOnly(type) ?
+            PojoPersistentHashSet.empty() :
+            this.context.createSet(type);
+    }
+
+    @Override
+    public Map<Object, Object> createMap(final Class<?> type) {
+        return isInterfaceOnly(type) ?
+            PojoPersistentHashMap.empty() :
+            this.context.createMap(type);
+    }
+
+    /**
+     * Tests if the type is an interface, or a class that cannot be created, such as the persistent collections
+     * themselves, and so only promises its interface.
+     */
+    private static boolean isInterfaceOnly(final Class<?> type) {
+        final int modifiers = type.getModifiers();
+        return type.isInterface() ||
+            Modifier.isAbstract(modifiers) ||
+            false == Modifier.isPublic(modifiers);
+    }
+
+    @Override
+    public PojoNodeFactory nodeFactory(final Class<?> type) {
+        return this.context.nodeFactory(type);
+    }
+
+    @Override
+    public PojoNodeCachePolicy cachePolicy() {
+        return this.context.cachePolicy();
+    }
+
+    @Override
+    public PojoNode wrapChild(final PojoName name,
+                              final Object value,
+                              final int index,
+                              final PojoNode parent) {
+        return this.context.wrapChild(name, value, index, parent);
+    }
+
+    @Override
+    public Optional<Object> cycleMarker() {
+        return this.context.cycleMarker();
+    }
+
+    @Override
+    public PojoNode replaceChild(final PojoNode child,
+                                 final PojoNode parent) {
+        return this.context.replaceChild(child, parent);
+    }
+
+    private final PojoNodeContext context;
+
+    @Override
+    public String toString() {
+        return "persistent " + this.context;
+    }
+}
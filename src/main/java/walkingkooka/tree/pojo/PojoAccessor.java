@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.text.CharSequences;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads and writes all the properties of a single type, selecting the getter or setter using the property index.
+ * All {@link AccessorPojoProperty} share this one class, so call sites within nodes only ever see a single
+ * {@link #get(Object, int)} and {@link #set(Object, int, Object)} regardless of the pojo type.
+ * <br>
+ * Each type gets its own {@link Dispatch} class written by {@link PojoAccessorClassWriter} and defined in the package
+ * of the type, whose switch invokes every getter and setter directly. Types whose package does not allow defining
+ * classes, such as those of the JDK, use a {@link Dispatch} holding a {@link MethodHandle} for each property.
+ * <br>
+ * Accessors are cached once per type and shared by all contexts, so a type only ever defines a single class, which is
+ * unloaded along with the type.
+ */
+final class PojoAccessor {
+
+    /**
+     * Reads and writes the properties of a single type by index. Public so the generated classes, which are in other
+     * packages, may implement it.
+     */
+    public interface Dispatch {
+
+        Object get(final Object instance, final int index) throws Throwable;
+
+        Object set(final Object instance, final int index, final Object value) throws Throwable;
+    }
+
+    /**
+     * Returns the {@link PojoAccessor} for the properties discovered by {@link ReflectionPojoNodeContext#with()} for
+     * the given type, failing with a {@link ReflectionPojoException} if any is not a {@link ReflectionPojoProperty}.
+     */
+    static PojoAccessor with(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return ACCESSORS.get(type);
+    }
+
+    /**
+     * {@link ClassValue} does not keep the type reachable, even though the accessor and its generated class refer to
+     * it. Only the value of a racing computation that is published is kept, the other is discarded.
+     */
+    private final static ClassValue<PojoAccessor> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected PojoAccessor computeValue(final Class<?> type) {
+            return create(type, REFLECTION.properties(type));
+        }
+    };
+
+    /**
+     * Discovers properties in the same order as any other {@link ReflectionPojoNodeContext#with()}, so indices
+     * match those of the properties of every {@link AccessorPojoNodeContext}.
+     */
+    private final static ReflectionPojoNodeContext REFLECTION = ReflectionPojoNodeContext.with();
+
+    private static PojoAccessor create(final Class<?> type,
+                                       final List<PojoProperty> properties) {
+        final int count = properties.size();
+        final PojoName[] names = new PojoName[count];
+        final Method[] getters = new Method[count];
+        final Method[] setters = new Method[count];
+        final boolean[] mutable = new boolean[count];
+
+        int i = 0;
+        for (final PojoProperty property : properties) {
+            if (false == property instanceof ReflectionPojoProperty) {
+                throw new ReflectionPojoException("Unable to create accessor for " + type.getName() + " property " + property);
+            }
+            names[i] = property.name();
+            getters[i] = ((ReflectionPojoProperty) property).getter;
+
+            if (property instanceof ReflectionWritablePojoProperty) {
+                setters[i] = ((ReflectionWritablePojoProperty) property).setter;
+                mutable[i] = property instanceof ReflectionMutableWritablePojoProperty;
+            }
+            i++;
+        }
+
+        Dispatch dispatch = generate(type, getters, setters, mutable);
+        if (null == dispatch) {
+            dispatch = MethodHandleDispatch.with(getters, setters, mutable);
+        }
+
+        return new PojoAccessor(type, names, setters, dispatch);
+    }
+
+    /**
+     * Defines and creates a new {@link Dispatch} class in the package of the type, returning null if that fails.
+     * A class already defined by a racing computation is reused.
+     */
+    private static Dispatch generate(final Class<?> type,
+                                     final Method[] getters,
+                                     final Method[] setters,
+                                     final boolean[] mutable) {
+        Dispatch dispatch = null;
+
+        final String className = type.getName() + "$$PojoAccessor";
+        final byte[] classFile = PojoAccessorClassWriter.write(className, type, getters, setters, mutable);
+        if (null != classFile) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                Class<?> dispatchClass;
+                try {
+                    dispatchClass = lookup.defineClass(classFile);
+                } catch (final LinkageError duplicate) {
+                    dispatchClass = lookup.findClass(className);
+                }
+                dispatch = (Dispatch) dispatchClass.getConstructor()
+                    .newInstance();
+            } catch (final ReflectiveOperationException | LinkageError | IllegalArgumentException | SecurityException cause) {
+                // package closed to this module, or the type is not visible from its own loader
+            }
+        }
+        return dispatch;
+    }
+
+    private PojoAccessor(final Class<?> type,
+                         final PojoName[] names,
+                         final Method[] setters,
+                         final Dispatch dispatch) {
+        this.type = type;
+        this.names = names;
+        this.readOnly = new boolean[setters.length];
+        for (int i = 0; i < setters.length; i++) {
+            this.readOnly[i] = null == setters[i];
+        }
+        this.dispatch = dispatch;
+    }
+
+    /**
+     * Reads the value of the property at the given index.
+     */
+    Object get(final Object instance, final int index) {
+        try {
+            return this.dispatch.get(instance, index);
+        } catch (final Throwable cause) {
+            throw new ReflectionPojoException("Unable to get property " + this.names[index].inQuotes() + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Writes the value of the property at the given index, returning the new instance for would be setters, or null.
+     * Read only properties may only be set with their current value.
+     */
+    Object set(final Object instance, final int index, final Object value) {
+        return this.readOnly[index] ?
+            this.setReadOnly(instance, index, value) :
+            this.set0(instance, index, value);
+    }
+
+    private Object setReadOnly(final Object instance, final int index, final Object value) {
+        final Object current = this.get(instance, index);
+        if (!Objects.equals(value, current)) {
+            throw new ReflectionPojoException("Unable to set(change) read-only property " + this.names[index].inQuotes() +
+                " with different value " + CharSequences.quoteIfChars(value) +
+                ", previous value: " + CharSequences.quoteIfChars(current));
+        }
+        return null;
+    }
+
+    private Object set0(final Object instance,
+                        final int index,
+                        final Object value) {
+        try {
+            return this.dispatch.set(instance, index, value);
+        } catch (final Throwable cause) {
+            throw new ReflectionPojoException("Unable to set property " + this.names[index].inQuotes() +
+                " with " + (null == value ? null : value.getClass() + "=" + CharSequences.quoteIfChars(value)) +
+                ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Returns true if the property at the given index has no setter.
+     */
+    boolean isReadOnly(final int index) {
+        return this.readOnly[index];
+    }
+
+    /**
+     * Returns true if the {@link Dispatch} was generated rather than using {@link MethodHandle}.
+     */
+    boolean isGenerated() {
+        return false == this.dispatch instanceof MethodHandleDispatch;
+    }
+
+    private final Class<?> type;
+
+    private final PojoName[] names;
+
+    private final boolean[] readOnly;
+
+    private final Dispatch dispatch;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.type.getName();
+    }
+
+    // MethodHandleDispatch.............................................................................................
+
+    /**
+     * A {@link Dispatch} that selects a {@link MethodHandle} for each property from an array.
+     */
+    private final static class MethodHandleDispatch implements Dispatch {
+
+        static MethodHandleDispatch with(final Method[] getters,
+                                         final Method[] setters,
+                                         final boolean[] mutable) {
+            final int count = getters.length;
+            final MethodHandle[] getterHandles = new MethodHandle[count];
+            final MethodHandle[] setterHandles = new MethodHandle[count];
+
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (int i = 0; i < count; i++) {
+                getterHandles[i] = handle(lookup, getters[i], GETTER);
+
+                final Method setter = setters[i];
+                if (null != setter) {
+                    setterHandles[i] = mutable[i] ?
+                        // drop any returned value, then introduce a null return value
+                        handle(lookup, setter, MUTABLE_SETTER).asType(SETTER) :
+                        handle(lookup, setter, SETTER);
+                }
+            }
+            return new MethodHandleDispatch(getterHandles, setterHandles);
+        }
+
+        private final static MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+        private final static MethodType MUTABLE_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+        private final static MethodType SETTER = MethodType.methodType(Object.class, Object.class, Object.class);
+
+        private static MethodHandle handle(final MethodHandles.Lookup lookup,
+                                           final Method method,
+                                           final MethodType type) {
+            try {
+                return lookup.unreflect(method)
+                    .asType(type);
+            } catch (final IllegalAccessException cause) {
+                throw new ReflectionPojoException("Unable to create handle for " + method + ", " + cause.getMessage(), cause);
+            }
+        }
+
+        private MethodHandleDispatch(final MethodHandle[] getters,
+                                     final MethodHandle[] setters) {
+            this.getters = getters;
+            this.setters = setters;
+        }
+
+        @Override
+        public Object get(final Object instance, final int index) throws Throwable {
+            return (Object) this.getters[index].invokeExact(instance);
+        }
+
+        @Override
+        public Object set(final Object instance, final int index, final Object value) throws Throwable {
+            return (Object) this.setters[index].invokeExact(instance, value);
+        }
+
+        private final MethodHandle[] getters;
+
+        private final MethodHandle[] setters;
+    }
+}
@@ -0,0 +1,545 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the class file of a {@link PojoAccessor.Dispatch} for a single type. Its {@link PojoAccessor.Dispatch#get(Object, int)}
+ * and {@link PojoAccessor.Dispatch#set(Object, int, Object)} switch on the property index and invoke each getter or
+ * setter directly, so every call site within is monomorphic and may be inlined by the JIT.
+ * <br>
+ * The class file uses version 49, which is verified without stack map frames.
+ */
+final class PojoAccessorClassWriter {
+
+    /**
+     * Returns null if a getter or setter cannot be invoked by a class in the package of the type, otherwise the
+     * class file bytes.
+     */
+    static byte[] write(final String className,
+                        final Class<?> type,
+                        final Method[] getters,
+                        final Method[] setters,
+                        final boolean[] mutable) {
+        return isAccessible(type, getters, setters) ?
+            new PojoAccessorClassWriter(type).write0(className, getters, setters, mutable) :
+            null;
+    }
+
+    private static boolean isAccessible(final Class<?> type,
+                                        final Method[] getters,
+                                        final Method[] setters) {
+        boolean accessible = true;
+
+        for (final Method getter : getters) {
+            accessible &= isAccessible(getter, type);
+        }
+        for (final Method setter : setters) {
+            accessible &= null == setter ||
+                isAccessible(setter, type) && isAccessible(setter.getParameterTypes()[0], type);
+        }
+        return accessible;
+    }
+
+    private static boolean isAccessible(final Method method,
+                                        final Class<?> type) {
+        final int modifiers = method.getModifiers();
+        return Modifier.isPublic(modifiers) && false == Modifier.isStatic(modifiers);
+    }
+
+    /**
+     * Tests if the generated class, which is in the package of the type, may cast to the given parameter type.
+     */
+    private static boolean isAccessible(final Class<?> parameter,
+                                        final Class<?> type) {
+        Class<?> component = parameter;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+
+        final String packageName = component.getPackageName();
+        return component.isPrimitive() ||
+            Modifier.isPublic(component.getModifiers()) && component.getModule().isExported(packageName) ||
+            packageName.equals(type.getPackageName()) && component.getClassLoader() == type.getClassLoader();
+    }
+
+    private PojoAccessorClassWriter(final Class<?> type) {
+        super();
+        this.type = type;
+        this.typeName = internalName(type);
+    }
+
+    private byte[] write0(final String className,
+                          final Method[] getters,
+                          final Method[] setters,
+                          final boolean[] mutable) {
+        final int thisClass = this.classRef(className.replace('.', '/'));
+        final int superClass = this.classRef(OBJECT);
+        final int dispatch = this.classRef(internalName(PojoAccessor.Dispatch.class));
+
+        final byte[] constructor = this.method(
+            "<init>",
+            "()V",
+            1,
+            1,
+            this.constructor()
+        );
+        final byte[] get = this.method(
+            "get",
+            "(Ljava/lang/Object;I)Ljava/lang/Object;",
+            3,
+            3,
+            this.get(getters)
+        );
+        final byte[] set = this.method(
+            "set",
+            "(Ljava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;",
+            4,
+            4,
+            this.set(setters, mutable)
+        );
+
+        final Bytes file = new Bytes();
+        file.u4(0xCAFEBABE);
+        file.u2(0);
+        file.u2(49);
+        file.u2(this.constantCount);
+        file.bytes(this.constants.toByteArray());
+        file.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        file.u2(thisClass);
+        file.u2(superClass);
+        file.u2(1);
+        file.u2(dispatch);
+        file.u2(0); // fields
+        file.u2(3);
+        file.bytes(constructor);
+        file.bytes(get);
+        file.bytes(set);
+        file.u2(0); // attributes
+        return file.toByteArray();
+    }
+
+    private byte[] constructor() {
+        final Bytes code = new Bytes();
+        code.u1(ALOAD_0);
+        code.u1(INVOKESPECIAL);
+        code.u2(this.methodRef(OBJECT, "<init>", "()V", false));
+        code.u1(RETURN);
+        return code.toByteArray();
+    }
+
+    /**
+     * Each case loads and casts the instance, invokes the getter and boxes any primitive value.
+     */
+    private byte[] get(final Method[] getters) {
+        final int count = getters.length;
+        final byte[][] cases = new byte[count][];
+
+        for (int i = 0; i < count; i++) {
+            final Method getter = getters[i];
+
+            final Bytes code = new Bytes();
+            code.u1(ALOAD_1);
+            code.u1(CHECKCAST);
+            code.u2(this.classRef(this.typeName));
+            this.invoke(getter, code);
+            this.box(getter.getReturnType(), code);
+            code.u1(ARETURN);
+            cases[i] = code.toByteArray();
+        }
+
+        return this.tableSwitch(cases);
+    }
+
+    /**
+     * Each case casts the instance and unboxes or casts the value before invoking the setter. Mutable setters drop any
+     * returned value and return null, while would be setters return the new instance.
+     */
+    private byte[] set(final Method[] setters,
+                       final boolean[] mutable) {
+        final int count = setters.length;
+        final byte[][] cases = new byte[count][];
+
+        for (int i = 0; i < count; i++) {
+            final Method setter = setters[i];
+            if (null != setter) {
+                final Bytes code = new Bytes();
+                code.u1(ALOAD_1);
+                code.u1(CHECKCAST);
+                code.u2(this.classRef(this.typeName));
+                code.u1(ALOAD_3);
+                this.unboxOrCast(setter.getParameterTypes()[0], code);
+                this.invoke(setter, code);
+
+                final Class<?> returnType = setter.getReturnType();
+                if (mutable[i]) {
+                    if (void.class != returnType) {
+                        code.u1(long.class == returnType || double.class == returnType ? POP2 : POP);
+                    }
+                    code.u1(ACONST_NULL);
+                } else {
+                    this.box(returnType, code);
+                }
+                code.u1(ARETURN);
+                cases[i] = code.toByteArray();
+            }
+        }
+
+        return this.tableSwitch(cases);
+    }
+
+    private void invoke(final Method method,
+                        final Bytes code) {
+        final String descriptor = descriptor(method);
+
+        if (this.type.isInterface()) {
+            code.u1(INVOKEINTERFACE);
+            code.u2(this.methodRef(this.typeName, method.getName(), descriptor, true));
+            code.u1(1 + slots(method.getParameterTypes()));
+            code.u1(0);
+        } else {
+            code.u1(INVOKEVIRTUAL);
+            code.u2(this.methodRef(this.typeName, method.getName(), descriptor, false));
+        }
+    }
+
+    private static int slots(final Class<?>[] parameters) {
+        int slots = 0;
+        for (final Class<?> parameter : parameters) {
+            slots += long.class == parameter || double.class == parameter ? 2 : 1;
+        }
+        return slots;
+    }
+
+    private void box(final Class<?> type,
+                     final Bytes code) {
+        if (type.isPrimitive()) {
+            if (void.class == type) {
+                code.u1(ACONST_NULL);
+            } else {
+                final String wrapper = internalName(WRAPPERS.get(type));
+                code.u1(INVOKESTATIC);
+                code.u2(this.methodRef(wrapper, "valueOf", "(" + descriptor(type) + ")L" + wrapper + ";", false));
+            }
+        }
+    }
+
+    private void unboxOrCast(final Class<?> type,
+                             final Bytes code) {
+        if (type.isPrimitive()) {
+            final String wrapper = internalName(WRAPPERS.get(type));
+            code.u1(CHECKCAST);
+            code.u2(this.classRef(wrapper));
+            code.u1(INVOKEVIRTUAL);
+            code.u2(this.methodRef(wrapper, type.getName() + "Value", "()" + descriptor(type), false));
+        } else {
+            if (Object.class != type) {
+                code.u1(CHECKCAST);
+                code.u2(this.classRef(internalName(type)));
+            }
+        }
+    }
+
+    private final static Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(double.class, Double.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(short.class, Short.class);
+    }
+
+    /**
+     * Assembles a tableswitch on the index in local 2, followed by the cases and a default that throws an
+     * {@link IndexOutOfBoundsException}. Missing cases, such as read only properties in set, also select the default.
+     */
+    private byte[] tableSwitch(final byte[][] cases) {
+        final Bytes outOfBounds = new Bytes();
+        outOfBounds.u1(NEW);
+        outOfBounds.u2(this.classRef(OUT_OF_BOUNDS));
+        outOfBounds.u1(DUP);
+        outOfBounds.u1(INVOKESPECIAL);
+        outOfBounds.u2(this.methodRef(OUT_OF_BOUNDS, "<init>", "()V", false));
+        outOfBounds.u1(ATHROW);
+
+        final Bytes code = new Bytes();
+        final int count = cases.length;
+        if (count > 0) {
+            code.u1(ILOAD_2);
+
+            final int switchOffset = 1;
+            final int padding = (4 - (switchOffset + 1) % 4) % 4;
+            final int tableLength = 1 + padding + 12 + 4 * count;
+
+            final int[] offsets = new int[count];
+            int next = tableLength;
+            for (int i = 0; i < count; i++) {
+                final byte[] body = cases[i];
+                if (null != body) {
+                    offsets[i] = next;
+                    next += body.length;
+                }
+            }
+            final int defaultOffset = next;
+
+            code.u1(TABLESWITCH);
+            for (int i = 0; i < padding; i++) {
+                code.u1(0);
+            }
+            code.u4(defaultOffset);
+            code.u4(0);
+            code.u4(count - 1);
+            for (int i = 0; i < count; i++) {
+                code.u4(null != cases[i] ? offsets[i] : defaultOffset);
+            }
+            for (final byte[] body : cases) {
+                if (null != body) {
+                    code.bytes(body);
+                }
+            }
+        }
+        code.bytes(outOfBounds.toByteArray());
+        return code.toByteArray();
+    }
+
+    private byte[] method(final String name,
+                          final String descriptor,
+                          final int maxStack,
+                          final int maxLocals,
+                          final byte[] code) {
+        final Bytes method = new Bytes();
+        method.u2(ACC_PUBLIC);
+        method.u2(this.utf8(name));
+        method.u2(this.utf8(descriptor));
+        method.u2(1);
+
+        method.u2(this.utf8("Code"));
+        method.u4(2 + 2 + 4 + code.length + 2 + 2);
+        method.u2(maxStack);
+        method.u2(maxLocals);
+        method.u4(code.length);
+        method.bytes(code);
+        method.u2(0); // exception table
+        method.u2(0); // attributes
+        return method.toByteArray();
+    }
+
+    // constants........................................................................................................
+
+    private int utf8(final String value) {
+        Integer index = this.constantToIndex.get("U" + value);
+        if (null == index) {
+            final Bytes constant = new Bytes();
+            constant.u1(1);
+            constant.utf(value);
+            index = this.add("U" + value, constant);
+        }
+        return index;
+    }
+
+    private int classRef(final String internalName) {
+        Integer index = this.constantToIndex.get("C" + internalName);
+        if (null == index) {
+            final int name = this.utf8(internalName);
+
+            final Bytes constant = new Bytes();
+            constant.u1(7);
+            constant.u2(name);
+            index = this.add("C" + internalName, constant);
+        }
+        return index;
+    }
+
+    private int methodRef(final String owner,
+                          final String name,
+                          final String descriptor,
+                          final boolean isInterface) {
+        final String key = (isInterface ? "I" : "M") + owner + '.' + name + descriptor;
+
+        Integer index = this.constantToIndex.get(key);
+        if (null == index) {
+            final int ownerIndex = this.classRef(owner);
+            final int nameAndType = this.nameAndType(name, descriptor);
+
+            final Bytes constant = new Bytes();
+            constant.u1(isInterface ? 11 : 10);
+            constant.u2(ownerIndex);
+            constant.u2(nameAndType);
+            index = this.add(key, constant);
+        }
+        return index;
+    }
+
+    private int nameAndType(final String name,
+                            final String descriptor) {
+        final String key = "N" + name + ':' + descriptor;
+
+        Integer index = this.constantToIndex.get(key);
+        if (null == index) {
+            final int nameIndex = this.utf8(name);
+            final int descriptorIndex = this.utf8(descriptor);
+
+            final Bytes constant = new Bytes();
+            constant.u1(12);
+            constant.u2(nameIndex);
+            constant.u2(descriptorIndex);
+            index = this.add(key, constant);
+        }
+        return index;
+    }
+
+    private int add(final String key,
+                    final Bytes constant) {
+        final int index = this.constantCount;
+        this.constants.bytes(constant.toByteArray());
+        this.constantToIndex.put(key, index);
+        this.constantCount++;
+        return index;
+    }
+
+    private final Map<String, Integer> constantToIndex = new HashMap<>();
+    private final Bytes constants = new Bytes();
+
+    /**
+     * The constant_pool_count, which is one more than the number of constants.
+     */
+    private int constantCount = 1;
+
+    private final Class<?> type;
+    private final String typeName;
+
+    // descriptors......................................................................................................
+
+    private static String internalName(final Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(final Method method) {
+        final StringBuilder descriptor = new StringBuilder();
+        descriptor.append('(');
+        for (final Class<?> parameter : method.getParameterTypes()) {
+            descriptor.append(descriptor(parameter));
+        }
+        descriptor.append(')');
+        descriptor.append(descriptor(method.getReturnType()));
+        return descriptor.toString();
+    }
+
+    private static String descriptor(final Class<?> type) {
+        final String descriptor;
+        if (type.isPrimitive()) {
+            descriptor = PRIMITIVE_DESCRIPTORS.get(type);
+        } else {
+            descriptor = type.isArray() ?
+                internalName(type) :
+                'L' + internalName(type) + ';';
+        }
+        return descriptor;
+    }
+
+    private final static Map<Class<?>, String> PRIMITIVE_DESCRIPTORS = new HashMap<>();
+
+    static {
+        PRIMITIVE_DESCRIPTORS.put(boolean.class, "Z");
+        PRIMITIVE_DESCRIPTORS.put(byte.class, "B");
+        PRIMITIVE_DESCRIPTORS.put(char.class, "C");
+        PRIMITIVE_DESCRIPTORS.put(double.class, "D");
+        PRIMITIVE_DESCRIPTORS.put(float.class, "F");
+        PRIMITIVE_DESCRIPTORS.put(int.class, "I");
+        PRIMITIVE_DESCRIPTORS.put(long.class, "J");
+        PRIMITIVE_DESCRIPTORS.put(short.class, "S");
+        PRIMITIVE_DESCRIPTORS.put(void.class, "V");
+    }
+
+    private final static String OBJECT = "java/lang/Object";
+    private final static String OUT_OF_BOUNDS = "java/lang/IndexOutOfBoundsException";
+
+    private final static int ACC_PUBLIC = 0x0001;
+    private final static int ACC_FINAL = 0x0010;
+    private final static int ACC_SUPER = 0x0020;
+
+    private final static int ACONST_NULL = 0x01;
+    private final static int ILOAD_2 = 0x1c;
+    private final static int ALOAD_0 = 0x2a;
+    private final static int ALOAD_1 = 0x2b;
+    private final static int ALOAD_3 = 0x2d;
+    private final static int POP = 0x57;
+    private final static int POP2 = 0x58;
+    private final static int DUP = 0x59;
+    private final static int TABLESWITCH = 0xaa;
+    private final static int ARETURN = 0xb0;
+    private final static int RETURN = 0xb1;
+    private final static int INVOKEVIRTUAL = 0xb6;
+    private final static int INVOKESPECIAL = 0xb7;
+    private final static int INVOKESTATIC = 0xb8;
+    private final static int INVOKEINTERFACE = 0xb9;
+    private final static int NEW = 0xbb;
+    private final static int ATHROW = 0xbf;
+    private final static int CHECKCAST = 0xc0;
+
+    /**
+     * A growing byte array with the big endian writes of the class file format.
+     */
+    private final static class Bytes {
+
+        void u1(final int value) {
+            this.bytes.write(value);
+        }
+
+        void u2(final int value) {
+            this.bytes.write(value >>> 8);
+            this.bytes.write(value);
+        }
+
+        void u4(final int value) {
+            this.u2(value >>> 16);
+            this.u2(value);
+        }
+
+        void bytes(final byte[] bytes) {
+            this.bytes.write(bytes, 0, bytes.length);
+        }
+
+        void utf(final String value) {
+            try {
+                this.data.writeUTF(value);
+            } catch (final IOException never) {
+                throw new IllegalStateException(never);
+            }
+        }
+
+        byte[] toByteArray() {
+            return this.bytes.toByteArray();
+        }
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream data = new DataOutputStream(this.bytes);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A snapshot of the counters kept by a cache, such as the property cache within a {@link PojoNodeContext}.
+ */
+public final class PojoCacheStatistics {
+
+    /**
+     * Creates a new {@link PojoCacheStatistics}.
+     */
+    public static PojoCacheStatistics with(final long hits,
+                                           final long misses,
+                                           final Duration loadTime) {
+        if (hits < 0) {
+            throw new IllegalArgumentException("Invalid hits " + hits + " < 0");
+        }
+        if (misses < 0) {
+            throw new IllegalArgumentException("Invalid misses " + misses + " < 0");
+        }
+        Objects.requireNonNull(loadTime, "loadTime");
+
+        return new PojoCacheStatistics(hits, misses, loadTime);
+    }
+
+    private PojoCacheStatistics(final long hits,
+                                final long misses,
+                                final Duration loadTime) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loadTime = loadTime;
+    }
+
+    /**
+     * The number of requests that were satisfied by a previously loaded value.
+     */
+    public long hits() {
+        return this.hits;
+    }
+
+    private final long hits;
+
+    /**
+     * The number of requests that loaded a value.
+     */
+    public long misses() {
+        return this.misses;
+    }
+
+    private final long misses;
+
+    /**
+     * The total time spent loading values, that is for all misses.
+     */
+    public Duration loadTime() {
+        return this.loadTime;
+    }
+
+    private final Duration loadTime;
+
+    /**
+     * The ratio of hits to all requests, or zero if there were no requests.
+     */
+    public double hitRate() {
+        final long requests = this.hits + this.misses;
+        return 0 == requests ?
+            0 :
+            (double) this.hits / requests;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.hits, this.misses, this.loadTime);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PojoCacheStatistics && this.equals0((PojoCacheStatistics) other);
+    }
+
+    private boolean equals0(final PojoCacheStatistics other) {
+        return this.hits == other.hits &&
+            this.misses == other.misses &&
+            this.loadTime.equals(other.loadTime);
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + this.hits + " misses=" + this.misses + " loadTime=" + this.loadTime;
+    }
+}
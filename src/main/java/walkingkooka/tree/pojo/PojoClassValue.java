@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.Cast;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Lazily computes and caches a value for each {@link Class}. On a JVM values live in a {@link ClassValue}, which does
+ * not keep classes or their class loaders alive, j2cl which has neither {@link ClassValue} nor class unloading uses a
+ * {@link java.util.HashMap}.
+ */
+abstract class PojoClassValue<V> {
+
+    static <V> PojoClassValue<V> with(final Function<Class<?>, V> computer) {
+        Objects.requireNonNull(computer, "computer");
+
+        return Cast.to(factory.apply(Cast.to(computer)));
+    }
+
+    /**
+     * Replaced by {@link #JVM} with a factory of {@link PojoClassValueJvm}, j2cl removes that field leaving this
+     * {@link PojoClassValueHashMap} factory.
+     */
+    private static Function<Function<Class<?>, Object>, PojoClassValue<Object>> factory = PojoClassValueHashMap::with;
+
+    @GwtIncompatible("java.lang.ClassValue")
+    private final static boolean JVM = jvm();
+
+    @GwtIncompatible("java.lang.ClassValue")
+    private static boolean jvm() {
+        factory = PojoClassValueJvm::with;
+        return true;
+    }
+
+    PojoClassValue(final Function<Class<?>, V> computer) {
+        super();
+        this.computer = computer;
+    }
+
+    /**
+     * Returns the value for the type, computing it the first time. Threads that race to compute a value all return
+     * the first published.
+     */
+    abstract V get(final Class<?> type);
+
+    final Function<Class<?>, V> computer;
+}
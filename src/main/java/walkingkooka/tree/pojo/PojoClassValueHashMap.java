@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.map.Maps;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link PojoClassValue} that keeps values in a {@link java.util.HashMap}, which keeps every type alive. It is only
+ * used by j2cl, where classes are never unloaded.
+ */
+final class PojoClassValueHashMap<V> extends PojoClassValue<V> {
+
+    static <V> PojoClassValueHashMap<V> with(final Function<Class<?>, V> computer) {
+        return new PojoClassValueHashMap<>(computer);
+    }
+
+    private PojoClassValueHashMap(final Function<Class<?>, V> computer) {
+        super(computer);
+    }
+
+    /**
+     * The value is computed outside the lock, so a computer may ask for the values of other types.
+     */
+    @Override
+    V get(final Class<?> type) {
+        V value;
+        synchronized (this.values) {
+            value = this.values.get(type);
+        }
+        if (null == value) {
+            final V computed = this.computer.apply(type);
+            synchronized (this.values) {
+                value = this.values.putIfAbsent(type, computed);
+            }
+            if (null == value) {
+                value = computed;
+            }
+        }
+        return value;
+    }
+
+    private final Map<Class<?>, V> values = Maps.hash();
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import java.util.function.Function;
+
+/**
+ * A {@link PojoClassValue} that keeps values in a {@link ClassValue}.
+ */
+@GwtIncompatible("java.lang.ClassValue")
+final class PojoClassValueJvm<V> extends PojoClassValue<V> {
+
+    static <V> PojoClassValueJvm<V> with(final Function<Class<?>, V> computer) {
+        return new PojoClassValueJvm<>(computer);
+    }
+
+    private PojoClassValueJvm(final Function<Class<?>, V> computer) {
+        super(computer);
+    }
+
+    @Override
+    V get(final Class<?> type) {
+        return this.values.get(type);
+    }
+
+    private final ClassValue<V> values = new ClassValue<>() {
+        @Override
+        protected V computeValue(final Class<?> type) {
+            return PojoClassValueJvm.this.computer.apply(type);
+        }
+    };
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.tree.Node;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A read only cursor that moves over the same graph as {@link PojoNode#wrap(PojoName, Object, PojoNodeContext)},
+ * without creating any {@link PojoNode}, {@link java.util.Optional} parent or children list for the visited values.
+ * All state lives in a single stack of frames that grows as deeper values are visited and is then reused.
+ * <br>
+ * Elements of primitive arrays are boxed when read, and entering a {@link Set} or {@link Map} creates a single
+ * {@link Iterator} for all its children. The graph should not be modified while a cursor is moving over it.
+ * <br>
+ * When the {@link PojoNodeContext} has a {@link PojoNodeContext#cycleMarker()}, a child that is the same instance as
+ * one of its ancestors is replaced by the cycle marker without any children, the same as the node it wraps.
+ * <pre>
+ * final PojoCursor cursor = PojoCursor.with(name, root, context);
+ * do {
+ *     visit(cursor.value());
+ * } while (cursor.firstChild() || cursor.nextSiblingOrAncestorSibling());
+ * </pre>
+ */
+public final class PojoCursor {
+
+    /**
+     * Creates a new {@link PojoCursor} positioned at the given root value.
+     */
+    public static PojoCursor with(final PojoName name,
+                                  final Object value,
+                                  final PojoNodeContext context) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(context, "context");
+
+        return new PojoCursor(name, value, context);
+    }
+
+    private final static int INITIAL_DEPTH = 16;
+
+    private PojoCursor(final PojoName name,
+                       final Object value,
+                       final PojoNodeContext context) {
+        super();
+        this.context = context;
+        this.cycleMarker = context.cycleMarker()
+            .orElse(null);
+
+        this.values = new Object[INITIAL_DEPTH];
+        this.kinds = new PojoNodeKind[INITIAL_DEPTH];
+        this.names = new PojoName[INITIAL_DEPTH];
+        this.indices = new int[INITIAL_DEPTH];
+        this.counts = new int[INITIAL_DEPTH];
+        this.states = new Object[INITIAL_DEPTH];
+
+        this.names[0] = name;
+        this.indices[0] = Node.NO_INDEX;
+        this.enter(0, value);
+    }
+
+    // properties.......................................................................................................
+
+    /**
+     * The name of the current value, either its property name or its index within its parent.
+     */
+    public PojoName name() {
+        final int depth = this.depth;
+
+        PojoName name = this.names[depth];
+        if (null == name) {
+            name = PojoName.index(this.indices[depth]);
+        }
+        return name;
+    }
+
+    /**
+     * The index of the current value within its parent, or {@link Node#NO_INDEX} for the root.
+     */
+    public int index() {
+        return this.indices[this.depth];
+    }
+
+    /**
+     * The current value.
+     */
+    public Object value() {
+        return this.values[this.depth];
+    }
+
+    /**
+     * The depth of the current value, with the root at zero.
+     */
+    public int depth() {
+        return this.depth;
+    }
+
+    /**
+     * The number of children of the current value.
+     */
+    public int childCount() {
+        return this.count(this.depth);
+    }
+
+    // navigation.......................................................................................................
+
+    /**
+     * Moves to the first child of the current value, returning false and staying put if there are no children.
+     */
+    public boolean firstChild() {
+        return this.child(0);
+    }
+
+    /**
+     * Moves to the child at the given index, returning false and staying put if it does not exist.
+     */
+    public boolean child(final int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " < 0");
+        }
+
+        final int parent = this.depth;
+        final boolean moved = index < this.count(parent);
+        if (moved) {
+            final PojoNodeKind kind = this.kinds[parent];
+            if (index > 0 && (PojoNodeKind.SET == kind || PojoNodeKind.MAP == kind)) {
+                final Iterator<?> iterator = this.iterator(parent);
+                for (int i = 0; i < index; i++) {
+                    iterator.next();
+                }
+                this.states[parent] = iterator;
+            }
+            this.moveTo(parent, index);
+        }
+        return moved;
+    }
+
+    /**
+     * Moves to the next sibling of the current value, returning false and staying put if this is the last child or
+     * the root.
+     */
+    public boolean nextSibling() {
+        final int depth = this.depth;
+        final int parent = depth - 1;
+
+        final boolean moved = depth > 0 && this.indices[depth] + 1 < this.count(parent);
+        if (moved) {
+            this.moveTo(parent, this.indices[depth] + 1);
+        }
+        return moved;
+    }
+
+    /**
+     * Moves to the next sibling, or the next sibling of the closest ancestor that has one. This is the step after a
+     * leaf during a depth first walk, returning false once the walk is complete and leaving the cursor at the root.
+     */
+    public boolean nextSiblingOrAncestorSibling() {
+        boolean moved;
+        for (; ; ) {
+            moved = this.nextSibling();
+            if (moved || !this.parent()) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Moves to the parent of the current value, returning false and staying put at the root.
+     */
+    public boolean parent() {
+        final int depth = this.depth;
+        final boolean moved = depth > 0;
+        if (moved) {
+            this.clear(depth);
+            this.depth = depth - 1;
+        }
+        return moved;
+    }
+
+    /**
+     * Replaces the current value of the child frame of parent with the child at the given index.
+     */
+    private void moveTo(final int parent, final int index) {
+        final int depth = parent + 1;
+        this.ensureCapacity(depth);
+
+        final Object parentValue = this.values[parent];
+        final Object value;
+        PojoName name = null;
+
+        switch (this.kinds[parent]) {
+            case LIST:
+                value = ((List<?>) parentValue).get(index);
+                break;
+            case SET:
+            case MAP:
+                // the iterator is always positioned before the requested child, the first child starts a new iteration
+                Iterator<?> iterator = (Iterator<?>) this.states[parent];
+                if (null == iterator || 0 == index) {
+                    iterator = this.iterator(parent);
+                    this.states[parent] = iterator;
+                }
+                value = iterator.next();
+                break;
+            case OBJECT:
+                @SuppressWarnings("unchecked") final PojoProperty property = ((List<PojoProperty>) this.states[parent]).get(index);
+                name = property.name();
+                value = property.get(parentValue);
+                break;
+            default:
+                value = Array.get(parentValue, index);
+                break;
+        }
+
+        this.clear(depth);
+        this.names[depth] = name;
+        this.indices[depth] = index;
+        if (null != this.cycleMarker && this.isAncestor(value, parent)) {
+            this.enterCycle(depth);
+        } else {
+            this.enter(depth, value);
+        }
+        this.depth = depth;
+    }
+
+    /**
+     * Tests if the value is the same instance as the value of the frame at the given depth or any of its ancestors.
+     */
+    private boolean isAncestor(final Object value,
+                               final int depth) {
+        boolean ancestor = false;
+
+        if (null != value) {
+            for (int i = 0; i <= depth; i++) {
+                if (value == this.values[i]) {
+                    ancestor = true;
+                    break;
+                }
+            }
+        }
+        return ancestor;
+    }
+
+    /**
+     * Records the cycle marker for the frame, which like the node wrapping it never has children.
+     */
+    private void enterCycle(final int depth) {
+        this.values[depth] = this.cycleMarker;
+        this.kinds[depth] = PojoNodeKind.BASIC;
+        this.counts[depth] = 0;
+        this.states[depth] = null;
+    }
+
+    private Iterator<?> iterator(final int depth) {
+        final Object value = this.values[depth];
+        return PojoNodeKind.MAP == this.kinds[depth] ?
+            ((Map<?, ?>) value).entrySet().iterator() :
+            ((Set<?>) value).iterator();
+    }
+
+    /**
+     * Records the value and kind for the frame, along with its child count.
+     */
+    private void enter(final int depth, final Object value) {
+        final PojoNodeKind kind = this.kind(value);
+        final int count;
+
+        switch (kind) {
+            case BASIC:
+                count = 0;
+                break;
+            case LIST:
+                count = ((List<?>) value).size();
+                break;
+            case SET:
+                count = ((Set<?>) value).size();
+                break;
+            case MAP:
+                count = ((Map<?, ?>) value).size();
+                break;
+            case OBJECT:
+                count = UNKNOWN_COUNT;
+                break;
+            default:
+                count = Array.getLength(value);
+                break;
+        }
+
+        this.values[depth] = value;
+        this.kinds[depth] = kind;
+        this.counts[depth] = count;
+        this.states[depth] = null;
+    }
+
+    /**
+     * Returns the number of children for the frame, discovering the properties of objects only when first needed.
+     */
+    private int count(final int depth) {
+        int count = this.counts[depth];
+        if (UNKNOWN_COUNT == count) {
+            final List<PojoProperty> properties = this.context.properties(this.values[depth].getClass());
+            count = properties.size();
+            this.counts[depth] = count;
+            this.states[depth] = properties;
+        }
+        return count;
+    }
+
+    private final static int UNKNOWN_COUNT = -1;
+
+    /**
+     * Uses the {@link PojoNodeKind} selected by the {@link PojoNodeContext}, only custom factories fall back to the default.
+     */
+    private PojoNodeKind kind(final Object value) {
+        PojoNodeKind kind = PojoNodeKind.BASIC;
+
+        if (null != value) {
+            final Class<?> type = value.getClass();
+            final PojoNodeFactory factory = this.context.nodeFactory(type);
+            kind = factory instanceof PojoNodeKind ?
+                (PojoNodeKind) factory :
+                PojoNodeKind.of(type);
+        }
+
+        return kind;
+    }
+
+    /**
+     * Clears references held by the frame so that values are not retained after moving to the parent.
+     */
+    private void clear(final int depth) {
+        this.values[depth] = null;
+        this.states[depth] = null;
+    }
+
+    private void ensureCapacity(final int depth) {
+        final int length = this.values.length;
+        if (depth >= length) {
+            final int newLength = length * 2;
+
+            this.values = Arrays.copyOf(this.values, newLength);
+            this.kinds = Arrays.copyOf(this.kinds, newLength);
+            this.names = Arrays.copyOf(this.names, newLength);
+            this.indices = Arrays.copyOf(this.indices, newLength);
+            this.counts = Arrays.copyOf(this.counts, newLength);
+            this.states = Arrays.copyOf(this.states, newLength);
+        }
+    }
+
+    private final PojoNodeContext context;
+
+    /**
+     * The value that replaces children that cycle back to an ancestor, or null if cycles are not cut.
+     */
+    private final Object cycleMarker;
+
+    private int depth;
+
+    // frames, each indexed by depth
+    private Object[] values;
+    private PojoNodeKind[] kinds;
+
+    /**
+     * Property names, null for children of arrays and collections whose name is their index.
+     */
+    private PojoName[] names;
+    private int[] indices;
+    private int[] counts;
+
+    /**
+     * Either the properties of an object or the {@link Iterator} positioned after the current child of a set or map.
+     */
+    private Object[] states;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 1; i <= this.depth; i++) {
+            b.append('/');
+            b.append(null != this.names[i] ? this.names[i] : PojoName.index(this.indices[i]));
+        }
+        return (0 == b.length() ? "/" : b.toString()) + "=" + this.value();
+    }
+}
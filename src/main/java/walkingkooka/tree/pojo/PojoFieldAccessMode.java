@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.VarHandle.AccessMode;
+
+/**
+ * Selects the {@link VarHandle} access mode used by field {@link PojoProperty properties} to read and write fields.
+ */
+public enum PojoFieldAccessMode {
+
+    /**
+     * Plain reads and writes, the same as a regular field access.
+     */
+    PLAIN(AccessMode.GET, AccessMode.SET),
+
+    /**
+     * Reads and writes that are never elided, but without any ordering guarantees with other fields.
+     */
+    OPAQUE(AccessMode.GET_OPAQUE, AccessMode.SET_OPAQUE),
+
+    /**
+     * Reads and writes with volatile semantics, regardless of whether the field is declared volatile.
+     */
+    VOLATILE(AccessMode.GET_VOLATILE, AccessMode.SET_VOLATILE);
+
+    PojoFieldAccessMode(final AccessMode get,
+                        final AccessMode set) {
+        this.get = get;
+        this.set = set;
+    }
+
+    final AccessMode get;
+
+    final AccessMode set;
+}
@@ -24,43 +24,111 @@ import walkingkooka.predicate.character.CharPredicates;
 import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.CharSequences;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Holds the name of a node within the tree. The name will be either a field/property name or an index.
  */
 public final class PojoName implements Name,
     Comparable<PojoName> {
 
-    private final static int INDEX_CACHE_SIZE = 128;
-
-    static PojoName index(final int index) {
+    /**
+     * The system property that may be used to change the number of index names that are cached.
+     */
+    public final static String INDEX_CACHE_SIZE_PROPERTY = "walkingkooka.tree.pojo.PojoName.indexCacheSize";
+
+    /**
+     * The number of cached index names, when the system property is absent.
+     */
+    public final static int DEFAULT_INDEX_CACHE_SIZE = 1024;
+
+    /**
+     * The largest number of cached index names, larger values from the system property are clamped to this.
+     */
+    public final static int MAX_INDEX_CACHE_SIZE = 64 * 1024;
+
+    private final static int INDEX_CACHE_SIZE = Math.min(
+        Math.max(
+            0,
+            Integer.getInteger(INDEX_CACHE_SIZE_PROPERTY, DEFAULT_INDEX_CACHE_SIZE)
+        ),
+        MAX_INDEX_CACHE_SIZE
+    );
+
+    /**
+     * Creates a {@link PojoName} for an element of an array or collection.
+     */
+    public static PojoName index(final int index) {
         if (index < 0) {
             throw new IndexOutOfBoundsException("Index " + index + " must not be negative");
         }
-        return index < INDEX_CACHE_SIZE ? INDEX_CACHE[index] : new PojoName(index);
+
+        PojoName name;
+        if (index < INDEX_CACHE_SIZE) {
+            // racy but harmless, at worst two equal names are created for the same index
+            name = INDEX_CACHE[index];
+            if (null == name) {
+                name = new PojoName(index);
+                INDEX_CACHE[index] = name;
+            }
+        } else {
+            name = new PojoName(index);
+        }
+        return name;
     }
 
-    private final static PojoName[] INDEX_CACHE = fillIndexCache();
+    /**
+     * Index names are created on demand, so a large cache only costs the array itself.
+     */
+    private final static PojoName[] INDEX_CACHE = new PojoName[INDEX_CACHE_SIZE];
+
+    /**
+     * Creates a {@link PojoName} for a property, typically the name of a getter without any get or is prefix. The
+     * interned instance is returned if a property with this name has been discovered from a class, otherwise a new
+     * equal name, so names from selectors or other input never grow the pool.
+     */
+    public static PojoName property(final String name) {
+        final PojoName pojoName = null != name ?
+            PROPERTIES.get(name) :
+            null;
+        return null != pojoName ?
+            pojoName :
+            new PojoName(checkProperty(name), -1);
+    }
 
-    private static PojoName[] fillIndexCache() {
-        final PojoName[] cache = new PojoName[INDEX_CACHE_SIZE];
-        for (int i = 0; i < INDEX_CACHE_SIZE; i++) {
-            cache[i] = new PojoName(i);
+    /**
+     * Returns the interned {@link PojoName} for the name of a property discovered from a class, adding it to the pool
+     * if necessary. This is public for contexts in other packages, such as those generated by the annotation processor,
+     * and must never be given names from selectors or other input, as the pool is never emptied.
+     */
+    public static PojoName intern(final String name) {
+        PojoName pojoName = null != name ?
+            PROPERTIES.get(name) :
+            null;
+        if (null == pojoName) {
+            pojoName = PROPERTIES.computeIfAbsent(
+                checkProperty(name),
+                (n) -> new PojoName(n, -1)
+            );
         }
-        return cache;
+        return pojoName;
     }
 
-    static PojoName property(final String name) {
-        return new PojoName(
-            CharPredicates.failIfNullOrEmptyOrInitialAndPartFalse(
-                name,
-                "name",
-                INITIAL,
-                PART
-            ),
-            -1
+    private static String checkProperty(final String name) {
+        return CharPredicates.failIfNullOrEmptyOrInitialAndPartFalse(
+            name,
+            "name",
+            INITIAL,
+            PART
         );
     }
 
+    /**
+     * The names of properties discovered from classes, which only grows with the classes that are wrapped and is never
+     * emptied.
+     */
+    private final static ConcurrentHashMap<String, PojoName> PROPERTIES = new ConcurrentHashMap<>();
+
     private final static CharPredicate INITIAL = CharPredicateBuilder.empty()
         .or(Character::isJavaIdentifierStart)
         .andNot(CharPredicates.asciiControl()) // necessary because nul is also valid java identifier
@@ -78,6 +146,7 @@ public final class PojoName implements Name,
     private PojoName(final String name, final int index) {
         this.name = name;
         this.index = index;
+        this.hashCode = CASE_SENSITIVITY.hash(name);
     }
 
     void check(final PojoProperty property) {
@@ -99,15 +168,24 @@ public final class PojoName implements Name,
 
     private final String name;
 
-    private final int index;
+    /**
+     * The index of an array or collection element, or -1 for a property.
+     */
+    final int index;
 
     // Object..........................................................................................................
 
     @Override
     public int hashCode() {
-        return CASE_SENSITIVITY.hash(this.name);
+        return this.hashCode;
     }
 
+    private final int hashCode;
+
+    /**
+     * Discovered property names are interned, so only other property names and index names beyond the cache may be
+     * equal but different instances.
+     */
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -116,7 +194,9 @@ public final class PojoName implements Name,
     }
 
     private boolean equals0(final PojoName other) {
-        return CASE_SENSITIVITY.equals(this.name, other.name);
+        return this.hashCode == other.hashCode &&
+            this.index == other.index &&
+            CASE_SENSITIVITY.equals(this.name, other.name);
     }
 
     @Override
@@ -128,7 +208,9 @@ public final class PojoName implements Name,
 
     @Override
     public int compareTo(final PojoName other) {
-        return CASE_SENSITIVITY.comparator().compare(this.name, other.name);
+        return this == other ?
+            0 :
+            CASE_SENSITIVITY.comparator().compare(this.name, other.name);
     }
 
     // HasCaseSensitivity................................................................................................
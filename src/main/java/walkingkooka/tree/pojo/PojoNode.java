@@ -19,12 +19,14 @@ package walkingkooka.tree.pojo;
 
 import walkingkooka.Cast;
 import walkingkooka.HasValue;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.tree.HasChildrenValues;
 import walkingkooka.tree.Node;
 import walkingkooka.tree.expression.ExpressionFunctionName;
 import walkingkooka.tree.expression.HasExpressionNumberKind;
 import walkingkooka.tree.select.NodeSelector;
+import walkingkooka.tree.select.NodeSelectorContext;
 import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
 
 import java.util.List;
@@ -32,6 +34,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -42,14 +47,17 @@ import java.util.function.Predicate;
  * best not to update the POJOs when using them via their {@link Node} wrappers.
  * <br>
  * Note that some types such as primitive and their wrappers, String and Class are considered basic types without any children.
+ * <br>
+ * A wrapped tree may be read by many threads at once, for example a single root shared by all requests. Children and
+ * other views are created lazily without locks, and if several threads race the first to publish wins and all threads
+ * continue with that instance, so every thread sees the same child nodes. The POJOs themselves must not be updated
+ * while being read.
  */
 public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttributeName, Object>,
     HasChildrenValues<Object, PojoNode>,
     HasValue<Object>,
     Comparable<PojoNode> {
 
-    private final static Optional<PojoNode> NO_PARENT = Optional.empty();
-
     /**
      * Factory that creates a pojo that will act as the root.
      */
@@ -69,65 +77,10 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
                           final Object value,
                           final int index,
                           final PojoNodeContext context) {
-        PojoNode wrapped;
-        for (; ; ) {
-            if (PojoNodeBasic.isBasic(value)) {
-                wrapped = PojoNodeBasic.with(name, value, index, context);
-                break;
-            }
-            if (value instanceof boolean[]) {
-                wrapped = PojoNodeArrayBoolean.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof byte[]) {
-                wrapped = PojoNodeArrayByte.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof char[]) {
-                wrapped = PojoNodeArrayChar.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof double[]) {
-                wrapped = PojoNodeArrayDouble.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof float[]) {
-                wrapped = PojoNodeArrayFloat.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof int[]) {
-                wrapped = PojoNodeArrayInt.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof List) {
-                wrapped = PojoNodeCollectionList.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof long[]) {
-                wrapped = PojoNodeArrayLong.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof Map) {
-                wrapped = PojoNodeCollectionMap.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof Object[]) {
-                wrapped = PojoNodeArrayObject.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof Set) {
-                wrapped = PojoNodeCollectionSet.with(name, Cast.to(value), index, context);
-                break;
-            }
-            if (value instanceof short[]) {
-                wrapped = PojoNodeArrayShort.with(name, Cast.to(value), index, context);
-                break;
-            }
-            wrapped = PojoNodeObject.with(name, value, index, context);
-            break;
-        }
-
-        return wrapped;
+        return null == value ?
+            PojoNodeBasic.with(name, null, index, context) :
+            context.nodeFactory(value.getClass())
+                .create(name, value, index, context);
     }
 
     /**
@@ -139,7 +92,6 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
              final PojoNodeContext context) {
         this.name = name;
         this.value = value;
-        this.parent = NO_PARENT;
         this.index = index;
         this.context = context;
     }
@@ -169,11 +121,36 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
 
     // parent ..................................................................................................
 
+    /**
+     * Creates a new {@link Optional} each call, internal code walking or rebuilding parents should use
+     * {@link #parentOrNull()} instead.
+     */
     @Override
     public final Optional<PojoNode> parent() {
+        return Optional.ofNullable(this.parent);
+    }
+
+    /**
+     * Returns the parent or null for a root without allocating an {@link Optional}.
+     */
+    final PojoNode parentOrNull() {
         return this.parent;
     }
 
+    @Override
+    public final boolean isRoot() {
+        return null == this.parent;
+    }
+
+    @Override
+    public final PojoNode root() {
+        PojoNode root = this;
+        for (PojoNode parent = root.parent; null != parent; parent = parent.parent) {
+            root = parent;
+        }
+        return root;
+    }
+
     @Override
     public PojoNode removeParent() {
         throw new UnsupportedOperationException();
@@ -182,12 +159,15 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
     /**
      * This setter is used to recreate the entire graph including parents of parents receiving new children.
      */
-    final PojoNode setParent(final Optional<PojoNode> parent) {
+    final PojoNode setParent(final PojoNode parent) {
         this.parent = parent;
         return this;
     }
 
-    private Optional<PojoNode> parent;
+    /**
+     * The parent or null for a root, kept as a plain reference rather than an {@link Optional} to save memory.
+     */
+    private PojoNode parent;
 
     // children ........................................................................................................
 
@@ -199,17 +179,41 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
 
     /**
      * Only ever called after during the completion of a setChildren, basically used to recreate the parent graph
-     * containing this child.
+     * containing this child. A null previous parent, ie a root, returns this node.
      */
-    final PojoNode replaceChild(final Optional<PojoNode> previousParent) {
-        return previousParent.isPresent() ?
-            previousParent.get()
-                .replaceChild(this)
-                .children()
-                .get(this.index()) :
+    final PojoNode replaceInParentOrSelf(final PojoNode previousParent) {
+        return null != previousParent ?
+            this.context.replaceChild(this, previousParent) :
             this;
     }
 
+    /**
+     * Replaces this node within the given parent, returning the equivalent child of the new parent.
+     */
+    final PojoNode replaceInParent(final PojoNode previousParent) {
+        return previousParent.replaceChild(this)
+            .children()
+            .get(this.index());
+    }
+
+    /**
+     * Returns the child with the given name, a property of an object or an element of an array or collection, without
+     * scanning the children.
+     */
+    public final Optional<PojoNode> child(final PojoName name) {
+        Objects.requireNonNull(name, "name");
+
+        final int index = this.childIndex(name);
+        return -1 == index ?
+            Optional.empty() :
+            Optional.of(this.children().get(index));
+    }
+
+    /**
+     * Returns the index of the child with the given name or -1 if absent.
+     */
+    abstract int childIndex(final PojoName name);
+
     /**
      * Getter that returns the child values without the wrappers.
      */
@@ -242,18 +246,20 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
 
     // attributes ...............................................................................................
 
+    /**
+     * The attributes only depend on the class of the value, so they are shared by all nodes with values of that class.
+     */
     @Override
     public final Map<PojoNodeAttributeName, Object> attributes() {
-        if (null == this.attributes) {
-            final Object value = this.value();
-            this.attributes = null != value ?
-                Maps.of(PojoNodeAttributeName.CLASS, value.getClass().getName()) :
-                Maps.empty();
-        }
-        return this.attributes;
+        final Object value = this.value();
+        return null != value ?
+            ATTRIBUTES.get(value.getClass()) :
+            Maps.empty();
     }
 
-    private Map<PojoNodeAttributeName, Object> attributes;
+    private final static PojoClassValue<Map<PojoNodeAttributeName, Object>> ATTRIBUTES = PojoClassValue.with(
+        (type) -> Maps.of(PojoNodeAttributeName.CLASS, type.getName())
+    );
 
     @Override
     public final PojoNode setAttributes(final Map<PojoNodeAttributeName, Object> attributes) {
@@ -281,7 +287,79 @@ public abstract class PojoNode implements Node<PojoNode, PojoName, PojoNodeAttri
                     value,
                     index(),
                     this.context)
-                .replaceChild(this.parent());
+                .replaceInParentOrSelf(this.parentOrNull());
+    }
+
+    // select .........................................................................................................
+
+    /**
+     * Returns this node and all descendants that match the {@link Predicate} in document order, using the common
+     * {@link ForkJoinPool} to test subtrees in parallel. The {@link Predicate} must be safe to call from many threads.
+     */
+    @GwtIncompatible("java.util.concurrent.ForkJoinPool")
+    public final List<PojoNode> selectParallel(final Predicate<PojoNode> predicate) {
+        return this.selectParallel(predicate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns this node and all descendants that match the {@link Predicate} in document order, using the given
+     * {@link ForkJoinPool} to test subtrees in parallel. The {@link Predicate} must be safe to call from many threads.
+     */
+    @GwtIncompatible("java.util.concurrent.ForkJoinPool")
+    public final List<PojoNode> selectParallel(final Predicate<PojoNode> predicate,
+                                               final ForkJoinPool pool) {
+        Objects.requireNonNull(predicate, "predicate");
+        Objects.requireNonNull(pool, "pool");
+
+        return Lists.readOnly(
+            pool.invoke(
+                PojoNodeSelectParallelTask.with(
+                    Lists.of(this),
+                    0,
+                    1,
+                    predicate
+                )
+            )
+        );
+    }
+
+    /**
+     * Applies the {@link NodeSelector} relative to this node and each descendant, returning everything selected in
+     * document order, using the common {@link ForkJoinPool}.
+     * {@see #selectParallel(NodeSelector, Function, ForkJoinPool)}
+     */
+    @GwtIncompatible("java.util.concurrent.ForkJoinPool")
+    public final List<PojoNode> selectParallel(final NodeSelector<PojoNode, PojoName, PojoNodeAttributeName, Object> selector,
+                                               final Function<Consumer<PojoNode>, NodeSelectorContext<PojoNode, PojoName, PojoNodeAttributeName, Object>> contexts) {
+        return this.selectParallel(selector, contexts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies the {@link NodeSelector} relative to this node and each descendant, returning everything selected in
+     * document order, using the given {@link ForkJoinPool} to visit subtrees in parallel. The selector should start
+     * at the current node, for example {@code PojoNode.relativeNodeSelector().named(name)}, as descendant axes would
+     * select the same nodes again from each of their ancestors. Each task creates its own {@link NodeSelectorContext}
+     * from the {@link Function}, passing a {@link Consumer} that receives the nodes selected by that task.
+     */
+    @GwtIncompatible("java.util.concurrent.ForkJoinPool")
+    public final List<PojoNode> selectParallel(final NodeSelector<PojoNode, PojoName, PojoNodeAttributeName, Object> selector,
+                                               final Function<Consumer<PojoNode>, NodeSelectorContext<PojoNode, PojoName, PojoNodeAttributeName, Object>> contexts,
+                                               final ForkJoinPool pool) {
+        Objects.requireNonNull(selector, "selector");
+        Objects.requireNonNull(contexts, "contexts");
+        Objects.requireNonNull(pool, "pool");
+
+        return Lists.readOnly(
+            pool.invoke(
+                PojoNodeSelectParallelTask.with(
+                    Lists.of(this),
+                    0,
+                    1,
+                    selector,
+                    contexts
+                )
+            )
+        );
     }
 
     // Comparable ......................................................................................................
@@ -40,17 +40,27 @@ abstract class PojoNode2 extends PojoNode {
     // children ....................................................................................
 
     /**
-     * Getter that returns the children for this node.
+     * Getter that returns the children for this node. Threads that race to create the list all return the first
+     * published, as the list also holds the cache of child nodes.
      */
     @Override
     public final List<PojoNode> children() {
-        if (null == this.children) {
-            this.children = this.createChildrenList();
+        PojoNodeChildrenList<?> children = CHILDREN.get(this);
+        if (null == children) {
+            children = CHILDREN.publish(this, this.createChildrenList());
         }
-        return this.children;
+        return children;
     }
 
-    PojoNodeChildrenList<?> children;
+    private PojoNodeChildrenList<?> children;
+
+    private final static PojoNodeLazyField<PojoNode2, PojoNodeChildrenList<?>> CHILDREN = PojoNodeLazyField.with(
+        PojoNode2.class,
+        "children",
+        PojoNodeChildrenList.class,
+        (n) -> n.children,
+        (n, c) -> n.children = c
+    );
 
     /**
      * Factory that creates the list of children.
@@ -84,7 +94,7 @@ abstract class PojoNode2 extends PojoNode {
 
     @Override
     PojoNode clearChildrenListCache() {
-        final PojoNodeChildrenList<?> children = this.children;
+        final PojoNodeChildrenList<?> children = CHILDREN.get(this);
         if (null != children) {
             children.clearChildrenNodeCache();
         }
@@ -33,13 +33,22 @@ abstract class PojoNodeArray extends PojoNodeArrayOrCollection {
     // children ..................................................................................
 
     @Override final List<Object> valueAsList() {
-        if (null == this.valueAsList) {
-            this.valueAsList = PojoNodeArrayChildrenValueList.with(this);
+        PojoNodeArrayChildrenValueList valueAsList = VALUE_AS_LIST.get(this);
+        if (null == valueAsList) {
+            valueAsList = VALUE_AS_LIST.publish(this, PojoNodeArrayChildrenValueList.with(this));
         }
-        return this.valueAsList;
+        return valueAsList;
     }
 
-    private List<Object> valueAsList;
+    private PojoNodeArrayChildrenValueList valueAsList;
+
+    private final static PojoNodeLazyField<PojoNodeArray, PojoNodeArrayChildrenValueList> VALUE_AS_LIST = PojoNodeLazyField.with(
+        PojoNodeArray.class,
+        "valueAsList",
+        PojoNodeArrayChildrenValueList.class,
+        (n) -> n.valueAsList,
+        (n, l) -> n.valueAsList = l
+    );
 
     @Override
     public final List<Object> childrenValues() {
@@ -88,7 +88,7 @@ final class PojoNodeArrayBoolean extends PojoNodeArray {
             values,
             this.index(),
             this.context)
-            .replaceChild(this.parent());
+            .replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override
@@ -89,7 +89,7 @@ final class PojoNodeArrayChar extends PojoNodeArray {
             values,
             this.index(),
             this.context
-        ).replaceChild(this.parent());
+        ).replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override
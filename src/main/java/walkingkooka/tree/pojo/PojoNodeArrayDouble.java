@@ -88,7 +88,7 @@ final class PojoNodeArrayDouble extends PojoNodeArray {
             values,
             this.index(),
             this.context)
-            .replaceChild(this.parent());
+            .replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override
@@ -62,6 +62,10 @@ final class PojoNodeArrayObject extends PojoNodeArray {
         return this.replace(newChildren);
     }
 
+    /**
+     * Always copies the array, as its parent must be given the real array. {@link PojoNodeEditor} batches many edits
+     * into a single copy.
+     */
     @Override //
     PojoNode replaceChild(final PojoNode newChild) {
         final Object[] newChildren = this.valueAsArray().clone(); // clone is faster than reflective createArray
@@ -93,7 +97,7 @@ final class PojoNodeArrayObject extends PojoNodeArray {
             values,
             this.index(),
             this.context)
-            .replaceChild(this.parent());
+            .replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override
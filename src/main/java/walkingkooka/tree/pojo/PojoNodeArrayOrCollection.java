@@ -37,6 +37,14 @@ abstract class PojoNodeArrayOrCollection extends PojoNode2 {
         return PojoNodeArrayOrCollectionChildrenList.with(this);
     }
 
+    @Override
+    final int childIndex(final PojoName name) {
+        final int index = name.index;
+        return index >= 0 && index < this.childrenCount() ?
+            index :
+            -1;
+    }
+
     /**
      * Casts / converts the provided value into a {@link List} of objects. For performance reasons if converting,
      * this should be smart somehow, particulary for {@link java.util.Set} and {@link java.util.Map}.
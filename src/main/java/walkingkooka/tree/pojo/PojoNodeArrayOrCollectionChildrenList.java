@@ -17,11 +17,10 @@
 
 package walkingkooka.tree.pojo;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * The {@link List} for all collections. Items are lazily wrapped upon the first fetch.
+ * The {@link List} for all arrays and collections. Items are lazily wrapped upon the first fetch.
  */
 final class PojoNodeArrayOrCollectionChildrenList<P extends PojoNodeArrayOrCollection> extends PojoNodeChildrenList<P> {
 
@@ -31,38 +30,8 @@ final class PojoNodeArrayOrCollectionChildrenList<P extends PojoNodeArrayOrColle
 
     private PojoNodeArrayOrCollectionChildrenList(final P parent) {
         super(parent);
-        this.nodes = new ArrayList<>();
     }
 
-    @Override
-    public PojoNode get(final int index) {
-        // expand list as necessary and lazily...
-        final int size = this.parent.childrenCount() + 1;
-        for (int i = index; i < size; i++) {
-            this.nodes.add(null);
-        }
-
-        PojoNode node = this.nodes.get(index);
-        if (null == node) {
-            node = this.replace(index);
-            this.nodes.set(index, node);
-        }
-        return node;
-    }
-
-    @Override
-    void clearChildrenNodeCache() {
-        final int size = this.parent.childrenCount();
-        for (int i = 0; i < size; i++) {
-            this.nodes.set(i, null);
-        }
-    }
-
-    /**
-     * Lazily wrapped pojo nodes. This may or may not expand as necessary particularly for collections which may mutate.
-     */
-    private final ArrayList<PojoNode> nodes;
-
     @Override
     Object elementValue(final int index) {
         return this.parent.valueAsList().get(index);
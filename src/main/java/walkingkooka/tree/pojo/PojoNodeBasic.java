@@ -30,12 +30,8 @@ import java.util.Optional;
 @SuppressWarnings("lgtm[java/inconsistent-equals-and-hashcode]")
 final class PojoNodeBasic extends PojoNode {
 
-    static boolean isBasic(final Object value) {
-        return null == value || isBasicType(value.getClass());
-    }
-
     // String and Class are considered basic and without properties.
-    private static boolean isBasicType(final Class<?> type) {
+    static boolean isBasicType(final Class<?> type) {
         return type == Class.class ||
             type == String.class ||
             Classes.primitive(type).isPresent() ||
@@ -63,6 +59,11 @@ final class PojoNodeBasic extends PojoNode {
         return Lists.empty();
     }
 
+    @Override
+    int childIndex(final PojoName name) {
+        return -1;
+    }
+
     @Override
     public PojoNode setChildren(final List<PojoNode> children) {
         Objects.requireNonNull(children, "children");
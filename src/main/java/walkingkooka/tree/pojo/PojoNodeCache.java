@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+/**
+ * Holds the {@link PojoNode} wrappers of the children of a single node, created by a {@link PojoNodeCachePolicy}.
+ * All methods are safe for concurrent readers such as a parallel stream.
+ */
+abstract class PojoNodeCache {
+
+    PojoNodeCache() {
+        super();
+    }
+
+    /**
+     * Returns the cached child at the index or null if absent or released.
+     */
+    abstract PojoNode get(final int index);
+
+    /**
+     * Caches the child unless another thread won the race, returning the child that should be used.
+     */
+    abstract PojoNode putIfAbsent(final int index,
+                                  final PojoNode node,
+                                  final int size);
+
+    /**
+     * Releases all children.
+     */
+    abstract void clear();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+/**
+ * A {@link PojoNodeCache} for the children of a single node, which share a {@link PojoNodeCacheLruBudget} with every
+ * other cache created by the same {@link PojoNodeCachePolicy}. When the budget is exceeded a child that was not fetched
+ * again since the last sweep is released. This approximates least recently used using a clock, so fetching an already
+ * cached child only sets a flag without any locking, and only adding a child locks the budget.
+ * <br>
+ * Each cache only references the children of its own node, and the budget only weakly references caches, so nothing
+ * keeps a discarded tree reachable.
+ */
+final class PojoNodeCacheLru extends PojoNodeCacheStrong {
+
+    /**
+     * Creates a cache with its own budget.
+     */
+    static PojoNodeCacheLru with(final int maxSize) {
+        return with(PojoNodeCacheLruBudget.with(maxSize));
+    }
+
+    static PojoNodeCacheLru with(final PojoNodeCacheLruBudget budget) {
+        return new PojoNodeCacheLru(budget);
+    }
+
+    private PojoNodeCacheLru(final PojoNodeCacheLruBudget budget) {
+        super();
+        this.budget = budget;
+    }
+
+    /**
+     * Records that a cached child was fetched again, a lost update to a replaced array only makes the clock less precise.
+     */
+    @Override
+    PojoNode get(final int index) {
+        final PojoNode node = super.get(index);
+        if (null != node) {
+            final boolean[] referenced = this.referenced;
+            if (index < referenced.length) {
+                referenced[index] = true;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    PojoNode putIfAbsent(final int index,
+                         final PojoNode node,
+                         final int size) {
+        final PojoNode result = super.putIfAbsent(index, node, size);
+        if (result == node) {
+            final PojoNodeCacheLruBudget budget = this.budget;
+            synchronized (budget) {
+                boolean[] referenced = this.referenced;
+                if (referenced.length < size) {
+                    final boolean[] grown = new boolean[size];
+                    System.arraycopy(referenced, 0, grown, 0, referenced.length);
+                    this.referenced = referenced = grown;
+                }
+                referenced[index] = false;
+
+                budget.kept(this, index);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Advances the clock hand at most once around the children, giving fetched children a second chance, until a child
+     * other than the given index is released, returning false if none was. Must be called holding the lock of the
+     * budget.
+     */
+    boolean sweep(final int added) {
+        final boolean[] referenced = this.referenced;
+        final int length = referenced.length;
+        int hand = this.hand;
+
+        boolean released = false;
+        for (int i = 0; i < length; i++) {
+            hand = hand >= length - 1 ? 0 : hand + 1;
+            if (hand == added) {
+                continue;
+            }
+
+            final PojoNode node = super.get(hand);
+            if (null != node) {
+                if (referenced[hand]) {
+                    referenced[hand] = false;
+                } else {
+                    this.release(hand, node);
+                    released = true;
+                    break;
+                }
+            }
+        }
+        this.hand = hand;
+        return released;
+    }
+
+    @Override
+    void clear() {
+        final PojoNodeCacheLruBudget budget = this.budget;
+        synchronized (budget) {
+            super.clear();
+            this.referenced = EMPTY;
+            this.hand = -1;
+            budget.cleared(this);
+        }
+    }
+
+    private final PojoNodeCacheLruBudget budget;
+
+    /**
+     * The entry of this cache within the budget, created when the first child is kept.
+     */
+    PojoNodeCacheLruBudget.Entry entry;
+
+    /**
+     * The index last visited by the clock hand.
+     */
+    private int hand = -1;
+
+    /**
+     * Set when a child is fetched again, cleared when the clock hand passes.
+     */
+    private volatile boolean[] referenced = EMPTY;
+
+    private final static boolean[] EMPTY = new boolean[0];
+
+    @Override
+    public String toString() {
+        return "lru " + this.budget.maxSize();
+    }
+}
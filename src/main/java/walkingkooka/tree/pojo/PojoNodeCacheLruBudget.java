@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * The number of children that all {@link PojoNodeCacheLru} created by a single {@link PojoNodeCachePolicy} may keep
+ * together. When a cache keeps a new child beyond the budget, a second clock turns over the caches, asking each in turn
+ * to release a child that was not fetched again since its own clock last passed.
+ * <br>
+ * Caches are only weakly referenced, so a discarded tree is still collected, and its children are removed from the
+ * count when the clock next reaches its cache. Fetching a cached child never takes the lock, which is only held while a
+ * new child is kept or a cache cleared.
+ */
+final class PojoNodeCacheLruBudget {
+
+    static PojoNodeCacheLruBudget with(final int maxSize) {
+        checkMaxSize(maxSize);
+        return new PojoNodeCacheLruBudget(maxSize);
+    }
+
+    static void checkMaxSize(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid max size " + maxSize + " <= 0");
+        }
+    }
+
+    private PojoNodeCacheLruBudget(final int maxSize) {
+        super();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Counts a child newly kept by the cache at the index, releasing children of any cache while over budget. Must be
+     * called holding the lock of this budget.
+     */
+    void kept(final PojoNodeCacheLru cache,
+              final int index) {
+        Entry entry = cache.entry;
+        if (null == entry) {
+            entry = new Entry(cache);
+            cache.entry = entry;
+            this.caches.add(entry);
+        }
+        entry.kept++;
+        this.kept++;
+
+        while (this.kept > this.maxSize && this.release(cache, index)) {
+            // keep releasing
+        }
+    }
+
+    /**
+     * Advances the clock over the caches until one releases a child, or a collected cache is removed. The child just
+     * added by the given cache is never released. Two turns give every fetched child its second chance, so if nothing
+     * was released after that false is returned.
+     */
+    private boolean release(final PojoNodeCacheLru added,
+                            final int index) {
+        final List<Entry> caches = this.caches;
+
+        for (int i = 2 * caches.size(); i > 0; i--) {
+            int hand = this.hand;
+            hand = hand >= caches.size() - 1 ? 0 : hand + 1;
+            this.hand = hand;
+
+            final Entry entry = caches.get(hand);
+            final PojoNodeCacheLru cache = entry.get();
+            if (null == cache) {
+                this.kept -= entry.kept;
+                this.remove(hand);
+                return true;
+            }
+            if (cache.sweep(cache == added ? index : -1)) {
+                entry.kept--;
+                this.kept--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the entry with the last, so the clock visits the moved entry next.
+     */
+    private void remove(final int hand) {
+        final List<Entry> caches = this.caches;
+        final int last = caches.size() - 1;
+        caches.set(hand, caches.get(last));
+        caches.remove(last);
+        this.hand = hand - 1;
+    }
+
+    /**
+     * Removes all the children of the cache from the count. Must be called holding the lock of this budget.
+     */
+    void cleared(final PojoNodeCacheLru cache) {
+        final Entry entry = cache.entry;
+        if (null != entry) {
+            this.kept -= entry.kept;
+            entry.kept = 0;
+        }
+    }
+
+    int maxSize() {
+        return this.maxSize;
+    }
+
+    private final int maxSize;
+
+    /**
+     * The number of children kept by all caches, including those of collected caches not yet removed.
+     */
+    private int kept;
+
+    /**
+     * Every cache that has kept a child.
+     */
+    private final List<Entry> caches = Lists.array();
+
+    /**
+     * The index of the cache last visited by the clock.
+     */
+    private int hand = -1;
+
+    /**
+     * Weakly references a cache, remembering how many children it keeps even after it is collected.
+     */
+    final static class Entry extends WeakReference<PojoNodeCacheLru> {
+
+        Entry(final PojoNodeCacheLru cache) {
+            super(cache);
+        }
+
+        int kept;
+    }
+
+    @Override
+    public String toString() {
+        return this.kept + "/" + this.maxSize;
+    }
+}
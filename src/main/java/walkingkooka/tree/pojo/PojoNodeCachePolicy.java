@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.function.Supplier;
+
+/**
+ * Controls how long the {@link PojoNode} wrappers of children are kept after they are first fetched, trading memory
+ * against the cost of wrapping a child again. The policy is selected by {@link PojoNodeContext#cachePolicy()}, with
+ * {@link PojoNodeContexts#cachePolicy(PojoNodeContext, PojoNodeCachePolicy)} available to change the policy of any context.
+ * <br>
+ * Every child references its parent, so holding on to any {@link PojoNode} keeps its ancestors and whatever children
+ * their caches still hold reachable. Policies themselves hold no nodes, so a tree that is no longer referenced may be
+ * collected whatever its policy.
+ */
+public final class PojoNodeCachePolicy {
+
+    /**
+     * Children are kept for as long as their parent.
+     */
+    public static PojoNodeCachePolicy strong() {
+        return STRONG;
+    }
+
+    private final static PojoNodeCachePolicy STRONG = new PojoNodeCachePolicy("strong", PojoNodeCacheStrong::with);
+
+    /**
+     * Children are kept until the garbage collector needs memory.
+     */
+    public static PojoNodeCachePolicy soft() {
+        return SOFT;
+    }
+
+    private final static PojoNodeCachePolicy SOFT = new PojoNodeCachePolicy("soft", PojoNodeCacheReference::soft);
+
+    /**
+     * Children are only kept while something else references them.
+     */
+    public static PojoNodeCachePolicy weak() {
+        return WEAK;
+    }
+
+    private final static PojoNodeCachePolicy WEAK = new PojoNodeCachePolicy("weak", PojoNodeCacheReference::weak);
+
+    /**
+     * At most the given number of children are kept by all the nodes using the returned policy together, with children
+     * that were not fetched again released first. Each call returns a policy with its own budget, so a bounded tree
+     * needs a policy of its own, while trees sharing a policy share its bound.
+     */
+    public static PojoNodeCachePolicy lru(final int maxSize) {
+        final PojoNodeCacheLruBudget budget = PojoNodeCacheLruBudget.with(maxSize);
+        return new PojoNodeCachePolicy(
+            "lru " + maxSize,
+            () -> PojoNodeCacheLru.with(budget)
+        );
+    }
+
+    private PojoNodeCachePolicy(final String name,
+                                final Supplier<PojoNodeCache> caches) {
+        super();
+        this.name = name;
+        this.caches = caches;
+    }
+
+    /**
+     * Creates the cache for the children of a single node.
+     */
+    PojoNodeCache cache() {
+        return this.caches.get();
+    }
+
+    private final Supplier<PojoNodeCache> caches;
+
+    // Object...........................................................................................................
+
+    private final String name;
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link PojoNodeCache} that holds each child using a {@link SoftReference} or {@link WeakReference}, so children may
+ * be released by the garbage collector and wrapped again when next fetched.
+ */
+final class PojoNodeCacheReference extends PojoNodeCache {
+
+    static PojoNodeCacheReference soft() {
+        return new PojoNodeCacheReference(true);
+    }
+
+    static PojoNodeCacheReference weak() {
+        return new PojoNodeCacheReference(false);
+    }
+
+    private PojoNodeCacheReference(final boolean soft) {
+        super();
+        this.soft = soft;
+    }
+
+    @Override
+    PojoNode get(final int index) {
+        final AtomicReferenceArray<Reference<PojoNode>> references = this.references;
+        final Reference<PojoNode> reference = index < references.length() ?
+            references.get(index) :
+            null;
+        return null != reference ?
+            reference.get() :
+            null;
+    }
+
+    @Override
+    PojoNode putIfAbsent(final int index,
+                         final PojoNode node,
+                         final int size) {
+        AtomicReferenceArray<Reference<PojoNode>> references = this.references;
+
+        Reference<PojoNode> reference = this.soft ?
+            new SoftReference<>(node) :
+            new WeakReference<>(node);
+
+        PojoNode winner = node;
+        for (; ; ) {
+            if (index >= references.length()) {
+                references = this.grow(size);
+            }
+
+            for (; ; ) {
+                final Reference<PojoNode> existing = references.get(index);
+                final PojoNode existingNode = null != existing ?
+                    existing.get() :
+                    null;
+                if (null != existingNode) {
+                    // another thread won the race
+                    winner = existingNode;
+                    reference = existing;
+                    break;
+                }
+                if (references.compareAndSet(index, existing, reference)) {
+                    break;
+                }
+            }
+
+            // a grow may have copied the array before the compare and set, so repeat against the array that replaced it.
+            final AtomicReferenceArray<Reference<PojoNode>> current = this.references;
+            if (current == references) {
+                break;
+            }
+            references = current;
+        }
+        return winner;
+    }
+
+    private synchronized AtomicReferenceArray<Reference<PojoNode>> grow(final int size) {
+        AtomicReferenceArray<Reference<PojoNode>> references = this.references;
+
+        final int length = references.length();
+        if (length < size) {
+            final AtomicReferenceArray<Reference<PojoNode>> grown = new AtomicReferenceArray<>(size);
+            for (int i = 0; i < length; i++) {
+                grown.set(i, references.get(i));
+            }
+            this.references = references = grown;
+        }
+        return references;
+    }
+
+    @Override
+    void clear() {
+        this.references = new AtomicReferenceArray<>(0);
+    }
+
+    private volatile AtomicReferenceArray<Reference<PojoNode>> references = new AtomicReferenceArray<>(0);
+
+    private final boolean soft;
+
+    @Override
+    public String toString() {
+        return this.soft ?
+            "soft" :
+            "weak";
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link PojoNodeCache} that keeps every child for as long as the parent lives.
+ */
+class PojoNodeCacheStrong extends PojoNodeCache {
+
+    static PojoNodeCacheStrong with() {
+        return new PojoNodeCacheStrong();
+    }
+
+    PojoNodeCacheStrong() {
+        super();
+    }
+
+    @Override
+    PojoNode get(final int index) {
+        final AtomicReferenceArray<PojoNode> nodes = this.nodes;
+        return index < nodes.length() ?
+            nodes.get(index) :
+            null;
+    }
+
+    @Override
+    PojoNode putIfAbsent(final int index,
+                         final PojoNode node,
+                         final int size) {
+        AtomicReferenceArray<PojoNode> nodes = this.nodes;
+        PojoNode winner = node;
+        for (;;) {
+            if (index >= nodes.length()) {
+                nodes = this.grow(size);
+            }
+
+            // another thread may have won the race, in which case use its node.
+            final PojoNode existing = nodes.compareAndExchange(index, null, winner);
+            if (null != existing) {
+                winner = existing;
+            }
+
+            // a grow may have copied the array before the exchange, so repeat against the array that replaced it.
+            final AtomicReferenceArray<PojoNode> current = this.nodes;
+            if (current == nodes) {
+                break;
+            }
+            nodes = current;
+        }
+        return winner;
+    }
+
+    private synchronized AtomicReferenceArray<PojoNode> grow(final int size) {
+        AtomicReferenceArray<PojoNode> nodes = this.nodes;
+
+        final int length = nodes.length();
+        if (length < size) {
+            final AtomicReferenceArray<PojoNode> grown = new AtomicReferenceArray<>(size);
+            for (int i = 0; i < length; i++) {
+                grown.set(i, nodes.get(i));
+            }
+            this.nodes = nodes = grown;
+        }
+        return nodes;
+    }
+
+    /**
+     * Releases the child at the index if it is still the given node.
+     */
+    final void release(final int index,
+                       final PojoNode node) {
+        AtomicReferenceArray<PojoNode> nodes = this.nodes;
+        while (index < nodes.length()) {
+            nodes.compareAndSet(index, node, null);
+
+            final AtomicReferenceArray<PojoNode> current = this.nodes;
+            if (current == nodes) {
+                break;
+            }
+            nodes = current;
+        }
+    }
+
+    @Override
+    void clear() {
+        this.nodes = EMPTY;
+    }
+
+    private final static AtomicReferenceArray<PojoNode> EMPTY = new AtomicReferenceArray<>(0);
+
+    /**
+     * Lazily wrapped pojo nodes, replaced by a longer array when the parent has more children.
+     */
+    private volatile AtomicReferenceArray<PojoNode> nodes = EMPTY;
+
+    @Override
+    public String toString() {
+        return "strong";
+    }
+}
@@ -17,16 +17,39 @@
 
 package walkingkooka.tree.pojo;
 
-import java.util.Optional;
+import java.util.Spliterator;
 
 /**
- * Base for all {@link java.util.List} of children.
+ * Base for all {@link java.util.List} of children. Children are wrapped lazily upon their first fetch, and cached in a way
+ * that is safe for concurrent readers such as a parallel stream, all of which receive the same child. How long children
+ * remain cached is controlled by {@link PojoNodeContext#cachePolicy()}.
  */
 abstract class PojoNodeChildrenList<P extends PojoNode> extends PojoNodeList<P, PojoNode> {
 
     PojoNodeChildrenList(final P parent) {
         super(parent);
-        this.parentOptional = Optional.of(parent);
+        this.nodes = parent.context.cachePolicy().cache();
+    }
+
+    /**
+     * Supports caching pojo wrappers for individual elements.
+     */
+    @Override
+    public final PojoNode get(final int index) {
+        final int size = this.size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " must be between 0 and " + size);
+        }
+
+        PojoNode node = this.nodes.get(index);
+        if (null == node) {
+            node = this.nodes.putIfAbsent(
+                index,
+                this.replace(index),
+                size
+            );
+        }
+        return node;
     }
 
     @Override
@@ -34,21 +57,31 @@ abstract class PojoNodeChildrenList<P extends PojoNode> extends PojoNodeList<P,
         return this.parent.childrenCount();
     }
 
+    /**
+     * Splits by index range, with children wrapped as each is reached.
+     */
+    @Override
+    public final Spliterator<PojoNode> spliterator() {
+        return PojoNodeChildrenListSpliterator.with(this, 0, this.size());
+    }
+
     abstract Object elementValue(final int index);
 
     abstract PojoNode replace(final int index);
 
     final PojoNode replace0(final PojoName name, final Object instance, final int index) {
-        return PojoNode.wrap0(
-            name,
-            instance,
-            index,
-            this.parent.context).setParent(this.parentOptional);
+        return this.parent.context.wrapChild(name, instance, index, this.parent)
+            .setParent(this.parent);
     }
 
-    final Optional<PojoNode> parentOptional;
+    final void clearChildrenNodeCache() {
+        this.nodes.clear();
+    }
 
-    abstract void clearChildrenNodeCache();
+    /**
+     * Lazily wrapped pojo nodes, kept according to the {@link PojoNodeCachePolicy} of the context.
+     */
+    private final PojoNodeCache nodes;
 
     /**
      * Since the children list is just a view of the parent, test for equality using the parents.
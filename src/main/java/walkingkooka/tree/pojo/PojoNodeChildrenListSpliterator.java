@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over a range of indices of a {@link PojoNodeChildrenList}, which splits in half so the children
+ * of wide arrays, collections and objects may be wrapped and visited in parallel.
+ */
+final class PojoNodeChildrenListSpliterator implements Spliterator<PojoNode> {
+
+    static PojoNodeChildrenListSpliterator with(final PojoNodeChildrenList<?> list,
+                                                final int index,
+                                                final int fence) {
+        return new PojoNodeChildrenListSpliterator(list, index, fence);
+    }
+
+    private PojoNodeChildrenListSpliterator(final PojoNodeChildrenList<?> list,
+                                            final int index,
+                                            final int fence) {
+        super();
+        this.list = list;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super PojoNode> action) {
+        Objects.requireNonNull(action, "action");
+
+        final int index = this.index;
+        final boolean advanced = index < this.fence;
+        if (advanced) {
+            this.index = index + 1;
+            action.accept(this.list.get(index));
+        }
+        return advanced;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super PojoNode> action) {
+        Objects.requireNonNull(action, "action");
+
+        final PojoNodeChildrenList<?> list = this.list;
+        final int fence = this.fence;
+        int index = this.index;
+        this.index = fence;
+
+        while (index < fence) {
+            action.accept(list.get(index));
+            index++;
+        }
+    }
+
+    @Override
+    public Spliterator<PojoNode> trySplit() {
+        final int index = this.index;
+        final int middle = (index + this.fence) >>> 1;
+
+        PojoNodeChildrenListSpliterator prefix = null;
+        if (index < middle) {
+            this.index = middle;
+            prefix = new PojoNodeChildrenListSpliterator(this.list, index, middle);
+        }
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    private final PojoNodeChildrenList<?> list;
+
+    /**
+     * The next index.
+     */
+    private int index;
+
+    /**
+     * One past the last index.
+     */
+    private final int fence;
+
+    @Override
+    public String toString() {
+        return this.index + ".." + this.fence + " " + this.list;
+    }
+}
@@ -66,15 +66,18 @@ final class PojoNodeCollectionList extends PojoNodeCollection {
 
     @Override
     PojoNode replaceChild(final PojoNode newChild) {
-        final List<Object> newChildren = this.createList();
-
-        // copy all the old children except for $newChild
-        final int index = newChild.index();
-        int i = 0;
-        for (Object child : this.valueAsList()) {
-            newChildren.add(i == index ? newChild.value() : child);
-            i++;
+        final List<Object> list = this.valueAsList();
+
+        final List<Object> newChildren;
+        if (list instanceof PojoPersistentVector) {
+            // shares all but the path to the replaced element with the original
+            newChildren = ((PojoPersistentVector<Object>) list).copy();
+        } else {
+            newChildren = this.createList();
+            newChildren.addAll(list);
         }
+        newChildren.set(newChild.index(), newChild.value());
+
         return this.replace(newChildren);
     }
 
@@ -88,7 +91,7 @@ final class PojoNodeCollectionList extends PojoNodeCollection {
         final List<Object> copy = this.createList();
         copy.addAll(values);
 
-        return this.replace(values);
+        return this.replace(copy);
     }
 
     /**
@@ -103,7 +106,7 @@ final class PojoNodeCollectionList extends PojoNodeCollection {
             values,
             this.index(),
             this.context)
-            .replaceChild(this.parent());
+            .replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override int childrenCount() {
@@ -49,16 +49,28 @@ final class PojoNodeCollectionMap extends PojoNodeCollection {
 
     // children ..................................................................................
 
+    /**
+     * Threads that race to create the list all return the first published, so its elements are only gathered once.
+     */
     @Override
     List<Object> valueAsList() {
-        if (null == this.list) {
-            this.list = PojoNodeCollectionMapList.with(this.valueAsMap());
+        PojoNodeCollectionMapList list = LIST.get(this);
+        if (null == list) {
+            list = LIST.publish(this, PojoNodeCollectionMapList.with(this.valueAsMap()));
         }
-        return this.list;
+        return list;
     }
 
     private PojoNodeCollectionMapList list;
 
+    private final static PojoNodeLazyField<PojoNodeCollectionMap, PojoNodeCollectionMapList> LIST = PojoNodeLazyField.with(
+        PojoNodeCollectionMap.class,
+        "list",
+        PojoNodeCollectionMapList.class,
+        (n) -> n.list,
+        (n, l) -> n.list = l
+    );
+
     /**
      * Makes a copy of the values in the list {@link List} and creates a new wrapper, and ask its parent to update itself.
      */
@@ -74,6 +86,27 @@ final class PojoNodeCollectionMap extends PojoNodeCollection {
 
     @Override
     PojoNode replaceChild(final PojoNode newChild) {
+        final Map<Object, Object> map = this.valueAsMap();
+        return this.replace(
+            map instanceof PojoPersistentHashMap ?
+                this.replacePersistentChild((PojoPersistentHashMap<Object, Object>) map, newChild) :
+                this.replaceChild0(newChild)
+        );
+    }
+
+    /**
+     * Shares all but the path to the replaced entry with the original map, which stays at the same position.
+     */
+    private Map<Object, Object> replacePersistentChild(final PojoPersistentHashMap<Object, Object> map,
+                                                       final PojoNode newChild) {
+        final PojoPersistentHashMap<Object, Object> copy = map.copy();
+
+        final Entry<Object, Object> entry = Cast.to(newChild.value());
+        copy.replaceAt(newChild.index(), entry.getKey(), entry.getValue());
+        return copy;
+    }
+
+    private Map<Object, Object> replaceChild0(final PojoNode newChild) {
         final Map<Object, Object> newChildren = this.createMap();
 
         // copy all the old children except for $newChild
@@ -90,7 +123,7 @@ final class PojoNodeCollectionMap extends PojoNodeCollection {
             newChildren.put(key, value);
             i++;
         }
-        return this.replace(newChildren);
+        return newChildren;
     }
 
     @Override
@@ -119,7 +152,7 @@ final class PojoNodeCollectionMap extends PojoNodeCollection {
             values,
             this.index(),
             this.context)
-            .replaceChild(this.parent());
+            .replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override int childrenCount() {
@@ -50,6 +50,15 @@ final class PojoNodeCollectionMapList extends AbstractList<Object> implements Im
             this.indexOutOfBoundsFail(index, size);
         }
 
+        return this.map instanceof PojoPersistentHashMap ?
+            ((PojoPersistentHashMap<Object, Object>) this.map).entryAt(index) :
+            this.getOrFill(index);
+    }
+
+    /**
+     * Synchronized so concurrent readers, such as a parallel stream over the children, share a single fill.
+     */
+    private synchronized Object getOrFill(final int index) {
         return index < this.list.size() ?
             this.list.get(index) :
             this.fillListAndGet(index);
@@ -49,16 +49,28 @@ final class PojoNodeCollectionSet extends PojoNodeCollection {
         return Cast.to(this.value());
     }
 
+    /**
+     * Threads that race to create the list all return the first published, so its elements are only gathered once.
+     */
     @Override
     List<Object> valueAsList() {
-        if (null == this.list) {
-            this.list = PojoNodeCollectionSetList.with(this.valueAsSet());
+        PojoNodeCollectionSetList list = LIST.get(this);
+        if (null == list) {
+            list = LIST.publish(this, PojoNodeCollectionSetList.with(this.valueAsSet()));
         }
-        return this.list;
+        return list;
     }
 
     private PojoNodeCollectionSetList list;
 
+    private final static PojoNodeLazyField<PojoNodeCollectionSet, PojoNodeCollectionSetList> LIST = PojoNodeLazyField.with(
+        PojoNodeCollectionSet.class,
+        "list",
+        PojoNodeCollectionSetList.class,
+        (n) -> n.list,
+        (n, l) -> n.list = l
+    );
+
     /**
      * Makes a copy of the values in the list {@link List} and creates a new wrapper, and ask its parent to update itself.
      */
@@ -73,9 +85,28 @@ final class PojoNodeCollectionSet extends PojoNodeCollection {
 
     @Override
     PojoNode replaceChild(final PojoNode newChild) {
+        final Set<Object> set = this.valueAsSet();
+        return this.replace(
+            set instanceof PojoPersistentHashSet ?
+                this.replacePersistentChild((PojoPersistentHashSet<Object>) set, newChild) :
+                this.replaceChild0(newChild)
+        );
+    }
+
+    /**
+     * Shares all but the path to the replaced element with the original set, which stays at the same position.
+     */
+    private Set<Object> replacePersistentChild(final PojoPersistentHashSet<Object> set,
+                                               final PojoNode newChild) {
+        final PojoPersistentHashSet<Object> copy = set.copy();
+        copy.replaceAt(newChild.index(), newChild.value());
+        return copy;
+    }
+
+    private Set<Object> replaceChild0(final PojoNode newChild) {
         final Set<Object> newChildren = this.createSet();
 
-        final int index = this.index();
+        final int index = newChild.index();
         int i = 0;
         for (Object value : this.valueAsSet()) {
             newChildren.add(index == i ?
@@ -83,8 +114,7 @@ final class PojoNodeCollectionSet extends PojoNodeCollection {
                 value);
             i++;
         }
-
-        return this.replace(newChildren);
+        return newChildren;
     }
 
     @Override
@@ -109,7 +139,7 @@ final class PojoNodeCollectionSet extends PojoNodeCollection {
             values,
             this.index(),
             this.context)
-            .replaceChild(this.parent());
+            .replaceInParentOrSelf(this.parentOrNull());
     }
 
     @Override int childrenCount() {
@@ -49,6 +49,15 @@ final class PojoNodeCollectionSetList extends AbstractList<Object> implements Im
             this.indexOutOfBoundsFail(index, size);
         }
 
+        return this.set instanceof PojoPersistentHashSet ?
+            ((PojoPersistentHashSet<Object>) this.set).elementAt(index) :
+            this.getOrFill(index);
+    }
+
+    /**
+     * Synchronized so concurrent readers, such as a parallel stream over the children, share a single fill.
+     */
+    private synchronized Object getOrFill(final int index) {
         return index < this.list.size() ?
             this.list.get(index) :
             this.fillListAndGet(index);
@@ -20,6 +20,7 @@ import walkingkooka.Context;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -32,6 +33,15 @@ public interface PojoNodeContext extends Context {
      */
     List<PojoProperty> properties(Class<?> type);
 
+    /**
+     * Returns the index of the named property within {@link #properties(Class)} for the given type, or -1 if the type has
+     * no such property. Contexts that cache properties should override this with a lookup that does not scan.
+     */
+    default int propertyIndex(final Class<?> type,
+                              final PojoName name) {
+        return PojoPropertyIndex.scan(this.properties(type), name);
+    }
+
     /**
      * Creates a new {@link List}
      */
@@ -46,4 +56,47 @@ public interface PojoNodeContext extends Context {
      * Creates a new {@link Map}
      */
     Map<Object, Object> createMap(Class<?> type);
+
+    /**
+     * Returns the {@link PojoNodeFactory} that wraps values of the given runtime class. Contexts may override this to
+     * wrap additional types differently, falling back to this default for all other types.
+     */
+    default PojoNodeFactory nodeFactory(final Class<?> type) {
+        return PojoNodeKind.of(type);
+    }
+
+    /**
+     * Returns the {@link PojoNodeCachePolicy} that controls how long the wrappers of children are kept.
+     */
+    default PojoNodeCachePolicy cachePolicy() {
+        return PojoNodeCachePolicy.strong();
+    }
+
+    /**
+     * Wraps the value of a child of the given parent, returning a node that is not yet attached to the parent. Contexts
+     * that wrap another must forward this, so every context of a stack takes part, for example cutting cycles.
+     */
+    default PojoNode wrapChild(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNode parent) {
+        return PojoNode.wrap0(name, value, index, parent.context);
+    }
+
+    /**
+     * Returns the value that replaces children that cycle back to an ancestor, or empty if cycles are not cut. Contexts
+     * that wrap another must forward this.
+     */
+    default Optional<Object> cycleMarker() {
+        return Optional.empty();
+    }
+
+    /**
+     * Replaces the child within its previous parent, rebuilding the parent and its own parents, returning the equivalent
+     * child of the new parent. Contexts that wrap another must forward this.
+     */
+    default PojoNode replaceChild(final PojoNode child,
+                                  final PojoNode parent) {
+        return child.replaceInParent(parent);
+    }
 }
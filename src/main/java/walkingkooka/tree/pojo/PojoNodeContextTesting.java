@@ -128,6 +128,21 @@ public interface PojoNodeContextTesting<C extends PojoNodeContext> extends Conte
             () -> properties + " for " + type.getName());
     }
 
+    default void propertyIndexAndCheck(final Class<?> type,
+                                       final PojoName name,
+                                       final int expected) {
+        this.propertyIndexAndCheck(this.createContext(), type, name, expected);
+    }
+
+    default void propertyIndexAndCheck(final C context,
+                                       final Class<?> type,
+                                       final PojoName name,
+                                       final int expected) {
+        assertEquals(expected,
+            context.propertyIndex(type, name),
+            () -> "propertyIndex " + name + " for " + type.getName());
+    }
+
     default <T> void getAndCheck(final T instance,
                                  final PojoName name,
                                  final Object expected) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+/**
+ * Collection of static factory methods for {@link PojoNodeContext}.
+ */
+public final class PojoNodeContexts implements PublicStaticHelper {
+
+    /**
+     * {@see AccessorPojoNodeContext}
+     */
+    public static PojoNodeContext accessors() {
+        return AccessorPojoNodeContext.with();
+    }
+
+    /**
+     * {@see CachePolicyPojoNodeContext}
+     */
+    public static PojoNodeContext cachePolicy(final PojoNodeContext context,
+                                              final PojoNodeCachePolicy cachePolicy) {
+        return CachePolicyPojoNodeContext.with(context, cachePolicy);
+    }
+
+    /**
+     * {@see FieldPojoNodeContext}
+     */
+    public static PojoNodeContext fields(final PojoFieldAccessMode mode) {
+        return FieldPojoNodeContext.with(mode);
+    }
+
+    /**
+     * {@see IdentityPojoNodeContext} which replaces children that cycle back to an ancestor with the cycle marker.
+     * Values that are shared but do not form a cycle are still wrapped again for every path that reaches them, as each
+     * node has a single parent. Only {@link PojoSelectorPlan} reuses the matches below a shared value; node traversal
+     * and generic {@link walkingkooka.tree.select.NodeSelector} queries visit every copy.
+     */
+    public static PojoNodeContext identity(final PojoNodeContext context,
+                                           final Object cycleMarker) {
+        return IdentityPojoNodeContext.with(context, cycleMarker);
+    }
+
+    /**
+     * {@see InstrumentedPojoNodeContext}
+     */
+    public static PojoNodeContext instrumented(final PojoNodeContext context) {
+        return InstrumentedPojoNodeContext.with(context);
+    }
+
+    /**
+     * {@see ReflectionPojoNodeContext} with properties that invoke their getter and setter using a {@link java.lang.invoke.MethodHandle}.
+     */
+    public static PojoNodeContext methodHandles() {
+        return ReflectionPojoNodeContext.with(MethodHandlePojoProperty::with);
+    }
+
+    /**
+     * {@see ReflectionPojoNodeContext} with properties that invoke their getter and setter using a {@link java.lang.invoke.MethodHandle},
+     * resolving the properties of types within the {@link PojoPropertySnapshot} by name.
+     */
+    public static PojoNodeContext methodHandles(final PojoPropertySnapshot snapshot) {
+        return ReflectionPojoNodeContext.with(MethodHandlePojoProperty::with, snapshot);
+    }
+
+    /**
+     * {@see JfrPojoNodeContext}
+     */
+    @GwtIncompatible("jdk.jfr")
+    public static PojoNodeContext jfr(final PojoNodeContext context) {
+        return JfrPojoNodeContext.with(context);
+    }
+
+    /**
+     * {@see PersistentPojoNodeContext}
+     */
+    public static PojoNodeContext persistent(final PojoNodeContext context) {
+        return PersistentPojoNodeContext.with(context);
+    }
+
+    /**
+     * {@see ReflectionPojoNodeContext}
+     */
+    public static PojoNodeContext reflection() {
+        return ReflectionPojoNodeContext.with();
+    }
+
+    /**
+     * {@see ReflectionPojoNodeContext} which resolves the properties of types within the {@link PojoPropertySnapshot}
+     * by name, and also implements {@link HasPojoPropertySnapshot} to export all discovered types.
+     */
+    public static PojoNodeContext reflection(final PojoPropertySnapshot snapshot) {
+        return ReflectionPojoNodeContext.with(snapshot);
+    }
+
+    /**
+     * {@see SelectorCachePojoNodeContext}
+     */
+    public static PojoNodeContext selectorCache(final PojoNodeSelectorCache cache,
+                                                final PojoNodeContext context) {
+        return SelectorCachePojoNodeContext.with(cache, context);
+    }
+
+    /**
+     * Stop creation
+     */
+    private PojoNodeContexts() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Records many edits below a {@link PojoNode} and applies them together. Unlike {@link PojoNode#setValue(Object)},
+ * which rebuilds every ancestor for each edit, {@link #commit()} rebuilds each affected node exactly once, bottom up,
+ * and then replaces the edited node within its own parents a single time.
+ * <pre>
+ * final PojoNodeEditor editor = PojoNodeEditor.with(root);
+ * editor.set(Lists.of(PojoName.property("lines"), PojoName.index(0), PojoName.property("quantity")), 2);
+ * editor.set(Lists.of(PojoName.property("lines"), PojoName.index(1), PojoName.property("quantity")), 3);
+ * final PojoNode updated = editor.commit();
+ * </pre>
+ */
+public final class PojoNodeEditor {
+
+    /**
+     * Creates a new {@link PojoNodeEditor} for edits below the given node.
+     */
+    public static PojoNodeEditor with(final PojoNode node) {
+        Objects.requireNonNull(node, "node");
+
+        return new PojoNodeEditor(node);
+    }
+
+    private PojoNodeEditor(final PojoNode node) {
+        super();
+        this.node = node;
+    }
+
+    /**
+     * Records a new value for the given node, which must be the edited node or one of its descendants.
+     */
+    public PojoNodeEditor set(final PojoNode node, final Object value) {
+        Objects.requireNonNull(node, "node");
+
+        final List<Integer> indices = Lists.array();
+        PojoNode current = node;
+        while (this.node != current) {
+            indices.add(0, current.index());
+            current = current.parentOrNull();
+            if (null == current) {
+                throw new IllegalArgumentException("Node " + CharSequences.quoteIfChars(node.name()) + " is not a descendant of " + CharSequences.quoteIfChars(this.node.name()));
+            }
+        }
+
+        this.edit(indices).set(value);
+        return this;
+    }
+
+    /**
+     * Records a new value for the node at the given path of names, starting with a child of the edited node.
+     * An empty path replaces the value of the edited node itself. Names are resolved against any values already
+     * recorded along the path, so a child of a replaced list may be edited even if the original list was shorter.
+     */
+    public PojoNodeEditor set(final List<PojoName> path, final Object value) {
+        Objects.requireNonNull(path, "path");
+
+        final List<Integer> indices = Lists.array();
+        Edit edit = this.edit;
+        PojoNode current = pending(this.node, edit);
+        for (final PojoName name : path) {
+            Objects.requireNonNull(name, "path includes null name");
+
+            current = child(current, name);
+
+            final int index = current.index();
+            indices.add(index);
+
+            edit = null != edit ?
+                edit.children.get(index) :
+                null;
+            current = pending(current, edit);
+        }
+
+        this.edit(indices).set(value);
+        return this;
+    }
+
+    /**
+     * Returns a detached node holding the value recorded by the edit, or the node if the edit has no value.
+     */
+    private static PojoNode pending(final PojoNode node, final Edit edit) {
+        return null != edit && edit.hasValue ?
+            PojoNode.wrap0(node.name(), edit.value, node.index(), node.context) :
+            node;
+    }
+
+    private static PojoNode child(final PojoNode parent, final PojoName name) {
+        return parent.child(name)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown child " + CharSequences.quoteIfChars(name) + " in " + CharSequences.quoteIfChars(parent.name())));
+    }
+
+    /**
+     * Finds or creates the {@link Edit} for the given path of child indices.
+     */
+    private Edit edit(final List<Integer> indices) {
+        Edit edit = this.edit;
+        for (final Integer index : indices) {
+            edit = edit.child(index);
+        }
+        return edit;
+    }
+
+    /**
+     * Tests if there are any uncommitted edits.
+     */
+    public boolean isEmpty() {
+        return this.edit.isEmpty();
+    }
+
+    /**
+     * Applies all recorded edits and returns the replacement for the edited node, with any parents also replaced.
+     * The editor then continues with the returned node and no edits.
+     */
+    public PojoNode commit() {
+        final PojoNode node = this.node;
+
+        PojoNode result = node;
+        if (!this.edit.isEmpty()) {
+            final Object before = node.value();
+            final Object after = apply(detach(node), this.edit).value();
+
+            result = before == after ?
+                node.clearChildrenListCache() :
+                PojoNode.wrap0(node.name(), after, node.index(), node.context)
+                    .replaceInParentOrSelf(node.parentOrNull());
+        }
+
+        this.node = result;
+        this.edit = new Edit();
+        return result;
+    }
+
+    /**
+     * Applies the edit to a node without a parent, so changes are not propagated upwards until the final node
+     * is ready.
+     */
+    private static PojoNode apply(final PojoNode node, final Edit edit) {
+        PojoNode result = node;
+
+        if (edit.hasValue) {
+            result = PojoNode.wrap0(node.name(), edit.value, node.index(), node.context);
+        }
+
+        if (!edit.children.isEmpty()) {
+            final List<PojoNode> children = Lists.array();
+            children.addAll(result.children());
+
+            for (final Map.Entry<Integer, Edit> indexAndEdit : edit.children.entrySet()) {
+                final int index = indexAndEdit.getKey();
+                final PojoNode child = children.get(index);
+
+                children.set(
+                    index,
+                    apply(detach(child), indexAndEdit.getValue())
+                );
+            }
+
+            result = result.setChildren(children);
+        }
+
+        return result;
+    }
+
+    private static PojoNode detach(final PojoNode node) {
+        return PojoNode.wrap0(node.name(), node.value(), node.index(), node.context);
+    }
+
+    /**
+     * The node that will be replaced by {@link #commit()}.
+     */
+    private PojoNode node;
+
+    /**
+     * The edits for the node.
+     */
+    private Edit edit = new Edit();
+
+    /**
+     * A new value and or edits for children, keyed by child index. Setting a value discards any edits previously
+     * recorded for children, while edits for children recorded afterwards are applied to the new value.
+     */
+    private final static class Edit {
+
+        void set(final Object value) {
+            this.hasValue = true;
+            this.value = value;
+            this.children.clear();
+        }
+
+        Edit child(final int index) {
+            return this.children.computeIfAbsent(index, (i) -> new Edit());
+        }
+
+        boolean isEmpty() {
+            return !this.hasValue && this.children.isEmpty();
+        }
+
+        boolean hasValue;
+
+        Object value;
+
+        final Map<Integer, Edit> children = new TreeMap<>();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.node.name() + (this.isEmpty() ? "" : " *");
+    }
+}
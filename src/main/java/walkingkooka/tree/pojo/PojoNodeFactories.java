@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.Objects;
+
+/**
+ * Collection of static factory methods for {@link PojoNodeFactory}, useful for a {@link PojoNodeContext} that wishes
+ * to wrap some types differently from the default, for example treating a value type as basic without any children.
+ */
+public final class PojoNodeFactories implements PublicStaticHelper {
+
+    /**
+     * A {@link PojoNodeFactory} that wraps values as basic, without any children, like {@link String}.
+     */
+    public static PojoNodeFactory basic() {
+        return PojoNodeKind.BASIC;
+    }
+
+    /**
+     * A {@link PojoNodeFactory} for {@link java.util.List} values.
+     */
+    public static PojoNodeFactory list() {
+        return PojoNodeKind.LIST;
+    }
+
+    /**
+     * A {@link PojoNodeFactory} for {@link java.util.Map} values.
+     */
+    public static PojoNodeFactory map() {
+        return PojoNodeKind.MAP;
+    }
+
+    /**
+     * A {@link PojoNodeFactory} that wraps values as an object with properties.
+     */
+    public static PojoNodeFactory object() {
+        return PojoNodeKind.OBJECT;
+    }
+
+    /**
+     * A {@link PojoNodeFactory} for {@link java.util.Set} values.
+     */
+    public static PojoNodeFactory set() {
+        return PojoNodeKind.SET;
+    }
+
+    /**
+     * Returns the default {@link PojoNodeFactory} for the given runtime class.
+     */
+    public static PojoNodeFactory type(final Class<?> type) {
+        Objects.requireNonNull(type, "type");
+
+        return PojoNodeKind.of(type);
+    }
+
+    /**
+     * Stop creation
+     */
+    private PojoNodeFactories() {
+        throw new UnsupportedOperationException();
+    }
+}
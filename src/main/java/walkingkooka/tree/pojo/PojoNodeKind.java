@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.Cast;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The default {@link PojoNodeFactory} for every runtime class, resolved once and cached in a {@link PojoClassValue}
+ * so wrapping a value is a single lookup followed by a direct factory call.
+ */
+enum PojoNodeKind implements PojoNodeFactory {
+
+    BASIC {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeBasic.with(name, value, index, context);
+        }
+    },
+
+    ARRAY_BOOLEAN {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayBoolean.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_BYTE {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayByte.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_CHAR {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayChar.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_DOUBLE {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayDouble.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_FLOAT {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayFloat.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_INT {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayInt.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_LONG {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayLong.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_OBJECT {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayObject.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    ARRAY_SHORT {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeArrayShort.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    LIST {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeCollectionList.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    MAP {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeCollectionMap.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    SET {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeCollectionSet.with(name, Cast.to(value), index, context);
+        }
+    },
+
+    OBJECT {
+        @Override
+        public PojoNode create(final PojoName name,
+                               final Object value,
+                               final int index,
+                               final PojoNodeContext context) {
+            return PojoNodeObject.with(name, value, index, context);
+        }
+    };
+
+    /**
+     * Returns the cached {@link PojoNodeKind} for the given runtime class.
+     */
+    static PojoNodeKind of(final Class<?> type) {
+        return KINDS.get(type);
+    }
+
+    private final static PojoClassValue<PojoNodeKind> KINDS = PojoClassValue.with(PojoNodeKind::kind);
+
+    /**
+     * Tests the type in the same order {@link PojoNode} previously tested each value with instanceof.
+     */
+    private static PojoNodeKind kind(final Class<?> type) {
+        PojoNodeKind kind;
+        for (; ; ) {
+            if (PojoNodeBasic.isBasicType(type)) {
+                kind = BASIC;
+                break;
+            }
+            if (boolean[].class == type) {
+                kind = ARRAY_BOOLEAN;
+                break;
+            }
+            if (byte[].class == type) {
+                kind = ARRAY_BYTE;
+                break;
+            }
+            if (char[].class == type) {
+                kind = ARRAY_CHAR;
+                break;
+            }
+            if (double[].class == type) {
+                kind = ARRAY_DOUBLE;
+                break;
+            }
+            if (float[].class == type) {
+                kind = ARRAY_FLOAT;
+                break;
+            }
+            if (int[].class == type) {
+                kind = ARRAY_INT;
+                break;
+            }
+            if (List.class.isAssignableFrom(type)) {
+                kind = LIST;
+                break;
+            }
+            if (long[].class == type) {
+                kind = ARRAY_LONG;
+                break;
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                kind = MAP;
+                break;
+            }
+            if (Object[].class.isAssignableFrom(type)) {
+                kind = ARRAY_OBJECT;
+                break;
+            }
+            if (Set.class.isAssignableFrom(type)) {
+                kind = SET;
+                break;
+            }
+            if (short[].class == type) {
+                kind = ARRAY_SHORT;
+                break;
+            }
+            kind = OBJECT;
+            break;
+        }
+
+        return kind;
+    }
+}
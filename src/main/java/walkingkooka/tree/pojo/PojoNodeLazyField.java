@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.Cast;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads and publishes a lazily created value held by a field of a node. On a JVM the field is accessed using a
+ * {@link java.lang.invoke.VarHandle}, j2cl which only has a single thread reads and writes the field directly.
+ */
+abstract class PojoNodeLazyField<N, V> {
+
+    /**
+     * Creates a {@link PojoNodeLazyField} for the named field of the given type, the getter and setter must access
+     * that same field.
+     */
+    static <N, V> PojoNodeLazyField<N, V> with(final Class<N> type,
+                                              final String name,
+                                              final Class<?> fieldType,
+                                              final Function<N, V> getter,
+                                              final BiConsumer<N, V> setter) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(fieldType, "fieldType");
+        Objects.requireNonNull(getter, "getter");
+        Objects.requireNonNull(setter, "setter");
+
+        return Cast.to(factory.create(type, name, fieldType, Cast.to(getter), Cast.to(setter)));
+    }
+
+    /**
+     * Replaced by {@link #JVM} with a factory of {@link PojoNodeLazyFieldVarHandle}, j2cl removes that field leaving
+     * this {@link PojoNodeLazyFieldPlain} factory.
+     */
+    private static Factory factory = (type, name, fieldType, getter, setter) -> PojoNodeLazyFieldPlain.with(getter, setter);
+
+    @GwtIncompatible("java.lang.invoke.VarHandle")
+    private final static boolean JVM = jvm();
+
+    @GwtIncompatible("java.lang.invoke.VarHandle")
+    private static boolean jvm() {
+        factory = (type, name, fieldType, getter, setter) -> PojoNodeLazyFieldVarHandle.with(type, name, fieldType);
+        return true;
+    }
+
+    private interface Factory {
+        PojoNodeLazyField<Object, Object> create(final Class<?> type,
+                                                 final String name,
+                                                 final Class<?> fieldType,
+                                                 final Function<Object, Object> getter,
+                                                 final BiConsumer<Object, Object> setter);
+    }
+
+    PojoNodeLazyField() {
+        super();
+    }
+
+    /**
+     * Reads the field, returning null if no value was published yet.
+     */
+    abstract V get(final N node);
+
+    /**
+     * Publishes the created value unless another thread won the race, returning the value that should be used.
+     */
+    abstract V publish(final N node,
+                       final V created);
+}
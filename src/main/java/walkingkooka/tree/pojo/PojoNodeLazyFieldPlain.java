@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A {@link PojoNodeLazyField} that reads and writes the field without any synchronization, which is only used by j2cl
+ * where there is a single thread.
+ */
+final class PojoNodeLazyFieldPlain<N, V> extends PojoNodeLazyField<N, V> {
+
+    static <N, V> PojoNodeLazyFieldPlain<N, V> with(final Function<N, V> getter,
+                                                    final BiConsumer<N, V> setter) {
+        return new PojoNodeLazyFieldPlain<>(getter, setter);
+    }
+
+    private PojoNodeLazyFieldPlain(final Function<N, V> getter,
+                                   final BiConsumer<N, V> setter) {
+        super();
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    V get(final N node) {
+        return this.getter.apply(node);
+    }
+
+    @Override
+    V publish(final N node,
+              final V created) {
+        V value = this.getter.apply(node);
+        if (null == value) {
+            this.setter.accept(node, created);
+            value = created;
+        }
+        return value;
+    }
+
+    private final Function<N, V> getter;
+
+    private final BiConsumer<N, V> setter;
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.Cast;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A {@link PojoNodeLazyField} that reads the field with {@link VarHandle#getAcquire(Object...)} and publishes with
+ * {@link VarHandle#compareAndExchange(Object...)}.
+ */
+@GwtIncompatible("java.lang.invoke.VarHandle")
+final class PojoNodeLazyFieldVarHandle<N, V> extends PojoNodeLazyField<N, V> {
+
+    /**
+     * Finds the {@link VarHandle} for a private field of a class in this package.
+     */
+    static <N, V> PojoNodeLazyFieldVarHandle<N, V> with(final Class<?> type,
+                                                       final String name,
+                                                       final Class<?> fieldType) {
+        try {
+            return new PojoNodeLazyFieldVarHandle<>(
+                MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findVarHandle(type, name, fieldType)
+            );
+        } catch (final ReflectiveOperationException cause) {
+            throw new ExceptionInInitializerError(cause);
+        }
+    }
+
+    private PojoNodeLazyFieldVarHandle(final VarHandle handle) {
+        super();
+        this.handle = handle;
+    }
+
+    @Override
+    V get(final N node) {
+        return Cast.to(this.handle.getAcquire(node));
+    }
+
+    @Override
+    V publish(final N node,
+              final V created) {
+        final Object existing = this.handle.compareAndExchange(node, (Object) null, (Object) created);
+        return null != existing ?
+            Cast.to(existing) :
+            created;
+    }
+
+    private final VarHandle handle;
+}
@@ -17,11 +17,9 @@
 
 package walkingkooka.tree.pojo;
 
-import walkingkooka.collect.map.Maps;
 import walkingkooka.text.CharSequences;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * The {@link PojoNode} wrapper around an object (including primitive types) value.
@@ -53,35 +51,50 @@ final class PojoNodeObject extends PojoNode2 {
     /**
      * Accepts all children, updating the properties of the value, support setters that return a new value.
      * If the final value is different from the original a new {@link PojoNodeObject} is created and wrapped.
+     * Records collect all new component values and are then rebuilt with a single canonical constructor call.
      */
     @Override
     PojoNode replaceChildren(final List<PojoNode> children) {
         final Object before = this.value();
         Object current = before;
 
+        final RecordPojoType record = RecordPojoType.record(this.properties());
+        final Object[] components = null != record ?
+            record.values(before) :
+            null;
+
         int i = 0;
-        final Map<PojoName, PojoProperty> properties = this.nameToProperties();
+        final List<PojoProperty> properties = this.properties();
         for (PojoNode child : children) {
             if (null == child) {
                 throw new NullPointerException("Child at " + i + " has null " + PojoNode.class.getSimpleName());
             }
-            final PojoProperty property = properties.get(child.name());
-            if (null == property) {
+            final int index = this.childIndex(child.name());
+            if (-1 == index) {
                 throw new IllegalArgumentException("Unknown property " + CharSequences.quoteIfChars(child.name()) + " = " + child);
             }
-            //if(!property.isReadOnly()){
-            // try and set property
-            final Object after = property.set(current, child.value());
-            if (null != after) {
-                current = after;
+            final PojoProperty property = properties.get(index);
+            if (null != components) {
+                components[RecordPojoType.component(property).index] = child.value();
+            } else {
+                //if(!property.isReadOnly()){
+                // try and set property
+                final Object after = property.set(current, child.value());
+                if (null != after) {
+                    current = after;
+                }
+                //}
             }
-            //}
             i++;
             if (i > properties.size()) {
                 throw new IndexOutOfBoundsException("Too many children " + i + "=" + child);
             }
         }
 
+        if (null != components) {
+            current = record.rebuild(before, components);
+        }
+
         return this.wrapIfDifferent(before, current);
     }
 
@@ -115,37 +128,48 @@ final class PojoNodeObject extends PojoNode2 {
         return before.equals(after) ?
             this.clearChildrenListCache() :
             wrap0(this.name(), after, this.index(), this.context)
-                .replaceChild(this.parent());
+                .replaceInParentOrSelf(this.parentOrNull());
     }
 
+    /**
+     * The returned list is a view, so it is created for each request rather than kept by every node.
+     */
     @Override
     public List<Object> childrenValues() {
-        if (null == this.childrenValueList) {
-            this.childrenValueList = PojoNodeObjectChildrenValueList.with(this);
-        }
-        return this.childrenValueList;
+        return PojoNodeObjectChildrenValueList.with(this);
     }
 
-    private PojoNodeObjectChildrenValueList childrenValueList;
-
     @Override
     PojoNode replaceChildrenValues(final List<Object> values) {
         final Object before = this.value();
         Object current = before;
 
+        final RecordPojoType record = RecordPojoType.record(this.properties());
+        final Object[] components = null != record ?
+            record.values(before) :
+            null;
+
         int i = 0;
-        for (PojoProperty property : this.nameToProperties().values()) {
+        for (PojoProperty property : this.properties()) {
             if (property.isReadOnly()) {
                 continue;
             }
             final Object childValue = values.get(i);
-            final Object after = property.set(current, childValue);
-            if (null != after) {
-                current = after;
+            if (null != components) {
+                components[RecordPojoType.component(property).index] = childValue;
+            } else {
+                final Object after = property.set(current, childValue);
+                if (null != after) {
+                    current = after;
+                }
             }
             i++;
         }
 
+        if (null != components) {
+            current = record.rebuild(before, components);
+        }
+
         if (i > values.size()) {
             throw new IndexOutOfBoundsException("Several child values unset=" + values.subList(i, values.size()));
         }
@@ -164,33 +188,22 @@ final class PojoNodeObject extends PojoNode2 {
     }
 
     /**
-     * Lazily fetches and caches all the pojo properties for this value.
+     * Property names are resolved using the index owned by the {@link PojoNodeContext}, index names never match.
      */
-    Map<PojoName, PojoProperty> nameToProperties() {
-        if (null == this.nameToProperties) {
-            final Map<PojoName, PojoProperty> nameToProperties = Maps.ordered();
-            for (PojoProperty property : this.properties()) {
-                nameToProperties.put(property.name(), property);
-            }
-            this.nameToProperties = nameToProperties;
-        }
-        return this.nameToProperties;
+    @Override
+    int childIndex(final PojoName name) {
+        return name.index >= 0 ?
+            -1 :
+            this.context.propertyIndex(this.value.getClass(), name);
     }
 
     /**
-     * Cached copy of the properties for the current value instance.
+     * The properties are shared per class by the {@link PojoNodeContext}, rather than kept by every node.
      */
-    private Map<PojoName, PojoProperty> nameToProperties;
-
     List<PojoProperty> properties() {
-        if (null == this.properties) {
-            this.properties = context.properties(this.value.getClass());
-        }
-        return this.properties;
+        return this.context.properties(this.value.getClass());
     }
 
-    private List<PojoProperty> properties;
-
     // Object...........................................................................................................
 
     @Override
@@ -17,7 +17,6 @@
 
 package walkingkooka.tree.pojo;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -25,31 +24,12 @@ import java.util.List;
  */
 final class PojoNodeObjectChildrenList extends PojoNodeChildrenList<PojoNodeObject> {
 
-    /**
-     * Lazily wrapped pojo nodes.
-     */
-    private final PojoNode[] nodes;
-
     static PojoNodeObjectChildrenList with(final PojoNodeObject parent) {
         return new PojoNodeObjectChildrenList(parent);
     }
 
     private PojoNodeObjectChildrenList(final PojoNodeObject parent) {
         super(parent);
-        this.nodes = new PojoNode[parent.childrenCount()];
-    }
-
-    /**
-     * Supports caching pojo wrappers for individual elements.
-     */
-    @Override
-    public PojoNode get(final int index) {
-        PojoNode node = this.nodes[index];
-        if (null == node) {
-            node = this.replace(index);
-            this.nodes[index] = node;
-        }
-        return node;
     }
 
     @Override
@@ -74,9 +54,4 @@ final class PojoNodeObjectChildrenList extends PojoNodeChildrenList<PojoNodeObje
     boolean isSameType(final Object other) {
         return other instanceof PojoNodeObjectChildrenList;
     }
-
-    @Override //
-    void clearChildrenNodeCache() {
-        Arrays.fill(this.nodes, null);
-    }
 }
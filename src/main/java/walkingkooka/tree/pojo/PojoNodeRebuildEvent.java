@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * A JFR event recorded once for each replacement of a node that rebuilds its parents, holding the number of parents
+ * and the number of nodes that were actually copied, which is smaller when a parent value did not change. Recorded by
+ * {@link JfrPojoNodeContext}.
+ */
+@Name(PojoNodeRebuildEvent.NAME)
+@Label("Pojo Node Rebuild")
+@Description("The rebuild of the parents of a replaced node")
+@Category({"walkingkooka", "Pojo"})
+@GwtIncompatible("jdk.jfr")
+final class PojoNodeRebuildEvent extends jdk.jfr.Event {
+
+    final static String NAME = "walkingkooka.tree.pojo.NodeRebuild";
+
+    /**
+     * Replaces the node within the parent, recording an event for the outermost rebuild when JFR has enabled this
+     * event. Parents call back for their own parents, and those nested rebuilds are part of the outermost one.
+     */
+    static PojoNode replaceChild(final PojoNode node,
+                                 final PojoNode parent,
+                                 final PojoNodeContext context) {
+        final PojoNodeRebuildEvent event = new PojoNodeRebuildEvent();
+        if (!event.isEnabled()) {
+            return context.replaceChild(node, parent);
+        }
+
+        final int[] nesting = NESTING.get();
+        if (nesting[0] > 0) {
+            return context.replaceChild(node, parent);
+        }
+
+        final PojoNode replaced;
+        nesting[0]++;
+        event.begin();
+        try {
+            replaced = context.replaceChild(node, parent);
+        } finally {
+            nesting[0]--;
+        }
+        event.end();
+
+        if (event.shouldCommit()) {
+            int depth = 0;
+            int copied = 1;
+
+            PojoNode before = parent;
+            PojoNode after = replaced.parentOrNull();
+            while (null != before) {
+                depth++;
+                if (after != before) {
+                    copied++;
+                }
+                before = before.parentOrNull();
+                after = null != after ? after.parentOrNull() : null;
+            }
+
+            final Object value = node.value();
+            event.className = null != value ? value.getClass().getName() : null;
+            event.depth = depth;
+            event.nodesCopied = copied;
+            event.commit();
+        }
+        return replaced;
+    }
+
+    private final static ThreadLocal<int[]> NESTING = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Label("Class")
+    String className;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes Copied")
+    int nodesCopied;
+}
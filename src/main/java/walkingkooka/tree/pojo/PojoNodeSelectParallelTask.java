@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.tree.select.NodeSelector;
+import walkingkooka.tree.select.NodeSelectorContext;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link RecursiveTask} that tests a range of sibling nodes and all their descendants, returning matches in document
+ * order. Ranges are split in half and children are given their own task while the pool is short of queued work,
+ * otherwise the remaining nodes are visited by the current task using a stack on the heap, so deep trees cannot
+ * overflow the thread stack. Child tasks are computed by their parent task, so nesting stops at {@link #MAX_DEPTH}.
+ */
+@GwtIncompatible("java.util.concurrent.ForkJoinPool")
+final class PojoNodeSelectParallelTask extends RecursiveTask<List<PojoNode>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Forking stops once this many tasks are queued but not yet taken by other workers.
+     */
+    private final static int SURPLUS = 3;
+
+    /**
+     * The most tasks that may be nested within a single thread stack, after which children are visited in place.
+     */
+    final static int MAX_DEPTH = 32;
+
+    /**
+     * Creates a task that selects nodes that match the {@link Predicate}.
+     */
+    static PojoNodeSelectParallelTask with(final List<PojoNode> nodes,
+                                           final int from,
+                                           final int to,
+                                           final Predicate<PojoNode> predicate) {
+        return new PojoNodeSelectParallelTask(
+            nodes,
+            from,
+            to,
+            (matches) -> (node) -> {
+                if (predicate.test(node)) {
+                    matches.add(node);
+                }
+            },
+            predicate,
+            0
+        );
+    }
+
+    /**
+     * Creates a task that applies the {@link NodeSelector} relative to each node, giving each task its own
+     * {@link NodeSelectorContext} which adds the nodes it selects to the matches of that task.
+     */
+    static PojoNodeSelectParallelTask with(final List<PojoNode> nodes,
+                                           final int from,
+                                           final int to,
+                                           final NodeSelector<PojoNode, PojoName, PojoNodeAttributeName, Object> selector,
+                                           final Function<Consumer<PojoNode>, NodeSelectorContext<PojoNode, PojoName, PojoNodeAttributeName, Object>> contexts) {
+        return new PojoNodeSelectParallelTask(
+            nodes,
+            from,
+            to,
+            (matches) -> {
+                final NodeSelectorContext<PojoNode, PojoName, PojoNodeAttributeName, Object> context = contexts.apply(matches::add);
+                return (node) -> selector.apply(node, context);
+            },
+            selector,
+            0
+        );
+    }
+
+    private PojoNodeSelectParallelTask(final List<PojoNode> nodes,
+                                       final int from,
+                                       final int to,
+                                       final Function<List<PojoNode>, Consumer<PojoNode>> matchers,
+                                       final Object query,
+                                       final int depth) {
+        super();
+        this.nodes = nodes;
+        this.from = from;
+        this.to = to;
+        this.matchers = matchers;
+        this.query = query;
+        this.depth = depth;
+    }
+
+    @Override
+    protected List<PojoNode> compute() {
+        final int from = this.from;
+        final int to = this.to;
+
+        final List<PojoNode> matches;
+        if (to - from > 1 && shouldFork()) {
+            final int middle = (from + to) >>> 1;
+
+            final PojoNodeSelectParallelTask left = this.task(this.nodes, from, middle, this.depth);
+            left.fork();
+            final List<PojoNode> right = this.task(this.nodes, middle, to, this.depth)
+                .compute();
+
+            matches = left.join();
+            matches.addAll(right);
+        } else {
+            matches = Lists.array();
+
+            final Consumer<PojoNode> matcher = this.matchers.apply(matches);
+            for (int i = from; i < to; i++) {
+                this.visit(this.nodes.get(i), matcher, matches);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Visits the node and its descendants in document order, handing wide children to a new task while nesting
+     * allows and the pool is short of work.
+     */
+    private void visit(final PojoNode root,
+                       final Consumer<PojoNode> matcher,
+                       final List<PojoNode> matches) {
+        final ArrayDeque<Iterator<PojoNode>> stack = new ArrayDeque<>();
+        final int depth = this.depth + 1;
+
+        PojoNode node = root;
+        while (null != node) {
+            matcher.accept(node);
+
+            final List<PojoNode> children = node.children();
+            final int count = children.size();
+            if (count > 1 && depth < MAX_DEPTH && shouldFork()) {
+                matches.addAll(
+                    this.task(children, 0, count, depth)
+                        .compute()
+                );
+            } else {
+                if (count > 0) {
+                    stack.push(children.iterator());
+                }
+            }
+
+            node = null;
+            while (false == stack.isEmpty()) {
+                final Iterator<PojoNode> next = stack.peek();
+                if (next.hasNext()) {
+                    node = next.next();
+                    break;
+                }
+                stack.pop();
+            }
+        }
+    }
+
+    private PojoNodeSelectParallelTask task(final List<PojoNode> nodes,
+                                            final int from,
+                                            final int to,
+                                            final int depth) {
+        return new PojoNodeSelectParallelTask(
+            nodes,
+            from,
+            to,
+            this.matchers,
+            this.query,
+            depth
+        );
+    }
+
+    private static boolean shouldFork() {
+        return getSurplusQueuedTaskCount() <= SURPLUS;
+    }
+
+    private final List<PojoNode> nodes;
+    private final int from;
+    private final int to;
+
+    /**
+     * Given the matches of a task returns the {@link Consumer} that tests each node and adds those selected.
+     */
+    private final Function<List<PojoNode>, Consumer<PojoNode>> matchers;
+
+    /**
+     * The {@link Predicate} or {@link NodeSelector}, only used by {@link #toString()}.
+     */
+    private final Object query;
+
+    /**
+     * The number of parent tasks computed on the same thread stack.
+     */
+    private final int depth;
+
+    @Override
+    public String toString() {
+        return this.from + ".." + this.to + " " + this.query;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded least recently used cache of the matches of a {@link PojoSelectorPlan} for a root value. Entries are keyed
+ * by the plan and the identity of the root value, which is only weakly held, and remember the child index paths of
+ * the matches, so a hit for a different wrapper of the same root value still returns nodes within that wrapper.
+ * Entries whose root value has been garbage collected are removed by the next call.
+ * <br>
+ * A hit returns the paths matched when the entry was added. Replacing the root of an immutable graph using
+ * {@link PojoNode#setValue(Object)} or {@link PojoNode#setChildren(List)} creates a new root value, so selects against
+ * the new root miss and the entries for the old root are eventually evicted. Setters that mutate a graph in place keep
+ * the same root value, so nodes of such graphs must be wrapped with a {@link PojoNodeContexts#selectorCache} context,
+ * which removes the entries of the old root every time a node is replaced. Changes made directly to the values, rather
+ * than through their nodes, must be followed by {@link #remove(Object)} or {@link #clear()}.
+ */
+public final class PojoNodeSelectorCache implements HasPojoCacheStatistics {
+
+    /**
+     * Creates a new cache holding at most the given number of entries.
+     */
+    public static PojoNodeSelectorCache with(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid max size " + maxSize + " <= 0");
+        }
+        return new PojoNodeSelectorCache(maxSize);
+    }
+
+    private PojoNodeSelectorCache(final int maxSize) {
+        super();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, List<int[]>> eldest) {
+                return this.size() > PojoNodeSelectorCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the nodes selected by the plan, reusing the matches of a previous select against the same root value.
+     */
+    public List<PojoNode> select(final PojoSelectorPlan plan,
+                                 final PojoNode root) {
+        Objects.requireNonNull(plan, "plan");
+        Objects.requireNonNull(root, "root");
+
+        final Object value = root.value();
+
+        List<int[]> paths;
+        synchronized (this.entries) {
+            this.purge();
+            paths = this.entries.get(new Probe(plan, value));
+        }
+
+        if (null == paths) {
+            // evaluated outside the lock, concurrent misses for the same key may each evaluate the plan.
+            final long start = System.nanoTime();
+            try {
+                paths = plan.paths(value);
+            } finally {
+                this.loadTime.add(System.nanoTime() - start);
+                this.misses.increment();
+            }
+
+            synchronized (this.entries) {
+                this.entries.put(new Key(plan, value, this.cleared), paths);
+            }
+        } else {
+            this.hits.increment();
+        }
+
+        return PojoSelectorPlan.nodes(root, paths);
+    }
+
+    /**
+     * Removes the entries for every plan for the given root value.
+     */
+    public void remove(final Object root) {
+        Objects.requireNonNull(root, "root");
+
+        synchronized (this.entries) {
+            this.entries.keySet()
+                .removeIf(k -> ((Key) k).get() == root);
+            this.purge();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.purge();
+        }
+    }
+
+    /**
+     * The number of entries currently cached.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            this.purge();
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Removes the entries whose root value was garbage collected, which must be called while holding the lock.
+     */
+    private void purge() {
+        for (Reference<?> key = this.cleared.poll(); null != key; key = this.cleared.poll()) {
+            this.entries.remove(key);
+        }
+    }
+
+    /**
+     * Receives the {@link Key} of every entry once its root value is garbage collected.
+     */
+    private final ReferenceQueue<Object> cleared = new ReferenceQueue<>();
+
+    private final int maxSize;
+
+    /**
+     * Access ordered, so the eldest entry is the least recently used. Keys are always a {@link Key}, lookups use a
+     * {@link Probe}.
+     */
+    private final LinkedHashMap<Object, List<int[]>> entries;
+
+    private static int hashCode(final PojoSelectorPlan plan,
+                                final Object root) {
+        return System.identityHashCode(plan) * 31 + System.identityHashCode(root);
+    }
+
+    /**
+     * The plan and the weakly held root value of an entry, compared by identity. A cleared key is only equal to itself,
+     * so it can still be removed.
+     */
+    private final static class Key extends WeakReference<Object> {
+
+        Key(final PojoSelectorPlan plan,
+            final Object root,
+            final ReferenceQueue<Object> cleared) {
+            super(root, cleared);
+            this.plan = plan;
+            this.hashCode = PojoNodeSelectorCache.hashCode(plan, root);
+        }
+
+        boolean is(final PojoSelectorPlan plan,
+                   final Object root) {
+            return this.plan == plan &&
+                null != root &&
+                root == this.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other ||
+                other instanceof Key && this.equals0((Key) other);
+        }
+
+        private boolean equals0(final Key other) {
+            return other.is(this.plan, this.get());
+        }
+
+        private final PojoSelectorPlan plan;
+        private final int hashCode;
+    }
+
+    /**
+     * Finds the {@link Key} for a plan and root value, without registering a {@link WeakReference} for every lookup.
+     */
+    private final static class Probe {
+
+        Probe(final PojoSelectorPlan plan,
+              final Object root) {
+            super();
+            this.plan = plan;
+            this.root = root;
+        }
+
+        @Override
+        public int hashCode() {
+            return PojoNodeSelectorCache.hashCode(this.plan, this.root);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key && ((Key) other).is(this.plan, this.root);
+        }
+
+        private final PojoSelectorPlan plan;
+        private final Object root;
+    }
+
+    // HasPojoCacheStatistics...........................................................................................
+
+    @Override
+    public PojoCacheStatistics cacheStatistics() {
+        return PojoCacheStatistics.with(
+            this.hits.sum(),
+            this.misses.sum(),
+            Duration.ofNanos(this.loadTime.sum())
+        );
+    }
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.size() + "/" + this.maxSize + " " + this.cacheStatistics();
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Map} backed by a persistent hash array mapped trie. Every update copies only the path from the root to the
+ * modified entry, so {@link #copy()} is constant time and a copy followed by a single put costs O(log n) time and
+ * garbage while sharing everything else with the original.
+ * <br>
+ * Iteration follows insertion order, which is kept by a {@link PojoPersistentVector} of the entries beside the trie.
+ * A put of a new key appends, while a put of an existing key and {@link #replaceAt(int, Object, Object)} keep the
+ * position, and {@link #entryAt(int)} is O(log32 n). Removes renumber the entries that follow and cost O(n).
+ * Iterators continue over the entries present when they were created.
+ */
+final class PojoPersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    static <K, V> PojoPersistentHashMap<K, V> empty() {
+        return new PojoPersistentHashMap<>(EMPTY, PojoPersistentVector.empty());
+    }
+
+    private PojoPersistentHashMap(final TrieNode root,
+                                  final PojoPersistentVector<Leaf> order) {
+        super();
+        this.root = root;
+        this.order = order;
+    }
+
+    /**
+     * Returns a new map with the same entries, sharing all structure with this map.
+     */
+    PojoPersistentHashMap<K, V> copy() {
+        return new PojoPersistentHashMap<>(this.root, this.order.copy());
+    }
+
+    /**
+     * Returns the entry at the given position in iteration order.
+     */
+    Entry<K, V> entryAt(final int index) {
+        return new MapEntry(this.order.get(index));
+    }
+
+    /**
+     * Replaces the entry at the given position with the given key and value, keeping its position. If the key already
+     * belongs to another entry that entry is removed.
+     */
+    @SuppressWarnings("unchecked")
+    V replaceAt(final int index,
+                final K key,
+                final V value) {
+        final Leaf previous = this.order.get(index);
+        final int hash = hash(key);
+
+        final Leaf leaf = new Leaf(key, value, hash, index);
+        if (previous.hash == hash && Objects.equals(previous.key, key)) {
+            this.root = this.root.put(leaf, 0);
+            this.order.set(index, leaf);
+        } else {
+            final Leaf other = this.root.find(key, hash, 0);
+            if (null == other) {
+                this.root = this.removeFromTrie(previous).put(leaf, 0);
+                this.order.set(index, leaf);
+            } else {
+                final Object[] leaves = this.order.toArray();
+                leaves[index] = leaf;
+                leaves[other.position] = null;
+                this.rebuild(leaves);
+            }
+        }
+        return (V) previous.value;
+    }
+
+    // Map..............................................................................................................
+
+    @Override
+    public int size() {
+        return this.order.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != this.root.find(key, hash(key), 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final Leaf leaf = this.root.find(key, hash(key), 0);
+        return null != leaf ?
+            (V) leaf.value :
+            null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        final int hash = hash(key);
+        final Leaf previous = this.root.find(key, hash, 0);
+
+        final Leaf leaf = new Leaf(
+            key,
+            value,
+            hash,
+            null != previous ?
+                previous.position :
+                this.order.size()
+        );
+        this.root = this.root.put(leaf, 0);
+
+        V replaced = null;
+        if (null != previous) {
+            this.order.set(previous.position, leaf);
+            replaced = (V) previous.value;
+        } else {
+            this.order.add(leaf);
+        }
+        return replaced;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        final int hash = hash(key);
+        final Leaf previous = this.root.find(key, hash, 0);
+
+        V value = null;
+        if (null != previous) {
+            final int position = previous.position;
+            if (position == this.order.size() - 1) {
+                this.root = this.removeFromTrie(previous);
+                this.order.remove(position);
+            } else {
+                final Object[] leaves = this.order.toArray();
+                leaves[position] = null;
+                this.rebuild(leaves);
+            }
+            value = (V) previous.value;
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        this.root = EMPTY;
+        this.order = PojoPersistentVector.empty();
+    }
+
+    private TrieNode removeFromTrie(final Leaf leaf) {
+        final TrieNode root = this.root.remove(leaf.key, leaf.hash, 0);
+        return null != root ? root : EMPTY;
+    }
+
+    /**
+     * Rebuilds the trie and order from the given leaves, skipping nulls and renumbering the positions of the others.
+     */
+    private void rebuild(final Object[] leaves) {
+        TrieNode root = EMPTY;
+        final Object[] order = new Object[leaves.length];
+        int position = 0;
+
+        for (final Object slot : leaves) {
+            if (null != slot) {
+                final Leaf leaf = (Leaf) slot;
+                final Leaf renumbered = new Leaf(leaf.key, leaf.value, leaf.hash, position);
+                root = root.put(renumbered, 0);
+                order[position] = renumbered;
+                position++;
+            }
+        }
+
+        this.root = root;
+        this.order = PojoPersistentVector.with(Arrays.copyOf(order, position));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return PojoPersistentHashMap.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object other) {
+                return other instanceof Entry && this.contains0((Entry<?, ?>) other);
+            }
+
+            private boolean contains0(final Entry<?, ?> entry) {
+                final Object key = entry.getKey();
+                final Leaf leaf = PojoPersistentHashMap.this.root.find(key, hash(key), 0);
+                return null != leaf && Objects.equals(leaf.value, entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Iterates over the entries of the root at the time of creation.
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+        @Override
+        public boolean hasNext() {
+            return this.next < this.order.size();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.order.get(this.next++);
+            return new MapEntry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (null == this.last) {
+                throw new IllegalStateException();
+            }
+            PojoPersistentHashMap.this.remove(this.last.key);
+            this.last = null;
+        }
+
+        private final PojoPersistentVector<Leaf> order = PojoPersistentHashMap.this.order.copy();
+        private int next;
+        private Leaf last;
+    }
+
+    /**
+     * The {@link Entry} given to callers, which like the entries of a {@link java.util.HashMap} writes
+     * {@link #setValue(Object)} through to the map.
+     */
+    private final class MapEntry extends SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings("unchecked")
+        MapEntry(final Leaf leaf) {
+            super((K) leaf.key, (V) leaf.value);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            PojoPersistentHashMap.this.put(this.getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private static int hash(final Object key) {
+        final int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Replaced by every update, the trie nodes themselves are never modified.
+     */
+    private TrieNode root;
+
+    /**
+     * The same leaves as the trie in insertion order, each at its {@link Leaf#position}.
+     */
+    private PojoPersistentVector<Leaf> order;
+
+    // trie.............................................................................................................
+
+    private final static int BITS = 5;
+    private final static int MASK = (1 << BITS) - 1;
+
+    private final static TrieNode EMPTY = new BitmapNode(0, new Object[0], 0);
+
+    /**
+     * A single immutable key and value, which also caches the hash of its key and its position in insertion order.
+     */
+    private final static class Leaf {
+
+        Leaf(final Object key,
+             final Object value,
+             final int hash,
+             final int position) {
+            super();
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.position = position;
+        }
+
+        final Object key;
+        final Object value;
+        final int hash;
+        final int position;
+    }
+
+    private abstract static class TrieNode {
+
+        TrieNode(final int size) {
+            this.size = size;
+        }
+
+        abstract Leaf find(final Object key, final int hash, final int shift);
+
+        abstract TrieNode put(final Leaf leaf, final int shift);
+
+        /**
+         * Returns null if the node has no entries after the remove. Only called when the key is present.
+         */
+        abstract TrieNode remove(final Object key, final int hash, final int shift);
+
+        abstract Leaf entryAt(final int index);
+
+        /**
+         * The number of entries in this node and all nodes below.
+         */
+        final int size;
+    }
+
+    /**
+     * A node with up to 32 slots, each either a {@link Leaf} or a child {@link TrieNode}, selected by 5 bits of the hash.
+     */
+    private final static class BitmapNode extends TrieNode {
+
+        BitmapNode(final int bitmap, final Object[] slots, final int size) {
+            super(size);
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        Leaf find(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+
+            Leaf found = null;
+            if (0 != (this.bitmap & bit)) {
+                final Object slot = this.slots[this.position(bit)];
+                if (slot instanceof Leaf) {
+                    final Leaf leaf = (Leaf) slot;
+                    if (leaf.hash == hash && Objects.equals(leaf.key, key)) {
+                        found = leaf;
+                    }
+                } else {
+                    found = ((TrieNode) slot).find(key, hash, shift + BITS);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        TrieNode put(final Leaf leaf, final int shift) {
+            final int bit = bit(leaf.hash, shift);
+            final int position = this.position(bit);
+
+            final TrieNode node;
+            if (0 == (this.bitmap & bit)) {
+                final Object[] slots = new Object[this.slots.length + 1];
+                System.arraycopy(this.slots, 0, slots, 0, position);
+                slots[position] = leaf;
+                System.arraycopy(this.slots, position, slots, position + 1, this.slots.length - position);
+                node = new BitmapNode(this.bitmap | bit, slots, this.size + 1);
+            } else {
+                final Object slot = this.slots[position];
+                if (slot instanceof Leaf) {
+                    final Leaf existing = (Leaf) slot;
+                    if (existing.hash == leaf.hash && Objects.equals(existing.key, leaf.key)) {
+                        node = existing.value == leaf.value ?
+                            this :
+                            this.replace(position, leaf, 0);
+                    } else {
+                        node = this.replace(position, merge(existing, leaf, shift + BITS), 1);
+                    }
+                } else {
+                    final TrieNode child = (TrieNode) slot;
+                    final TrieNode replaced = child.put(leaf, shift + BITS);
+                    node = child == replaced ?
+                        this :
+                        this.replace(position, replaced, replaced.size - child.size);
+                }
+            }
+            return node;
+        }
+
+        @Override
+        TrieNode remove(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            final int position = this.position(bit);
+            final Object slot = this.slots[position];
+
+            TrieNode node;
+            if (slot instanceof Leaf) {
+                node = this.removeSlot(bit, position);
+            } else {
+                final TrieNode child = ((TrieNode) slot).remove(key, hash, shift + BITS);
+                if (null == child) {
+                    node = this.removeSlot(bit, position);
+                } else {
+                    // a child left with a single entry is replaced by that entry
+                    node = this.replace(
+                        position,
+                        1 == child.size ? child.entryAt(0) : child,
+                        -1
+                    );
+                }
+            }
+            return node;
+        }
+
+        private TrieNode removeSlot(final int bit, final int position) {
+            final int length = this.slots.length;
+
+            TrieNode node = null;
+            if (length > 1) {
+                final Object[] slots = new Object[length - 1];
+                System.arraycopy(this.slots, 0, slots, 0, position);
+                System.arraycopy(this.slots, position + 1, slots, position, length - position - 1);
+                node = new BitmapNode(this.bitmap & ~bit, slots, this.size - 1);
+            }
+            return node;
+        }
+
+        private BitmapNode replace(final int position, final Object slot, final int sizeDelta) {
+            final Object[] slots = this.slots.clone();
+            slots[position] = slot;
+            return new BitmapNode(this.bitmap, slots, this.size + sizeDelta);
+        }
+
+        @Override
+        Leaf entryAt(final int index) {
+            int remaining = index;
+            for (final Object slot : this.slots) {
+                if (slot instanceof Leaf) {
+                    if (0 == remaining) {
+                        return (Leaf) slot;
+                    }
+                    remaining--;
+                } else {
+                    final TrieNode child = (TrieNode) slot;
+                    if (remaining < child.size) {
+                        return child.entryAt(remaining);
+                    }
+                    remaining -= child.size;
+                }
+            }
+            throw new IndexOutOfBoundsException("Index " + index + " must be less than " + this.size);
+        }
+
+        private int position(final int bit) {
+            return Integer.bitCount(this.bitmap & (bit - 1));
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        /**
+         * Creates the smallest node holding both leaves, whose hashes match for all bits before the given shift.
+         */
+        private static TrieNode merge(final Leaf first, final Leaf second, final int shift) {
+            final TrieNode node;
+            if (shift >= Integer.SIZE) {
+                node = new CollisionNode(new Leaf[]{first, second});
+            } else {
+                final int firstBit = bit(first.hash, shift);
+                final int secondBit = bit(second.hash, shift);
+                if (firstBit == secondBit) {
+                    node = new BitmapNode(firstBit, new Object[]{merge(first, second, shift + BITS)}, 2);
+                } else {
+                    node = new BitmapNode(
+                        firstBit | secondBit,
+                        Integer.compareUnsigned(firstBit, secondBit) < 0 ?
+                            new Object[]{first, second} :
+                            new Object[]{second, first},
+                        2
+                    );
+                }
+            }
+            return node;
+        }
+
+        private final int bitmap;
+        private final Object[] slots;
+    }
+
+    /**
+     * Holds leaves whose keys have identical hashes.
+     */
+    private final static class CollisionNode extends TrieNode {
+
+        CollisionNode(final Leaf[] leaves) {
+            super(leaves.length);
+            this.leaves = leaves;
+        }
+
+        @Override
+        Leaf find(final Object key, final int hash, final int shift) {
+            final int index = this.indexOf(key);
+            return -1 != index ?
+                this.leaves[index] :
+                null;
+        }
+
+        @Override
+        TrieNode put(final Leaf leaf, final int shift) {
+            final int index = this.indexOf(leaf.key);
+
+            final Leaf[] leaves;
+            if (-1 == index) {
+                leaves = Arrays.copyOf(this.leaves, this.leaves.length + 1);
+                leaves[this.leaves.length] = leaf;
+            } else {
+                leaves = this.leaves.clone();
+                leaves[index] = leaf;
+            }
+            return new CollisionNode(leaves);
+        }
+
+        @Override
+        TrieNode remove(final Object key, final int hash, final int shift) {
+            final int index = this.indexOf(key);
+            final int length = this.leaves.length;
+
+            TrieNode node = null;
+            if (length > 1) {
+                final Leaf[] leaves = new Leaf[length - 1];
+                System.arraycopy(this.leaves, 0, leaves, 0, index);
+                System.arraycopy(this.leaves, index + 1, leaves, index, length - index - 1);
+                node = new CollisionNode(leaves);
+            }
+            return node;
+        }
+
+        @Override
+        Leaf entryAt(final int index) {
+            return this.leaves[index];
+        }
+
+        private int indexOf(final Object key) {
+            int index = -1;
+
+            final Leaf[] leaves = this.leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].key, key)) {
+                    index = i;
+                    break;
+                }
+            }
+            return index;
+        }
+
+        private final Leaf[] leaves;
+    }
+}
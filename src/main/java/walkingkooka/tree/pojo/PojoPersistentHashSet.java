@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A {@link Set} backed by a {@link PojoPersistentHashMap}, sharing its constant time {@link #copy()}, O(log n)
+ * updates and positional access, and insertion order.
+ */
+final class PojoPersistentHashSet<E> extends AbstractSet<E> {
+
+    static <E> PojoPersistentHashSet<E> empty() {
+        return new PojoPersistentHashSet<>(PojoPersistentHashMap.empty());
+    }
+
+    private PojoPersistentHashSet(final PojoPersistentHashMap<E, Boolean> map) {
+        super();
+        this.map = map;
+    }
+
+    /**
+     * Returns a new set with the same elements, sharing all structure with this set.
+     */
+    PojoPersistentHashSet<E> copy() {
+        return new PojoPersistentHashSet<>(this.map.copy());
+    }
+
+    /**
+     * Returns the element at the given position in iteration order.
+     */
+    E elementAt(final int index) {
+        return this.map.entryAt(index).getKey();
+    }
+
+    /**
+     * Replaces the element at the given position, keeping its position. If the element is already present elsewhere
+     * that copy is removed.
+     */
+    void replaceAt(final int index,
+                   final E element) {
+        this.map.replaceAt(index, element, Boolean.TRUE);
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public boolean contains(final Object element) {
+        return this.map.containsKey(element);
+    }
+
+    @Override
+    public boolean add(final E element) {
+        return null == this.map.put(element, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean remove(final Object element) {
+        return null != this.map.remove(element);
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return this.map.keySet().iterator();
+    }
+
+    private final PojoPersistentHashMap<E, Boolean> map;
+}
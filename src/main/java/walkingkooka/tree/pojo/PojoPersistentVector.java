@@ -0,0 +1,280 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A {@link List} backed by a persistent 32-way trie of {@link Object} arrays. Every update copies only the path from
+ * the root to the modified leaf, so {@link #copy()} is constant time, and a copy followed by {@link #set(int, Object)}
+ * or {@link #add(Object)} costs O(log32 n) while sharing everything else with the original. Inserts and removes other
+ * than at the end rebuild the trie.
+ */
+final class PojoPersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private final static int BITS = 5;
+    private final static int WIDTH = 1 << BITS;
+    private final static int MASK = WIDTH - 1;
+
+    private final static Object[] EMPTY = new Object[0];
+
+    static <E> PojoPersistentVector<E> empty() {
+        return new PojoPersistentVector<>(EMPTY, 0, 0);
+    }
+
+    /**
+     * Builds a vector holding a copy of the given elements in O(n).
+     */
+    static <E> PojoPersistentVector<E> with(final Object[] elements) {
+        final PojoPersistentVector<E> vector = empty();
+        vector.build(elements);
+        return vector;
+    }
+
+    private PojoPersistentVector(final Object[] root,
+                                 final int shift,
+                                 final int size) {
+        super();
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new vector with the same elements, sharing all structure with this vector.
+     */
+    PojoPersistentVector<E> copy() {
+        return new PojoPersistentVector<>(this.root, this.shift, this.size);
+    }
+
+    /**
+     * Copies all elements into the given array, which must have at least {@link #size()} slots.
+     */
+    void copyInto(final Object[] array) {
+        copyInto(this.root, this.shift, array, 0);
+    }
+
+    private static int copyInto(final Object[] node,
+                                final int level,
+                                final Object[] array,
+                                final int offset) {
+        int next = offset;
+        if (0 == level) {
+            System.arraycopy(node, 0, array, next, node.length);
+            next += node.length;
+        } else {
+            for (final Object child : node) {
+                next = copyInto((Object[]) child, level - BITS, array, next);
+            }
+        }
+        return next;
+    }
+
+    // List.............................................................................................................
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        this.checkIndex(index);
+
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (E) node[index & MASK];
+    }
+
+    @Override
+    public E set(final int index, final E element) {
+        final E previous = this.get(index);
+        this.root = set(this.root, this.shift, index, element);
+        return previous;
+    }
+
+    private static Object[] set(final Object[] node,
+                                final int level,
+                                final int index,
+                                final Object element) {
+        final Object[] copy = node.clone();
+        if (0 == level) {
+            copy[index & MASK] = element;
+        } else {
+            final int slot = (index >>> level) & MASK;
+            copy[slot] = set((Object[]) node[slot], level - BITS, index, element);
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean add(final E element) {
+        final int size = this.size;
+        final int shift = this.shift;
+
+        if (size == (WIDTH << shift)) {
+            this.root = new Object[]{this.root, path(shift, element)};
+            this.shift = shift + BITS;
+        } else {
+            this.root = append(this.root, shift, size, element);
+        }
+        this.size = size + 1;
+        this.modCount++;
+        return true;
+    }
+
+    private static Object[] append(final Object[] node,
+                                   final int level,
+                                   final int index,
+                                   final Object element) {
+        final int slot = (index >>> level) & MASK;
+        final Object[] copy = Arrays.copyOf(node, Math.max(node.length, slot + 1));
+
+        if (0 == level) {
+            copy[slot] = element;
+        } else {
+            copy[slot] = slot < node.length ?
+                append((Object[]) node[slot], level - BITS, index, element) :
+                path(level - BITS, element);
+        }
+        return copy;
+    }
+
+    /**
+     * Creates the nodes from the given level down to a leaf holding only the element.
+     */
+    private static Object[] path(final int level,
+                                 final Object element) {
+        return 0 == level ?
+            new Object[]{element} :
+            new Object[]{path(level - BITS, element)};
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends E> elements) {
+        final Object[] added = elements.toArray();
+        final boolean modified = added.length > 0;
+        if (modified) {
+            final int size = this.size;
+            final Object[] all = new Object[size + added.length];
+            this.copyInto(all);
+            System.arraycopy(added, 0, all, size, added.length);
+            this.build(all);
+        }
+        return modified;
+    }
+
+    @Override
+    public void add(final int index, final E element) {
+        if (index == this.size) {
+            this.add(element);
+        } else {
+            final Object[] all = this.toArray();
+            if (index < 0 || index > all.length) {
+                throw new IndexOutOfBoundsException("Index " + index + " must be between 0 and " + all.length);
+            }
+            final Object[] added = new Object[all.length + 1];
+            System.arraycopy(all, 0, added, 0, index);
+            added[index] = element;
+            System.arraycopy(all, index, added, index + 1, all.length - index);
+            this.build(added);
+        }
+    }
+
+    @Override
+    public E remove(final int index) {
+        final E removed = this.get(index);
+
+        final Object[] all = this.toArray();
+        final Object[] remaining = new Object[all.length - 1];
+        System.arraycopy(all, 0, remaining, 0, index);
+        System.arraycopy(all, index + 1, remaining, index, remaining.length - index);
+        this.build(remaining);
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        this.root = EMPTY;
+        this.shift = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[this.size];
+        this.copyInto(array);
+        return array;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " must be between 0 and " + this.size);
+        }
+    }
+
+    /**
+     * Replaces the trie with one holding the given elements, built bottom up a level at a time.
+     */
+    private void build(final Object[] elements) {
+        Object[] nodes = chunk(elements);
+        int shift = 0;
+        while (nodes.length > 1) {
+            nodes = chunk(nodes);
+            shift += BITS;
+        }
+
+        this.root = 0 == nodes.length ?
+            EMPTY :
+            (Object[]) nodes[0];
+        this.shift = shift;
+        this.size = elements.length;
+        this.modCount++;
+    }
+
+    private static Object[] chunk(final Object[] elements) {
+        final int length = elements.length;
+        final Object[] chunks = new Object[(length + MASK) >>> BITS];
+        for (int i = 0; i < chunks.length; i++) {
+            final int from = i << BITS;
+            chunks[i] = Arrays.copyOfRange(elements, from, Math.min(from + WIDTH, length));
+        }
+        return chunks;
+    }
+
+    /**
+     * Replaced by every update, the trie nodes themselves are never modified.
+     */
+    private Object[] root;
+
+    /**
+     * The number of bits the index is shifted right to select the slot in the root.
+     */
+    private int shift;
+
+    private int size;
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches the properties discovered for each type. Entries live in a {@link PojoClassValue}, which on a JVM does not keep
+ * classes or their class loaders alive, and every type is discovered only once even when many threads ask for
+ * it at the same time.
+ */
+final class PojoPropertiesCache implements HasPojoCacheStatistics {
+
+    static PojoPropertiesCache with(final Function<Class<?>, List<PojoProperty>> discover) {
+        return new PojoPropertiesCache(discover);
+    }
+
+    private PojoPropertiesCache(final Function<Class<?>, List<PojoProperty>> discover) {
+        super();
+        this.discover = discover;
+    }
+
+    List<PojoProperty> get(final Class<?> type) {
+        return this.index(type).properties();
+    }
+
+    /**
+     * Returns the properties for the type along with their index by name.
+     */
+    PojoPropertyIndex index(final Class<?> type) {
+        // PojoClassValue may compute several values concurrently but publishes only one, so discovery happens
+        // within the published holder instead.
+        final Holder holder = this.holders.get(type);
+
+        PojoPropertyIndex index = holder.index;
+        if (null == index) {
+            synchronized (holder) {
+                index = holder.index;
+                if (null == index) {
+                    index = PojoPropertyIndex.with(this.discover(type));
+                    holder.index = index;
+                } else {
+                    this.hits.increment();
+                }
+            }
+        } else {
+            this.hits.increment();
+        }
+
+        return index;
+    }
+
+    private List<PojoProperty> discover(final Class<?> type) {
+        final long start = System.nanoTime();
+        try {
+            return this.discover.apply(type);
+        } finally {
+            this.loadTime.add(System.nanoTime() - start);
+            this.misses.increment();
+        }
+    }
+
+    private final Function<Class<?>, List<PojoProperty>> discover;
+
+    private final PojoClassValue<Holder> holders = PojoClassValue.with((type) -> new Holder());
+
+    /**
+     * Holds the properties for a single type, which remains null until the first discovery succeeds.
+     */
+    private final static class Holder {
+        volatile PojoPropertyIndex index;
+    }
+
+    // HasPojoCacheStatistics...........................................................................................
+
+    @Override
+    public PojoCacheStatistics cacheStatistics() {
+        return PojoCacheStatistics.with(
+            this.hits.sum(),
+            this.misses.sum(),
+            Duration.ofNanos(this.loadTime.sum())
+        );
+    }
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.cacheStatistics().toString();
+    }
+}
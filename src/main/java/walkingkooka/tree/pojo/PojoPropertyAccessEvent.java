@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A JFR event recorded for {@link PojoProperty#get(Object)} and {@link PojoProperty#set(Object, Object)} calls that
+ * take longer than the threshold, which defaults to 1 ms and may be changed in the JFR settings. Recorded by
+ * {@link JfrPojoProperty}.
+ */
+@Name(PojoPropertyAccessEvent.NAME)
+@Label("Pojo Slow Property Access")
+@Description("A property get or set that took longer than the threshold")
+@Category({"walkingkooka", "Pojo"})
+@Threshold("1 ms")
+@GwtIncompatible("jdk.jfr")
+final class PojoPropertyAccessEvent extends jdk.jfr.Event {
+
+    final static String NAME = "walkingkooka.tree.pojo.PropertyAccess";
+
+    final static String GET = "get";
+
+    final static String SET = "set";
+
+    /**
+     * Gets the property value from the instance, timing the call only when JFR has enabled this event.
+     */
+    static Object get(final PojoProperty property,
+                      final Object instance) {
+        final PojoPropertyAccessEvent event = new PojoPropertyAccessEvent();
+        if (!event.isEnabled()) {
+            return property.get(instance);
+        }
+
+        event.begin();
+        try {
+            return property.get(instance);
+        } finally {
+            event.commit(property, instance, GET);
+        }
+    }
+
+    /**
+     * Sets the property value upon the instance, timing the call only when JFR has enabled this event.
+     */
+    static Object set(final PojoProperty property,
+                      final Object instance,
+                      final Object value) {
+        final PojoPropertyAccessEvent event = new PojoPropertyAccessEvent();
+        if (!event.isEnabled()) {
+            return property.set(instance, value);
+        }
+
+        event.begin();
+        try {
+            return property.set(instance, value);
+        } finally {
+            event.commit(property, instance, SET);
+        }
+    }
+
+    private void commit(final PojoProperty property,
+                        final Object instance,
+                        final String operation) {
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.className = instance.getClass().getName();
+            this.property = property.name().value();
+            this.operation = operation;
+            this.commit();
+        }
+    }
+
+    @Label("Class")
+    String className;
+
+    @Label("Property")
+    String property;
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A JFR event recorded by {@link JfrPojoNodeContext} the first time it lists the properties of a type. The duration is
+ * that of the wrapped context, which only includes discovery when that context had not already cached the type.
+ */
+@Name(PojoPropertyDiscoveryEvent.NAME)
+@Label("Pojo Property Discovery")
+@Description("Properties of a type first listed by a JFR context, including discovery unless the wrapped context had cached them")
+@Category({"walkingkooka", "Pojo"})
+@GwtIncompatible("jdk.jfr")
+final class PojoPropertyDiscoveryEvent extends jdk.jfr.Event {
+
+    final static String NAME = "walkingkooka.tree.pojo.PropertyDiscovery";
+
+    /**
+     * Lists the properties of the type, recording an event when JFR has enabled this event.
+     */
+    static List<PojoProperty> discover(final Class<?> type,
+                                       final Function<Class<?>, List<PojoProperty>> discover) {
+        final PojoPropertyDiscoveryEvent event = new PojoPropertyDiscoveryEvent();
+        if (!event.isEnabled()) {
+            return discover.apply(type);
+        }
+
+        event.begin();
+        final List<PojoProperty> properties = discover.apply(type);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.className = type.getName();
+            event.propertyCount = properties.size();
+            event.commit();
+        }
+        return properties;
+    }
+
+    @Label("Class")
+    String className;
+
+    @Label("Property Count")
+    int propertyCount;
+}
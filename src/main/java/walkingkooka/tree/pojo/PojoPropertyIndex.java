@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.List;
+
+/**
+ * The properties of a type along with an open addressing hash table from {@link PojoName} to the index of its property.
+ * Built once per type by contexts that cache their properties, so finding a property by name neither scans nor
+ * allocates.
+ */
+final class PojoPropertyIndex {
+
+    static PojoPropertyIndex with(final List<PojoProperty> properties) {
+        return new PojoPropertyIndex(properties);
+    }
+
+    /**
+     * Scans the properties for the given name, returning its index or -1.
+     */
+    static int scan(final List<PojoProperty> properties,
+                    final PojoName name) {
+        int index = -1;
+
+        final int count = properties.size();
+        for (int i = 0; i < count; i++) {
+            if (name.equals(properties.get(i).name())) {
+                index = i;
+                break;
+            }
+        }
+        return index;
+    }
+
+    private PojoPropertyIndex(final List<PojoProperty> properties) {
+        super();
+        this.properties = properties;
+
+        final int count = properties.size();
+
+        // at most half full so probes stay short
+        final int length = Integer.highestOneBit(Math.max(1, count) * 2) << 1;
+        final PojoName[] names = new PojoName[length];
+        final int[] indices = new int[length];
+        final int mask = length - 1;
+
+        for (int i = 0; i < count; i++) {
+            final PojoName name = properties.get(i).name();
+
+            int slot = name.hashCode() & mask;
+            while (null != names[slot] && false == names[slot].equals(name)) {
+                slot = (slot + 1) & mask;
+            }
+            if (null == names[slot]) {
+                names[slot] = name;
+                indices[slot] = i;
+            }
+        }
+
+        this.names = names;
+        this.indices = indices;
+        this.mask = mask;
+    }
+
+    List<PojoProperty> properties() {
+        return this.properties;
+    }
+
+    private final List<PojoProperty> properties;
+
+    /**
+     * Returns the index of the named property or -1.
+     */
+    int indexOf(final PojoName name) {
+        final PojoName[] names = this.names;
+        final int mask = this.mask;
+
+        int index = -1;
+        int slot = name.hashCode() & mask;
+        for (; ; ) {
+            final PojoName possible = names[slot];
+            if (null == possible) {
+                break;
+            }
+            if (possible.equals(name)) {
+                index = this.indices[slot];
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return index;
+    }
+
+    private final PojoName[] names;
+    private final int[] indices;
+    private final int mask;
+
+    @Override
+    public String toString() {
+        return this.properties.toString();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The properties discovered for many types, which may be written to a compact file after a training run and read
+ * back at startup, so a {@link PojoNodeContext} created by {@link PojoNodeContexts#reflection(PojoPropertySnapshot)}
+ * resolves each getter and setter by its exact signature instead of scanning all methods. Every type holds a hash of
+ * its class file and those of its super types, and types that changed since the snapshot was taken are discovered
+ * again.
+ */
+public final class PojoPropertySnapshot {
+
+    /**
+     * The first bytes of every snapshot, the letters POJO.
+     */
+    final static int MAGIC = 0x504F4A4F;
+
+    final static int VERSION = 1;
+
+    /**
+     * An empty snapshot, useful to create a context that records the types it discovers.
+     */
+    public static PojoPropertySnapshot empty() {
+        return EMPTY;
+    }
+
+    private final static PojoPropertySnapshot EMPTY = new PojoPropertySnapshot(Collections.emptyMap());
+
+    static PojoPropertySnapshot with(final Collection<PojoPropertySnapshotType> types) {
+        Objects.requireNonNull(types, "types");
+
+        final Map<String, PojoPropertySnapshotType> classNameToType = new TreeMap<>();
+        for (final PojoPropertySnapshotType type : types) {
+            classNameToType.put(type.className, type);
+        }
+
+        return classNameToType.isEmpty() ?
+            EMPTY :
+            new PojoPropertySnapshot(Collections.unmodifiableMap(classNameToType));
+    }
+
+    /**
+     * Reads a snapshot previously written by {@link #write(OutputStream)}. The stream is not closed.
+     */
+    public static PojoPropertySnapshot read(final InputStream input) throws IOException {
+        Objects.requireNonNull(input, "input");
+
+        final CheckedInputStream checked = new CheckedInputStream(input, new CRC32());
+        final DataInputStream data = new DataInputStream(checked);
+
+        final int magic = data.readInt();
+        if (MAGIC != magic) {
+            throw new IOException("Invalid snapshot, unknown header " + Integer.toHexString(magic));
+        }
+        final int version = data.readUnsignedShort();
+        if (VERSION != version) {
+            throw new IOException("Invalid snapshot, unsupported version " + version);
+        }
+
+        final int typeCount = data.readInt();
+        final List<PojoPropertySnapshotType> types = Lists.array();
+        for (int i = 0; i < typeCount; i++) {
+            final String className = data.readUTF();
+            final long hash = data.readLong();
+
+            final int propertyCount = data.readUnsignedShort();
+            final List<PojoPropertySnapshotProperty> properties = Lists.array();
+            for (int j = 0; j < propertyCount; j++) {
+                final PojoName name = PojoName.intern(data.readUTF());
+                final String getter = data.readUTF();
+                final String setter = data.readBoolean() ?
+                    data.readUTF() :
+                    null;
+                properties.add(PojoPropertySnapshotProperty.with(name, getter, setter));
+            }
+
+            types.add(PojoPropertySnapshotType.with(className, hash, properties));
+        }
+
+        final long checksum = checked.getChecksum().getValue();
+        if (checksum != data.readLong()) {
+            throw new IOException("Invalid snapshot, checksum mismatch");
+        }
+
+        return with(types);
+    }
+
+    private PojoPropertySnapshot(final Map<String, PojoPropertySnapshotType> classNameToType) {
+        this.classNameToType = classNameToType;
+    }
+
+    /**
+     * Returns the number of types in this snapshot.
+     */
+    public int size() {
+        return this.classNameToType.size();
+    }
+
+    /**
+     * Returns the snapshot of the type if it is present and the type has not changed, otherwise returns null.
+     */
+    PojoPropertySnapshotType get(final Class<?> type) {
+        final PojoPropertySnapshotType snapshot = this.classNameToType.get(type.getName());
+        return null != snapshot && snapshot.isCurrent(type) ?
+            snapshot :
+            null;
+    }
+
+    Collection<PojoPropertySnapshotType> types() {
+        return this.classNameToType.values();
+    }
+
+    private final Map<String, PojoPropertySnapshotType> classNameToType;
+
+    /**
+     * Writes this snapshot followed by a CRC32 of its content. The stream is flushed but not closed.
+     */
+    public void write(final OutputStream output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        final CheckedOutputStream checked = new CheckedOutputStream(output, new CRC32());
+        final DataOutputStream data = new DataOutputStream(checked);
+
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+
+        data.writeInt(this.classNameToType.size());
+        for (final PojoPropertySnapshotType type : this.classNameToType.values()) {
+            data.writeUTF(type.className);
+            data.writeLong(type.hash);
+
+            data.writeShort(type.properties.size());
+            for (final PojoPropertySnapshotProperty property : type.properties) {
+                data.writeUTF(property.name.value());
+                data.writeUTF(property.getter);
+
+                final String setter = property.setter;
+                data.writeBoolean(null != setter);
+                if (null != setter) {
+                    data.writeUTF(setter);
+                }
+            }
+        }
+
+        data.flush();
+        data.writeLong(checked.getChecksum().getValue());
+        data.flush();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.classNameToType.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PojoPropertySnapshot && this.classNameToType.equals(((PojoPropertySnapshot) other).classNameToType);
+    }
+
+    @Override
+    public String toString() {
+        return this.classNameToType.values().toString();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.Objects;
+
+/**
+ * A single property within a {@link PojoPropertySnapshotType}, holding the names of its getter and optional setter.
+ */
+final class PojoPropertySnapshotProperty {
+
+    static PojoPropertySnapshotProperty with(final PojoName name,
+                                             final String getter,
+                                             final String setter) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(getter, "getter");
+
+        return new PojoPropertySnapshotProperty(name, getter, setter);
+    }
+
+    private PojoPropertySnapshotProperty(final PojoName name,
+                                         final String getter,
+                                         final String setter) {
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    final PojoName name;
+
+    /**
+     * The name of the public getter which takes no parameters.
+     */
+    final String getter;
+
+    /**
+     * The name of the public setter which takes the getter return type, or null for read only properties.
+     */
+    final String setter;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.getter, this.setter);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PojoPropertySnapshotProperty && this.equals0((PojoPropertySnapshotProperty) other);
+    }
+
+    private boolean equals0(final PojoPropertySnapshotProperty other) {
+        return this.name.equals(other.name) &&
+            this.getter.equals(other.getter) &&
+            Objects.equals(this.setter, other.setter);
+    }
+
+    @Override
+    public String toString() {
+        return this.name + "=" + this.getter + (null != this.setter ? "/" + this.setter : "");
+    }
+}
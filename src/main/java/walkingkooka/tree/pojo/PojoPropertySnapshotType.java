@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * The properties of a single type within a {@link PojoPropertySnapshot}, along with a hash of the class files of the
+ * type and all its super types, which is used to detect when the type has changed since the snapshot was taken.
+ */
+final class PojoPropertySnapshotType {
+
+    /**
+     * The hash of a type whose class file or the class file of a super type could not be read.
+     */
+    final static long UNKNOWN_HASH = -1;
+
+    static PojoPropertySnapshotType with(final String className,
+                                         final long hash,
+                                         final List<PojoPropertySnapshotProperty> properties) {
+        Objects.requireNonNull(className, "className");
+        Objects.requireNonNull(properties, "properties");
+
+        return new PojoPropertySnapshotType(className, hash, Lists.immutable(properties));
+    }
+
+    private PojoPropertySnapshotType(final String className,
+                                     final long hash,
+                                     final List<PojoPropertySnapshotProperty> properties) {
+        this.className = className;
+        this.hash = hash;
+        this.properties = properties;
+    }
+
+    final String className;
+
+    final long hash;
+
+    final List<PojoPropertySnapshotProperty> properties;
+
+    /**
+     * Tests if the type still matches the hash taken with the snapshot.
+     */
+    boolean isCurrent(final Class<?> type) {
+        return UNKNOWN_HASH != this.hash &&
+            this.hash == hash(type);
+    }
+
+    // hash.............................................................................................................
+
+    /**
+     * Returns a CRC32 of the class file of the type, combined with the hashes of its super class and interfaces,
+     * or {@link #UNKNOWN_HASH} if any of those class files is not available, such as for generated classes.
+     */
+    static long hash(final Class<?> type) {
+        return HASHES.get(type);
+    }
+
+    private final static ClassValue<Long> HASHES = new ClassValue<>() {
+        @Override
+        protected Long computeValue(final Class<?> type) {
+            return hash0(type);
+        }
+    };
+
+    private static long hash0(final Class<?> type) {
+        final CRC32 crc = new CRC32();
+
+        try (final InputStream classFile = type.getResourceAsStream('/' + type.getName().replace('.', '/') + ".class")) {
+            if (null == classFile) {
+                return UNKNOWN_HASH;
+            }
+            final byte[] buffer = new byte[4096];
+            for (; ; ) {
+                final int read = classFile.read(buffer);
+                if (-1 == read) {
+                    break;
+                }
+                crc.update(buffer, 0, read);
+            }
+        } catch (final IOException cause) {
+            return UNKNOWN_HASH;
+        }
+
+        final Class<?> superClass = type.getSuperclass();
+        if (null != superClass && !update(crc, superClass)) {
+            return UNKNOWN_HASH;
+        }
+        for (final Class<?> interfaceType : type.getInterfaces()) {
+            if (!update(crc, interfaceType)) {
+                return UNKNOWN_HASH;
+            }
+        }
+
+        return crc.getValue();
+    }
+
+    private static boolean update(final CRC32 crc,
+                                  final Class<?> superType) {
+        final long hash = hash(superType);
+        if (UNKNOWN_HASH == hash) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            crc.update((int) (hash >>> (i * 8)));
+        }
+        return true;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.className, this.hash, this.properties);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PojoPropertySnapshotType && this.equals0((PojoPropertySnapshotType) other);
+    }
+
+    private boolean equals0(final PojoPropertySnapshotType other) {
+        return this.className.equals(other.className) &&
+            this.hash == other.hash &&
+            this.properties.equals(other.properties);
+    }
+
+    @Override
+    public String toString() {
+        return this.className + " " + this.properties;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A snapshot of the invocation counters of a single {@link PojoProperty} of a class. Latencies are recorded in buckets
+ * that double in width, so percentiles are an upper bound that is at most twice the actual latency.
+ */
+public final class PojoPropertyStatistics {
+
+    /**
+     * The number of latency buckets, the last holds all latencies of 2^62 nanos or more.
+     */
+    final static int BUCKET_COUNT = 63;
+
+    /**
+     * Returns the bucket that holds the given latency.
+     */
+    static int bucket(final long nanos) {
+        return nanos <= 1 ?
+            0 :
+            Math.min(BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Creates a new {@link PojoPropertyStatistics}, where each latency bucket <code>i</code> counts the invocations that
+     * took less than <code>2^(i+1)</code> nanos.
+     */
+    static PojoPropertyStatistics with(final Class<?> type,
+                                       final PojoName name,
+                                       final long invocations,
+                                       final long exceptions,
+                                       final Duration totalTime,
+                                       final long[] latencies) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(name, "name");
+        if (invocations < 0) {
+            throw new IllegalArgumentException("Invalid invocations " + invocations + " < 0");
+        }
+        if (exceptions < 0) {
+            throw new IllegalArgumentException("Invalid exceptions " + exceptions + " < 0");
+        }
+        Objects.requireNonNull(totalTime, "totalTime");
+        Objects.requireNonNull(latencies, "latencies");
+        if (BUCKET_COUNT != latencies.length) {
+            throw new IllegalArgumentException("Expected " + BUCKET_COUNT + " latencies got " + latencies.length);
+        }
+
+        return new PojoPropertyStatistics(
+            type,
+            name,
+            invocations,
+            exceptions,
+            totalTime,
+            latencies.clone()
+        );
+    }
+
+    private PojoPropertyStatistics(final Class<?> type,
+                                   final PojoName name,
+                                   final long invocations,
+                                   final long exceptions,
+                                   final Duration totalTime,
+                                   final long[] latencies) {
+        this.type = type;
+        this.name = name;
+        this.invocations = invocations;
+        this.exceptions = exceptions;
+        this.totalTime = totalTime;
+        this.latencies = latencies;
+    }
+
+    /**
+     * The class that owns the property.
+     */
+    public Class<?> type() {
+        return this.type;
+    }
+
+    private final Class<?> type;
+
+    /**
+     * The name of the property.
+     */
+    public PojoName name() {
+        return this.name;
+    }
+
+    private final PojoName name;
+
+    /**
+     * The number of gets and sets, including those that failed.
+     */
+    public long invocations() {
+        return this.invocations;
+    }
+
+    private final long invocations;
+
+    /**
+     * The number of gets and sets that threw an exception.
+     */
+    public long exceptions() {
+        return this.exceptions;
+    }
+
+    private final long exceptions;
+
+    /**
+     * The total time spent within all gets and sets.
+     */
+    public Duration totalTime() {
+        return this.totalTime;
+    }
+
+    private final Duration totalTime;
+
+    /**
+     * The average time of a single get or set, or zero if there were no invocations.
+     */
+    public Duration averageTime() {
+        return 0 == this.invocations ?
+            Duration.ZERO :
+            this.totalTime.dividedBy(this.invocations);
+    }
+
+    /**
+     * Returns the latency that the given percentage of invocations did not exceed, such as 99 for the p99 latency, or
+     * zero if there were no invocations.
+     */
+    public Duration percentile(final double percent) {
+        if (false == (percent > 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Invalid percent " + percent + " must be greater than 0 and less or equal to 100");
+        }
+
+        final long[] latencies = this.latencies;
+
+        long count = 0;
+        for (final long latency : latencies) {
+            count += latency;
+        }
+
+        Duration percentile = Duration.ZERO;
+        if (count > 0) {
+            final long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+
+            long seen = 0;
+            for (int i = 0; i < latencies.length; i++) {
+                seen += latencies[i];
+                if (seen >= rank) {
+                    percentile = Duration.ofNanos(
+                        BUCKET_COUNT - 1 == i ?
+                            Long.MAX_VALUE :
+                            (1L << (i + 1)) - 1
+                    );
+                    break;
+                }
+            }
+        }
+        return percentile;
+    }
+
+    private final long[] latencies;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.type, this.name, this.invocations, this.exceptions, this.totalTime);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PojoPropertyStatistics && this.equals0((PojoPropertyStatistics) other);
+    }
+
+    private boolean equals0(final PojoPropertyStatistics other) {
+        return this.type.equals(other.type) &&
+            this.name.equals(other.name) &&
+            this.invocations == other.invocations &&
+            this.exceptions == other.exceptions &&
+            this.totalTime.equals(other.totalTime) &&
+            Arrays.equals(this.latencies, other.latencies);
+    }
+
+    @Override
+    public String toString() {
+        return this.type.getName() + "." + this.name +
+            " invocations=" + this.invocations +
+            " exceptions=" + this.exceptions +
+            " totalTime=" + this.totalTime;
+    }
+}
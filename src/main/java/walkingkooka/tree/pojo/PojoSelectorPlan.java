@@ -0,0 +1,455 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A compiled absolute path of child steps, such as <code>/orders/*&#47;lines/*[@class='example.Line']</code>, that is
+ * evaluated directly against the values of a graph rather than through {@link walkingkooka.tree.select.NodeSelector}.
+ * Plans are compiled from the same {@link ExpressionNodeSelectorParserToken} given to
+ * {@link PojoNode#nodeSelectorExpressionParserToken(ExpressionNodeSelectorParserToken, java.util.function.Predicate, walkingkooka.tree.expression.HasExpressionNumberKind)},
+ * and selectors using anything other than the steps below fail.
+ * Named steps are resolved to property indices using {@link PojoNodeContext#propertyIndex(Class, PojoName)}, with the
+ * first resolved against the root {@link Class} when compiled. Values are read using {@link PojoProperty}, and
+ * {@link PojoNode} wrappers are only created for matches.
+ * <br>
+ * Each step is one of:
+ * <ul>
+ * <li>a property name, matching the property of an object</li>
+ * <li><code>*</code>, matching every child</li>
+ * <li><code>*</code> followed by a one based position such as <code>*[1]</code>, matching the child at that position</li>
+ * </ul>
+ * Any step may be followed by <code>[@class='type']</code> which keeps only children whose value has the given class name.
+ * <br>
+ * When compiled with a {@link PojoNodeContexts#identity(PojoNodeContext, Object)} context, children that cycle back to an
+ * ancestor are replaced by the cycle marker just like their {@link PojoNode}, and the matches below a value reached by
+ * several paths are computed once and reused.
+ */
+public final class PojoSelectorPlan {
+
+    /**
+     * Compiles the selector for graphs whose root value is an instance of the given type.
+     */
+    public static PojoSelectorPlan compile(final ExpressionNodeSelectorParserToken token,
+                                          final Class<?> type,
+                                          final PojoNodeContext context) {
+        Objects.requireNonNull(token, "token");
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(context, "context");
+
+        final PojoSelectorPlanStep[] steps = PojoSelectorPlanNodeSelectorParserTokenVisitor.steps(token);
+        final String path = PojoSelectorPlanStep.toString(Arrays.asList(steps));
+
+        // resolve a leading property step against the root type now, failing if unknown
+        if (steps.length > 0 && steps[0].isProperty()) {
+            final PojoSelectorPlanStep first = steps[0];
+            if (context.propertyIndex(type, first.name) < 0) {
+                throw new IllegalArgumentException("Unknown property " + first.name + " in " + CharSequences.quote(path) + " for " + type.getName());
+            }
+        }
+
+        return new PojoSelectorPlan(path, type, steps, context);
+    }
+
+    private PojoSelectorPlan(final String path,
+                             final Class<?> type,
+                             final PojoSelectorPlanStep[] steps,
+                             final PojoNodeContext context) {
+        super();
+        this.path = path;
+        this.type = type;
+        this.steps = steps;
+        this.context = context;
+    }
+
+    /**
+     * The type of root values this plan was compiled for.
+     */
+    public Class<?> type() {
+        return this.type;
+    }
+
+    private final Class<?> type;
+
+    /**
+     * Returns the matching nodes in document order. The value of the root must be an instance of {@link #type()}, and
+     * the root should be wrapped using the same {@link PojoNodeContext} given when compiled.
+     */
+    public List<PojoNode> select(final PojoNode root) {
+        Objects.requireNonNull(root, "root");
+
+        return nodes(root, this.paths(root.value()));
+    }
+
+    /**
+     * Returns the child index paths from the root value to each match in document order.
+     */
+    List<int[]> paths(final Object value) {
+        if (false == this.type.isInstance(value)) {
+            throw new IllegalArgumentException("Root value " + CharSequences.quoteIfChars(value) + " is not a " + this.type.getName());
+        }
+
+        final List<int[]> paths = Lists.array();
+        this.walk(
+            value,
+            0,
+            new int[this.steps.length],
+            paths,
+            this.context.cycleMarker()
+                .map(m -> new Identity(this.steps.length, m))
+                .orElse(null)
+        );
+        return paths;
+    }
+
+    /**
+     * Wraps the node at the end of each path by navigating children from the root.
+     */
+    static List<PojoNode> nodes(final PojoNode root,
+                                final List<int[]> paths) {
+        final List<PojoNode> matches = Lists.array();
+        for (final int[] path : paths) {
+            PojoNode node = root;
+            for (final int index : path) {
+                node = node.children().get(index);
+            }
+            matches.add(node);
+        }
+        return Lists.readOnly(matches);
+    }
+
+    /**
+     * Visits the children of the value selected by the step at the given depth, recording the index path of every
+     * value that survives all steps.
+     */
+    private void walk(final Object value,
+                      final int depth,
+                      final int[] path,
+                      final List<int[]> paths,
+                      final Identity identity) {
+        if (this.steps.length == depth) {
+            paths.add(path.clone());
+        } else {
+            if (null != value) {
+                final PojoNodeKind kind = this.kind(value);
+
+                if (null == identity || PojoNodeKind.BASIC == kind) {
+                    this.walk0(value, kind, depth, path, paths, identity);
+                } else {
+                    identity.values[depth] = value;
+                    identity.reached.add(value);
+
+                    final Shared shared = identity.shared(value, depth);
+                    if (null != shared) {
+                        for (final int[] suffix : shared.suffixes) {
+                            final int[] copy = path.clone();
+                            System.arraycopy(suffix, 0, copy, depth, suffix.length);
+                            paths.add(copy);
+                        }
+                        identity.reached.addAll(shared.reached);
+                    } else {
+                        final int pathsStart = paths.size();
+                        final int reachedStart = identity.reached.size();
+                        final int cycles = identity.cycles;
+
+                        this.walk0(value, kind, depth, path, paths, identity);
+
+                        // a subtree that was cut short by a cycle depends on its ancestors and cannot be shared
+                        if (cycles == identity.cycles) {
+                            identity.share(
+                                value,
+                                depth,
+                                paths.subList(pathsStart, paths.size()),
+                                identity.reached.subList(reachedStart, identity.reached.size())
+                            );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void walk0(final Object value,
+                       final PojoNodeKind kind,
+                       final int depth,
+                       final int[] path,
+                       final List<int[]> paths,
+                       final Identity identity) {
+        final PojoSelectorPlanStep step = this.steps[depth];
+
+        if (step.isProperty()) {
+            if (PojoNodeKind.OBJECT == kind) {
+                final Class<?> type = value.getClass();
+                final int index = this.context.propertyIndex(type, step.name);
+                if (-1 != index) {
+                    this.visit(step, this.context.properties(type).get(index).get(value), index, depth, path, paths, identity);
+                }
+            }
+        } else {
+            this.walkChildren(step, value, kind, depth, path, paths, identity);
+        }
+    }
+
+    private void walkChildren(final PojoSelectorPlanStep step,
+                              final Object value,
+                              final PojoNodeKind kind,
+                              final int depth,
+                              final int[] path,
+                              final List<int[]> paths,
+                              final Identity identity) {
+        final int only = step.index;
+        final boolean any = PojoSelectorPlanStep.ANY == only;
+
+        switch (kind) {
+            case BASIC:
+                break;
+            case LIST:
+                final List<?> list = (List<?>) value;
+                if (list instanceof RandomAccess) {
+                    final int size = list.size();
+                    if (any) {
+                        for (int i = 0; i < size; i++) {
+                            this.visit(step, list.get(i), i, depth, path, paths, identity);
+                        }
+                    } else {
+                        if (only < size) {
+                            this.visit(step, list.get(only), only, depth, path, paths, identity);
+                        }
+                    }
+                } else {
+                    this.walkIterator(step, list.iterator(), depth, path, paths, identity);
+                }
+                break;
+            case SET:
+                this.walkIterator(step, ((Set<?>) value).iterator(), depth, path, paths, identity);
+                break;
+            case MAP:
+                this.walkIterator(step, ((Map<?, ?>) value).entrySet().iterator(), depth, path, paths, identity);
+                break;
+            case OBJECT:
+                final List<PojoProperty> properties = this.context.properties(value.getClass());
+                final int count = properties.size();
+                if (any) {
+                    for (int i = 0; i < count; i++) {
+                        this.visit(step, properties.get(i).get(value), i, depth, path, paths, identity);
+                    }
+                } else {
+                    if (only < count) {
+                        this.visit(step, properties.get(only).get(value), only, depth, path, paths, identity);
+                    }
+                }
+                break;
+            default:
+                final int length = Array.getLength(value);
+                if (any) {
+                    for (int i = 0; i < length; i++) {
+                        this.visit(step, Array.get(value, i), i, depth, path, paths, identity);
+                    }
+                } else {
+                    if (only < length) {
+                        this.visit(step, Array.get(value, only), only, depth, path, paths, identity);
+                    }
+                }
+                break;
+        }
+    }
+
+    private void walkIterator(final PojoSelectorPlanStep step,
+                              final Iterator<?> iterator,
+                              final int depth,
+                              final int[] path,
+                              final List<int[]> paths,
+                              final Identity identity) {
+        final int only = step.index;
+        final boolean any = PojoSelectorPlanStep.ANY == only;
+
+        int i = 0;
+        while (iterator.hasNext()) {
+            final Object child = iterator.next();
+            if (any || only == i) {
+                this.visit(step, child, i, depth, path, paths, identity);
+                if (false == any) {
+                    break;
+                }
+            }
+            i++;
+        }
+    }
+
+    private void visit(final PojoSelectorPlanStep step,
+                       final Object child,
+                       final int index,
+                       final int depth,
+                       final int[] path,
+                       final List<int[]> paths,
+                       final Identity identity) {
+        Object value = child;
+        if (null != identity && identity.isAncestor(child, depth)) {
+            value = identity.cycleMarker;
+            identity.cycles++;
+        }
+
+        if (step.test(value)) {
+            path[depth] = index;
+            this.walk(value, depth + 1, path, paths, identity);
+        }
+    }
+
+    /**
+     * Uses the {@link PojoNodeKind} selected by the {@link PojoNodeContext}, only custom factories fall back to the default.
+     */
+    private PojoNodeKind kind(final Object value) {
+        final Class<?> type = value.getClass();
+        final PojoNodeFactory factory = this.context.nodeFactory(type);
+        return factory instanceof PojoNodeKind ?
+            (PojoNodeKind) factory :
+            PojoNodeKind.of(type);
+    }
+
+    /**
+     * State for a single walk when the {@link PojoNodeContext} has a {@link PojoNodeContext#cycleMarker()}, recording the
+     * values of the ancestors to cut cycles, and the matches below each value so shared references are only walked once.
+     */
+    private final static class Identity {
+
+        Identity(final int depth,
+                 final Object cycleMarker) {
+            super();
+            this.values = new Object[depth];
+            this.cycleMarker = cycleMarker;
+        }
+
+        boolean isAncestor(final Object child,
+                           final int depth) {
+            boolean ancestor = false;
+
+            if (null != child) {
+                for (int i = 0; i <= depth; i++) {
+                    if (child == this.values[i]) {
+                        ancestor = true;
+                        break;
+                    }
+                }
+            }
+            return ancestor;
+        }
+
+        /**
+         * Returns the matches previously recorded below the value at the same depth, as long as none of the values
+         * below it are also ancestors along the current path.
+         */
+        Shared shared(final Object value,
+                      final int depth) {
+            Shared shared = null;
+
+            final Map<Object, Shared> byValue = this.shared.get(depth);
+            if (null != byValue) {
+                shared = byValue.get(value);
+                if (null != shared) {
+                    for (int i = 0; i < depth; i++) {
+                        if (shared.reached.contains(this.values[i])) {
+                            shared = null;
+                            break;
+                        }
+                    }
+                }
+            }
+            return shared;
+        }
+
+        void share(final Object value,
+                   final int depth,
+                   final List<int[]> paths,
+                   final List<Object> reached) {
+            final List<int[]> suffixes = Lists.array();
+            for (final int[] path : paths) {
+                suffixes.add(Arrays.copyOfRange(path, depth, path.length));
+            }
+
+            final Set<Object> reachedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            reachedSet.addAll(reached);
+
+            this.shared.computeIfAbsent(depth, (d) -> new IdentityHashMap<>())
+                .put(value, new Shared(suffixes, reachedSet));
+        }
+
+        /**
+         * The value at each depth along the current path.
+         */
+        final Object[] values;
+
+        final Object cycleMarker;
+
+        /**
+         * The number of children replaced by the cycle marker.
+         */
+        int cycles;
+
+        /**
+         * Every non basic value reached in the order they were walked.
+         */
+        final List<Object> reached = Lists.array();
+
+        private final Map<Integer, Map<Object, Shared>> shared = Maps.hash();
+    }
+
+    /**
+     * The index paths of the matches below a value relative to its depth, and the non basic values reached below it.
+     */
+    private final static class Shared {
+
+        Shared(final List<int[]> suffixes,
+               final Set<Object> reached) {
+            super();
+            this.suffixes = suffixes;
+            this.reached = reached;
+        }
+
+        final List<int[]> suffixes;
+
+        final Set<Object> reached;
+    }
+
+    private final PojoSelectorPlanStep[] steps;
+
+    private final PojoNodeContext context;
+
+    // Object...........................................................................................................
+
+    private final String path;
+
+    @Override
+    public String toString() {
+        return this.path;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.select.parser.AbsoluteNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.AttributeNameNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.ExpressionNumberNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.NodeNameNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.NodeSelectorParserTokenVisitor;
+import walkingkooka.tree.select.parser.QuotedTextNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.WildcardNodeSelectorParserToken;
+
+import java.util.List;
+
+/**
+ * Collects the {@link PojoSelectorPlanStep steps} of an absolute child path from an {@link ExpressionNodeSelectorParserToken}.
+ * Only absolute paths of node names and <code>*</code> are supported, where <code>*</code> may be followed by a position
+ * such as <code>[1]</code> and any step may be followed by <code>[@class='type']</code>.
+ * <br>
+ * The steps are rendered back to text and compared against the text of the token, so that any other axis, function or
+ * predicate fails rather than being silently ignored.
+ */
+final class PojoSelectorPlanNodeSelectorParserTokenVisitor extends NodeSelectorParserTokenVisitor {
+
+    static PojoSelectorPlanStep[] steps(final ExpressionNodeSelectorParserToken token) {
+        final PojoSelectorPlanNodeSelectorParserTokenVisitor visitor = new PojoSelectorPlanNodeSelectorParserTokenVisitor();
+        visitor.accept(token);
+
+        final String text = token.text();
+        if (false == visitor.absolute) {
+            throw new IllegalArgumentException("Selector must be absolute got " + CharSequences.quote(text));
+        }
+        visitor.addStep();
+
+        final List<PojoSelectorPlanStep> steps = visitor.steps;
+        if (false == normalize(text).equals(PojoSelectorPlanStep.toString(steps))) {
+            throw new IllegalArgumentException("Unsupported selector " + CharSequences.quote(text));
+        }
+        return steps.toArray(new PojoSelectorPlanStep[steps.size()]);
+    }
+
+    /**
+     * Removes whitespace and replaces double quotes with single quotes which is how steps render themselves.
+     */
+    private static String normalize(final String text) {
+        final StringBuilder b = new StringBuilder();
+        for (final char c : text.toCharArray()) {
+            if (false == Character.isWhitespace(c)) {
+                b.append('"' == c ? '\'' : c);
+            }
+        }
+        return b.toString();
+    }
+
+    // @VisibleForTesting
+    PojoSelectorPlanNodeSelectorParserTokenVisitor() {
+        super();
+    }
+
+    @Override
+    protected void visit(final AbsoluteNodeSelectorParserToken token) {
+        this.absolute = true;
+    }
+
+    private boolean absolute;
+
+    @Override
+    protected void visit(final NodeNameNodeSelectorParserToken token) {
+        this.addStep();
+        this.name = PojoName.property(token.value().value());
+    }
+
+    @Override
+    protected void visit(final WildcardNodeSelectorParserToken token) {
+        this.addStep();
+        this.any = true;
+    }
+
+    @Override
+    protected void visit(final AttributeNameNodeSelectorParserToken token) {
+        final String attribute = token.value().value();
+        if (false == PojoNodeAttributeName.CLASS.value().equals(attribute)) {
+            throw new IllegalArgumentException("Unsupported attribute " + CharSequences.quote(attribute) + " in " + CharSequences.quote(token.text()));
+        }
+    }
+
+    @Override
+    protected void visit(final QuotedTextNodeSelectorParserToken token) {
+        if (null != this.className) {
+            throw new IllegalArgumentException("Duplicate class predicate " + CharSequences.quote(token.text()));
+        }
+        this.className = token.value();
+    }
+
+    /**
+     * Positions are one based, and only a <code>*</code> without a class predicate may be followed by one.
+     */
+    @Override
+    protected void visit(final ExpressionNumberNodeSelectorParserToken token) {
+        final String text = token.text();
+        if (false == this.any || null != this.className || PojoSelectorPlanStep.ANY != this.index) {
+            throw new IllegalArgumentException("Unsupported position " + CharSequences.quote(text));
+        }
+
+        final int position;
+        try {
+            position = Integer.parseInt(text);
+        } catch (final NumberFormatException cause) {
+            throw new IllegalArgumentException("Invalid position " + CharSequences.quote(text), cause);
+        }
+        if (position < 1) {
+            throw new IllegalArgumentException("Invalid position " + CharSequences.quote(text));
+        }
+        this.index = position - 1;
+    }
+
+    /**
+     * Completes the pending step if there is one.
+     */
+    private void addStep() {
+        if (null != this.name) {
+            this.steps.add(PojoSelectorPlanStep.property(this.name, this.className));
+        } else {
+            if (this.any) {
+                this.steps.add(
+                    PojoSelectorPlanStep.ANY == this.index ?
+                        PojoSelectorPlanStep.any(this.className) :
+                        PojoSelectorPlanStep.index(this.index, this.className)
+                );
+            }
+        }
+
+        this.name = null;
+        this.any = false;
+        this.index = PojoSelectorPlanStep.ANY;
+        this.className = null;
+    }
+
+    private PojoName name;
+    private boolean any;
+    private int index = PojoSelectorPlanStep.ANY;
+    private String className;
+
+    private final List<PojoSelectorPlanStep> steps = Lists.array();
+
+    @Override
+    public String toString() {
+        return this.steps.toString();
+    }
+}
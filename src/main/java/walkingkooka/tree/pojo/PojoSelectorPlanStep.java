@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A single step within a {@link PojoSelectorPlan}, selecting a named property, an element at an index or any child,
+ * optionally filtered by the class of the child value.
+ */
+final class PojoSelectorPlanStep {
+
+    /**
+     * Selects any child, the equivalent of <code>*</code>.
+     */
+    final static int ANY = -1;
+
+    static PojoSelectorPlanStep property(final PojoName name,
+                                         final String className) {
+        return new PojoSelectorPlanStep(name, ANY, className);
+    }
+
+    static PojoSelectorPlanStep index(final int index,
+                                      final String className) {
+        return new PojoSelectorPlanStep(null, index, className);
+    }
+
+    static PojoSelectorPlanStep any(final String className) {
+        return new PojoSelectorPlanStep(null, ANY, className);
+    }
+
+    private PojoSelectorPlanStep(final PojoName name,
+                                 final int index,
+                                 final String className) {
+        super();
+        this.name = name;
+        this.index = index;
+        this.className = className;
+    }
+
+    boolean isProperty() {
+        return null != this.name;
+    }
+
+    /**
+     * The property name, which is null for index and any steps.
+     */
+    final PojoName name;
+
+    /**
+     * The zero based element index or {@link #ANY}.
+     */
+    final int index;
+
+    /**
+     * Returns true if the child value satisfies the class filter if one is present.
+     */
+    boolean test(final Object value) {
+        final String className = this.className;
+        return null == className ||
+            (null != value && className.equals(value.getClass().getName()));
+    }
+
+    private final String className;
+
+    /**
+     * Renders the steps as an absolute path, such as <code>/orders/*[1]/lines</code>.
+     */
+    static String toString(final List<PojoSelectorPlanStep> steps) {
+        final StringBuilder b = new StringBuilder();
+        b.append('/');
+
+        String separator = "";
+        for (final PojoSelectorPlanStep step : steps) {
+            b.append(separator);
+            b.append(step);
+            separator = "/";
+        }
+        return b.toString();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.index, this.className);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PojoSelectorPlanStep && this.equals0((PojoSelectorPlanStep) other);
+    }
+
+    private boolean equals0(final PojoSelectorPlanStep other) {
+        return Objects.equals(this.name, other.name) &&
+            this.index == other.index &&
+            Objects.equals(this.className, other.className);
+    }
+
+    @Override
+    public String toString() {
+        final String step = null != this.name ?
+            this.name.value() :
+            ANY == this.index ?
+                "*" :
+                "*[" + (this.index + 1) + "]";
+
+        return null != this.className ?
+            step + "[@" + PojoNodeAttributeName.CLASS.value() + "='" + this.className + "']" :
+            step;
+    }
+}
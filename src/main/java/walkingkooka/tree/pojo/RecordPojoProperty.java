@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+/**
+ * A {@link PojoProperty} for a single record component. Setting a value creates a new record using the canonical
+ * constructor, and {@link PojoNodeObject} uses the shared {@link RecordPojoType} to replace several components with a
+ * single constructor call.
+ */
+final class RecordPojoProperty implements PojoProperty {
+
+    static RecordPojoProperty with(final PojoName name,
+                                   final RecordPojoType record,
+                                   final int index) {
+        return new RecordPojoProperty(name, record, index);
+    }
+
+    private RecordPojoProperty(final PojoName name,
+                               final RecordPojoType record,
+                               final int index) {
+        super();
+        this.name = name;
+        this.record = record;
+        this.index = index;
+    }
+
+    // PojoProperty ...................................................................................
+
+    @Override
+    public PojoName name() {
+        return this.name;
+    }
+
+    private final PojoName name;
+
+    @Override
+    public Object get(final Object instance) {
+        return this.record.get(instance, this.index);
+    }
+
+    @Override
+    public Object set(final Object instance, final Object value) {
+        final Object[] values = this.record.values(instance);
+        values[this.index] = value;
+        return this.record.rebuild(instance, values);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    final RecordPojoType record;
+
+    /**
+     * The position of this component within the canonical constructor.
+     */
+    final int index;
+
+    // Object ...................................................................................
+
+    @Override
+    public String toString() {
+        return this.name.toString();
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The components and canonical constructor of a record. Records are located using reflection, because this
+ * project still targets java 11 where {@link Class#isRecord()} does not exist.
+ */
+final class RecordPojoType {
+
+    /**
+     * Tests if the given type is a record, always returning false on JREs without record support.
+     */
+    static boolean isRecord(final Class<?> type) {
+        boolean record = false;
+
+        if (null != IS_RECORD) {
+            try {
+                record = (Boolean) IS_RECORD.invoke(type);
+            } catch (final Exception cause) {
+                throw new ReflectionPojoException("Unable to test if " + CharSequences.quote(type.getName()) + " is a record, " + cause.getMessage(), cause);
+            }
+        }
+
+        return record;
+    }
+
+    private final static Method IS_RECORD = classMethod("isRecord");
+    private final static Method GET_RECORD_COMPONENTS = classMethod("getRecordComponents");
+    private final static Method RECORD_COMPONENT_GET_NAME = recordComponentMethod("getName");
+    private final static Method RECORD_COMPONENT_GET_ACCESSOR = recordComponentMethod("getAccessor");
+
+    private static Method classMethod(final String name) {
+        try {
+            return Class.class.getMethod(name);
+        } catch (final NoSuchMethodException missing) {
+            return null;
+        }
+    }
+
+    private static Method recordComponentMethod(final String name) {
+        try {
+            return Class.forName("java.lang.reflect.RecordComponent")
+                .getMethod(name);
+        } catch (final ClassNotFoundException | NoSuchMethodException missing) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a {@link RecordPojoType} for the given record type, locating its components and canonical constructor.
+     */
+    static RecordPojoType with(final Class<?> type) {
+        if (!isRecord(type)) {
+            throw new IllegalArgumentException("Type " + CharSequences.quote(type.getName()) + " is not a record");
+        }
+
+        try {
+            final Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+            final int count = Array.getLength(components);
+
+            final String[] names = new String[count];
+            final Method[] accessors = new Method[count];
+            final Class<?>[] types = new Class<?>[count];
+
+            for (int i = 0; i < count; i++) {
+                final Object component = components[i];
+                names[i] = (String) RECORD_COMPONENT_GET_NAME.invoke(component);
+
+                final Method accessor = (Method) RECORD_COMPONENT_GET_ACCESSOR.invoke(component);
+                accessor.setAccessible(true);
+                accessors[i] = accessor;
+                types[i] = accessor.getReturnType();
+            }
+
+            final Constructor<?> constructor = type.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+
+            return new RecordPojoType(type, names, accessors, constructor);
+        } catch (final ReflectiveOperationException cause) {
+            throw new ReflectionPojoException("Unable to locate components for record " + CharSequences.quote(type.getName()) + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Returns the {@link RecordPojoType} shared by the given properties or null if they are not record components.
+     * Components wrapped by a {@link WrapperPojoProperty} such as {@link InstrumentedPojoProperty} are also unwrapped.
+     */
+    static RecordPojoType record(final List<PojoProperty> properties) {
+        final RecordPojoProperty property = properties.isEmpty() ?
+            null :
+            component(properties.get(0));
+        return null != property ?
+            property.record :
+            null;
+    }
+
+    /**
+     * Returns the {@link RecordPojoProperty} for the given property, or null if it is not a record component.
+     */
+    static RecordPojoProperty component(final PojoProperty property) {
+        PojoProperty unwrapped = property;
+        while (unwrapped instanceof WrapperPojoProperty) {
+            unwrapped = ((WrapperPojoProperty) unwrapped).wrapped();
+        }
+        return unwrapped instanceof RecordPojoProperty ?
+            (RecordPojoProperty) unwrapped :
+            null;
+    }
+
+    private RecordPojoType(final Class<?> type,
+                           final String[] names,
+                           final Method[] accessors,
+                           final Constructor<?> constructor) {
+        this.type = type;
+        this.names = names;
+        this.accessors = accessors;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Creates a {@link PojoProperty} for every component, sorted by name.
+     */
+    List<PojoProperty> properties() {
+        final List<PojoProperty> properties = Lists.array();
+
+        final int count = this.names.length;
+        for (int i = 0; i < count; i++) {
+            properties.add(RecordPojoProperty.with(PojoName.intern(this.names[i]), this, i));
+        }
+
+        properties.sort(ReflectionPojoNodeContext.POJO_PROPERTY_COMPARATOR);
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Reads a single component.
+     */
+    Object get(final Object instance, final int index) {
+        try {
+            return this.accessors[index].invoke(instance);
+        } catch (final Exception cause) {
+            throw new ReflectionPojoException("Unable to get component " + CharSequences.quote(this.names[index]) + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Reads all components in canonical constructor order, ready to be modified and passed to {@link #rebuild(Object, Object[])}.
+     */
+    Object[] values(final Object instance) {
+        final int count = this.accessors.length;
+        final Object[] values = new Object[count];
+
+        for (int i = 0; i < count; i++) {
+            values[i] = this.get(instance, i);
+        }
+        return values;
+    }
+
+    /**
+     * Calls the canonical constructor once with all the given values, unless they are the same as those of the
+     * original instance which is then returned.
+     */
+    Object rebuild(final Object instance, final Object[] values) {
+        final int count = this.accessors.length;
+
+        boolean different = false;
+        for (int i = 0; i < count; i++) {
+            if (!Objects.equals(this.get(instance, i), values[i])) {
+                different = true;
+                break;
+            }
+        }
+
+        return different ?
+            this.create(values) :
+            instance;
+    }
+
+    private Object create(final Object[] values) {
+        try {
+            return this.constructor.newInstance(values);
+        } catch (final Exception cause) {
+            throw new ReflectionPojoException("Unable to create record " + CharSequences.quote(this.type.getName()) + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    private final Class<?> type;
+    private final String[] names;
+    private final Method[] accessors;
+    private final Constructor<?> constructor;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.type.getName();
+    }
+}
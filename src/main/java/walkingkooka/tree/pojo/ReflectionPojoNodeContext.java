@@ -29,18 +29,48 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * A {@link PojoNodeContext} that discovers properties using reflection for given types.
+ * A {@link PojoNodeContext} that discovers properties using reflection for given types. When created with a
+ * {@link PojoPropertySnapshot} the getters and setters of types within the snapshot are resolved by name, and all
+ * discovered types are recorded so they may be written to a new snapshot.
  */
-final class ReflectionPojoNodeContext implements PojoNodeContext {
+final class ReflectionPojoNodeContext implements PojoNodeContext,
+    HasPojoCacheStatistics,
+    HasPojoPropertySnapshot {
 
     static ReflectionPojoNodeContext with() {
-        return new ReflectionPojoNodeContext();
+        return with(ReflectionPojoProperty::with);
     }
 
-    private ReflectionPojoNodeContext() {
+    static ReflectionPojoNodeContext with(final ReflectionPojoPropertyFactory factory) {
+        Objects.requireNonNull(factory, "factory");
+
+        return new ReflectionPojoNodeContext(factory, null);
+    }
+
+    static ReflectionPojoNodeContext with(final PojoPropertySnapshot snapshot) {
+        return with(ReflectionPojoProperty::with, snapshot);
+    }
+
+    static ReflectionPojoNodeContext with(final ReflectionPojoPropertyFactory factory,
+                                          final PojoPropertySnapshot snapshot) {
+        Objects.requireNonNull(factory, "factory");
+        Objects.requireNonNull(snapshot, "snapshot");
+
+        return new ReflectionPojoNodeContext(factory, snapshot);
+    }
+
+    private ReflectionPojoNodeContext(final ReflectionPojoPropertyFactory factory,
+                                      final PojoPropertySnapshot snapshot) {
         super();
+        this.factory = factory;
+        this.snapshot = snapshot;
+        this.discovered = null != snapshot ?
+            new ConcurrentHashMap<>() :
+            null;
     }
 
     // properties....
@@ -49,18 +79,28 @@ final class ReflectionPojoNodeContext implements PojoNodeContext {
     public List<PojoProperty> properties(final Class<?> type) {
         Objects.requireNonNull(type, "type");
 
-        List<PojoProperty> properties = this.typeToProperties.get(type);
-        if (null == properties) {
-            properties = discoverProperties(type);
-            this.typeToProperties.put(type, properties);
-        }
-        return properties;
+        return this.typeToProperties.get(type);
+    }
+
+    @Override
+    public int propertyIndex(final Class<?> type,
+                             final PojoName name) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(name, "name");
+
+        return this.typeToProperties.index(type)
+            .indexOf(name);
     }
 
     /**
      * A cache that holds class to its properties for future reuse.
      */
-    private final Map<Class<?>, List<PojoProperty>> typeToProperties = Maps.concurrent();
+    private final PojoPropertiesCache typeToProperties = PojoPropertiesCache.with(this::discoverProperties);
+
+    @Override
+    public PojoCacheStatistics cacheStatistics() {
+        return this.typeToProperties.cacheStatistics();
+    }
 
     private List<PojoProperty> discoverProperties(final Class<?> type) {
         if (type.isPrimitive()) {
@@ -74,8 +114,27 @@ final class ReflectionPojoNodeContext implements PojoNodeContext {
         }
     }
 
-    private static List<PojoProperty> discoverProperties0(final Class<?> type) {
+    private List<PojoProperty> discoverProperties0(final Class<?> type) {
+        if (RecordPojoType.isRecord(type)) {
+            return RecordPojoType.with(type)
+                .properties();
+        }
+
+        if (null != this.snapshot) {
+            final PojoPropertySnapshotType snapshot = this.snapshot.get(type);
+            if (null != snapshot) {
+                final List<PojoProperty> properties = this.resolve(type, snapshot);
+                if (null != properties) {
+                    this.discovered.put(type.getName(), snapshot);
+                    return properties;
+                }
+            }
+        }
+
         final List<PojoProperty> properties = Lists.array();
+        final List<PojoPropertySnapshotProperty> snapshotProperties = null != this.snapshot ?
+            Lists.array() :
+            null;
 
         for (Method method : type.getMethods()) {
             if (isStatic(method)) {
@@ -87,14 +146,99 @@ final class ReflectionPojoNodeContext implements PojoNodeContext {
             if (isObjectMethod(method)) {
                 continue;
             }
-            acceptMethod(method, properties);
+            this.acceptMethod(method, properties, snapshotProperties);
         }
 
         properties.sort(POJO_PROPERTY_COMPARATOR);
+
+        if (null != snapshotProperties) {
+            this.record(type, snapshotProperties);
+        }
         return properties;
     }
 
-    private final static Comparator<PojoProperty> POJO_PROPERTY_COMPARATOR = (p1, p2) -> p1.name().compareTo(p2.name());
+    /**
+     * Resolves the getter and setter of every property in the snapshot using their exact signature, returning null
+     * if any is missing, in which case the type is discovered again.
+     */
+    private List<PojoProperty> resolve(final Class<?> type,
+                                       final PojoPropertySnapshotType snapshot) {
+        final List<PojoProperty> properties = Lists.array();
+
+        try {
+            for (final PojoPropertySnapshotProperty property : snapshot.properties) {
+                final Method getter = type.getMethod(property.getter);
+                if (isStatic(getter)) {
+                    return null;
+                }
+
+                final String setterName = property.setter;
+                Method setter = null;
+                if (null != setterName) {
+                    setter = getter.getDeclaringClass().getMethod(setterName, getter.getReturnType());
+                    if (isStatic(setter)) {
+                        return null;
+                    }
+                }
+
+                properties.add(this.factory.create(property.name, getter, setter));
+            }
+        } catch (final NoSuchMethodException stale) {
+            return null;
+        }
+
+        return properties;
+    }
+
+    /**
+     * Records the properties of a type that was scanned, in the same order as the properties returned, unless the
+     * class file of the type is not available or getters share a name, such as a covariant getter and its bridge
+     * method, which cannot be resolved by name alone.
+     */
+    private void record(final Class<?> type,
+                        final List<PojoPropertySnapshotProperty> properties) {
+        final Set<String> getters = Sets.hash();
+        for (final PojoPropertySnapshotProperty property : properties) {
+            if (!getters.add(property.getter)) {
+                return;
+            }
+        }
+
+        final long hash = PojoPropertySnapshotType.hash(type);
+        if (PojoPropertySnapshotType.UNKNOWN_HASH != hash) {
+            properties.sort(SNAPSHOT_PROPERTY_COMPARATOR);
+
+            this.discovered.put(
+                type.getName(),
+                PojoPropertySnapshotType.with(type.getName(), hash, properties)
+            );
+        }
+    }
+
+    /**
+     * Orders snapshot properties the same as {@link #POJO_PROPERTY_COMPARATOR}, both sorts are stable so properties
+     * with the same name also remain in the same order.
+     */
+    private final static Comparator<PojoPropertySnapshotProperty> SNAPSHOT_PROPERTY_COMPARATOR = (p1, p2) -> p1.name.compareTo(p2.name);
+
+    /**
+     * The snapshot given when this context was created, or null.
+     */
+    private final PojoPropertySnapshot snapshot;
+
+    /**
+     * Every type that was discovered when a snapshot was given, or null.
+     */
+    private final ConcurrentMap<String, PojoPropertySnapshotType> discovered;
+
+    @Override
+    public PojoPropertySnapshot propertySnapshot() {
+        return null != this.discovered ?
+            PojoPropertySnapshot.with(this.discovered.values()) :
+            PojoPropertySnapshot.empty();
+    }
+
+    final static Comparator<PojoProperty> POJO_PROPERTY_COMPARATOR = (p1, p2) -> p1.name().compareTo(p2.name());
 
     private static boolean isStatic(final Method method) {
         return MethodAttributes.STATIC.is(method);
@@ -109,29 +253,34 @@ final class ReflectionPojoNodeContext implements PojoNodeContext {
         return "getClass".equals(name) || "hashCode".equals(name) || "toString".equals(name);
     }
 
-    private static void acceptMethod(final Method method, final List<PojoProperty> properties) {
+    private void acceptMethod(final Method method,
+                              final List<PojoProperty> properties,
+                              final List<PojoPropertySnapshotProperty> snapshotProperties) {
         final Class<?> type = method.getReturnType();
         if (Void.TYPE != type) {
             for (; ; ) {
                 final String methodName = method.getName();
                 if (type == Boolean.TYPE || type == Boolean.class) {
                     if (isPrefixed(methodName, "is")) {
-                        findSetterAndSave(removePrefix(methodName, "is"),
+                        this.findSetterAndSave(removePrefix(methodName, "is"),
                             method,
-                            properties);
+                            properties,
+                            snapshotProperties);
                         break;
                     }
                 }
                 if (isPrefixed(methodName, "get")) {
-                    findSetterAndSave(removePrefix(methodName, "get"),
+                    this.findSetterAndSave(removePrefix(methodName, "get"),
                         method,
-                        properties);
+                        properties,
+                        snapshotProperties);
                     break;
                 }
                 if (Character.isLowerCase(methodName.charAt(0))) {
-                    findSetterAndSave(methodName,
+                    this.findSetterAndSave(methodName,
                         method,
-                        properties);
+                        properties,
+                        snapshotProperties);
                 }
                 break;
             }
@@ -151,12 +300,33 @@ final class ReflectionPojoNodeContext implements PojoNodeContext {
         return Character.toLowerCase(name.charAt(prefixLength)) + name.substring(prefixLength + 1);
     }
 
-    private static void findSetterAndSave(final String propertyName, final Method getter, final List<PojoProperty> properties) {
-        properties.add(ReflectionPojoProperty.with(PojoName.property(propertyName),
+    private void findSetterAndSave(final String propertyName,
+                                   final Method getter,
+                                   final List<PojoProperty> properties,
+                                   final List<PojoPropertySnapshotProperty> snapshotProperties) {
+        final PojoName name = PojoName.intern(propertyName);
+        final Method setter = setter(propertyName, getter);
+
+        properties.add(this.factory.create(name,
             getter,
-            setter(propertyName, getter)));
+            setter));
+
+        if (null != snapshotProperties) {
+            snapshotProperties.add(
+                PojoPropertySnapshotProperty.with(
+                    name,
+                    getter.getName(),
+                    null != setter ? setter.getName() : null
+                )
+            );
+        }
     }
 
+    /**
+     * Creates the {@link PojoProperty} for each discovered getter and optional setter.
+     */
+    private final ReflectionPojoPropertyFactory factory;
+
     private static Method setter(final String propertyName, final Method getter) {
         final String name = "set" + CharSequences.capitalize(propertyName);
 
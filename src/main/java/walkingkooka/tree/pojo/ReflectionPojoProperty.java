@@ -60,7 +60,10 @@ abstract class ReflectionPojoProperty implements PojoProperty {
         }
     }
 
-    private final Method getter;
+    /**
+     * Also read by {@link PojoAccessor} when it resolves the getter into a {@link java.lang.invoke.MethodHandle}.
+     */
+    final Method getter;
 
     // Object ...................................................................................
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public final class AccessorPojoNodeContextTest implements ClassTesting2<AccessorPojoNodeContext>,
+    PojoNodeContextTesting<AccessorPojoNodeContext> {
+
+    private final static PojoName X = PojoName.property("x");
+    private final static PojoName Y = PojoName.property("y");
+    private final static String STRING = "abc";
+    private final static String STRING2 = "xyz";
+
+    @Test
+    public void testProperties() {
+        this.propertiesAndCheck(TestGetterAndSetter.class, "x", "y");
+    }
+
+    @Test
+    public void testPropertiesAreAccessorPojoProperty() {
+        this.properties(TestGetterAndSetter.class)
+            .forEach(p -> this.checkEquals(AccessorPojoProperty.class, p.getClass(), p::toString));
+    }
+
+    @Test
+    public void testPropertiesCached() {
+        final AccessorPojoNodeContext context = this.createContext();
+        this.checkEquals(true, this.properties(context, TestGetterAndSetter.class) == this.properties(context, TestGetterAndSetter.class));
+    }
+
+    @Test
+    public void testGetter() {
+        this.getAndCheck(new TestGetterAndSetter(), X, STRING);
+    }
+
+    @Test
+    public void testGetterReadOnly() {
+        this.getAndCheck(new TestGetterAndSetter(), Y, 123);
+    }
+
+    @Test
+    public void testGetterAndSetter() {
+        this.setAndGetCheck(new TestGetterAndSetter(), X, STRING2);
+    }
+
+    @Test
+    public void testGetterAndWouldBeSetter() {
+        final TestGetterAndWouldBeSetter instance = new TestGetterAndWouldBeSetter(STRING);
+        final TestGetterAndWouldBeSetter result = this.setAndGetCheck(instance, X, STRING2);
+        assertNotSame(instance, result);
+        this.checkEquals(STRING, instance.x, "original property was changed");
+    }
+
+    @Test
+    public void testIsReadOnly() {
+        this.checkEquals(true, this.property(new TestGetterAndSetter(), Y).isReadOnly());
+    }
+
+    @Override
+    public AccessorPojoNodeContext createContext() {
+        return AccessorPojoNodeContext.with();
+    }
+
+    @Override
+    public Class<AccessorPojoNodeContext> type() {
+        return AccessorPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    static class TestGetterAndSetter {
+
+        String x = STRING;
+
+        public String getX() {
+            return x;
+        }
+
+        public void setX(final String x) {
+            this.x = x;
+        }
+
+        public int getY() {
+            return 123;
+        }
+    }
+
+    static class TestGetterAndWouldBeSetter {
+
+        TestGetterAndWouldBeSetter(final String x) {
+            this.x = x;
+        }
+
+        final String x;
+
+        public String getX() {
+            return x;
+        }
+
+        public TestGetterAndWouldBeSetter setX(final String x) {
+            return new TestGetterAndWouldBeSetter(x);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CachePolicyPojoNodeContextTest implements ClassTesting2<CachePolicyPojoNodeContext>,
+    PojoNodeContextTesting<CachePolicyPojoNodeContext>,
+    ToStringTesting<CachePolicyPojoNodeContext> {
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(NullPointerException.class, () -> CachePolicyPojoNodeContext.with(null, PojoNodeCachePolicy.weak()));
+    }
+
+    @Test
+    public void testWithNullCachePolicyFails() {
+        assertThrows(NullPointerException.class, () -> CachePolicyPojoNodeContext.with(ReflectionPojoNodeContext.with(), null));
+    }
+
+    @Test
+    public void testCachePolicy() {
+        assertSame(PojoNodeCachePolicy.weak(), this.createContext().cachePolicy());
+    }
+
+    @Test
+    public void testWithCachePolicyContext() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        final CachePolicyPojoNodeContext soft = CachePolicyPojoNodeContext.with(
+            CachePolicyPojoNodeContext.with(context, PojoNodeCachePolicy.weak()),
+            PojoNodeCachePolicy.soft()
+        );
+        assertSame(PojoNodeCachePolicy.soft(), soft.cachePolicy());
+        this.toStringAndCheck(soft, "soft " + context);
+    }
+
+    @Test
+    public void testProperties() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        assertSame(
+            context.properties(TestBean.class),
+            CachePolicyPojoNodeContext.with(context, PojoNodeCachePolicy.weak()).properties(TestBean.class)
+        );
+    }
+
+    @Test
+    public void testPersistentCachePolicy() {
+        assertSame(
+            PojoNodeCachePolicy.weak(),
+            PojoNodeContexts.persistent(this.createContext()).cachePolicy()
+        );
+    }
+
+    @Test
+    public void testIdentityCachePolicy() {
+        assertSame(
+            PojoNodeCachePolicy.weak(),
+            PojoNodeContexts.identity(this.createContext(), "cycle").cachePolicy()
+        );
+    }
+
+    @Override
+    public CachePolicyPojoNodeContext createContext() {
+        return CachePolicyPojoNodeContext.with(ReflectionPojoNodeContext.with(), PojoNodeCachePolicy.weak());
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        this.toStringAndCheck(CachePolicyPojoNodeContext.with(context, PojoNodeCachePolicy.weak()), "weak " + context);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<CachePolicyPojoNodeContext> type() {
+        return CachePolicyPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        public String getValue() {
+            return "value";
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class FieldPojoNodeContextTest implements ClassTesting2<FieldPojoNodeContext>,
+    PojoNodeContextTesting<FieldPojoNodeContext> {
+
+    private final static PojoName X = PojoName.property("x");
+    private final static PojoName Y = PojoName.property("y");
+    private final static PojoName Z = PojoName.property("z");
+    private final static String STRING = "abc";
+    private final static String STRING2 = "xyz";
+
+    @Test
+    public void testWithNullModeFails() {
+        assertThrows(NullPointerException.class, () -> FieldPojoNodeContext.with(null));
+    }
+
+    @Test
+    public void testProperties() {
+        this.propertiesAndCheck(TestFields.class, "x", "y", "z");
+    }
+
+    @Test
+    public void testPropertiesIncludesSuperClassFields() {
+        this.propertiesAndCheck(TestSubFields.class, "sub", "x", "y", "z");
+    }
+
+    @Test
+    public void testPropertiesAreFieldPojoProperty() {
+        this.properties(TestFields.class)
+            .forEach(p -> this.checkEquals(FieldPojoProperty.class, p.getClass(), p::toString));
+    }
+
+    @Test
+    public void testPropertiesCached() {
+        final FieldPojoNodeContext context = this.createContext();
+        this.checkEquals(true, this.properties(context, TestFields.class) == this.properties(context, TestFields.class));
+    }
+
+    @Test
+    public void testPropertyIndex() {
+        final FieldPojoNodeContext context = this.createContext();
+        final List<PojoProperty> properties = this.properties(context, TestFields.class);
+        for (int i = 0; i < properties.size(); i++) {
+            this.propertyIndexAndCheck(context, TestFields.class, properties.get(i).name(), i);
+        }
+        this.propertyIndexAndCheck(context, TestFields.class, PojoName.property("unknown"), -1);
+    }
+
+    @Test
+    public void testGetter() {
+        this.getAndCheck(new TestFields(), X, STRING);
+    }
+
+    @Test
+    public void testGetterPrimitive() {
+        this.getAndCheck(new TestFields(), Y, 123);
+    }
+
+    @Test
+    public void testGetterFinal() {
+        this.getAndCheck(new TestFields(), Z, 456L);
+    }
+
+    @Test
+    public void testSet() {
+        this.setAndGetCheck(new TestFields(), X, STRING2);
+    }
+
+    @Test
+    public void testSetPrimitive() {
+        this.setAndGetCheck(new TestFields(), Y, 999);
+    }
+
+    @Test
+    public void testSetOpaque() {
+        this.setAndGetCheck(PojoFieldAccessMode.OPAQUE);
+    }
+
+    @Test
+    public void testSetVolatile() {
+        this.setAndGetCheck(PojoFieldAccessMode.VOLATILE);
+    }
+
+    private void setAndGetCheck(final PojoFieldAccessMode mode) {
+        final TestFields fields = new TestFields();
+        final PojoProperty property = FieldPojoNodeContext.with(mode)
+            .properties(TestFields.class)
+            .get(0);
+        this.checkEquals(null, property.set(fields, STRING2), "setter didnt return null");
+        this.checkEquals(STRING2, property.get(fields), mode::toString);
+    }
+
+    @Test
+    public void testIsReadOnlyFinal() {
+        this.checkEquals(true, this.property(new TestFields(), Z).isReadOnly());
+    }
+
+    @Test
+    public void testPojoNodeSetValue() {
+        final TestFields fields = new TestFields();
+        PojoNode.wrap(PojoName.property("fields"), fields, this.createContext())
+            .children()
+            .get(0)
+            .setValue(STRING2);
+        this.checkEquals(STRING2, fields.x);
+    }
+
+    @Override
+    public FieldPojoNodeContext createContext() {
+        return FieldPojoNodeContext.with(PojoFieldAccessMode.PLAIN);
+    }
+
+    @Override
+    public Class<FieldPojoNodeContext> type() {
+        return FieldPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    static class TestFields {
+
+        String x = STRING;
+
+        public int y = 123;
+
+        final long z = 456;
+
+        private String hidden = "private";
+
+        static String ignored = "static";
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    static class TestSubFields extends TestFields {
+
+        String sub;
+    }
+}
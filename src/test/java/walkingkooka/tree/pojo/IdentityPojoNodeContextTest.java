@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class IdentityPojoNodeContextTest implements ClassTesting2<IdentityPojoNodeContext>,
+    PojoNodeContextTesting<IdentityPojoNodeContext>,
+    ToStringTesting<IdentityPojoNodeContext> {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    private final static PojoName NEXT = PojoName.property("next");
+
+    private final static String MARKER = "*cycle*";
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> IdentityPojoNodeContext.with(null, MARKER));
+    }
+
+    @Test
+    public void testWithNullCycleMarkerFails() {
+        assertThrows(NullPointerException.class, () -> IdentityPojoNodeContext.with(ReflectionPojoNodeContext.with(), null));
+    }
+
+    @Test
+    public void testWithIdentity() {
+        final IdentityPojoNodeContext context = this.createContext();
+        assertSame(context, IdentityPojoNodeContext.with(context, MARKER));
+    }
+
+    @Test
+    public void testWithIdentityDifferentMarker() {
+        final IdentityPojoNodeContext context = this.createContext();
+        final IdentityPojoNodeContext different = IdentityPojoNodeContext.with(context, "different");
+
+        assertNotSame(context, different);
+        this.checkEquals("different", different.cycleMarker, "cycleMarker");
+        this.checkEquals(context.toString(), different.toString(), "toString");
+    }
+
+    @Test
+    public void testProperties() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        assertSame(
+            context.properties(TestCycle.class),
+            IdentityPojoNodeContext.with(context, MARKER).properties(TestCycle.class)
+        );
+    }
+
+    @Test
+    public void testPropertyIndex() {
+        this.propertyIndexAndCheck(TestCycle.class, NEXT, 1);
+    }
+
+    @Test
+    public void testSelfCycle() {
+        final TestCycle a = new TestCycle("a");
+        a.next = a;
+
+        final PojoNode next = this.wrap(a).child(NEXT).get();
+        this.checkEquals(MARKER, next.value(), "value");
+        this.checkEquals(Lists.empty(), next.children(), "children");
+        this.checkEquals(NEXT, next.name(), "name");
+    }
+
+    @Test
+    public void testCycle() {
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        a.next = b;
+        b.next = a;
+
+        final PojoNode nodeB = this.wrap(a).child(NEXT).get();
+        assertSame(b, nodeB.value(), "b");
+
+        final PojoNode cycle = nodeB.child(NEXT).get();
+        this.checkEquals(MARKER, cycle.value(), "value");
+        this.checkEquals(0, cycle.children().size(), "children");
+        this.checkEquals(1, cycle.index(), "index");
+    }
+
+    @Test
+    public void testCycleMarker() {
+        this.checkEquals(Optional.of(MARKER), this.createContext().cycleMarker());
+    }
+
+    @Test
+    public void testCycleInstrumented() {
+        this.cycleAndCheck(PojoNodeContexts.instrumented(this.createContext()));
+    }
+
+    @Test
+    public void testCycleCachePolicy() {
+        this.cycleAndCheck(PojoNodeContexts.cachePolicy(this.createContext(), PojoNodeCachePolicy.weak()));
+    }
+
+    @Test
+    public void testCyclePersistent() {
+        this.cycleAndCheck(PojoNodeContexts.persistent(this.createContext()));
+    }
+
+    @Test
+    public void testCycleIdentityWithinDecorators() {
+        this.cycleAndCheck(
+            PojoNodeContexts.persistent(
+                PojoNodeContexts.instrumented(
+                    PojoNodeContexts.cachePolicy(this.createContext(), PojoNodeCachePolicy.soft())
+                )
+            )
+        );
+    }
+
+    private void cycleAndCheck(final PojoNodeContext context) {
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        a.next = b;
+        b.next = a;
+
+        this.checkEquals(Optional.of(MARKER), context.cycleMarker(), "cycleMarker");
+
+        final PojoNode nodeB = PojoNode.wrap(NAME, a, context).child(NEXT).get();
+        assertSame(context, nodeB.context, "child context");
+
+        final PojoNode cycle = nodeB.child(NEXT).get();
+        this.checkEquals(MARKER, cycle.value(), "value");
+        assertSame(context, cycle.context, "cycle context");
+    }
+
+    @Test
+    public void testCycleWithoutIdentity() {
+        final TestCycle a = new TestCycle("a");
+        a.next = a;
+
+        final PojoNode root = PojoNode.wrap(NAME, a, ReflectionPojoNodeContext.with());
+        assertSame(
+            a,
+            root.child(NEXT).get().child(NEXT).get().value()
+        );
+    }
+
+    @Test
+    public void testSharedNotCycle() {
+        final TestCycle shared = new TestCycle("shared");
+        final List<TestCycle> list = Lists.of(shared, shared);
+
+        final List<PojoNode> children = this.wrap(list).children();
+        assertSame(shared, children.get(0).value(), "0");
+        assertSame(shared, children.get(1).value(), "1");
+        this.checkEquals("shared", children.get(1).children().get(0).value(), "1 name");
+    }
+
+    @Test
+    public void testCycleSelectParallelFinishes() {
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        a.next = b;
+        b.next = a;
+
+        this.checkEquals(
+            Lists.of("a", "b"),
+            this.wrap(a)
+                .selectParallel((n) -> n.value() instanceof String && false == MARKER.equals(n.value()))
+                .stream()
+                .map(PojoNode::value)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testIsAncestor() {
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        a.next = b;
+
+        final PojoNode nodeB = this.wrap(a).child(NEXT).get();
+        this.checkEquals(true, IdentityPojoNodeContext.isAncestor(a, nodeB), "a");
+        this.checkEquals(true, IdentityPojoNodeContext.isAncestor(b, nodeB), "b");
+        this.checkEquals(false, IdentityPojoNodeContext.isAncestor(new TestCycle("a"), nodeB), "equal but different");
+    }
+
+    private PojoNode wrap(final Object value) {
+        return PojoNode.wrap(NAME, value, this.createContext());
+    }
+
+    @Override
+    public IdentityPojoNodeContext createContext() {
+        return IdentityPojoNodeContext.with(ReflectionPojoNodeContext.with(), MARKER);
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        this.toStringAndCheck(IdentityPojoNodeContext.with(context, MARKER), "identity " + context);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<IdentityPojoNodeContext> type() {
+        return IdentityPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestCycle {
+
+        TestCycle(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        private final String name;
+
+        public TestCycle getNext() {
+            return this.next;
+        }
+
+        TestCycle next;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class InstrumentedPojoNodeContextTest implements ClassTesting2<InstrumentedPojoNodeContext>,
+    PojoNodeContextTesting<InstrumentedPojoNodeContext>,
+    ToStringTesting<InstrumentedPojoNodeContext> {
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> InstrumentedPojoNodeContext.with(null));
+    }
+
+    @Test
+    public void testProperties() {
+        this.propertiesAndCheck(TestBean.class, "count", "value");
+    }
+
+    @Test
+    public void testPropertiesInstrumented() {
+        for (final PojoProperty property : this.properties(TestBean.class)) {
+            this.checkEquals(InstrumentedPojoProperty.class, property.getClass(), property::toString);
+        }
+    }
+
+    @Test
+    public void testPropertiesCached() {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        assertSame(context.properties(TestBean.class), context.properties(TestBean.class));
+    }
+
+    @Test
+    public void testPropertyIndex() {
+        this.propertyIndexAndCheck(TestBean.class, PojoName.property("value"), 1);
+    }
+
+    @Test
+    public void testPropertyStatisticsEmpty() {
+        this.checkEquals(Lists.empty(), this.createContext().propertyStatistics());
+    }
+
+    @Test
+    public void testPropertyStatistics() {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        final PojoNode root = PojoNode.wrap(
+            PojoName.property("root"),
+            Lists.of(new TestBean(1, "a"), new TestBean(2, "b")),
+            context
+        );
+
+        for (final PojoNode bean : root.children()) {
+            bean.childrenValues().size();
+            bean.children().get(1).value();
+        }
+
+        final List<PojoPropertyStatistics> statistics = context.propertyStatistics();
+        this.checkEquals(
+            Lists.of("count", "value"),
+            statistics.stream()
+                .map(s -> s.name().value())
+                .collect(Collectors.toList()),
+            "names"
+        );
+        this.checkEquals(TestBean.class, statistics.get(0).type(), "type");
+        this.checkEquals(0L, statistics.get(0).invocations(), "count invocations");
+        this.checkEquals(2L, statistics.get(1).invocations(), "value invocations");
+    }
+
+    @Test
+    public void testPropertyStatisticsSortedByType() {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        context.properties(TestBean.class);
+        context.properties(AnotherTestBean.class);
+
+        this.checkEquals(
+            Lists.of(AnotherTestBean.class, TestBean.class, TestBean.class),
+            context.propertyStatistics()
+                .stream()
+                .map(PojoPropertyStatistics::type)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testPropertyStatisticsTypeNullFails() {
+        assertThrows(NullPointerException.class, () -> this.createContext().propertyStatistics(null));
+    }
+
+    @Test
+    public void testPropertyStatisticsTypeNotDiscovered() {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        context.properties(AnotherTestBean.class);
+
+        this.checkEquals(Lists.empty(), context.propertyStatistics(TestBean.class));
+    }
+
+    @Test
+    public void testPropertyStatisticsType() {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        context.properties(TestBean.class);
+        context.properties(AnotherTestBean.class);
+
+        this.checkEquals(
+            Lists.of("count", "value"),
+            context.propertyStatistics(TestBean.class)
+                .stream()
+                .map(s -> s.name().value())
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testPropertyStatisticsTypeCollected() throws Exception {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        final WeakReference<Class<?>> type = this.instrumentLoadedType(context);
+
+        for (int i = 0; i < 50 && null != type.get(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        this.checkEquals(null, type.get(), "type");
+        this.checkEquals(Lists.empty(), context.propertyStatistics());
+    }
+
+    /**
+     * Loads {@link TestBean} again with a new {@link ClassLoader} and discovers its properties, which should not keep
+     * the class alive.
+     */
+    private WeakReference<Class<?>> instrumentLoadedType(final InstrumentedPojoNodeContext context) throws Exception {
+        final String name = TestBean.class.getName();
+        final ClassLoader loader = new ClassLoader(TestBean.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String className,
+                                         final boolean resolve) throws ClassNotFoundException {
+                if (false == name.equals(className)) {
+                    return super.loadClass(className, resolve);
+                }
+                try (final InputStream classFile = TestBean.class.getResourceAsStream('/' + name.replace('.', '/') + ".class")) {
+                    final byte[] bytes = classFile.readAllBytes();
+                    return this.defineClass(className, bytes, 0, bytes.length);
+                } catch (final IOException cause) {
+                    throw new ClassNotFoundException(className, cause);
+                }
+            }
+        };
+        final Class<?> type = loader.loadClass(name);
+        this.checkEquals(2, context.properties(type).size(), "properties");
+        this.checkEquals(2, context.propertyStatistics().size(), "statistics");
+        return new WeakReference<>(type);
+    }
+
+    @Test
+    public void testPersistentPropertyStatistics() {
+        final InstrumentedPojoNodeContext context = this.createContext();
+        final PojoNode root = PojoNode.wrap(
+            PojoName.property("root"),
+            new TestBean(1, "a"),
+            PojoNodeContexts.persistent(context)
+        );
+        root.children().get(0).value();
+
+        this.checkEquals(1L, context.propertyStatistics().get(0).invocations());
+    }
+
+    @Override
+    public InstrumentedPojoNodeContext createContext() {
+        return InstrumentedPojoNodeContext.with(ReflectionPojoNodeContext.with());
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        this.toStringAndCheck(InstrumentedPojoNodeContext.with(context), "instrumented " + context);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<InstrumentedPojoNodeContext> type() {
+        return InstrumentedPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        TestBean(final int count, final String value) {
+            this.count = count;
+            this.value = value;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        private final int count;
+
+        public String getValue() {
+            return this.value;
+        }
+
+        private final String value;
+    }
+
+    public static class AnotherTestBean {
+
+        public String getName() {
+            return "name";
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class InstrumentedPojoPropertyTest implements ClassTesting2<InstrumentedPojoProperty>,
+    PojoPropertyTesting<InstrumentedPojoProperty> {
+
+    private final static PojoName NAME = PojoName.property("value");
+
+    @Test
+    public void testWithNullTypeFails() {
+        assertThrows(NullPointerException.class, () -> InstrumentedPojoProperty.with(null, this.property()));
+    }
+
+    @Test
+    public void testWithNullPropertyFails() {
+        assertThrows(NullPointerException.class, () -> InstrumentedPojoProperty.with(TestBean.class, null));
+    }
+
+    @Test
+    public void testName() {
+        this.checkEquals(NAME, this.createPojoProperty().name());
+    }
+
+    @Test
+    public void testIsReadOnly() {
+        this.checkEquals(false, this.createPojoProperty().isReadOnly());
+    }
+
+    @Test
+    public void testGet() {
+        this.getAndCheck(new TestBean("abc"), "abc");
+    }
+
+    @Test
+    public void testSet() {
+        final TestBean bean = new TestBean("abc");
+        this.setAndCheck(bean, "xyz");
+        this.checkEquals("xyz", bean.value);
+    }
+
+    @Test
+    public void testStatisticsWithoutInvocations() {
+        final PojoPropertyStatistics statistics = this.createPojoProperty().statistics();
+        this.checkEquals(TestBean.class, statistics.type(), "type");
+        this.checkEquals(NAME, statistics.name(), "name");
+        this.checkEquals(0L, statistics.invocations(), "invocations");
+        this.checkEquals(0L, statistics.exceptions(), "exceptions");
+    }
+
+    @Test
+    public void testStatistics() {
+        final InstrumentedPojoProperty property = this.createPojoProperty();
+        final TestBean bean = new TestBean("abc");
+        property.get(bean);
+        property.get(bean);
+        property.set(bean, "xyz");
+
+        final PojoPropertyStatistics statistics = property.statistics();
+        this.checkEquals(3L, statistics.invocations(), "invocations");
+        this.checkEquals(0L, statistics.exceptions(), "exceptions");
+        this.checkEquals(false, statistics.totalTime().isNegative(), "totalTime");
+        this.checkEquals(false, statistics.percentile(100).isZero(), "p100");
+    }
+
+    @Test
+    public void testStatisticsException() {
+        final InstrumentedPojoProperty property = this.createPojoProperty();
+        assertThrows(RuntimeException.class, () -> property.get("not a TestBean"));
+
+        final PojoPropertyStatistics statistics = property.statistics();
+        this.checkEquals(1L, statistics.invocations(), "invocations");
+        this.checkEquals(1L, statistics.exceptions(), "exceptions");
+    }
+
+    @Test
+    public void testToString() {
+        final PojoProperty property = this.property();
+        this.toStringAndCheck(InstrumentedPojoProperty.with(TestBean.class, property), property.toString());
+    }
+
+    @Override
+    public InstrumentedPojoProperty createPojoProperty() {
+        return InstrumentedPojoProperty.with(TestBean.class, this.property());
+    }
+
+    private PojoProperty property() {
+        return ReflectionPojoNodeContext.with()
+            .properties(TestBean.class)
+            .get(0);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<InstrumentedPojoProperty> type() {
+        return InstrumentedPojoProperty.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        TestBean(final String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return this.value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+
+        String value;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JfrPojoNodeContextTest implements ClassTesting2<JfrPojoNodeContext>,
+    PojoNodeContextTesting<JfrPojoNodeContext>,
+    PojoEventTesting,
+    ToStringTesting<JfrPojoNodeContext> {
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> JfrPojoNodeContext.with(null));
+    }
+
+    @Test
+    public void testProperties() {
+        this.propertiesAndCheck(TestBean.class, "value");
+    }
+
+    @Test
+    public void testPropertiesWrapped() {
+        for (final PojoProperty property : this.properties(TestBean.class)) {
+            this.checkEquals(JfrPojoProperty.class, property.getClass(), property::toString);
+        }
+    }
+
+    @Test
+    public void testPropertiesCached() {
+        final JfrPojoNodeContext context = this.createContext();
+        assertSame(context.properties(TestBean.class), context.properties(TestBean.class));
+    }
+
+    @Test
+    public void testPropertiesDiscoveryRecordedOnce() {
+        final JfrPojoNodeContext context = this.createContext();
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyDiscoveryEvent.NAME,
+            () -> {
+                context.properties(TestBean.class);
+                context.properties(TestBean.class);
+            }
+        );
+        this.checkEquals(1, events.size(), events::toString);
+    }
+
+    @Test
+    public void testPropertiesDiscoveryRecordedWhenWrappedCached() {
+        final ReflectionPojoNodeContext reflection = ReflectionPojoNodeContext.with();
+        reflection.properties(TestBean.class);
+
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyDiscoveryEvent.NAME,
+            () -> {
+                JfrPojoNodeContext.with(reflection).properties(TestBean.class);
+                JfrPojoNodeContext.with(reflection).properties(TestBean.class);
+            }
+        );
+        this.checkEquals(2, events.size(), events::toString);
+    }
+
+    @Test
+    public void testPropertyIndex() {
+        this.propertyIndexAndCheck(TestBean.class, PojoName.property("value"), 0);
+    }
+
+    @Test
+    public void testReplaceChildRecordedWhenInstrumented() {
+        final PojoNode leaf = PojoNode.wrap(
+                PojoName.property("root"),
+                Lists.of(Lists.of("a")),
+                PojoNodeContexts.instrumented(this.createContext())
+            ).children()
+            .get(0)
+            .children()
+            .get(0);
+
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoNodeRebuildEvent.NAME,
+            () -> this.checkEquals(
+                Lists.of(Lists.of("b")),
+                leaf.setValue("b")
+                    .parent()
+                    .get()
+                    .parent()
+                    .get()
+                    .value()
+            )
+        );
+        this.checkEquals(1, events.size(), events::toString);
+    }
+
+    @Override
+    public JfrPojoNodeContext createContext() {
+        return JfrPojoNodeContext.with(ReflectionPojoNodeContext.with());
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        this.toStringAndCheck(JfrPojoNodeContext.with(context), "jfr " + context);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<JfrPojoNodeContext> type() {
+        return JfrPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        public String getValue() {
+            return "value";
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class MethodHandleMutableWritablePojoPropertyTest implements ClassTesting2<MethodHandleMutableWritablePojoProperty>,
+    PojoPropertyTesting<MethodHandleMutableWritablePojoProperty> {
+
+    private final static PojoName X = PojoName.property("x");
+    private final static String STRING = "abc1";
+    private final static String STRING2 = "xyz2";
+
+    @Test
+    public void testGet() {
+        this.checkEquals(STRING, this.createPojoProperty().get(new TestBean()));
+    }
+
+    @Test
+    public void testSetSame() {
+        final TestBean instance = new TestBean();
+        this.checkEquals(null, this.createPojoProperty().set(instance, STRING), "setter didnt return null");
+    }
+
+    @Test
+    public void testSetDifferent() {
+        final TestBean instance = new TestBean();
+        this.checkEquals(null, this.createPojoProperty().set(instance, STRING2), "setter didnt return null");
+        this.checkEquals(STRING2, instance.x);
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createPojoProperty(), "x");
+    }
+
+    @Override
+    public MethodHandleMutableWritablePojoProperty createPojoProperty() {
+        try {
+            return MethodHandleMutableWritablePojoProperty.with(X,
+                TestBean.class.getMethod("getX"),
+                TestBean.class.getMethod("setX", String.class));
+        } catch (final Exception rethrow) {
+            throw new Error(rethrow);
+        }
+    }
+
+    @Override
+    public Class<MethodHandleMutableWritablePojoProperty> type() {
+        return MethodHandleMutableWritablePojoProperty.class;
+    }
+
+    static class TestBean {
+        String x = STRING;
+
+        public String getX() {
+            return this.x;
+        }
+
+        public void setX(final String x) {
+            this.x = x;
+        }
+
+        public String toString() {
+            return "=" + STRING;
+        }
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
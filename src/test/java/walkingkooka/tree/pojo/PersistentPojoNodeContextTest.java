@@ -0,0 +1,333 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PersistentPojoNodeContextTest implements ClassTesting2<PersistentPojoNodeContext>,
+    PojoNodeContextTesting<PersistentPojoNodeContext>,
+    ToStringTesting<PersistentPojoNodeContext> {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> PersistentPojoNodeContext.with(null));
+    }
+
+    @Test
+    public void testWithPersistent() {
+        final PersistentPojoNodeContext context = this.createContext();
+        assertSame(context, PersistentPojoNodeContext.with(context));
+    }
+
+    @Test
+    public void testProperties() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        assertSame(
+            context.properties(TestBean.class),
+            PersistentPojoNodeContext.with(context).properties(TestBean.class)
+        );
+    }
+
+    @Test
+    public void testCreateList() {
+        this.checkEquals(PojoPersistentVector.class, this.createContext().createList(List.class).getClass());
+    }
+
+    @Test
+    public void testCreateMap() {
+        this.checkEquals(PojoPersistentHashMap.class, this.createContext().createMap(Map.class).getClass());
+    }
+
+    @Test
+    public void testCreateSet() {
+        this.checkEquals(PojoPersistentHashSet.class, this.createContext().createSet(Set.class).getClass());
+    }
+
+    @Test
+    public void testCreateListArrayList() {
+        this.checkEquals(ArrayList.class, this.createContext().createList(ArrayList.class).getClass());
+    }
+
+    @Test
+    public void testCreateSetHashSet() {
+        this.checkEquals(HashSet.class, this.createContext().createSet(HashSet.class).getClass());
+    }
+
+    @Test
+    public void testCreateListImmutable() {
+        this.checkEquals(PojoPersistentVector.class, this.createContext().createList(List.of("a").getClass()).getClass());
+    }
+
+    @Test
+    public void testCreateListLinkedList() {
+        this.checkEquals(LinkedList.class, this.createContext().createList(LinkedList.class).getClass());
+    }
+
+    @Test
+    public void testCreateSetTreeSet() {
+        this.checkEquals(TreeSet.class, this.createContext().createSet(TreeSet.class).getClass());
+    }
+
+    @Test
+    public void testCreateMapHashMap() {
+        this.checkEquals(HashMap.class, this.createContext().createMap(HashMap.class).getClass());
+    }
+
+    @Test
+    public void testCreateMapTreeMap() {
+        this.checkEquals(TreeMap.class, this.createContext().createMap(TreeMap.class).getClass());
+    }
+
+    @Test
+    public void testTreeSetReplaceChildKeepsSorting() {
+        final Set<Object> set = new TreeSet<>();
+        set.add("a");
+        set.add("b");
+        set.add("c");
+
+        final Object value = PojoNode.wrap(NAME, set, this.createContext())
+            .children()
+            .get(0)
+            .setValue("z")
+            .parentOrFail()
+            .value();
+        this.checkEquals(TreeSet.class, value.getClass());
+        this.checkEquals(Lists.of("b", "c", "z"), new ArrayList<>((Set<?>) value));
+    }
+
+    @Test
+    public void testListReplaceChild() {
+        final List<Object> list = Lists.of("a", "b", "c");
+
+        final PojoNode first = PojoNode.wrap(NAME, list, this.createContext())
+            .children()
+            .get(1)
+            .setValue("b2")
+            .parentOrFail();
+        final Object firstValue = first.value();
+        this.checkEquals(PojoPersistentVector.class, firstValue.getClass());
+        this.checkEquals(Lists.of("a", "b2", "c"), firstValue);
+
+        final PojoNode second = first.children()
+            .get(2)
+            .setValue("c2")
+            .parentOrFail();
+        this.checkEquals(Lists.of("a", "b2", "c2"), second.value());
+        this.checkEquals(Lists.of("a", "b2", "c"), firstValue, "previous version changed");
+    }
+
+    @Test
+    public void testArrayReplaceChild() {
+        final String[] array = new String[]{"a", "b", "c"};
+
+        final PojoNode first = PojoNode.wrap(NAME, array, this.createContext())
+            .children()
+            .get(0)
+            .setValue("a2")
+            .parentOrFail();
+        final PojoNode second = first.children()
+            .get(2)
+            .setValue("c2")
+            .parentOrFail();
+
+        this.checkEquals(Lists.of("a2", "b", "c2"), second.childrenValues());
+
+        final Object value = second.value();
+        this.checkEquals(String[].class, value.getClass());
+        this.checkEquals(Lists.of("a2", "b", "c2"), Lists.of((String[]) value));
+        assertSame(value, second.value());
+
+        this.checkEquals(Lists.of("a2", "b", "c"), Lists.of((String[]) first.value()), "previous version changed");
+        this.checkEquals(Lists.of("a", "b", "c"), Lists.of(array), "original changed");
+    }
+
+    @Test
+    public void testBeanArrayListAndHashMapReplaceChild() {
+        final CollectionsBean bean = new CollectionsBean();
+        bean.list.add("a");
+        bean.list.add("b");
+        bean.map.put("a", 1);
+
+        final PojoNode root = PojoNode.wrap(NAME, bean, this.createContext());
+        final PojoNode list = root.child(PojoName.property("list"))
+            .get()
+            .children()
+            .get(1)
+            .setValue("b2")
+            .parentOrFail();
+        this.checkEquals(ArrayList.class, list.value().getClass(), "list");
+        this.checkEquals(Lists.of("a", "b2"), list.value(), "list");
+
+        final PojoNode map = list.parentOrFail()
+            .child(PojoName.property("map"))
+            .get()
+            .children()
+            .get(0)
+            .setValue(Map.entry("a", 11))
+            .parentOrFail();
+        this.checkEquals(HashMap.class, map.value().getClass(), "map");
+
+        final CollectionsBean updated = (CollectionsBean) map.parentOrFail().value();
+        this.checkEquals(Lists.of("a", "b2"), updated.list, "bean list");
+        this.checkEquals(Maps.of("a", 11), updated.map, "bean map");
+    }
+
+    @Test
+    public void testSetReplaceChild() {
+        final Set<Object> set = Collections.unmodifiableSet(
+            Sets.of("a", "b", "c")
+        );
+
+        final PojoNode node = PojoNode.wrap(NAME, set, this.createContext());
+        final PojoNode child = node.children()
+            .get(1)
+            .setValue("b2");
+        this.checkEquals("b2", child.value(), "child value");
+        this.checkEquals(1, child.index(), "child index");
+
+        final PojoNode first = child.parentOrFail();
+
+        final Object firstValue = first.value();
+        this.checkEquals(PojoPersistentHashSet.class, firstValue.getClass());
+        this.checkEquals(Sets.of("a", "b2", "c"), firstValue);
+
+        final PojoNode secondChild = first.children()
+            .get(0)
+            .setValue("z");
+        this.checkEquals("z", secondChild.value(), "second child value");
+        this.checkEquals(0, secondChild.index(), "second child index");
+
+        final PojoNode second = secondChild.parentOrFail();
+        this.checkEquals(PojoPersistentHashSet.class, second.value().getClass());
+        this.checkEquals(3, ((Set<?>) second.value()).size(), "size");
+        this.checkEquals(true, ((Set<?>) second.value()).contains("z"), "contains z");
+        this.checkEquals(Sets.of("a", "b2", "c"), firstValue, "previous version changed");
+        this.checkEquals(Sets.of("a", "b", "c"), set, "original changed");
+    }
+
+    @Test
+    public void testMapReplaceChild() {
+        final Map<Object, Object> map = PojoPersistentHashMap.empty();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        final PojoNode node = PojoNode.wrap(NAME, map, this.createContext());
+        final int index = new ArrayList<>(map.keySet()).indexOf("b");
+
+        final PojoNode updated = node.children()
+            .get(index)
+            .setValue(Map.entry("b", 22))
+            .parentOrFail();
+
+        this.checkEquals(Maps.of("a", 1, "b", 22), updated.value());
+        this.checkEquals(Maps.of("a", 1, "b", 2), map, "original changed");
+    }
+
+    @Test
+    public void testMapReplaceChildKeyKeepsPosition() {
+        final Map<Object, Object> map = PojoPersistentHashMap.empty();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        final PojoNode child = PojoNode.wrap(NAME, map, this.createContext())
+            .children()
+            .get(1)
+            .setValue(Map.entry("z", 26));
+        this.checkEquals(Map.entry("z", 26), child.value(), "child value");
+        this.checkEquals(1, child.index(), "child index");
+
+        final Map<?, ?> updated = (Map<?, ?>) child.parentOrFail().value();
+        this.checkEquals(Lists.of("a", "z", "c"), new ArrayList<>(updated.keySet()));
+        this.checkEquals(Maps.of("a", 1, "b", 2, "c", 3), map, "original changed");
+    }
+
+    @Override
+    public PersistentPojoNodeContext createContext() {
+        return PersistentPojoNodeContext.with(ReflectionPojoNodeContext.with());
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        this.toStringAndCheck(PersistentPojoNodeContext.with(context), "persistent " + context);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PersistentPojoNodeContext> type() {
+        return PersistentPojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+        public String getValue() {
+            return "value";
+        }
+    }
+
+    public static class CollectionsBean {
+
+        public ArrayList<Object> getList() {
+            return this.list;
+        }
+
+        public void setList(final ArrayList<Object> list) {
+            this.list = list;
+        }
+
+        ArrayList<Object> list = new ArrayList<>();
+
+        public HashMap<Object, Object> getMap() {
+            return this.map;
+        }
+
+        public void setMap(final HashMap<Object, Object> map) {
+            this.map = map;
+        }
+
+        HashMap<Object, Object> map = new HashMap<>();
+    }
+}
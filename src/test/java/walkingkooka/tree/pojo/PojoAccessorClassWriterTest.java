@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoAccessorClassWriterTest implements ClassTesting2<PojoAccessorClassWriter> {
+
+    @Test
+    public void testWriteMagic() {
+        final byte[] classFile = this.write("Magic", new Method[0], new Method[0]);
+        this.checkEquals(0xCAFEBABE, (classFile[0] & 0xff) << 24 | (classFile[1] & 0xff) << 16 | (classFile[2] & 0xff) << 8 | classFile[3] & 0xff);
+    }
+
+    @Test
+    public void testWithoutPropertiesGetFails() throws Throwable {
+        final PojoAccessor.Dispatch dispatch = this.define("Empty", new Method[0], new Method[0]);
+        assertThrows(IndexOutOfBoundsException.class, () -> dispatch.get(new TestBean(), 0));
+    }
+
+    @Test
+    public void testGetAndSet() throws Throwable {
+        final PojoAccessor.Dispatch dispatch = this.define(
+            "GetAndSet",
+            new Method[]{TestBean.class.getMethod("getX"), TestBean.class.getMethod("getY")},
+            new Method[]{TestBean.class.getMethod("setX", String.class), null}
+        );
+
+        final TestBean bean = new TestBean();
+        this.checkEquals(null, dispatch.set(bean, 0, "xyz"));
+        this.checkEquals("xyz", dispatch.get(bean, 0), "x");
+        this.checkEquals(123, dispatch.get(bean, 1), "y");
+    }
+
+    @Test
+    public void testSetReadOnlyFails() throws Throwable {
+        final PojoAccessor.Dispatch dispatch = this.define(
+            "ReadOnly",
+            new Method[]{TestBean.class.getMethod("getY")},
+            new Method[]{null}
+        );
+        assertThrows(IndexOutOfBoundsException.class, () -> dispatch.set(new TestBean(), 0, 1));
+    }
+
+    private PojoAccessor.Dispatch define(final String name,
+                                         final Method[] getters,
+                                         final Method[] setters) throws Exception {
+        return (PojoAccessor.Dispatch) MethodHandles.privateLookupIn(TestBean.class, MethodHandles.lookup())
+            .defineClass(this.write(name, getters, setters))
+            .getConstructor()
+            .newInstance();
+    }
+
+    private byte[] write(final String name,
+                         final Method[] getters,
+                         final Method[] setters) {
+        return PojoAccessorClassWriter.write(
+            TestBean.class.getName() + "$$" + name,
+            TestBean.class,
+            getters,
+            setters,
+            new boolean[getters.length]
+        );
+    }
+
+    @Override
+    public Class<PojoAccessorClassWriter> type() {
+        return PojoAccessorClassWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+        String x = "abc";
+
+        public String getX() {
+            return this.x;
+        }
+
+        public void setX(final String x) {
+            this.x = x;
+        }
+
+        public int getY() {
+            return 123;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoAccessorTest implements ClassTesting2<PojoAccessor>,
+    ToStringTesting<PojoAccessor> {
+
+    private final static String STRING = "abc1";
+    private final static String STRING2 = "xyz2";
+
+    @Test
+    public void testGet() {
+        this.checkEquals(STRING, this.createAccessor().get(new TestBean(), 0));
+    }
+
+    @Test
+    public void testGetReadOnly() {
+        this.checkEquals(123, this.createAccessor().get(new TestBean(), 1));
+    }
+
+    @Test
+    public void testSet() {
+        final TestBean instance = new TestBean();
+        this.checkEquals(null, this.createAccessor().set(instance, 0, STRING2));
+        this.checkEquals(STRING2, instance.x);
+    }
+
+    @Test
+    public void testSetReadOnlySame() {
+        this.checkEquals(null, this.createAccessor().set(new TestBean(), 1, 123));
+    }
+
+    @Test
+    public void testSetReadOnlyDifferentFails() {
+        assertThrows(ReflectionPojoException.class, () -> {
+            this.createAccessor().set(new TestBean(), 1, 456);
+        });
+    }
+
+    @Test
+    public void testSetMapEntryValueIgnoresReturnedValue() {
+        final Map.Entry<String, String> entry = new java.util.AbstractMap.SimpleEntry<>("key", STRING);
+        final PojoAccessor accessor = PojoAccessor.with(entry.getClass());
+        this.checkEquals(null, accessor.set(entry, 1, STRING2));
+        this.checkEquals(STRING2, entry.getValue());
+    }
+
+    @Test
+    public void testWithNullTypeFails() {
+        assertThrows(NullPointerException.class, () -> PojoAccessor.with(null));
+    }
+
+    @Test
+    public void testWithCached() {
+        assertSame(this.createAccessor(), this.createAccessor());
+    }
+
+    @Test
+    public void testWithSharedByContexts() {
+        final AccessorPojoProperty property1 = (AccessorPojoProperty) AccessorPojoNodeContext.with().properties(TestBean.class).get(0);
+        final AccessorPojoProperty property2 = (AccessorPojoProperty) AccessorPojoNodeContext.with().properties(TestBean.class).get(0);
+        assertSame(property1.accessor, property2.accessor);
+    }
+
+    @Test
+    public void testGenerated() {
+        this.checkEquals(true, this.createAccessor().isGenerated());
+    }
+
+    @Test
+    public void testJdkTypeMethodHandles() {
+        this.checkEquals(
+            false,
+            PojoAccessor.with(java.util.AbstractMap.SimpleEntry.class).isGenerated()
+        );
+    }
+
+    @Test
+    public void testGetPrimitives() {
+        final PojoAccessor accessor = this.createPrimitivesAccessor();
+        final TestPrimitives instance = new TestPrimitives();
+        final PojoName[] names = this.names(TestPrimitives.class);
+
+        this.checkEquals(true, accessor.get(instance, indexOf(names, "booleanValue")), "boolean");
+        this.checkEquals('c', accessor.get(instance, indexOf(names, "charValue")), "char");
+        this.checkEquals(2.5, accessor.get(instance, indexOf(names, "doubleValue")), "double");
+        this.checkEquals(123L, accessor.get(instance, indexOf(names, "longValue")), "long");
+    }
+
+    @Test
+    public void testSetPrimitives() {
+        final PojoAccessor accessor = this.createPrimitivesAccessor();
+        final TestPrimitives instance = new TestPrimitives();
+        final PojoName[] names = this.names(TestPrimitives.class);
+
+        this.checkEquals(null, accessor.set(instance, indexOf(names, "booleanValue"), false));
+        this.checkEquals(null, accessor.set(instance, indexOf(names, "charValue"), 'z'));
+        this.checkEquals(null, accessor.set(instance, indexOf(names, "doubleValue"), 9.5));
+        this.checkEquals(null, accessor.set(instance, indexOf(names, "longValue"), 456L));
+
+        this.checkEquals(false, instance.booleanValue, "boolean");
+        this.checkEquals('z', instance.charValue, "char");
+        this.checkEquals(9.5, instance.doubleValue, "double");
+        this.checkEquals(456L, instance.longValue, "long");
+    }
+
+    @Test
+    public void testSetPrimitiveNullFails() {
+        final PojoAccessor accessor = this.createPrimitivesAccessor();
+        assertThrows(
+            ReflectionPojoException.class,
+            () -> accessor.set(new TestPrimitives(), indexOf(this.names(TestPrimitives.class), "longValue"), null)
+        );
+    }
+
+    @Test
+    public void testSetWrongTypeFails() {
+        assertThrows(
+            ReflectionPojoException.class,
+            () -> this.createAccessor().set(new TestBean(), 0, 999)
+        );
+    }
+
+    @Test
+    public void testSetWouldBeSetter() {
+        final PojoAccessor accessor = PojoAccessor.with(TestWouldBeSetter.class);
+        this.checkEquals(true, accessor.isGenerated(), "generated");
+
+        final TestWouldBeSetter instance = new TestWouldBeSetter(STRING);
+        final TestWouldBeSetter result = (TestWouldBeSetter) accessor.set(instance, 0, STRING2);
+        this.checkEquals(STRING2, result.x, "result");
+        this.checkEquals(STRING, instance.x, "instance");
+    }
+
+    @Test
+    public void testGetInterface() {
+        final PojoAccessor accessor = PojoAccessor.with(TestInterface.class);
+        this.checkEquals(true, accessor.isGenerated(), "generated");
+        this.checkEquals(STRING, accessor.get(new TestBean(), 0));
+    }
+
+    @Test
+    public void testIsReadOnly() {
+        final PojoAccessor accessor = this.createAccessor();
+        this.checkEquals(false, accessor.isReadOnly(0), "x");
+        this.checkEquals(true, accessor.isReadOnly(1), "y");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createAccessor(), TestBean.class.getName());
+    }
+
+    private PojoAccessor createPrimitivesAccessor() {
+        return PojoAccessor.with(TestPrimitives.class);
+    }
+
+    private PojoName[] names(final Class<?> type) {
+        return ReflectionPojoNodeContext.with()
+            .properties(type)
+            .stream()
+            .map(PojoProperty::name)
+            .toArray(PojoName[]::new);
+    }
+
+    private static int indexOf(final PojoName[] names, final String name) {
+        return Arrays.asList(names).indexOf(PojoName.property(name));
+    }
+
+    private PojoAccessor createAccessor() {
+        return PojoAccessor.with(TestBean.class);
+    }
+
+    @Override
+    public Class<PojoAccessor> type() {
+        return PojoAccessor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    interface TestInterface {
+        String getX();
+    }
+
+    static class TestBean implements TestInterface {
+        String x = STRING;
+
+        @Override
+        public String getX() {
+            return this.x;
+        }
+
+        public void setX(final String x) {
+            this.x = x;
+        }
+
+        public int getY() {
+            return 123;
+        }
+    }
+
+    static class TestPrimitives {
+        boolean booleanValue = true;
+        char charValue = 'c';
+        double doubleValue = 2.5;
+        long longValue = 123;
+
+        public boolean getBooleanValue() {
+            return this.booleanValue;
+        }
+
+        public void setBooleanValue(final boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public char getCharValue() {
+            return this.charValue;
+        }
+
+        public void setCharValue(final char charValue) {
+            this.charValue = charValue;
+        }
+
+        public double getDoubleValue() {
+            return this.doubleValue;
+        }
+
+        public void setDoubleValue(final double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public long getLongValue() {
+            return this.longValue;
+        }
+
+        public void setLongValue(final long longValue) {
+            this.longValue = longValue;
+        }
+    }
+
+    static class TestWouldBeSetter {
+
+        TestWouldBeSetter(final String x) {
+            this.x = x;
+        }
+
+        final String x;
+
+        public String getX() {
+            return this.x;
+        }
+
+        public TestWouldBeSetter setX(final String x) {
+            return new TestWouldBeSetter(x);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoCacheStatisticsTest implements ClassTesting2<PojoCacheStatistics>,
+    HashCodeEqualsDefinedTesting2<PojoCacheStatistics>,
+    ToStringTesting<PojoCacheStatistics> {
+
+    private final static long HITS = 3;
+    private final static long MISSES = 1;
+    private final static Duration LOAD_TIME = Duration.ofMillis(5);
+
+    @Test
+    public void testWithNegativeHitsFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoCacheStatistics.with(-1, MISSES, LOAD_TIME));
+    }
+
+    @Test
+    public void testWithNegativeMissesFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoCacheStatistics.with(HITS, -1, LOAD_TIME));
+    }
+
+    @Test
+    public void testWithNullLoadTimeFails() {
+        assertThrows(NullPointerException.class, () -> PojoCacheStatistics.with(HITS, MISSES, null));
+    }
+
+    @Test
+    public void testWith() {
+        final PojoCacheStatistics statistics = this.createObject();
+        this.checkEquals(HITS, statistics.hits(), "hits");
+        this.checkEquals(MISSES, statistics.misses(), "misses");
+        this.checkEquals(LOAD_TIME, statistics.loadTime(), "loadTime");
+    }
+
+    @Test
+    public void testHitRate() {
+        this.checkEquals(0.75, this.createObject().hitRate());
+    }
+
+    @Test
+    public void testHitRateWithoutRequests() {
+        this.checkEquals(0.0, PojoCacheStatistics.with(0, 0, Duration.ZERO).hitRate());
+    }
+
+    @Test
+    public void testDifferentHits() {
+        this.checkNotEquals(PojoCacheStatistics.with(99, MISSES, LOAD_TIME));
+    }
+
+    @Test
+    public void testDifferentMisses() {
+        this.checkNotEquals(PojoCacheStatistics.with(HITS, 99, LOAD_TIME));
+    }
+
+    @Test
+    public void testDifferentLoadTime() {
+        this.checkNotEquals(PojoCacheStatistics.with(HITS, MISSES, Duration.ofDays(1)));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createObject(), "hits=3 misses=1 loadTime=PT0.005S");
+    }
+
+    @Override
+    public PojoCacheStatistics createObject() {
+        return PojoCacheStatistics.with(HITS, MISSES, LOAD_TIME);
+    }
+
+    @Override
+    public Class<PojoCacheStatistics> type() {
+        return PojoCacheStatistics.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
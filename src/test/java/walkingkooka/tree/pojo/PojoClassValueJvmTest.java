@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoClassValueJvmTest implements ClassTesting2<PojoClassValueJvm<?>> {
+
+    @Test
+    public void testGet() {
+        final PojoClassValueJvm<String> values = PojoClassValueJvm.with(Class::getSimpleName);
+        this.checkEquals("String", values.get(String.class));
+        this.checkEquals("Integer", values.get(Integer.class));
+    }
+
+    @Test
+    public void testGetComputesOnce() {
+        final AtomicInteger computed = new AtomicInteger();
+        final PojoClassValueJvm<Object> values = PojoClassValueJvm.with((type) -> {
+            computed.incrementAndGet();
+            return new Object();
+        });
+
+        assertSame(values.get(String.class), values.get(String.class));
+        this.checkEquals(1, computed.get(), "computed");
+    }
+
+    @Test
+    public void testGetComputesOtherType() {
+        final PojoClassValueJvm<String>[] values = new PojoClassValueJvm[1];
+        values[0] = PojoClassValueJvm.with((type) -> Object.class == type ?
+            "Object" :
+            values[0].get(Object.class) + "+" + type.getSimpleName()
+        );
+        this.checkEquals("Object+String", values[0].get(String.class));
+    }
+
+    @Override
+    public Class<PojoClassValueJvm<?>> type() {
+        return Cast.to(PojoClassValueJvm.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
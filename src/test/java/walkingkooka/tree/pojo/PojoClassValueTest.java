@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoClassValueTest implements ClassTesting2<PojoClassValue<?>> {
+
+    @Test
+    public void testWithNullComputerFails() {
+        assertThrows(NullPointerException.class, () -> PojoClassValue.with(null));
+    }
+
+    @Test
+    public void testWithJvm() {
+        this.checkEquals(PojoClassValueJvm.class, PojoClassValue.with(Class::getName).getClass());
+    }
+
+    @Override
+    public Class<PojoClassValue<?>> type() {
+        return Cast.to(PojoClassValue.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
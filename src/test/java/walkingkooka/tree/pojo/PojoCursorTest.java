@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.Node;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoCursorTest implements ClassTesting2<PojoCursor>,
+    ToStringTesting<PojoCursor> {
+
+    private final static PojoName ROOT = PojoName.property("root");
+
+    @Test
+    public void testWithNullNameFails() {
+        assertThrows(NullPointerException.class, () -> PojoCursor.with(null, "value", this.context()));
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(NullPointerException.class, () -> PojoCursor.with(ROOT, "value", null));
+    }
+
+    @Test
+    public void testRoot() {
+        final PojoCursor cursor = PojoCursor.with(ROOT, "value", this.context());
+        this.checkEquals(ROOT, cursor.name(), "name");
+        this.checkEquals(Node.NO_INDEX, cursor.index(), "index");
+        this.checkEquals("value", cursor.value(), "value");
+        this.checkEquals(0, cursor.depth(), "depth");
+        this.checkEquals(0, cursor.childCount(), "childCount");
+    }
+
+    @Test
+    public void testRootNavigation() {
+        final PojoCursor cursor = PojoCursor.with(ROOT, "value", this.context());
+        this.checkEquals(false, cursor.firstChild(), "firstChild");
+        this.checkEquals(false, cursor.nextSibling(), "nextSibling");
+        this.checkEquals(false, cursor.parent(), "parent");
+        this.checkEquals("value", cursor.value());
+    }
+
+    @Test
+    public void testChildNegativeIndexFails() {
+        assertThrows(IndexOutOfBoundsException.class, () -> PojoCursor.with(ROOT, Lists.of(1), this.context()).child(-1));
+    }
+
+    @Test
+    public void testObject() {
+        final PojoCursor cursor = PojoCursor.with(ROOT, new TestBean("a", 1), this.context());
+        this.checkEquals(2, cursor.childCount(), "childCount");
+
+        this.checkEquals(true, cursor.firstChild(), "firstChild");
+        this.checkEquals(PojoName.property("name"), cursor.name(), "name");
+        this.checkEquals(0, cursor.index(), "index");
+        this.checkEquals("a", cursor.value(), "value");
+        this.checkEquals(1, cursor.depth(), "depth");
+
+        this.checkEquals(true, cursor.nextSibling(), "nextSibling");
+        this.checkEquals(PojoName.property("number"), cursor.name(), "name");
+        this.checkEquals(1, cursor.value(), "value");
+
+        this.checkEquals(false, cursor.nextSibling(), "nextSibling");
+        this.checkEquals(true, cursor.parent(), "parent");
+        this.checkEquals(0, cursor.depth(), "depth");
+    }
+
+    @Test
+    public void testList() {
+        final PojoCursor cursor = PojoCursor.with(ROOT, Lists.of("a", "b", "c"), this.context());
+        this.checkEquals(true, cursor.child(2), "child");
+        this.checkEquals(PojoName.index(2), cursor.name(), "name");
+        this.checkEquals("c", cursor.value(), "value");
+    }
+
+    @Test
+    public void testIntArray() {
+        final PojoCursor cursor = PojoCursor.with(ROOT, new int[]{10, 20}, this.context());
+        this.checkEquals(true, cursor.child(1), "child");
+        this.checkEquals(20, cursor.value(), "value");
+    }
+
+    @Test
+    public void testSetChildAndNextSibling() {
+        final Set<Object> set = Sets.ordered();
+        set.add("a");
+        set.add("b");
+        set.add("c");
+
+        final PojoCursor cursor = PojoCursor.with(ROOT, set, this.context());
+        this.checkEquals(true, cursor.child(1), "child");
+        this.checkEquals("b", cursor.value(), "value");
+        this.checkEquals(true, cursor.nextSibling(), "nextSibling");
+        this.checkEquals("c", cursor.value(), "value");
+        this.checkEquals(true, cursor.parent(), "parent");
+        this.checkEquals(true, cursor.firstChild(), "firstChild");
+        this.checkEquals("a", cursor.value(), "value");
+    }
+
+    @Test
+    public void testWalkSameAsPojoNode() {
+        final Set<Object> set = Sets.ordered();
+        set.add("set1");
+        set.add(new TestBean("set", 3));
+
+        final Object root = Lists.of(
+            new TestBean("first", 1),
+            new int[]{4, 5},
+            set,
+            null,
+            Lists.of(Lists.of("nested"))
+        );
+
+        final List<String> nodes = Lists.array();
+        this.walk(PojoNode.wrap(ROOT, root, this.context()), nodes);
+
+        this.checkEquals(nodes, this.walk(PojoCursor.with(ROOT, root, this.context())));
+    }
+
+    @Test
+    public void testMapEntries() {
+        final Map<Object, Object> map = Maps.ordered();
+        map.put("key1", "value1");
+        map.put("key2", "value2");
+
+        final PojoCursor cursor = PojoCursor.with(ROOT, map, this.context());
+        this.checkEquals(2, cursor.childCount(), "childCount");
+        this.checkEquals(true, cursor.child(1), "child");
+        this.checkEquals(Map.entry("key2", "value2"), cursor.value(), "value");
+    }
+
+    @Test
+    public void testDeepGraph() {
+        Object value = "leaf";
+        for (int i = 0; i < 50; i++) {
+            value = Lists.of(value);
+        }
+
+        final PojoCursor cursor = PojoCursor.with(ROOT, value, this.context());
+        while (cursor.firstChild()) {
+        }
+        this.checkEquals(50, cursor.depth(), "depth");
+        this.checkEquals("leaf", cursor.value(), "value");
+
+        while (cursor.parent()) {
+        }
+        this.checkEquals(value, cursor.value(), "value");
+    }
+
+    @Test
+    public void testWalkIdentityCycleSameAsPojoNode() {
+        final PojoSelectorPlanTest.TestCycle a = new PojoSelectorPlanTest.TestCycle("a");
+        final PojoSelectorPlanTest.TestCycle b = new PojoSelectorPlanTest.TestCycle("b");
+        a.next = b;
+        a.other = a;
+        b.next = a;
+        final Object root = Lists.of(a, b);
+
+        final PojoNodeContext context = PojoNodeContexts.identity(this.context(), "cycle");
+        final List<String> nodes = Lists.array();
+        this.walk(PojoNode.wrap(ROOT, root, context), nodes);
+
+        final List<String> walked = this.walk(PojoCursor.with(ROOT, root, context));
+        this.checkEquals(nodes, walked);
+        this.checkEquals(true, walked.contains("other 2 cycle"), () -> walked.toString());
+    }
+
+    @Test
+    public void testToStringRoot() {
+        this.toStringAndCheck(PojoCursor.with(ROOT, "value", this.context()), "/=value");
+    }
+
+    @Test
+    public void testToString() {
+        final PojoCursor cursor = PojoCursor.with(ROOT, Lists.of(new TestBean("a", 1)), this.context());
+        cursor.firstChild();
+        cursor.firstChild();
+        this.toStringAndCheck(cursor, "/0/name=a");
+    }
+
+    private void walk(final PojoNode node, final List<String> nodes) {
+        nodes.add(node.name() + " " + node.index() + " " + node.value());
+        for (final PojoNode child : node.children()) {
+            this.walk(child, nodes);
+        }
+    }
+
+    private List<String> walk(final PojoCursor cursor) {
+        final List<String> nodes = Lists.array();
+        do {
+            nodes.add(cursor.name() + " " + cursor.index() + " " + cursor.value());
+        } while (cursor.firstChild() || cursor.nextSiblingOrAncestorSibling());
+        return nodes;
+    }
+
+    private PojoNodeContext context() {
+        return ReflectionPojoNodeContext.with();
+    }
+
+    @Override
+    public Class<PojoCursor> type() {
+        return PojoCursor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    public static class TestBean {
+
+        TestBean(final String name, final int number) {
+            this.name = name;
+            this.number = number;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        private final String name;
+
+        public int getNumber() {
+            return this.number;
+        }
+
+        private final int number;
+
+        @Override
+        public String toString() {
+            return this.name + "=" + this.number;
+        }
+    }
+}
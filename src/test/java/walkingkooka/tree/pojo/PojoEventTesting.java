@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.EventSettings;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Mixin interface with helpers that record the JFR events of this package.
+ */
+interface PojoEventTesting {
+
+    /**
+     * Records the named event without any threshold while running the {@link Runnable}.
+     */
+    default List<RecordedEvent> recordEvents(final String name,
+                                             final Runnable run) {
+        return this.recordEvents(name, EventSettings::withoutThreshold, run);
+    }
+
+    /**
+     * Records the named event with the given settings while running the {@link Runnable}, returning the events
+     * committed by the current thread.
+     */
+    default List<RecordedEvent> recordEvents(final String name,
+                                             final Consumer<EventSettings> settings,
+                                             final Runnable run) {
+        final long threadId = Thread.currentThread().getId();
+
+        try (final Recording recording = new Recording()) {
+            settings.accept(recording.enable(name));
+            recording.start();
+            run.run();
+            recording.stop();
+
+            final Path file = Files.createTempFile(this.getClass().getSimpleName(), ".jfr");
+            try {
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file)
+                    .stream()
+                    .filter(e -> e.getEventType().getName().equals(name))
+                    .filter(e -> e.getThread().getJavaThreadId() == threadId)
+                    .collect(Collectors.toList());
+            } finally {
+                Files.delete(file);
+            }
+        } catch (final IOException cause) {
+            throw new AssertionError(cause.getMessage(), cause);
+        }
+    }
+}
@@ -22,6 +22,8 @@ import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.text.CaseSensitivity;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class PojoNameTest implements ClassTesting2<PojoName>,
@@ -58,6 +60,76 @@ public final class PojoNameTest implements ClassTesting2<PojoName>,
         );
     }
 
+    @Test
+    public void testPropertyInterned() {
+        assertSame(
+            PojoName.intern(PROPERTY),
+            PojoName.property(new String(PROPERTY))
+        );
+    }
+
+    @Test
+    public void testInternTwice() {
+        assertSame(
+            PojoName.intern(PROPERTY),
+            PojoName.intern(new String(PROPERTY))
+        );
+    }
+
+    @Test
+    public void testInternNullFails() {
+        assertThrows(NullPointerException.class, () -> PojoName.intern(null));
+    }
+
+    @Test
+    public void testPropertyNotDiscoveredNotInterned() {
+        final String name = "notDiscovered";
+        final PojoName property = PojoName.property(name);
+        final PojoName other = PojoName.property(name);
+
+        assertNotSame(property, other);
+        this.checkEquals(property, other);
+        assertNotSame(property, PojoName.intern(name));
+    }
+
+    @Test
+    public void testPropertyInvalidNotInterned() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PojoName.property("1invalid")
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PojoName.property("1invalid")
+        );
+    }
+
+    @Test
+    public void testIndexCached() {
+        assertSame(
+            PojoName.index(1000),
+            PojoName.index(1000)
+        );
+    }
+
+    @Test
+    public void testIndexBeyondCacheEquals() {
+        final int index = PojoName.DEFAULT_INDEX_CACHE_SIZE + 1;
+        final PojoName name = PojoName.index(index);
+        final PojoName other = PojoName.index(index);
+
+        this.checkEquals(name, other);
+        this.checkEquals(name.hashCode(), other.hashCode(), "hashCode");
+    }
+
+    @Test
+    public void testIndexAndPropertyNotEqual() {
+        this.checkNotEquals(
+            PojoName.index(1),
+            PojoName.property(PROPERTY)
+        );
+    }
+
     @Override
     public PojoName createName(final String name) {
         return PojoName.property(name);
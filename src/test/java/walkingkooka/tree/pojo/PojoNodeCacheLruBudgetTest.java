@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeCacheLruBudgetTest implements ClassTesting2<PojoNodeCacheLruBudget>,
+    ToStringTesting<PojoNodeCacheLruBudget> {
+
+    @Test
+    public void testWithZeroFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeCacheLruBudget.with(0));
+    }
+
+    @Test
+    public void testCollectedCacheRemoved() throws Exception {
+        final PojoNodeCacheLruBudget budget = PojoNodeCacheLruBudget.with(2);
+        final WeakReference<PojoNodeCacheLru> collected = this.cacheWithChild(budget);
+        this.toStringAndCheck(budget, "1/2");
+
+        for (int i = 0; i < 50 && null != collected.get(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        this.checkEquals(null, collected.get(), "collected");
+
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(budget);
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        cache.putIfAbsent(0, b, 2);
+        final PojoNode c = PojoNodeCacheStrongTest.node("c");
+        cache.putIfAbsent(1, c, 2);
+
+        assertSame(b, cache.get(0));
+        assertSame(c, cache.get(1));
+        this.toStringAndCheck(budget, "2/2");
+    }
+
+    private WeakReference<PojoNodeCacheLru> cacheWithChild(final PojoNodeCacheLruBudget budget) {
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(budget);
+        cache.putIfAbsent(0, PojoNodeCacheStrongTest.node("a"), 1);
+        return new WeakReference<>(cache);
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(PojoNodeCacheLruBudget.with(5), "0/5");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeCacheLruBudget> type() {
+        return PojoNodeCacheLruBudget.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
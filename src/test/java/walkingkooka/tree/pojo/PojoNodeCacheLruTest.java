@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeCacheLruTest implements ClassTesting2<PojoNodeCacheLru>,
+    ToStringTesting<PojoNodeCacheLru> {
+
+    @Test
+    public void testWithZeroFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeCacheLru.with(0));
+    }
+
+    @Test
+    public void testEldestReleased() {
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(2);
+
+        final PojoNode a = PojoNodeCacheStrongTest.node("a");
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        final PojoNode c = PojoNodeCacheStrongTest.node("c");
+        cache.putIfAbsent(0, a, 3);
+        cache.putIfAbsent(1, b, 3);
+        cache.putIfAbsent(2, c, 3);
+
+        assertNull(cache.get(0), "released");
+        assertSame(b, cache.get(1));
+        assertSame(c, cache.get(2));
+    }
+
+    @Test
+    public void testGetRefreshes() {
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(2);
+
+        final PojoNode a = PojoNodeCacheStrongTest.node("a");
+        cache.putIfAbsent(0, a, 3);
+        cache.putIfAbsent(1, PojoNodeCacheStrongTest.node("b"), 3);
+        cache.get(0);
+        cache.putIfAbsent(2, PojoNodeCacheStrongTest.node("c"), 3);
+
+        assertSame(a, cache.get(0));
+        assertNull(cache.get(1), "released");
+    }
+
+    @Test
+    public void testAllFetchedReleasesAfterSecondChance() {
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(2);
+
+        final PojoNode a = PojoNodeCacheStrongTest.node("a");
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        cache.putIfAbsent(0, a, 3);
+        cache.putIfAbsent(1, b, 3);
+        cache.get(0);
+        cache.get(1);
+        cache.putIfAbsent(2, PojoNodeCacheStrongTest.node("c"), 3);
+
+        this.checkEquals(1, (null != cache.get(0) ? 1 : 0) + (null != cache.get(1) ? 1 : 0), "kept of first two");
+    }
+
+    @Test
+    public void testCachesIndependent() {
+        final PojoNodeCacheLru first = PojoNodeCacheLru.with(1);
+        final PojoNodeCacheLru second = PojoNodeCacheLru.with(1);
+
+        final PojoNode a = PojoNodeCacheStrongTest.node("a");
+        first.putIfAbsent(0, a, 1);
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        second.putIfAbsent(0, b, 1);
+
+        assertSame(a, first.get(0));
+        assertSame(b, second.get(0));
+    }
+
+    @Test
+    public void testCachesShareBudget() {
+        final PojoNodeCacheLruBudget budget = PojoNodeCacheLruBudget.with(2);
+        final PojoNodeCacheLru first = PojoNodeCacheLru.with(budget);
+        final PojoNodeCacheLru second = PojoNodeCacheLru.with(budget);
+
+        final PojoNode a = PojoNodeCacheStrongTest.node("a");
+        first.putIfAbsent(0, a, 2);
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        first.putIfAbsent(1, b, 2);
+        final PojoNode c = PojoNodeCacheStrongTest.node("c");
+        second.putIfAbsent(0, c, 1);
+
+        assertNull(first.get(0), "released");
+        assertSame(b, first.get(1));
+        assertSame(c, second.get(0));
+    }
+
+    @Test
+    public void testSharedBudgetKeepsAddedChild() {
+        final PojoNodeCacheLruBudget budget = PojoNodeCacheLruBudget.with(1);
+        final PojoNodeCacheLru first = PojoNodeCacheLru.with(budget);
+        final PojoNodeCacheLru second = PojoNodeCacheLru.with(budget);
+
+        first.putIfAbsent(0, PojoNodeCacheStrongTest.node("a"), 1);
+        first.get(0);
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        second.putIfAbsent(0, b, 1);
+
+        assertNull(first.get(0), "released after second chance");
+        assertSame(b, second.get(0));
+    }
+
+    @Test
+    public void testClearReturnsBudget() {
+        final PojoNodeCacheLruBudget budget = PojoNodeCacheLruBudget.with(1);
+        final PojoNodeCacheLru first = PojoNodeCacheLru.with(budget);
+        final PojoNodeCacheLru second = PojoNodeCacheLru.with(budget);
+
+        first.putIfAbsent(0, PojoNodeCacheStrongTest.node("a"), 1);
+        first.clear();
+
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        second.putIfAbsent(0, b, 1);
+        final PojoNode c = PojoNodeCacheStrongTest.node("c");
+        first.putIfAbsent(0, c, 1);
+
+        assertNull(second.get(0), "released");
+        assertSame(c, first.get(0));
+    }
+
+    @Test
+    public void testPutIfAbsentLostRaceNotCounted() {
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(2);
+
+        final PojoNode a = PojoNodeCacheStrongTest.node("a");
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        cache.putIfAbsent(0, a, 2);
+        assertSame(a, cache.putIfAbsent(0, PojoNodeCacheStrongTest.node("a2"), 2));
+        cache.putIfAbsent(1, b, 2);
+
+        assertSame(a, cache.get(0));
+        assertSame(b, cache.get(1));
+    }
+
+    @Test
+    public void testClear() {
+        final PojoNodeCacheLru cache = PojoNodeCacheLru.with(1);
+        cache.putIfAbsent(0, PojoNodeCacheStrongTest.node("a"), 2);
+        cache.clear();
+
+        final PojoNode b = PojoNodeCacheStrongTest.node("b");
+        cache.putIfAbsent(1, b, 2);
+        assertSame(b, cache.get(1));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(PojoNodeCacheLru.with(5), "lru 5");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeCacheLru> type() {
+        return PojoNodeCacheLru.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeCachePolicyTest implements ClassTesting2<PojoNodeCachePolicy>,
+    ToStringTesting<PojoNodeCachePolicy> {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    @Test
+    public void testLruZeroFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeCachePolicy.lru(0));
+    }
+
+    @Test
+    public void testStrongCache() {
+        this.checkEquals(PojoNodeCacheStrong.class, PojoNodeCachePolicy.strong().cache().getClass());
+    }
+
+    @Test
+    public void testSoftCache() {
+        this.cacheAndCheck(PojoNodeCachePolicy.soft(), "soft");
+    }
+
+    @Test
+    public void testWeakCache() {
+        this.cacheAndCheck(PojoNodeCachePolicy.weak(), "weak");
+    }
+
+    @Test
+    public void testLruCache() {
+        this.cacheAndCheck(PojoNodeCachePolicy.lru(10), "lru 10");
+    }
+
+    private void cacheAndCheck(final PojoNodeCachePolicy policy,
+                               final String toString) {
+        final PojoNodeCache cache = policy.cache();
+        assertNotSame(cache, policy.cache());
+        this.toStringAndCheck(cache, toString);
+    }
+
+    @Test
+    public void testDefaultContextStrong() {
+        assertSame(PojoNodeCachePolicy.strong(), ReflectionPojoNodeContext.with().cachePolicy());
+    }
+
+    @Test
+    public void testStrongChildrenSame() {
+        final PojoNode root = this.wrap(PojoNodeCachePolicy.strong());
+        assertSame(root.children().get(0), root.children().get(0));
+    }
+
+    @Test
+    public void testLruChildrenReleased() {
+        final PojoNode root = this.wrap(PojoNodeCachePolicy.lru(2));
+        final PojoNode first = root.children().get(0);
+
+        root.children().get(1);
+        root.children().get(2);
+
+        final PojoNode again = root.children().get(0);
+        assertNotSame(first, again, "released");
+        this.checkEquals(first, again);
+    }
+
+    @Test
+    public void testLruRecentlyFetchedKept() {
+        final PojoNode root = this.wrap(PojoNodeCachePolicy.lru(2));
+        final PojoNode first = root.children().get(0);
+        root.children().get(1);
+        root.children().get(0);
+        root.children().get(2);
+
+        assertSame(first, root.children().get(0));
+    }
+
+    @Test
+    public void testLruBoundSharedByTree() {
+        final PojoNode root = PojoNode.wrap(
+            NAME,
+            Lists.of(Lists.of("a", "b"), Lists.of("c", "d")),
+            PojoNodeContexts.cachePolicy(ReflectionPojoNodeContext.with(), PojoNodeCachePolicy.lru(2))
+        );
+        final PojoNode a = root.children().get(0).children().get(0);
+        root.children().get(1).children().get(0);
+
+        assertNotSame(a, root.children().get(0).children().get(0), "released");
+    }
+
+    private PojoNode wrap(final PojoNodeCachePolicy policy) {
+        return PojoNode.wrap(
+            NAME,
+            Lists.of("a", "b", "c"),
+            PojoNodeContexts.cachePolicy(ReflectionPojoNodeContext.with(), policy)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(PojoNodeCachePolicy.strong(), "strong");
+    }
+
+    @Test
+    public void testToStringLru() {
+        this.toStringAndCheck(PojoNodeCachePolicy.lru(100), "lru 100");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeCachePolicy> type() {
+        return PojoNodeCachePolicy.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoNodeCacheReferenceTest implements ClassTesting2<PojoNodeCacheReference>,
+    ToStringTesting<PojoNodeCacheReference> {
+
+    @Test
+    public void testGetEmpty() {
+        assertNull(PojoNodeCacheReference.soft().get(0));
+    }
+
+    @Test
+    public void testPutIfAbsentAndGet() {
+        final PojoNodeCacheReference cache = PojoNodeCacheReference.soft();
+        final PojoNode node = PojoNodeCacheStrongTest.node("a");
+
+        assertSame(node, cache.putIfAbsent(1, node, 2));
+        assertSame(node, cache.get(1));
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void testPutIfAbsentExisting() {
+        final PojoNodeCacheReference cache = PojoNodeCacheReference.weak();
+        final PojoNode node = PojoNodeCacheStrongTest.node("a");
+        cache.putIfAbsent(0, node, 1);
+
+        assertSame(node, cache.putIfAbsent(0, PojoNodeCacheStrongTest.node("b"), 1));
+    }
+
+    @Test
+    public void testPutIfAbsentConcurrentGrowSoft() throws Exception {
+        PojoNodeCacheStrongTest.putIfAbsentConcurrentGrowAndCheck(PojoNodeCacheReference::soft);
+    }
+
+    @Test
+    public void testPutIfAbsentConcurrentGrowWeak() throws Exception {
+        PojoNodeCacheStrongTest.putIfAbsentConcurrentGrowAndCheck(PojoNodeCacheReference::weak);
+    }
+
+    @Test
+    public void testClear() {
+        final PojoNodeCacheReference cache = PojoNodeCacheReference.weak();
+        final PojoNode node = PojoNodeCacheStrongTest.node("a");
+        cache.putIfAbsent(0, node, 1);
+        cache.clear();
+
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void testToStringSoft() {
+        this.toStringAndCheck(PojoNodeCacheReference.soft(), "soft");
+    }
+
+    @Test
+    public void testToStringWeak() {
+        this.toStringAndCheck(PojoNodeCacheReference.weak(), "weak");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeCacheReference> type() {
+        return PojoNodeCacheReference.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoNodeCacheStrongTest implements ClassTesting2<PojoNodeCacheStrong>,
+    ToStringTesting<PojoNodeCacheStrong> {
+
+    @Test
+    public void testGetEmpty() {
+        assertNull(PojoNodeCacheStrong.with().get(0));
+    }
+
+    @Test
+    public void testPutIfAbsentAndGet() {
+        final PojoNodeCacheStrong cache = PojoNodeCacheStrong.with();
+        final PojoNode node = node("a");
+
+        assertSame(node, cache.putIfAbsent(1, node, 3));
+        assertSame(node, cache.get(1));
+        assertNull(cache.get(0));
+        assertNull(cache.get(5));
+    }
+
+    @Test
+    public void testPutIfAbsentExisting() {
+        final PojoNodeCacheStrong cache = PojoNodeCacheStrong.with();
+        final PojoNode node = node("a");
+        cache.putIfAbsent(0, node, 1);
+
+        assertSame(node, cache.putIfAbsent(0, node("b"), 1));
+    }
+
+    @Test
+    public void testPutIfAbsentGrows() {
+        final PojoNodeCacheStrong cache = PojoNodeCacheStrong.with();
+        final PojoNode a = node("a");
+        final PojoNode b = node("b");
+        cache.putIfAbsent(0, a, 1);
+        cache.putIfAbsent(4, b, 5);
+
+        assertSame(a, cache.get(0));
+        assertSame(b, cache.get(4));
+    }
+
+    @Test
+    public void testRelease() {
+        final PojoNodeCacheStrong cache = PojoNodeCacheStrong.with();
+        final PojoNode node = node("a");
+        cache.putIfAbsent(0, node, 1);
+        cache.release(0, node);
+
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void testReleaseDifferentNode() {
+        final PojoNodeCacheStrong cache = PojoNodeCacheStrong.with();
+        final PojoNode node = node("a");
+        cache.putIfAbsent(0, node, 1);
+        cache.release(0, node("b"));
+
+        assertSame(node, cache.get(0));
+    }
+
+    @Test
+    public void testClear() {
+        final PojoNodeCacheStrong cache = PojoNodeCacheStrong.with();
+        cache.putIfAbsent(0, node("a"), 1);
+        cache.clear();
+
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void testPutIfAbsentConcurrentGrow() throws Exception {
+        putIfAbsentConcurrentGrowAndCheck(PojoNodeCacheStrong::with);
+    }
+
+    /**
+     * Several threads fill a new cache at the same time, each growing it, and must all get the node held by the cache.
+     */
+    static void putIfAbsentConcurrentGrowAndCheck(final Supplier<PojoNodeCache> caches) throws Exception {
+        final int threads = 4;
+        final int count = 64;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 100; round++) {
+                final PojoNodeCache cache = caches.get();
+                final CyclicBarrier barrier = new CyclicBarrier(threads);
+
+                final List<Future<PojoNode[]>> futures = Lists.array();
+                for (int t = 0; t < threads; t++) {
+                    final String prefix = t + "-";
+                    futures.add(
+                        executor.submit(() -> {
+                            barrier.await(10, TimeUnit.SECONDS);
+
+                            final PojoNode[] nodes = new PojoNode[count];
+                            for (int i = 0; i < count; i++) {
+                                nodes[i] = cache.putIfAbsent(i, node(prefix + i), i + 1);
+                            }
+                            return nodes;
+                        })
+                    );
+                }
+
+                for (final Future<PojoNode[]> future : futures) {
+                    final PojoNode[] nodes = future.get(30, TimeUnit.SECONDS);
+                    for (int i = 0; i < count; i++) {
+                        assertSame(cache.get(i), nodes[i], "node " + i + " round " + round);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static PojoNode node(final String value) {
+        return PojoNode.wrap(PojoName.property("node"), value, ReflectionPojoNodeContext.with());
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(PojoNodeCacheStrong.with(), "strong");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeCacheStrong> type() {
+        return PojoNodeCacheStrong.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoNodeChildrenListSpliteratorTest implements ClassTesting2<PojoNodeChildrenListSpliterator>,
+    ToStringTesting<PojoNodeChildrenListSpliterator> {
+
+    private final static PojoName NAME = PojoName.property("root");
+    private final static int COUNT = 10000;
+
+    @Test
+    public void testCharacteristics() {
+        final Spliterator<PojoNode> spliterator = this.node(10).children().spliterator();
+
+        this.checkEquals(true, spliterator.hasCharacteristics(Spliterator.ORDERED), "ORDERED");
+        this.checkEquals(true, spliterator.hasCharacteristics(Spliterator.SIZED), "SIZED");
+        this.checkEquals(true, spliterator.hasCharacteristics(Spliterator.SUBSIZED), "SUBSIZED");
+        this.checkEquals(10L, spliterator.getExactSizeIfKnown(), "size");
+    }
+
+    @Test
+    public void testTrySplit() {
+        final Spliterator<PojoNode> spliterator = this.node(10).children().spliterator();
+        final Spliterator<PojoNode> prefix = spliterator.trySplit();
+
+        this.checkEquals(5L, prefix.estimateSize(), "prefix");
+        this.checkEquals(5L, spliterator.estimateSize(), "suffix");
+
+        prefix.tryAdvance(n -> this.checkEquals("0", n.value()));
+        spliterator.tryAdvance(n -> this.checkEquals("5", n.value()));
+    }
+
+    @Test
+    public void testTrySplitSingle() {
+        final Spliterator<PojoNode> spliterator = this.node(1).children().spliterator();
+        this.checkEquals(null, spliterator.trySplit());
+    }
+
+    @Test
+    public void testForEachRemaining() {
+        final PojoNode node = this.node(10);
+        final Spliterator<PojoNode> spliterator = node.children().spliterator();
+        spliterator.tryAdvance(n -> {
+        });
+
+        final List<Object> values = Lists.array();
+        spliterator.forEachRemaining(n -> values.add(n.value()));
+
+        this.checkEquals(this.values(10).subList(1, 10), values);
+        this.checkEquals(0L, spliterator.estimateSize(), "estimateSize");
+    }
+
+    @Test
+    public void testParallelStream() {
+        final PojoNode node = this.node(COUNT);
+
+        this.checkEquals(
+            this.values(COUNT),
+            node.children()
+                .parallelStream()
+                .map(PojoNode::value)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testParallelStreamSameChildren() {
+        final PojoNode node = this.node(COUNT);
+        final List<PojoNode> children = node.children();
+
+        final List<PojoNode> parallel = children.parallelStream()
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < COUNT; i++) {
+            assertSame(children.get(i), parallel.get(i), "child " + i);
+        }
+    }
+
+    @Test
+    public void testParallelStreamSet() {
+        final Set<Object> set = Sets.hash();
+        set.addAll(this.values(COUNT));
+
+        final PojoNode node = PojoNode.wrap(NAME, set, ReflectionPojoNodeContext.with());
+
+        this.checkEquals(
+            set,
+            node.children()
+                .parallelStream()
+                .map(PojoNode::value)
+                .collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNode node = this.node(2);
+        this.toStringAndCheck(node.children().spliterator(), "0..2 " + node);
+    }
+
+    private PojoNode node(final int count) {
+        return PojoNode.wrap(NAME, this.values(count).toArray(new String[0]), ReflectionPojoNodeContext.with());
+    }
+
+    private List<Object> values(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.toList());
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeChildrenListSpliterator> type() {
+        return PojoNodeChildrenListSpliterator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
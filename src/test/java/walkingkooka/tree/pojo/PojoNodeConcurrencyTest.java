@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Testing;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests many threads reading the same freshly wrapped tree at once, so they race to create and publish the
+ * lazily created children lists, child nodes and values.
+ */
+public final class PojoNodeConcurrencyTest implements Testing {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    private final static int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final static int ROUNDS = 200;
+
+    @Test
+    public void testSharedRootSameChildren() throws Exception {
+        this.sharedRootAndCheck(PojoNodeContexts.reflection());
+    }
+
+    @Test
+    public void testSharedRootSameChildrenWeakCachePolicy() throws Exception {
+        this.sharedRootAndCheck(
+            PojoNodeContexts.cachePolicy(
+                PojoNodeContexts.reflection(),
+                PojoNodeCachePolicy.weak()
+            )
+        );
+    }
+
+    private void sharedRootAndCheck(final PojoNodeContext context) throws Exception {
+        final List<Object> expected = this.values(this.walk(PojoNode.wrap(NAME, this.createRoot(), context)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final PojoNode root = PojoNode.wrap(NAME, this.createRoot(), context);
+                final List<List<PojoNode>> walks = this.concurrently(executor, () -> this.walk(root));
+
+                final List<PojoNode> first = walks.get(0);
+                this.checkEquals(expected, this.values(first), "values");
+
+                for (final List<PojoNode> walk : walks) {
+                    this.checkEquals(first.size(), walk.size(), "nodes");
+
+                    for (int i = 0; i < first.size(); i++) {
+                        assertSame(first.get(i), walk.get(i), "node " + i + " round " + round);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the {@link Callable} in every thread, all starting at the same time.
+     */
+    private <T> List<T> concurrently(final ExecutorService executor,
+                                     final Callable<T> callable) throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        final List<Future<T>> futures = Lists.array();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(
+                executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return callable.call();
+                })
+            );
+        }
+
+        final List<T> results = Lists.array();
+        for (final Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    /**
+     * Returns all nodes in document order, not including the properties of map entries.
+     */
+    private List<PojoNode> walk(final PojoNode root) {
+        final List<PojoNode> nodes = Lists.array();
+        this.walk(root, nodes);
+        return nodes;
+    }
+
+    private void walk(final PojoNode node,
+                      final List<PojoNode> nodes) {
+        nodes.add(node);
+        assertTrue(node.attributes().size() > 0 || null == node.value(), () -> "attributes " + node);
+
+        if (node.value() instanceof Map.Entry) {
+            return;
+        }
+
+        for (final PojoNode child : node.children()) {
+            assertSame(node, child.parent().get(), "parent");
+            this.walk(child, nodes);
+        }
+    }
+
+    private List<Object> values(final List<PojoNode> nodes) {
+        final List<Object> values = Lists.array();
+        for (final PojoNode node : nodes) {
+            final Object value = node.value();
+            values.add(
+                value instanceof int[] || value instanceof Object[] ?
+                    node.childrenValues() :
+                    value
+            );
+        }
+        return values;
+    }
+
+    private TestRoot createRoot() {
+        final List<TestBean> beans = Lists.array();
+        for (int i = 0; i < 8; i++) {
+            final Map<String, Integer> map = Maps.sorted();
+            final Set<String> set = Sets.sorted();
+            for (int j = 0; j < 4; j++) {
+                map.put("key" + j, i * j);
+                set.add("element" + j);
+            }
+
+            beans.add(
+                new TestBean(
+                    "bean" + i,
+                    new int[]{i, i + 1, i + 2},
+                    new Object[]{"a" + i, i},
+                    map,
+                    set
+                )
+            );
+        }
+        return new TestRoot(beans);
+    }
+
+    public static final class TestRoot {
+
+        TestRoot(final List<TestBean> beans) {
+            this.beans = beans;
+        }
+
+        public List<TestBean> getBeans() {
+            return this.beans;
+        }
+
+        private final List<TestBean> beans;
+
+        @Override
+        public int hashCode() {
+            return this.beans.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof TestRoot && this.beans.equals(((TestRoot) other).beans);
+        }
+    }
+
+    public static final class TestBean {
+
+        TestBean(final String name,
+                 final int[] numbers,
+                 final Object[] objects,
+                 final Map<String, Integer> map,
+                 final Set<String> set) {
+            this.name = name;
+            this.numbers = numbers;
+            this.objects = objects;
+            this.map = map;
+            this.set = set;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        private final String name;
+
+        public int[] getNumbers() {
+            return this.numbers;
+        }
+
+        private final int[] numbers;
+
+        public Object[] getObjects() {
+            return this.objects;
+        }
+
+        private final Object[] objects;
+
+        public Map<String, Integer> getMap() {
+            return this.map;
+        }
+
+        private final Map<String, Integer> map;
+
+        public Set<String> getSet() {
+            return this.set;
+        }
+
+        private final Set<String> set;
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.name, this.map, this.set);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof TestBean && this.equals0((TestBean) other);
+        }
+
+        private boolean equals0(final TestBean other) {
+            return this.name.equals(other.name);
+        }
+    }
+}
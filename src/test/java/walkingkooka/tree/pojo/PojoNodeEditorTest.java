@@ -0,0 +1,372 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeEditorTest implements ClassTesting2<PojoNodeEditor>,
+    ToStringTesting<PojoNodeEditor> {
+
+    private final static PojoName ORDER = PojoName.property("order");
+    private final static PojoName LINES = PojoName.property("lines");
+    private final static PojoName QUANTITY = PojoName.property("quantity");
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> PojoNodeEditor.with(null));
+    }
+
+    @Test
+    public void testCommitWithoutEdits() {
+        final PojoNode node = this.orderNode(1, 2, 3);
+        assertSame(node, PojoNodeEditor.with(node).commit());
+    }
+
+    @Test
+    public void testSetPath() {
+        final PojoNode node = this.orderNode(1, 2, 3);
+
+        final PojoNode updated = PojoNodeEditor.with(node)
+            .set(Lists.of(LINES, PojoName.index(0), QUANTITY), 10)
+            .set(Lists.of(LINES, PojoName.index(2), QUANTITY), 30)
+            .commit();
+
+        this.checkEquals(order(10, 2, 30), updated.value());
+        this.checkEquals(order(1, 2, 3), node.value(), "original changed");
+    }
+
+    @Test
+    public void testSetPathCopiesCollectionOnce() {
+        final TestContext context = new TestContext();
+        final PojoNode node = PojoNode.wrap(ORDER, order(1, 2, 3, 4, 5), context);
+
+        final PojoNodeEditor editor = PojoNodeEditor.with(node);
+        for (int i = 0; i < 5; i++) {
+            editor.set(Lists.of(LINES, PojoName.index(i), QUANTITY), i * 100);
+        }
+
+        this.checkEquals(order(0, 100, 200, 300, 400), editor.commit().value());
+        this.checkEquals(1, context.lists, "lists created");
+    }
+
+    @Test
+    public void testSetNode() {
+        final PojoNode node = this.orderNode(1, 2);
+        final PojoNode quantity = node.children()
+            .get(0)
+            .children()
+            .get(1)
+            .children()
+            .get(0);
+
+        this.checkEquals(
+            order(1, 22),
+            PojoNodeEditor.with(node)
+                .set(quantity, 22)
+                .commit()
+                .value()
+        );
+    }
+
+    @Test
+    public void testSetNodeNotDescendantFails() {
+        final PojoNode node = this.orderNode(1, 2);
+        final PojoNode other = this.orderNode(1, 2).children().get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeEditor.with(node).set(other, 1));
+    }
+
+    @Test
+    public void testSetPathUnknownPropertyFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeEditor.with(this.orderNode(1))
+            .set(Lists.of(PojoName.property("unknown")), 1));
+    }
+
+    @Test
+    public void testSetPathUnknownIndexFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeEditor.with(this.orderNode(1))
+            .set(Lists.of(LINES, PojoName.index(99)), 1));
+    }
+
+    @Test
+    public void testSetValueThenChild() {
+        final PojoNode node = this.orderNode(1, 2);
+
+        this.checkEquals(
+            order(5, 7),
+            PojoNodeEditor.with(node)
+                .set(Lists.of(LINES), Lists.of(new TestLine(5), new TestLine(6)))
+                .set(Lists.of(LINES, PojoName.index(1), QUANTITY), 7)
+                .commit()
+                .value()
+        );
+    }
+
+    @Test
+    public void testSetLongerValueThenChild() {
+        final PojoNode node = this.orderNode(1);
+
+        this.checkEquals(
+            order(5, 6, 9),
+            PojoNodeEditor.with(node)
+                .set(Lists.of(LINES), Lists.of(new TestLine(5), new TestLine(6), new TestLine(7)))
+                .set(Lists.of(LINES, PojoName.index(2), QUANTITY), 9)
+                .commit()
+                .value()
+        );
+    }
+
+    @Test
+    public void testSetLongerValueThenChildTwice() {
+        final PojoNode node = this.orderNode(1);
+
+        this.checkEquals(
+            order(5, 8, 9),
+            PojoNodeEditor.with(node)
+                .set(Lists.of(LINES), Lists.of(new TestLine(5), new TestLine(6), new TestLine(7)))
+                .set(Lists.of(LINES, PojoName.index(2), QUANTITY), 9)
+                .set(Lists.of(LINES, PojoName.index(1), QUANTITY), 8)
+                .commit()
+                .value()
+        );
+    }
+
+    @Test
+    public void testSetShorterValueThenChildFails() {
+        final PojoNodeEditor editor = PojoNodeEditor.with(this.orderNode(1, 2))
+            .set(Lists.of(LINES), Lists.of(new TestLine(5)));
+
+        assertThrows(IllegalArgumentException.class, () -> editor.set(Lists.of(LINES, PojoName.index(1), QUANTITY), 7));
+        this.checkEquals(order(5), editor.commit().value());
+    }
+
+    @Test
+    public void testSetChildThenValue() {
+        final PojoNode node = this.orderNode(1, 2);
+
+        this.checkEquals(
+            order(5),
+            PojoNodeEditor.with(node)
+                .set(Lists.of(LINES, PojoName.index(1), QUANTITY), 7)
+                .set(Lists.of(LINES), Lists.of(new TestLine(5)))
+                .commit()
+                .value()
+        );
+    }
+
+    @Test
+    public void testCommitReplacesParents() {
+        final PojoNode node = this.orderNode(1, 2);
+        final PojoNode lines = node.children().get(0);
+
+        final PojoNode updated = PojoNodeEditor.with(lines)
+            .set(Lists.of(PojoName.index(0), QUANTITY), 11)
+            .set(Lists.of(PojoName.index(1), QUANTITY), 22)
+            .commit();
+
+        this.checkEquals(LINES, updated.name(), "name");
+        this.checkEquals(order(11, 22), updated.parentOrFail().value());
+    }
+
+    @Test
+    public void testCommitContinuesWithResult() {
+        final PojoNodeEditor editor = PojoNodeEditor.with(this.orderNode(1, 2));
+        editor.set(Lists.of(LINES, PojoName.index(0), QUANTITY), 10)
+            .commit();
+        this.checkEquals(true, editor.isEmpty(), "isEmpty");
+
+        this.checkEquals(
+            order(10, 20),
+            editor.set(Lists.of(LINES, PojoName.index(1), QUANTITY), 20)
+                .commit()
+                .value()
+        );
+    }
+
+    @Test
+    public void testMutable() {
+        final TestMutable mutable = new TestMutable();
+        final PojoNode node = PojoNode.wrap(ORDER, Lists.of(mutable), ReflectionPojoNodeContext.with());
+
+        final PojoNode updated = PojoNodeEditor.with(node)
+            .set(Lists.of(PojoName.index(0), PojoName.property("text")), "changed")
+            .commit();
+        this.checkEquals("changed", mutable.text, "text");
+        this.checkEquals("changed", updated.children().get(0).children().get(0).value());
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(PojoNodeEditor.with(this.orderNode(1)), "order");
+    }
+
+    @Test
+    public void testToStringWithEdits() {
+        this.toStringAndCheck(
+            PojoNodeEditor.with(this.orderNode(1))
+                .set(Lists.of(LINES, PojoName.index(0), QUANTITY), 2),
+            "order *"
+        );
+    }
+
+    private PojoNode orderNode(final int... quantities) {
+        return PojoNode.wrap(ORDER, order(quantities), ReflectionPojoNodeContext.with());
+    }
+
+    private static TestOrder order(final int... quantities) {
+        final List<TestLine> lines = Lists.array();
+        for (final int quantity : quantities) {
+            lines.add(new TestLine(quantity));
+        }
+        return new TestOrder(lines);
+    }
+
+    @Override
+    public Class<PojoNodeEditor> type() {
+        return PojoNodeEditor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    public static final class TestOrder {
+
+        TestOrder(final List<TestLine> lines) {
+            this.lines = lines;
+        }
+
+        public List<TestLine> getLines() {
+            return this.lines;
+        }
+
+        public TestOrder setLines(final List<TestLine> lines) {
+            return this.lines.equals(lines) ?
+                this :
+                new TestOrder(lines);
+        }
+
+        private final List<TestLine> lines;
+
+        @Override
+        public int hashCode() {
+            return this.lines.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof TestOrder && this.lines.equals(((TestOrder) other).lines);
+        }
+
+        @Override
+        public String toString() {
+            return this.lines.toString();
+        }
+    }
+
+    public static final class TestLine {
+
+        TestLine(final int quantity) {
+            this.quantity = quantity;
+        }
+
+        public int getQuantity() {
+            return this.quantity;
+        }
+
+        public TestLine setQuantity(final int quantity) {
+            return this.quantity == quantity ?
+                this :
+                new TestLine(quantity);
+        }
+
+        private final int quantity;
+
+        @Override
+        public int hashCode() {
+            return this.quantity;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof TestLine && this.quantity == ((TestLine) other).quantity;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(this.quantity);
+        }
+    }
+
+    public static final class TestMutable {
+
+        public String getText() {
+            return this.text;
+        }
+
+        public void setText(final String text) {
+            this.text = text;
+        }
+
+        String text = "original";
+    }
+
+    /**
+     * Counts the number of lists created when collections are copied.
+     */
+    static final class TestContext implements PojoNodeContext {
+
+        @Override
+        public List<PojoProperty> properties(final Class<?> type) {
+            return this.context.properties(type);
+        }
+
+        @Override
+        public List<Object> createList(final Class<?> type) {
+            this.lists++;
+            return this.context.createList(type);
+        }
+
+        @Override
+        public Set<Object> createSet(final Class<?> type) {
+            return this.context.createSet(type);
+        }
+
+        @Override
+        public Map<Object, Object> createMap(final Class<?> type) {
+            return this.context.createMap(type);
+        }
+
+        private final PojoNodeContext context = ReflectionPojoNodeContext.with();
+
+        int lists;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import walkingkooka.Testing;
+import walkingkooka.collect.list.Lists;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uses JOL to measure the memory used by {@link PojoNode} wrappers.
+ */
+public final class PojoNodeFootprintTest implements Testing {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    @Test
+    public void testObjectNodeInstanceSizeSmallerThanPreviousLayout() {
+        final long size = ClassLayout.parseClass(PojoNodeObject.class).instanceSize();
+        final long previous = ClassLayout.parseClass(TestPreviousPojoNodeObject.class).instanceSize();
+
+        assertTrue(
+            size < previous,
+            () -> "PojoNodeObject " + size + " bytes should be less than previous layout " + previous + " bytes\n" +
+                ClassLayout.parseClass(PojoNodeObject.class).toPrintable()
+        );
+    }
+
+    @Test
+    public void testBasicNodeInstanceSizeSmallerThanPreviousLayout() {
+        final long size = ClassLayout.parseClass(PojoNodeBasic.class).instanceSize();
+        final long previous = ClassLayout.parseClass(TestPreviousPojoNode.class).instanceSize();
+
+        assertTrue(
+            size < previous,
+            () -> "PojoNodeBasic " + size + " bytes should be less than previous layout " + previous + " bytes\n" +
+                ClassLayout.parseClass(PojoNodeBasic.class).toPrintable()
+        );
+    }
+
+    @Test
+    public void testNoOptionalFields() {
+        for (Class<?> type = PojoNodeObject.class; PojoNode.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            for (final Field field : type.getDeclaredFields()) {
+                this.checkNotEquals(Optional.class, field.getType(), field.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testAttributesNotRetained() {
+        // compute the attributes for the class first, so only the nodes themselves are measured
+        this.wrap().children().get(0).attributes();
+
+        final PojoNode root = this.wrap();
+        final List<PojoNode> children = Lists.array();
+        for (final PojoNode child : root.children()) {
+            children.add(child);
+        }
+
+        final long before = GraphLayout.parseInstance(root).totalSize();
+
+        for (final PojoNode child : children) {
+            child.attributes();
+        }
+
+        this.checkEquals(
+            before,
+            GraphLayout.parseInstance(root).totalSize(),
+            "footprint after attributes"
+        );
+    }
+
+    @Test
+    public void testChildValuesAndPropertiesNotRetained() {
+        final PojoNode root = this.wrap();
+
+        // load the properties for the class first, so only the nodes themselves are measured
+        ((PojoNodeObject) root.children().get(1)).properties();
+
+        final PojoNode child = root.children().get(0);
+        final long before = GraphLayout.parseInstance(root).totalSize();
+
+        child.childrenValues();
+        ((PojoNodeObject) child).properties();
+
+        this.checkEquals(
+            before,
+            GraphLayout.parseInstance(root).totalSize(),
+            "footprint after childrenValues and properties"
+        );
+    }
+
+    private PojoNode wrap() {
+        return PojoNode.wrap(
+            NAME,
+            Lists.of(new TestBean("a"), new TestBean("b"), new TestBean("c")),
+            ReflectionPojoNodeContext.with()
+        );
+    }
+
+    public static class TestBean {
+
+        TestBean(final String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return this.value;
+        }
+
+        private final String value;
+    }
+
+    /**
+     * Has the same fields as {@link PojoNode} before its parent became a plain reference and attributes were shared.
+     */
+    @SuppressWarnings("unused")
+    static class TestPreviousPojoNode {
+        PojoName name;
+        Object value;
+        Optional<PojoNode> parent;
+        int index;
+        PojoNodeContext context;
+        Map<PojoNodeAttributeName, Object> attributes;
+    }
+
+    /**
+     * Has the same fields as {@link PojoNodeObject} before its properties and children values were computed on demand.
+     */
+    @SuppressWarnings("unused")
+    final static class TestPreviousPojoNodeObject extends TestPreviousPojoNode {
+        PojoNodeChildrenList<?> children;
+        PojoNodeObjectChildrenValueList childrenValueList;
+        List<PojoProperty> properties;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoNodeKindTest implements ClassTesting2<PojoNodeKind> {
+
+    @Test
+    public void testString() {
+        this.kindAndCheck(String.class, PojoNodeKind.BASIC);
+    }
+
+    @Test
+    public void testClass() {
+        this.kindAndCheck(Class.class, PojoNodeKind.BASIC);
+    }
+
+    @Test
+    public void testWrapper() {
+        this.kindAndCheck(Integer.class, PojoNodeKind.BASIC);
+    }
+
+    @Test
+    public void testBooleanArray() {
+        this.kindAndCheck(boolean[].class, PojoNodeKind.ARRAY_BOOLEAN);
+    }
+
+    @Test
+    public void testByteArray() {
+        this.kindAndCheck(byte[].class, PojoNodeKind.ARRAY_BYTE);
+    }
+
+    @Test
+    public void testCharArray() {
+        this.kindAndCheck(char[].class, PojoNodeKind.ARRAY_CHAR);
+    }
+
+    @Test
+    public void testDoubleArray() {
+        this.kindAndCheck(double[].class, PojoNodeKind.ARRAY_DOUBLE);
+    }
+
+    @Test
+    public void testFloatArray() {
+        this.kindAndCheck(float[].class, PojoNodeKind.ARRAY_FLOAT);
+    }
+
+    @Test
+    public void testIntArray() {
+        this.kindAndCheck(int[].class, PojoNodeKind.ARRAY_INT);
+    }
+
+    @Test
+    public void testLongArray() {
+        this.kindAndCheck(long[].class, PojoNodeKind.ARRAY_LONG);
+    }
+
+    @Test
+    public void testShortArray() {
+        this.kindAndCheck(short[].class, PojoNodeKind.ARRAY_SHORT);
+    }
+
+    @Test
+    public void testObjectArray() {
+        this.kindAndCheck(Object[].class, PojoNodeKind.ARRAY_OBJECT);
+    }
+
+    @Test
+    public void testStringArray() {
+        this.kindAndCheck(String[].class, PojoNodeKind.ARRAY_OBJECT);
+    }
+
+    @Test
+    public void testList() {
+        this.kindAndCheck(ArrayList.class, PojoNodeKind.LIST);
+    }
+
+    @Test
+    public void testMap() {
+        this.kindAndCheck(LinkedHashMap.class, PojoNodeKind.MAP);
+    }
+
+    @Test
+    public void testSet() {
+        this.kindAndCheck(TreeSet.class, PojoNodeKind.SET);
+    }
+
+    @Test
+    public void testListAndSet() {
+        this.kindAndCheck(TestListAndSet.class, PojoNodeKind.LIST);
+    }
+
+    @Test
+    public void testObject() {
+        this.kindAndCheck(this.getClass(), PojoNodeKind.OBJECT);
+    }
+
+    @Test
+    public void testCached() {
+        assertSame(PojoNodeKind.of(ArrayList.class), PojoNodeKind.of(ArrayList.class));
+    }
+
+    @Test
+    public void testWrapUsesContextNodeFactory() {
+        final PojoNodeContext context = new TestPojoNodeContext() {
+            @Override
+            public PojoNodeFactory nodeFactory(final Class<?> type) {
+                return TestValue.class == type ?
+                    PojoNodeFactories.basic() :
+                    super.nodeFactory(type);
+            }
+        };
+
+        final PojoNode node = PojoNode.wrap(PojoName.property("value"), new TestValue(), context);
+        this.checkEquals(PojoNodeBasic.class, node.getClass());
+        this.checkEquals(Lists.empty(), node.children());
+    }
+
+    @Test
+    public void testWrapDefaultNodeFactory() {
+        final PojoNodeContext context = new TestPojoNodeContext();
+        this.checkEquals(PojoNodeCollectionList.class, PojoNode.wrap(PojoName.property("list"), Lists.array(), context).getClass());
+        this.checkEquals(PojoNodeCollectionMap.class, PojoNode.wrap(PojoName.property("map"), Maps.sorted(), context).getClass());
+        this.checkEquals(PojoNodeCollectionSet.class, PojoNode.wrap(PojoName.property("set"), Sets.sorted(), context).getClass());
+        this.checkEquals(PojoNodeObject.class, PojoNode.wrap(PojoName.property("value"), new TestValue(), context).getClass());
+        this.checkEquals(PojoNodeBasic.class, PojoNode.wrap(PojoName.property("null"), null, context).getClass());
+    }
+
+    private void kindAndCheck(final Class<?> type, final PojoNodeKind kind) {
+        this.checkEquals(kind, PojoNodeKind.of(type), type::getName);
+    }
+
+    @Override
+    public Class<PojoNodeKind> type() {
+        return PojoNodeKind.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    static class TestValue {
+    }
+
+    static class TestPojoNodeContext implements PojoNodeContext {
+        @Override
+        public List<PojoProperty> properties(final Class<?> type) {
+            return Lists.empty();
+        }
+
+        @Override
+        public List<Object> createList(final Class<?> type) {
+            return Lists.array();
+        }
+
+        @Override
+        public Set<Object> createSet(final Class<?> type) {
+            return Sets.ordered();
+        }
+
+        @Override
+        public Map<Object, Object> createMap(final Class<?> type) {
+            return Maps.ordered();
+        }
+    }
+
+    static class TestListAndSet extends ArrayList<Object> implements Set<Object> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public java.util.Spliterator<Object> spliterator() {
+            return super.spliterator();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.pojo.PojoNodeLazyFieldTest.TestNode;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoNodeLazyFieldPlainTest implements ClassTesting2<PojoNodeLazyFieldPlain<?, ?>> {
+
+    @Test
+    public void testPublish() {
+        final PojoNodeLazyFieldPlain<TestNode, Object> field = PojoNodeLazyFieldPlain.with(TestNode::value, TestNode::setValue);
+        final TestNode node = new TestNode();
+        this.checkEquals(null, field.get(node), "get before publish");
+
+        final Object published = new Object();
+        assertSame(published, field.publish(node, published));
+        assertSame(published, field.get(node), "get after publish");
+        assertSame(published, field.publish(node, new Object()), "publish again");
+    }
+
+    @Override
+    public Class<PojoNodeLazyFieldPlain<?, ?>> type() {
+        return Cast.to(PojoNodeLazyFieldPlain.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
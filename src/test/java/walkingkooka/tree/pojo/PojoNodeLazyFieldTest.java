@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeLazyFieldTest implements ClassTesting2<PojoNodeLazyField<?, ?>> {
+
+    @Test
+    public void testWithNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PojoNodeLazyField.with(null, "value", Object.class, TestNode::value, TestNode::setValue)
+        );
+    }
+
+    @Test
+    public void testWithNullNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PojoNodeLazyField.with(TestNode.class, null, Object.class, TestNode::value, TestNode::setValue)
+        );
+    }
+
+    @Test
+    public void testWithNullFieldTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PojoNodeLazyField.with(TestNode.class, "value", null, TestNode::value, TestNode::setValue)
+        );
+    }
+
+    @Test
+    public void testWithNullGetterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PojoNodeLazyField.with(TestNode.class, "value", Object.class, null, TestNode::setValue)
+        );
+    }
+
+    @Test
+    public void testWithNullSetterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PojoNodeLazyField.with(TestNode.class, "value", Object.class, TestNode::value, null)
+        );
+    }
+
+    @Test
+    public void testWithVarHandle() {
+        final PojoNodeLazyField<TestNode, Object> field = field();
+        this.checkEquals(PojoNodeLazyFieldVarHandle.class, field.getClass());
+    }
+
+    @Test
+    public void testPublish() {
+        final PojoNodeLazyField<TestNode, Object> field = field();
+        final TestNode node = new TestNode();
+        this.checkEquals(null, field.get(node), "get before publish");
+
+        final Object published = new Object();
+        assertSame(published, field.publish(node, published));
+        assertSame(published, field.get(node), "get after publish");
+        assertSame(published, node.value, "field");
+    }
+
+    @Test
+    public void testPublishRaceLost() {
+        final PojoNodeLazyField<TestNode, Object> field = field();
+        final TestNode node = new TestNode();
+
+        final Object published = new Object();
+        field.publish(node, published);
+        assertSame(published, field.publish(node, new Object()));
+    }
+
+    private static PojoNodeLazyField<TestNode, Object> field() {
+        return PojoNodeLazyField.with(TestNode.class, "value", Object.class, TestNode::value, TestNode::setValue);
+    }
+
+    static final class TestNode {
+
+        Object value() {
+            return this.value;
+        }
+
+        void setValue(final Object value) {
+            this.value = value;
+        }
+
+        private Object value;
+    }
+
+    @Override
+    public Class<PojoNodeLazyField<?, ?>> type() {
+        return Cast.to(PojoNodeLazyField.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
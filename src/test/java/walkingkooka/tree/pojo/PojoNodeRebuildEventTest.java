@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class PojoNodeRebuildEventTest implements ClassTesting2<PojoNodeRebuildEvent>,
+    PojoEventTesting {
+
+    @Test
+    public void testDisabled() {
+        this.checkEquals(
+            Lists.of(Lists.of("b")),
+            this.leaf()
+                .setValue("b")
+                .parent()
+                .get()
+                .parent()
+                .get()
+                .value()
+        );
+    }
+
+    @Test
+    public void testRebuild() {
+        final PojoNode leaf = this.leaf();
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoNodeRebuildEvent.NAME,
+            () -> leaf.setValue("b")
+        );
+        this.check(events, String.class, 2, 3);
+    }
+
+    @Test
+    public void testRebuildStopsAtMutableParent() {
+        final PojoNode value = PojoNode.wrap(
+                PojoName.property("root"),
+                Lists.of(new TestBean()),
+                PojoNodeContexts.jfr(ReflectionPojoNodeContext.with())
+            ).children()
+            .get(0)
+            .children()
+            .get(0);
+
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoNodeRebuildEvent.NAME,
+            () -> value.setValue("b")
+        );
+        this.check(events, String.class, 2, 1);
+    }
+
+    @Test
+    public void testRootNotRecorded() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoNodeRebuildEvent.NAME,
+            () -> PojoNode.wrap(
+                PojoName.property("root"),
+                "a",
+                PojoNodeContexts.jfr(ReflectionPojoNodeContext.with())
+            ).setValue("b")
+        );
+        this.checkEquals(0, events.size(), () -> events.toString());
+    }
+
+    private PojoNode leaf() {
+        return PojoNode.wrap(
+                PojoName.property("root"),
+                Lists.of(Lists.of("a")),
+                PojoNodeContexts.jfr(ReflectionPojoNodeContext.with())
+            ).children()
+            .get(0)
+            .children()
+            .get(0);
+    }
+
+    private void check(final List<RecordedEvent> events,
+                       final Class<?> type,
+                       final int depth,
+                       final int nodesCopied) {
+        this.checkEquals(1, events.size(), () -> events.toString());
+
+        final RecordedEvent event = events.get(0);
+        this.checkEquals(type.getName(), event.getString("className"), "className");
+        this.checkEquals(depth, event.getInt("depth"), "depth");
+        this.checkEquals(nodesCopied, event.getInt("nodesCopied"), "nodesCopied");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeRebuildEvent> type() {
+        return PojoNodeRebuildEvent.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        public String getValue() {
+            return this.value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+
+        String value = "a";
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeSelectParallelTaskTest implements ClassTesting2<PojoNodeSelectParallelTask>,
+    ToStringTesting<PojoNodeSelectParallelTask> {
+
+    private final static PojoName NAME = PojoName.property("root");
+
+    private final static Predicate<PojoNode> ENDS_WITH_7 = n -> n.value() instanceof String && ((String) n.value()).endsWith("7");
+
+    @Test
+    public void testSelectParallelNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> this.node().selectParallel(null));
+    }
+
+    @Test
+    public void testSelectParallelNullPoolFails() {
+        assertThrows(NullPointerException.class, () -> this.node().selectParallel(ENDS_WITH_7, null));
+    }
+
+    @Test
+    public void testSelectParallelNullSelectorFails() {
+        assertThrows(NullPointerException.class, () -> this.node().selectParallel(null, (c) -> null));
+    }
+
+    @Test
+    public void testSelectParallelNullContextsFails() {
+        assertThrows(NullPointerException.class, () -> this.node().selectParallel(PojoNode.relativeNodeSelector(), null));
+    }
+
+    @Test
+    public void testSelectParallelSelf() {
+        final PojoNode node = PojoNode.wrap(NAME, "7", ReflectionPojoNodeContext.with());
+        final List<PojoNode> selected = node.selectParallel(ENDS_WITH_7);
+        this.checkEquals(1, selected.size(), "selected");
+        assertSame(node, selected.get(0));
+    }
+
+    @Test
+    public void testSelectParallelDocumentOrder() {
+        final PojoNode node = this.node();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            this.checkEquals(
+                this.sequential(node, ENDS_WITH_7, Lists.array()),
+                node.selectParallel(ENDS_WITH_7, pool)
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSelectParallelCommonPool() {
+        final PojoNode node = this.node();
+        this.checkEquals(
+            this.sequential(node, ENDS_WITH_7, Lists.array()),
+            node.selectParallel(ENDS_WITH_7)
+        );
+    }
+
+    @Test
+    public void testSelectParallelPredicateFailure() {
+        final PojoNode node = this.node();
+        assertThrows(IllegalStateException.class, () -> node.selectParallel(n -> {
+            if ("50-50".equals(n.value())) {
+                throw new IllegalStateException();
+            }
+            return false;
+        }));
+    }
+
+    @Test
+    public void testSelectParallelDeep() {
+        final int depth = 50000;
+
+        List<Object> list = Lists.array();
+        list.add("leaf");
+        for (int i = 0; i < depth; i++) {
+            final List<Object> parent = Lists.array();
+            parent.add(list);
+            parent.add(String.valueOf(i));
+            list = parent;
+        }
+
+        final List<Object> expected = Lists.array();
+        expected.add("leaf");
+        for (int i = 0; i < depth; i++) {
+            expected.add(String.valueOf(i));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            this.checkEquals(
+                expected,
+                PojoNode.wrap(NAME, list, ReflectionPojoNodeContext.with())
+                    .selectParallel(n -> n.value() instanceof String, pool)
+                    .stream()
+                    .map(PojoNode::value)
+                    .collect(Collectors.toList())
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            PojoNodeSelectParallelTask.with(Lists.empty(), 1, 2, ENDS_WITH_7),
+            "1..2 " + ENDS_WITH_7
+        );
+    }
+
+    private PojoNode node() {
+        final String[][] values = new String[100][];
+        for (int i = 0; i < values.length; i++) {
+            final String[] row = new String[100];
+            for (int j = 0; j < row.length; j++) {
+                row[j] = i + "-" + j;
+            }
+            values[i] = row;
+        }
+        return PojoNode.wrap(NAME, values, ReflectionPojoNodeContext.with());
+    }
+
+    private List<PojoNode> sequential(final PojoNode node,
+                                      final Predicate<PojoNode> predicate,
+                                      final List<PojoNode> matches) {
+        if (predicate.test(node)) {
+            matches.add(node);
+        }
+        for (final PojoNode child : node.children()) {
+            this.sequential(child, predicate, matches);
+        }
+        return matches;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeSelectParallelTask> type() {
+        return PojoNodeSelectParallelTask.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
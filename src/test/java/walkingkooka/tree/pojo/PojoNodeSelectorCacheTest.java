@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoNodeSelectorCacheTest implements ClassTesting2<PojoNodeSelectorCache>,
+    ToStringTesting<PojoNodeSelectorCache> {
+
+    private final static PojoName NAME = PojoName.property("root");
+    private final static PojoNodeContext CONTEXT = ReflectionPojoNodeContext.with();
+
+    private final static PojoSelectorPlan ALL = PojoSelectorPlanTest.compile("/*", List.class, CONTEXT);
+    private final static PojoSelectorPlan FIRST = PojoSelectorPlanTest.compile("/*[1]", List.class, CONTEXT);
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoNodeSelectorCache.with(0));
+    }
+
+    @Test
+    public void testSelectNullPlanFails() {
+        assertThrows(NullPointerException.class, () -> PojoNodeSelectorCache.with(1).select(null, this.root()));
+    }
+
+    @Test
+    public void testSelectNullRootFails() {
+        assertThrows(NullPointerException.class, () -> PojoNodeSelectorCache.with(1).select(ALL, null));
+    }
+
+    @Test
+    public void testSelectMissThenHit() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoNode root = this.root();
+
+        this.selectAndCheck(cache, ALL, root, "a", "b", "c");
+        this.selectAndCheck(cache, ALL, root, "a", "b", "c");
+
+        this.checkEquals(1L, cache.cacheStatistics().hits(), "hits");
+        this.checkEquals(1L, cache.cacheStatistics().misses(), "misses");
+    }
+
+    @Test
+    public void testSelectHitSameRootValueDifferentWrapper() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final List<Object> value = Lists.of("a", "b", "c");
+
+        cache.select(ALL, PojoNode.wrap(NAME, value, CONTEXT));
+
+        final PojoNode root = PojoNode.wrap(NAME, value, CONTEXT);
+        final List<PojoNode> selected = cache.select(ALL, root);
+        assertSame(root, selected.get(0).parentOrFail());
+        this.checkEquals(1L, cache.cacheStatistics().hits(), "hits");
+    }
+
+    @Test
+    public void testSelectAfterSetValueMisses() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoNode root = this.root();
+
+        this.selectAndCheck(cache, ALL, root, "a", "b", "c");
+
+        final PojoNode replaced = root.children()
+            .get(1)
+            .setValue("z")
+            .parentOrFail();
+        this.selectAndCheck(cache, ALL, replaced, "a", "z", "c");
+
+        this.checkEquals(0L, cache.cacheStatistics().hits(), "hits");
+        this.checkEquals(2L, cache.cacheStatistics().misses(), "misses");
+    }
+
+    @Test
+    public void testSelectDifferentPlans() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoNode root = this.root();
+
+        this.selectAndCheck(cache, ALL, root, "a", "b", "c");
+        this.selectAndCheck(cache, FIRST, root, "a");
+        this.checkEquals(2, cache.size(), "size");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(1);
+        final PojoNode root = this.root();
+
+        cache.select(ALL, root);
+        cache.select(FIRST, root);
+        cache.select(ALL, root);
+
+        this.checkEquals(1, cache.size(), "size");
+        this.checkEquals(0L, cache.cacheStatistics().hits(), "hits");
+        this.checkEquals(3L, cache.cacheStatistics().misses(), "misses");
+    }
+
+    @Test
+    public void testSelectAfterMutatedInPlace() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoSelectorPlan items = PojoSelectorPlanTest.compile("/items/*", TestMutableBean.class, CONTEXT);
+        final PojoNode root = this.mutableRoot(cache);
+
+        this.selectAndCheck(cache, items, root, "a", "b", "c");
+
+        final PojoNode replaced = root.children()
+            .get(0)
+            .children()
+            .get(1)
+            .setValue("z")
+            .root();
+        assertSame(root.value(), replaced.value(), "mutated in place");
+        this.selectAndCheck(cache, items, replaced, "a", "z", "c");
+        this.checkEquals(2L, cache.cacheStatistics().misses(), "misses");
+    }
+
+    @Test
+    public void testSelectAfterMutatedInPlaceFewerChildren() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoSelectorPlan items = PojoSelectorPlanTest.compile("/items/*", TestMutableBean.class, CONTEXT);
+        final PojoNode root = this.mutableRoot(cache);
+
+        this.selectAndCheck(cache, items, root, "a", "b", "c");
+
+        final PojoNode replaced = root.children()
+            .get(0)
+            .setChildrenValues(Lists.of("x"))
+            .root();
+        this.selectAndCheck(cache, items, replaced, "x");
+    }
+
+    private PojoNode mutableRoot(final PojoNodeSelectorCache cache) {
+        final TestMutableBean bean = new TestMutableBean();
+        bean.setItems(Lists.of("a", "b", "c"));
+        return PojoNode.wrap(NAME, bean, PojoNodeContexts.selectorCache(cache, CONTEXT));
+    }
+
+    @Test
+    public void testRemoveNullFails() {
+        assertThrows(NullPointerException.class, () -> PojoNodeSelectorCache.with(1).remove(null));
+    }
+
+    @Test
+    public void testRemove() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoNode root = this.root();
+        final PojoNode other = this.root();
+
+        cache.select(ALL, root);
+        cache.select(FIRST, root);
+        cache.select(ALL, other);
+        cache.remove(root.value());
+        this.checkEquals(1, cache.size(), "size");
+
+        this.selectAndCheck(cache, ALL, other, "a", "b", "c");
+        this.checkEquals(1L, cache.cacheStatistics().hits(), "hits");
+    }
+
+    @Test
+    public void testClear() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final PojoNode root = this.root();
+
+        cache.select(ALL, root);
+        cache.clear();
+        this.checkEquals(0, cache.size(), "size");
+
+        cache.select(ALL, root);
+        this.checkEquals(2L, cache.cacheStatistics().misses(), "misses");
+    }
+
+    @Test
+    public void testGarbageCollectedRootPurged() throws Exception {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        cache.select(ALL, this.root());
+        cache.select(FIRST, this.root());
+        this.checkEquals(2, cache.size(), "size");
+
+        for (int i = 0; i < 50 && cache.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        this.checkEquals(0, cache.size(), "size");
+    }
+
+    @Test
+    public void testToString() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        this.toStringAndCheck(cache, "0/10 " + cache.cacheStatistics());
+    }
+
+    private void selectAndCheck(final PojoNodeSelectorCache cache,
+                                final PojoSelectorPlan plan,
+                                final PojoNode root,
+                                final Object... values) {
+        this.checkEquals(
+            Lists.of(values),
+            cache.select(plan, root)
+                .stream()
+                .map(PojoNode::value)
+                .collect(Collectors.toList())
+        );
+    }
+
+    private PojoNode root() {
+        return PojoNode.wrap(NAME, Lists.of("a", "b", "c"), CONTEXT);
+    }
+
+    public static class TestMutableBean {
+
+        public List<String> getItems() {
+            return this.items;
+        }
+
+        public void setItems(final List<String> items) {
+            this.items = items;
+        }
+
+        private List<String> items;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoNodeSelectorCache> type() {
+        return PojoNodeSelectorCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
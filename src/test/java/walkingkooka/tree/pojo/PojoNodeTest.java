@@ -22,12 +22,17 @@ import walkingkooka.collect.set.Sets;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.tree.select.NodeSelector;
+import walkingkooka.tree.select.NodeSelectorContexts;
 import walkingkooka.tree.select.NodeSelectorTesting;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class PojoNodeTest implements ClassTesting2<PojoNode>,
     NodeSelectorTesting<PojoNode, PojoName, PojoNodeAttributeName, Object> {
 
@@ -49,6 +54,108 @@ public final class PojoNodeTest implements ClassTesting2<PojoNode>,
                 .collect(Collectors.toCollection(TreeSet::new)));
     }
 
+    @Test
+    public void testSelectParallelNodeSelector() {
+        final PojoNode node = this.createNode();
+        final PojoName x = PojoName.property("x");
+
+        this.checkEquals(
+            Lists.of(node.child(x).get()),
+            node.selectParallel(
+                PojoNode.relativeNodeSelector()
+                    .named(x),
+                (selected) -> NodeSelectorContexts.basic(
+                    () -> false,
+                    (n) -> true,
+                    (n) -> {
+                        selected.accept(n);
+                        return n;
+                    },
+                    (c) -> {
+                        throw new UnsupportedOperationException();
+                    },
+                    PojoNode.class
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testIsRoot() {
+        final PojoNode node = this.createNode();
+        this.checkEquals(true, node.isRoot(), "root");
+        this.checkEquals(false, node.children().get(0).isRoot(), "child");
+    }
+
+    @Test
+    public void testRoot() {
+        final PojoNode node = this.createNode();
+        assertSame(node, node.root());
+        assertSame(
+            node,
+            node.child(PojoName.property("list"))
+                .get()
+                .children()
+                .get(0)
+                .root()
+        );
+    }
+
+    @Test
+    public void testParentOrNull() {
+        final PojoNode node = this.createNode();
+        this.checkEquals(null, node.parentOrNull(), "root");
+        assertSame(node, node.children().get(0).parentOrNull());
+    }
+
+    @Test
+    public void testChildNullFails() {
+        assertThrows(NullPointerException.class, () -> this.createNode().child(null));
+    }
+
+    @Test
+    public void testChildProperty() {
+        final PojoNode node = this.createNode();
+        final PojoNode child = node.child(PojoName.property("x")).get();
+
+        this.checkEquals("1", child.value());
+        assertSame(node.children().get(child.index()), child);
+    }
+
+    @Test
+    public void testChildUnknownProperty() {
+        this.checkEquals(Optional.empty(), this.createNode().child(PojoName.property("unknown")));
+    }
+
+    @Test
+    public void testChildIndexOfObject() {
+        this.checkEquals(Optional.empty(), this.createNode().child(PojoName.index(0)));
+    }
+
+    @Test
+    public void testChildIndex() {
+        final PojoNode list = this.createNode().child(PojoName.property("list")).get();
+        this.checkEquals(99, list.child(PojoName.index(1)).get().value());
+    }
+
+    @Test
+    public void testChildIndexOutOfRange() {
+        final PojoNode list = this.createNode().child(PojoName.property("list")).get();
+        this.checkEquals(Optional.empty(), list.child(PojoName.index(3)));
+    }
+
+    @Test
+    public void testChildPropertyOfList() {
+        final PojoNode list = this.createNode().child(PojoName.property("list")).get();
+        this.checkEquals(Optional.empty(), list.child(PojoName.property("x")));
+    }
+
+    @Test
+    public void testChildOfBasic() {
+        final PojoNode x = this.createNode().child(PojoName.property("x")).get();
+        this.checkEquals(Optional.empty(), x.child(PojoName.property("length")));
+    }
+
     @Override
     public PojoNode createNode() {
         return PojoNode.wrap(PojoName.property("TestBean"),
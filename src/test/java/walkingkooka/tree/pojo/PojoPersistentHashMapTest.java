@@ -0,0 +1,344 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPersistentHashMapTest implements ClassTesting2<PojoPersistentHashMap<?, ?>> {
+
+    private final static int COUNT = 2000;
+
+    @Test
+    public void testEmpty() {
+        final PojoPersistentHashMap<String, Integer> map = PojoPersistentHashMap.empty();
+        this.checkEquals(0, map.size(), "size");
+        this.checkEquals(null, map.get("missing"));
+    }
+
+    @Test
+    public void testPutGet() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(COUNT);
+        final Map<Integer, String> expected = this.hashMap(COUNT);
+
+        this.checkEquals(expected, map);
+        this.checkEquals(expected.hashCode(), map.hashCode(), "hashCode");
+        for (int i = 0; i < COUNT; i++) {
+            this.checkEquals("" + i, map.get(i), "get " + i);
+        }
+    }
+
+    @Test
+    public void testPutReplaces() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(10);
+        this.checkEquals("5", map.put(5, "five"));
+        this.checkEquals("five", map.get(5));
+        this.checkEquals(10, map.size(), "size");
+    }
+
+    @Test
+    public void testPutNullKey() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(10);
+        map.put(null, "null");
+        this.checkEquals(true, map.containsKey(null), "containsKey");
+        this.checkEquals("null", map.remove(null));
+        this.checkEquals(10, map.size(), "size");
+    }
+
+    @Test
+    public void testRemove() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(COUNT);
+        final Map<Integer, String> expected = this.hashMap(COUNT);
+
+        for (int i = 0; i < COUNT; i += 3) {
+            this.checkEquals("" + i, map.remove(i), "remove " + i);
+            expected.remove(i);
+        }
+        this.checkEquals(null, map.remove(-1), "remove missing");
+        this.checkEquals(expected, map);
+
+        for (int i = 0; i < COUNT; i++) {
+            map.remove(i);
+        }
+        this.checkEquals(0, map.size(), "size");
+    }
+
+    @Test
+    public void testCollisions() {
+        final PojoPersistentHashMap<Collision, Integer> map = PojoPersistentHashMap.empty();
+        for (int i = 0; i < 10; i++) {
+            map.put(new Collision(i), i);
+        }
+        this.checkEquals(10, map.size(), "size");
+        this.checkEquals(7, map.get(new Collision(7)));
+
+        this.checkEquals(3, map.remove(new Collision(3)));
+        this.checkEquals(false, map.containsKey(new Collision(3)), "containsKey");
+        this.checkEquals(9, map.keySet().size(), "keys");
+    }
+
+    @Test
+    public void testPutHashesDifferingInHighestSlot() {
+        // both keys share the first slot, then select slots 29 and 31 of the next level
+        final PojoPersistentHashMap<Integer, String> map = PojoPersistentHashMap.empty();
+        map.put(928, "928");
+        map.put(992, "992");
+
+        this.checkEquals("928", map.get(928));
+        this.checkEquals("992", map.get(992));
+    }
+
+    @Test
+    public void testCopyIndependent() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(COUNT);
+        final PojoPersistentHashMap<Integer, String> copy = map.copy();
+
+        copy.put(1, "one");
+        copy.remove(2);
+        copy.put(COUNT, "new");
+
+        this.checkEquals(this.hashMap(COUNT), map);
+        this.checkEquals("one", copy.get(1));
+        this.checkEquals(false, copy.containsKey(2), "removed");
+        this.checkEquals(COUNT, copy.size(), "size");
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final PojoPersistentHashMap<Integer, String> map = PojoPersistentHashMap.empty();
+        for (int i = COUNT - 1; i >= 0; i--) {
+            map.put(i, "" + i);
+        }
+
+        int expected = COUNT - 1;
+        for (final Integer key : map.keySet()) {
+            this.checkEquals(expected, key, "key");
+            expected--;
+        }
+    }
+
+    @Test
+    public void testPutExistingKeepsPosition() {
+        final PojoPersistentHashMap<String, Integer> map = PojoPersistentHashMap.empty();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("a", 22);
+
+        this.checkEquals(Lists.of("c", "a", "b"), new ArrayList<>(map.keySet()));
+        this.checkEquals(22, map.entryAt(1).getValue(), "value");
+    }
+
+    @Test
+    public void testRemoveKeepsOrder() {
+        final PojoPersistentHashMap<String, Integer> map = PojoPersistentHashMap.empty();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("d", 4);
+
+        this.checkEquals(2, map.remove("a"));
+        this.checkEquals(4, map.remove("d"));
+        map.put("a", 5);
+        map.put("b", 6);
+
+        this.checkEquals(Lists.of("c", "b", "a"), new ArrayList<>(map.keySet()));
+        this.checkEquals(6, map.get("b"));
+    }
+
+    @Test
+    public void testReplaceAtSameKey() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(COUNT);
+        final PojoPersistentHashMap<Integer, String> copy = map.copy();
+
+        this.checkEquals("7", copy.replaceAt(7, 7, "seven"));
+        this.checkEquals(7, copy.entryAt(7).getKey(), "key");
+        this.checkEquals("seven", copy.entryAt(7).getValue(), "value");
+        this.checkEquals("seven", copy.get(7));
+        this.checkEquals(this.hashMap(COUNT), map, "original changed");
+    }
+
+    @Test
+    public void testReplaceAtNewKey() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(COUNT);
+        final PojoPersistentHashMap<Integer, String> copy = map.copy();
+
+        this.checkEquals("7", copy.replaceAt(7, -7, "minus seven"));
+        this.checkEquals(-7, copy.entryAt(7).getKey(), "key");
+        this.checkEquals("minus seven", copy.get(-7));
+        this.checkEquals(false, copy.containsKey(7), "containsKey 7");
+        this.checkEquals(COUNT, copy.size(), "size");
+        this.checkEquals(8, copy.entryAt(8).getKey(), "next key");
+        this.checkEquals(this.hashMap(COUNT), map, "original changed");
+    }
+
+    @Test
+    public void testReplaceAtExistingKey() {
+        final PojoPersistentHashMap<String, Integer> map = PojoPersistentHashMap.empty();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        map.replaceAt(2, "a", 33);
+
+        this.checkEquals(Lists.of("b", "a"), new ArrayList<>(map.keySet()));
+        this.checkEquals(33, map.get("a"));
+        this.checkEquals(2, map.size(), "size");
+    }
+
+    @Test
+    public void testReplaceAtInvalidIndexFails() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> map.replaceAt(3, 3, "3"));
+    }
+
+    @Test
+    public void testEntrySetValue() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(10);
+        final PojoPersistentHashMap<Integer, String> copy = map.copy();
+
+        final Entry<Integer, String> entry = copy.entryAt(5);
+        this.checkEquals("5", entry.setValue("five"));
+        this.checkEquals("five", entry.getValue(), "entry value");
+        this.checkEquals("five", copy.get(5));
+        this.checkEquals(5, copy.entryAt(5).getKey(), "position");
+        this.checkEquals(this.hashMap(10), map, "original changed");
+    }
+
+    @Test
+    public void testIteratorEntrySetValue() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(10);
+        for (final Entry<Integer, String> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() + "!");
+        }
+
+        for (int i = 0; i < 10; i++) {
+            this.checkEquals(i + "!", map.get(i), "get " + i);
+        }
+    }
+
+    @Test
+    public void testEntryAtMatchesIterationOrder() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(COUNT);
+        final List<Entry<Integer, String>> entries = map.entrySet()
+            .stream()
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < COUNT; i++) {
+            this.checkEquals(entries.get(i), map.entryAt(i), "entryAt " + i);
+        }
+    }
+
+    @Test
+    public void testEntryAtInvalidIndexFails() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> map.entryAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.entryAt(3));
+    }
+
+    @Test
+    public void testIteratorContinuesAfterUpdate() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(10);
+        final Iterator<Entry<Integer, String>> iterator = map.entrySet().iterator();
+        iterator.next();
+        map.clear();
+
+        int count = 1;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        this.checkEquals(10, count, "iterated");
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final PojoPersistentHashMap<Integer, String> map = this.map(10);
+        final Iterator<Integer> keys = map.keySet().iterator();
+        while (keys.hasNext()) {
+            if (0 == keys.next() % 2) {
+                keys.remove();
+            }
+        }
+        this.checkEquals(5, map.size(), "size");
+        this.checkEquals(false, map.containsKey(4), "removed");
+    }
+
+    private PojoPersistentHashMap<Integer, String> map(final int count) {
+        final PojoPersistentHashMap<Integer, String> map = PojoPersistentHashMap.empty();
+        for (int i = 0; i < count; i++) {
+            map.put(i, "" + i);
+        }
+        return map;
+    }
+
+    private Map<Integer, String> hashMap(final int count) {
+        final Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            map.put(i, "" + i);
+        }
+        return map;
+    }
+
+    /**
+     * Every instance has the same hash code.
+     */
+    private final static class Collision {
+
+        Collision(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Collision && this.value == ((Collision) other).value;
+        }
+
+        private final int value;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPersistentHashMap<?, ?>> type() {
+        return Cast.to(PojoPersistentHashMap.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+public final class PojoPersistentHashSetTest implements ClassTesting2<PojoPersistentHashSet<?>> {
+
+    @Test
+    public void testAddRemove() {
+        final PojoPersistentHashSet<String> set = PojoPersistentHashSet.empty();
+        this.checkEquals(true, set.add("a"), "add a");
+        this.checkEquals(true, set.add("b"), "add b");
+        this.checkEquals(false, set.add("a"), "add a again");
+        this.checkEquals(Sets.of("a", "b"), set);
+
+        this.checkEquals(true, set.remove("a"), "remove a");
+        this.checkEquals(false, set.remove("a"), "remove a again");
+        this.checkEquals(Sets.of("b"), set);
+    }
+
+    @Test
+    public void testCopyIndependent() {
+        final PojoPersistentHashSet<String> set = PojoPersistentHashSet.empty();
+        set.add("a");
+        set.add("b");
+
+        final PojoPersistentHashSet<String> copy = set.copy();
+        copy.remove("a");
+        copy.add("c");
+
+        this.checkEquals(Sets.of("a", "b"), set);
+        this.checkEquals(Sets.of("b", "c"), copy);
+    }
+
+    @Test
+    public void testElementAtMatchesIterationOrder() {
+        final PojoPersistentHashSet<Integer> set = PojoPersistentHashSet.empty();
+        for (int i = 0; i < 500; i++) {
+            set.add(i);
+        }
+
+        int i = 0;
+        for (final Integer element : set) {
+            this.checkEquals(element, set.elementAt(i), "elementAt " + i);
+            i++;
+        }
+        this.checkEquals(500, i, "iterated");
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final PojoPersistentHashSet<String> set = PojoPersistentHashSet.empty();
+        set.add("c");
+        set.add("a");
+        set.add("b");
+
+        this.checkEquals(Lists.of("c", "a", "b"), new ArrayList<>(set));
+    }
+
+    @Test
+    public void testReplaceAt() {
+        final PojoPersistentHashSet<String> set = PojoPersistentHashSet.empty();
+        set.add("c");
+        set.add("a");
+        set.add("b");
+
+        final PojoPersistentHashSet<String> copy = set.copy();
+        copy.replaceAt(1, "z");
+
+        this.checkEquals(Lists.of("c", "z", "b"), new ArrayList<>(copy));
+        this.checkEquals(Lists.of("c", "a", "b"), new ArrayList<>(set), "original changed");
+    }
+
+    @Test
+    public void testClear() {
+        final Set<String> set = PojoPersistentHashSet.empty();
+        set.add("a");
+        set.clear();
+        this.checkEquals(0, set.size(), "size");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPersistentHashSet<?>> type() {
+        return Cast.to(PojoPersistentHashSet.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
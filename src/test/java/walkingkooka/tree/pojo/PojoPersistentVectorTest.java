@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPersistentVectorTest implements ClassTesting2<PojoPersistentVector<?>> {
+
+    private final static int COUNT = 33 * 32 + 5;
+
+    @Test
+    public void testEmpty() {
+        final PojoPersistentVector<String> vector = PojoPersistentVector.empty();
+        this.checkEquals(0, vector.size(), "size");
+        this.checkEquals(Lists.empty(), vector);
+    }
+
+    @Test
+    public void testAdd() {
+        final PojoPersistentVector<Integer> vector = PojoPersistentVector.empty();
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            vector.add(i);
+            expected.add(i);
+        }
+        this.checkEquals(expected, vector);
+    }
+
+    @Test
+    public void testWith() {
+        for (final int count : new int[]{0, 1, 31, 32, 33, 1024, COUNT}) {
+            this.checkEquals(this.arrayList(count), this.vector(count), "count " + count);
+        }
+    }
+
+    @Test
+    public void testWithThenAdd() {
+        final PojoPersistentVector<Integer> vector = this.vector(1024);
+        vector.add(1024);
+        vector.add(1025);
+        this.checkEquals(this.arrayList(1026), vector);
+    }
+
+    @Test
+    public void testAddAll() {
+        final PojoPersistentVector<Integer> vector = this.vector(10);
+        vector.addAll(this.arrayList(COUNT).subList(10, COUNT));
+        this.checkEquals(this.arrayList(COUNT), vector);
+    }
+
+    @Test
+    public void testSet() {
+        final PojoPersistentVector<Integer> vector = this.vector(COUNT);
+        final List<Integer> expected = this.arrayList(COUNT);
+
+        for (int i = 0; i < COUNT; i += 7) {
+            this.checkEquals(i, vector.set(i, -i), "set " + i);
+            expected.set(i, -i);
+        }
+        this.checkEquals(expected, vector);
+    }
+
+    @Test
+    public void testGetInvalidIndexFails() {
+        final PojoPersistentVector<Integer> vector = this.vector(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(3));
+    }
+
+    @Test
+    public void testCopyIndependent() {
+        final PojoPersistentVector<Integer> vector = this.vector(COUNT);
+        final PojoPersistentVector<Integer> copy = vector.copy();
+
+        copy.set(0, -1);
+        copy.set(COUNT - 1, -2);
+        copy.add(-3);
+
+        this.checkEquals(this.arrayList(COUNT), vector);
+        this.checkEquals(-1, copy.get(0));
+        this.checkEquals(-2, copy.get(COUNT - 1));
+        this.checkEquals(-3, copy.get(COUNT));
+    }
+
+    @Test
+    public void testAddAtIndexAndRemove() {
+        final PojoPersistentVector<Integer> vector = this.vector(40);
+        final List<Integer> expected = this.arrayList(40);
+
+        vector.add(5, -5);
+        expected.add(5, -5);
+        this.checkEquals(expected, vector);
+
+        this.checkEquals(expected.remove(33), vector.remove(33));
+        this.checkEquals(expected, vector);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final PojoPersistentVector<Integer> vector = this.vector(40);
+        final Iterator<Integer> iterator = vector.iterator();
+        while (iterator.hasNext()) {
+            if (0 == iterator.next() % 2) {
+                iterator.remove();
+            }
+        }
+        this.checkEquals(20, vector.size(), "size");
+        this.checkEquals(39, vector.get(19));
+    }
+
+    @Test
+    public void testCopyInto() {
+        final Object[] array = new Object[COUNT];
+        this.vector(COUNT).copyInto(array);
+        this.checkEquals(this.arrayList(COUNT), Lists.of(array));
+    }
+
+    @Test
+    public void testClear() {
+        final PojoPersistentVector<Integer> vector = this.vector(40);
+        vector.clear();
+        this.checkEquals(0, vector.size(), "size");
+
+        vector.add(1);
+        this.checkEquals(Lists.of(1), vector);
+    }
+
+    private PojoPersistentVector<Integer> vector(final int count) {
+        return PojoPersistentVector.with(this.arrayList(count).toArray());
+    }
+
+    private List<Integer> arrayList(final int count) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPersistentVector<?>> type() {
+        return Cast.to(PojoPersistentVector.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
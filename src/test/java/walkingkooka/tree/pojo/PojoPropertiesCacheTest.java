@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPropertiesCacheTest implements ClassTesting2<PojoPropertiesCache>,
+    ToStringTesting<PojoPropertiesCache> {
+
+    private final static List<PojoProperty> PROPERTIES = Lists.of(
+        ReflectionPojoNodeContext.with()
+            .properties(TestBean.class)
+            .get(0)
+    );
+
+    @Test
+    public void testGet() {
+        assertSame(PROPERTIES, PojoPropertiesCache.with((t) -> PROPERTIES).get(TestBean.class));
+    }
+
+    @Test
+    public void testGetCached() {
+        final AtomicInteger discoveries = new AtomicInteger();
+        final PojoPropertiesCache cache = PojoPropertiesCache.with((t) -> {
+            discoveries.incrementAndGet();
+            return PROPERTIES;
+        });
+
+        cache.get(TestBean.class);
+        cache.get(TestBean.class);
+        cache.get(TestBean.class);
+
+        this.checkEquals(1, discoveries.get(), "discoveries");
+    }
+
+    @Test
+    public void testGetDiscoveryFailureRetried() {
+        final AtomicInteger discoveries = new AtomicInteger();
+        final PojoPropertiesCache cache = PojoPropertiesCache.with((t) -> {
+            if (1 == discoveries.incrementAndGet()) {
+                throw new ReflectionPojoException("first fails");
+            }
+            return PROPERTIES;
+        });
+
+        assertThrows(ReflectionPojoException.class, () -> cache.get(TestBean.class));
+        assertSame(PROPERTIES, cache.get(TestBean.class));
+        this.checkEquals(2L, cache.cacheStatistics().misses(), "misses");
+    }
+
+    @Test
+    public void testGetConcurrentDiscoversOnce() throws Exception {
+        final int threads = 8;
+        final AtomicInteger discoveries = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final PojoPropertiesCache cache = PojoPropertiesCache.with((t) -> {
+            discoveries.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException cause) {
+                throw new AssertionError(cause);
+            }
+            return PROPERTIES;
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<List<PojoProperty>>> futures = Lists.array();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(TestBean.class);
+                }));
+            }
+            start.countDown();
+
+            for (final Future<List<PojoProperty>> future : futures) {
+                assertSame(PROPERTIES, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        this.checkEquals(1, discoveries.get(), "discoveries");
+
+        final PojoCacheStatistics statistics = cache.cacheStatistics();
+        this.checkEquals((long) threads - 1, statistics.hits(), "hits");
+        this.checkEquals(1L, statistics.misses(), "misses");
+    }
+
+    @Test
+    public void testCacheStatisticsInitial() {
+        this.checkEquals(
+            PojoCacheStatistics.with(0, 0, Duration.ZERO),
+            PojoPropertiesCache.with((t) -> PROPERTIES).cacheStatistics()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final PojoPropertiesCache cache = PojoPropertiesCache.with((t) -> PROPERTIES);
+        this.toStringAndCheck(cache, cache.cacheStatistics().toString());
+    }
+
+    @Override
+    public Class<PojoPropertiesCache> type() {
+        return PojoPropertiesCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+        public String getX() {
+            return "x";
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class PojoPropertyAccessEventTest implements ClassTesting2<PojoPropertyAccessEvent>,
+    PojoEventTesting {
+
+    @Test
+    public void testGetDisabled() {
+        this.checkEquals(
+            "a",
+            PojoPropertyAccessEvent.get(this.property("value"), new TestBean("a"))
+        );
+    }
+
+    @Test
+    public void testSetDisabled() {
+        final TestBean bean = new TestBean("a");
+        PojoPropertyAccessEvent.set(this.property("value"), bean, "b");
+        this.checkEquals("b", bean.value);
+    }
+
+    @Test
+    public void testGet() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyAccessEvent.NAME,
+            () -> PojoPropertyAccessEvent.get(this.property("value"), new TestBean("a"))
+        );
+        this.check(events, "value", PojoPropertyAccessEvent.GET);
+    }
+
+    @Test
+    public void testSet() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyAccessEvent.NAME,
+            () -> PojoPropertyAccessEvent.set(this.property("value"), new TestBean("a"), "b")
+        );
+        this.check(events, "value", PojoPropertyAccessEvent.SET);
+    }
+
+    @Test
+    public void testFastGetBelowThreshold() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyAccessEvent.NAME,
+            s -> {},
+            () -> PojoPropertyAccessEvent.get(this.property("value"), new TestBean("a"))
+        );
+        this.checkEquals(0, events.size(), () -> events.toString());
+    }
+
+    @Test
+    public void testSlowGetAboveThreshold() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyAccessEvent.NAME,
+            s -> {},
+            () -> PojoPropertyAccessEvent.get(this.property("slow"), new TestBean("a"))
+        );
+        this.check(events, "slow", PojoPropertyAccessEvent.GET);
+    }
+
+    @Test
+    public void testNodeChildValue() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyAccessEvent.NAME,
+            () -> PojoNode.wrap(
+                    PojoName.property("root"),
+                    new TestBean("a"),
+                    PojoNodeContexts.jfr(ReflectionPojoNodeContext.with())
+                ).children()
+                .get(1)
+                .value()
+        );
+        this.check(events, "value", PojoPropertyAccessEvent.GET);
+    }
+
+    private PojoProperty property(final String name) {
+        return ReflectionPojoNodeContext.with()
+            .properties(TestBean.class)
+            .stream()
+            .filter(p -> p.name().value().equals(name))
+            .findFirst()
+            .get();
+    }
+
+    private void check(final List<RecordedEvent> events,
+                       final String property,
+                       final String operation) {
+        this.checkEquals(1, events.size(), () -> events.toString());
+
+        final RecordedEvent event = events.get(0);
+        this.checkEquals(TestBean.class.getName(), event.getString("className"), "className");
+        this.checkEquals(property, event.getString("property"), "property");
+        this.checkEquals(operation, event.getString("operation"), "operation");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPropertyAccessEvent> type() {
+        return PojoPropertyAccessEvent.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        TestBean(final String value) {
+            this.value = value;
+        }
+
+        public String getSlow() {
+            try {
+                Thread.sleep(5);
+            } catch (final InterruptedException cause) {
+                Thread.currentThread().interrupt();
+            }
+            return this.value;
+        }
+
+        public String getValue() {
+            return this.value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+
+        String value;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class PojoPropertyDiscoveryEventTest implements ClassTesting2<PojoPropertyDiscoveryEvent>,
+    PojoEventTesting {
+
+    @Test
+    public void testDisabled() {
+        this.checkEquals(
+            2,
+            ReflectionPojoNodeContext.with()
+                .properties(TestBean.class)
+                .size()
+        );
+    }
+
+    @Test
+    public void testDiscovery() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyDiscoveryEvent.NAME,
+            () -> PojoNodeContexts.jfr(ReflectionPojoNodeContext.with())
+                .properties(TestBean.class)
+        );
+        this.checkEquals(1, events.size(), () -> events.toString());
+
+        final RecordedEvent event = events.get(0);
+        this.checkEquals(TestBean.class.getName(), event.getString("className"), "className");
+        this.checkEquals(2, event.getInt("propertyCount"), "propertyCount");
+    }
+
+    @Test
+    public void testDiscoveryOncePerType() {
+        final List<RecordedEvent> events = this.recordEvents(
+            PojoPropertyDiscoveryEvent.NAME,
+            () -> {
+                final PojoNodeContext context = PojoNodeContexts.jfr(PojoNodeContexts.reflection());
+                context.properties(TestBean.class);
+                context.properties(TestBean.class);
+            }
+        );
+        this.checkEquals(1, events.size(), () -> events.toString());
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPropertyDiscoveryEvent> type() {
+        return PojoPropertyDiscoveryEvent.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        public int getCount() {
+            return this.count;
+        }
+
+        int count;
+
+        public String getValue() {
+            return this.value;
+        }
+
+        String value;
+    }
+}
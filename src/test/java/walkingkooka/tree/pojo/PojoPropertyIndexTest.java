@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PojoPropertyIndexTest implements ClassTesting2<PojoPropertyIndex>,
+    ToStringTesting<PojoPropertyIndex> {
+
+    @Test
+    public void testEmpty() {
+        this.checkEquals(-1, PojoPropertyIndex.with(Lists.empty()).indexOf(PojoName.property("x")));
+    }
+
+    @Test
+    public void testIndexOf() {
+        final List<PojoProperty> properties = this.properties(50);
+        final PojoPropertyIndex index = PojoPropertyIndex.with(properties);
+
+        for (int i = 0; i < properties.size(); i++) {
+            this.checkEquals(i, index.indexOf(PojoName.property("p" + i)), "p" + i);
+        }
+        this.checkEquals(-1, index.indexOf(PojoName.property("unknown")), "unknown");
+    }
+
+    @Test
+    public void testIndexOfSameAsScan() {
+        final List<PojoProperty> properties = this.properties(7);
+        final PojoPropertyIndex index = PojoPropertyIndex.with(properties);
+
+        for (final String name : new String[]{"p0", "p3", "p6", "p7", "x"}) {
+            final PojoName pojoName = PojoName.property(name);
+            this.checkEquals(PojoPropertyIndex.scan(properties, pojoName), index.indexOf(pojoName), name);
+        }
+    }
+
+    @Test
+    public void testProperties() {
+        final List<PojoProperty> properties = this.properties(3);
+        assertSame(properties, PojoPropertyIndex.with(properties).properties());
+    }
+
+    @Test
+    public void testToString() {
+        final List<PojoProperty> properties = this.properties(2);
+        this.toStringAndCheck(PojoPropertyIndex.with(properties), properties.toString());
+    }
+
+    private List<PojoProperty> properties(final int count) {
+        final List<PojoProperty> properties = Lists.array();
+        for (int i = 0; i < count; i++) {
+            properties.add(new TestProperty(PojoName.property("p" + i)));
+        }
+        return properties;
+    }
+
+    private final static class TestProperty implements PojoProperty {
+
+        TestProperty(final PojoName name) {
+            this.name = name;
+        }
+
+        @Override
+        public PojoName name() {
+            return this.name;
+        }
+
+        private final PojoName name;
+
+        @Override
+        public Object get(final Object instance) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object set(final Object instance, final Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return this.name.toString();
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPropertyIndex> type() {
+        return PojoPropertyIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
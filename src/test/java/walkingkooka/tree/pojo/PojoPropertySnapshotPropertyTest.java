@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPropertySnapshotPropertyTest implements ClassTesting2<PojoPropertySnapshotProperty>,
+    HashCodeEqualsDefinedTesting2<PojoPropertySnapshotProperty>,
+    ToStringTesting<PojoPropertySnapshotProperty> {
+
+    private final static PojoName NAME = PojoName.property("name");
+
+    @Test
+    public void testWithNullNameFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertySnapshotProperty.with(null, "getName", null));
+    }
+
+    @Test
+    public void testWithNullGetterFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertySnapshotProperty.with(NAME, null, null));
+    }
+
+    @Test
+    public void testEqualsDifferentName() {
+        this.checkNotEquals(PojoPropertySnapshotProperty.with(PojoName.property("different"), "getName", "setName"));
+    }
+
+    @Test
+    public void testEqualsDifferentGetter() {
+        this.checkNotEquals(PojoPropertySnapshotProperty.with(NAME, "name", "setName"));
+    }
+
+    @Test
+    public void testEqualsWithoutSetter() {
+        this.checkNotEquals(PojoPropertySnapshotProperty.with(NAME, "getName", null));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createObject(), "name=getName/setName");
+    }
+
+    @Test
+    public void testToStringWithoutSetter() {
+        this.toStringAndCheck(PojoPropertySnapshotProperty.with(NAME, "getName", null), "name=getName");
+    }
+
+    @Override
+    public PojoPropertySnapshotProperty createObject() {
+        return PojoPropertySnapshotProperty.with(NAME, "getName", "setName");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPropertySnapshotProperty> type() {
+        return PojoPropertySnapshotProperty.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
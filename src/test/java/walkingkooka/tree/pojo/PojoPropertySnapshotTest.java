@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPropertySnapshotTest implements ClassTesting2<PojoPropertySnapshot>,
+    HashCodeEqualsDefinedTesting2<PojoPropertySnapshot>,
+    ToStringTesting<PojoPropertySnapshot> {
+
+    private final static PojoPropertySnapshotType TYPE = PojoPropertySnapshotType.with(
+        "example.Bean",
+        123,
+        Lists.of(
+            PojoPropertySnapshotProperty.with(PojoName.property("enabled"), "isEnabled", null),
+            PojoPropertySnapshotProperty.with(PojoName.property("name"), "getName", "setName")
+        )
+    );
+
+    private final static PojoPropertySnapshotType TYPE2 = PojoPropertySnapshotType.with(
+        "example.Another",
+        456,
+        Lists.empty()
+    );
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertySnapshot.with(null));
+    }
+
+    @Test
+    public void testWithEmpty() {
+        assertSame(PojoPropertySnapshot.empty(), PojoPropertySnapshot.with(Lists.empty()));
+    }
+
+    @Test
+    public void testSize() {
+        this.checkEquals(2, this.createObject().size());
+    }
+
+    @Test
+    public void testGetMissing() {
+        this.checkEquals(null, this.createObject().get(String.class));
+    }
+
+    @Test
+    public void testGetStale() {
+        this.checkEquals(
+            null,
+            PojoPropertySnapshot.with(
+                Lists.of(
+                    PojoPropertySnapshotType.with(TestBean.class.getName(), 0, Lists.empty())
+                )
+            ).get(TestBean.class)
+        );
+    }
+
+    @Test
+    public void testGet() {
+        final PojoPropertySnapshotType type = PojoPropertySnapshotType.with(
+            TestBean.class.getName(),
+            PojoPropertySnapshotType.hash(TestBean.class),
+            Lists.empty()
+        );
+        assertSame(
+            type,
+            PojoPropertySnapshot.with(Lists.of(type)).get(TestBean.class)
+        );
+    }
+
+    @Test
+    public void testWriteNullFails() {
+        assertThrows(NullPointerException.class, () -> this.createObject().write(null));
+    }
+
+    @Test
+    public void testReadNullFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertySnapshot.read(null));
+    }
+
+    @Test
+    public void testWriteAndReadEmpty() throws IOException {
+        assertSame(PojoPropertySnapshot.empty(), this.writeAndRead(PojoPropertySnapshot.empty()));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final PojoPropertySnapshot snapshot = this.createObject();
+        this.checkEquals(snapshot, this.writeAndRead(snapshot));
+    }
+
+    @Test
+    public void testWriteAndReadDiscovered() throws IOException {
+        final ReflectionPojoNodeContext context = ReflectionPojoNodeContext.with(PojoPropertySnapshot.empty());
+        context.properties(TestBean.class);
+
+        final PojoPropertySnapshot snapshot = context.propertySnapshot();
+        this.checkEquals(1, snapshot.size(), "size");
+        this.checkEquals(snapshot, this.writeAndRead(snapshot));
+    }
+
+    @Test
+    public void testReadInvalidHeaderFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> PojoPropertySnapshot.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 0, 1}))
+        );
+        this.checkEquals("Invalid snapshot, unknown header 1020304", thrown.getMessage());
+    }
+
+    @Test
+    public void testReadCorruptFails() throws IOException {
+        final byte[] bytes = this.write(this.createObject());
+        bytes[bytes.length / 2] ^= 1;
+
+        assertThrows(
+            IOException.class,
+            () -> PojoPropertySnapshot.read(new ByteArrayInputStream(bytes))
+        );
+    }
+
+    @Test
+    public void testReadTruncatedFails() throws IOException {
+        final byte[] bytes = this.write(this.createObject());
+
+        assertThrows(
+            IOException.class,
+            () -> PojoPropertySnapshot.read(new ByteArrayInputStream(bytes, 0, bytes.length - 1))
+        );
+    }
+
+    private PojoPropertySnapshot writeAndRead(final PojoPropertySnapshot snapshot) throws IOException {
+        return PojoPropertySnapshot.read(new ByteArrayInputStream(this.write(snapshot)));
+    }
+
+    private byte[] write(final PojoPropertySnapshot snapshot) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.write(bytes);
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testEqualsDifferentType() {
+        this.checkNotEquals(PojoPropertySnapshot.with(Lists.of(TYPE)));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "[example.Another [], example.Bean [enabled=isEnabled, name=getName/setName]]"
+        );
+    }
+
+    @Override
+    public PojoPropertySnapshot createObject() {
+        return PojoPropertySnapshot.with(Lists.of(TYPE, TYPE2));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPropertySnapshot> type() {
+        return PojoPropertySnapshot.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    public static class TestBean {
+
+        public String getName() {
+            return "name";
+        }
+
+        public void setName(final String name) {
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPropertySnapshotTypeTest implements ClassTesting2<PojoPropertySnapshotType>,
+    HashCodeEqualsDefinedTesting2<PojoPropertySnapshotType>,
+    ToStringTesting<PojoPropertySnapshotType> {
+
+    private final static PojoPropertySnapshotProperty PROPERTY = PojoPropertySnapshotProperty.with(
+        PojoName.property("name"),
+        "getName",
+        "setName"
+    );
+
+    @Test
+    public void testWithNullClassNameFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertySnapshotType.with(null, 1, Lists.empty()));
+    }
+
+    @Test
+    public void testWithNullPropertiesFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertySnapshotType.with("Bean", 1, null));
+    }
+
+    @Test
+    public void testHash() {
+        final long hash = PojoPropertySnapshotType.hash(TestBean.class);
+        this.checkNotEquals(PojoPropertySnapshotType.UNKNOWN_HASH, hash);
+        this.checkEquals(hash, PojoPropertySnapshotType.hash(TestBean.class), "hash repeated");
+    }
+
+    @Test
+    public void testHashDifferentTypes() {
+        this.checkNotEquals(
+            PojoPropertySnapshotType.hash(TestBean.class),
+            PojoPropertySnapshotType.hash(TestSubBean.class)
+        );
+    }
+
+    @Test
+    public void testHashJdkType() {
+        this.checkNotEquals(
+            PojoPropertySnapshotType.UNKNOWN_HASH,
+            PojoPropertySnapshotType.hash(String.class)
+        );
+    }
+
+    @Test
+    public void testHashLambdaUnknown() {
+        final Supplier<String> lambda = () -> "lambda";
+        this.checkEquals(
+            PojoPropertySnapshotType.UNKNOWN_HASH,
+            PojoPropertySnapshotType.hash(lambda.getClass())
+        );
+    }
+
+    @Test
+    public void testIsCurrent() {
+        this.checkEquals(
+            true,
+            PojoPropertySnapshotType.with(
+                TestBean.class.getName(),
+                PojoPropertySnapshotType.hash(TestBean.class),
+                Lists.empty()
+            ).isCurrent(TestBean.class)
+        );
+    }
+
+    @Test
+    public void testIsCurrentDifferentHash() {
+        this.checkEquals(
+            false,
+            PojoPropertySnapshotType.with(
+                TestBean.class.getName(),
+                PojoPropertySnapshotType.hash(TestBean.class) + 1,
+                Lists.empty()
+            ).isCurrent(TestBean.class)
+        );
+    }
+
+    @Test
+    public void testIsCurrentUnknownHash() {
+        final Supplier<String> lambda = () -> "lambda";
+        this.checkEquals(
+            false,
+            PojoPropertySnapshotType.with(
+                lambda.getClass().getName(),
+                PojoPropertySnapshotType.UNKNOWN_HASH,
+                Lists.empty()
+            ).isCurrent(lambda.getClass())
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentClassName() {
+        this.checkNotEquals(PojoPropertySnapshotType.with("Different", 1, Lists.of(PROPERTY)));
+    }
+
+    @Test
+    public void testEqualsDifferentHash() {
+        this.checkNotEquals(PojoPropertySnapshotType.with("Bean", 2, Lists.of(PROPERTY)));
+    }
+
+    @Test
+    public void testEqualsDifferentProperties() {
+        this.checkNotEquals(PojoPropertySnapshotType.with("Bean", 1, Lists.empty()));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createObject(), "Bean [name=getName/setName]");
+    }
+
+    @Override
+    public PojoPropertySnapshotType createObject() {
+        return PojoPropertySnapshotType.with("Bean", 1, Lists.of(PROPERTY));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoPropertySnapshotType> type() {
+        return PojoPropertySnapshotType.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    public static class TestBean {
+
+        public String getName() {
+            return "name";
+        }
+    }
+
+    public static class TestSubBean extends TestBean {
+    }
+}
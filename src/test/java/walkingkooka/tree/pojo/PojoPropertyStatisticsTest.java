@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoPropertyStatisticsTest implements ClassTesting2<PojoPropertyStatistics>,
+    HashCodeEqualsDefinedTesting2<PojoPropertyStatistics>,
+    ToStringTesting<PojoPropertyStatistics> {
+
+    private final static Class<?> TYPE = String.class;
+    private final static PojoName NAME = PojoName.property("length");
+    private final static long INVOCATIONS = 4;
+    private final static long EXCEPTIONS = 1;
+    private final static Duration TOTAL_TIME = Duration.ofNanos(400);
+
+    @Test
+    public void testWithNullTypeFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertyStatistics.with(null, NAME, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testWithNullNameFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertyStatistics.with(TYPE, null, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testWithNegativeInvocationsFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoPropertyStatistics.with(TYPE, NAME, -1, EXCEPTIONS, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testWithNegativeExceptionsFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, -1, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testWithNullTotalTimeFails() {
+        assertThrows(NullPointerException.class, () -> PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, EXCEPTIONS, null, latencies()));
+    }
+
+    @Test
+    public void testWithWrongLatenciesLengthFails() {
+        assertThrows(IllegalArgumentException.class, () -> PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, new long[1]));
+    }
+
+    @Test
+    public void testWith() {
+        final PojoPropertyStatistics statistics = this.createObject();
+        this.checkEquals(TYPE, statistics.type(), "type");
+        this.checkEquals(NAME, statistics.name(), "name");
+        this.checkEquals(INVOCATIONS, statistics.invocations(), "invocations");
+        this.checkEquals(EXCEPTIONS, statistics.exceptions(), "exceptions");
+        this.checkEquals(TOTAL_TIME, statistics.totalTime(), "totalTime");
+    }
+
+    @Test
+    public void testWithCopiesLatencies() {
+        final long[] latencies = latencies();
+        final PojoPropertyStatistics statistics = PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies);
+        latencies[0] = 99;
+
+        this.checkEquals(this.createObject(), statistics);
+    }
+
+    @Test
+    public void testAverageTime() {
+        this.checkEquals(Duration.ofNanos(100), this.createObject().averageTime());
+    }
+
+    @Test
+    public void testAverageTimeWithoutInvocations() {
+        this.checkEquals(
+            Duration.ZERO,
+            PojoPropertyStatistics.with(TYPE, NAME, 0, 0, Duration.ZERO, new long[PojoPropertyStatistics.BUCKET_COUNT]).averageTime()
+        );
+    }
+
+    @Test
+    public void testBucket() {
+        this.checkEquals(0, PojoPropertyStatistics.bucket(0), "0");
+        this.checkEquals(0, PojoPropertyStatistics.bucket(1), "1");
+        this.checkEquals(1, PojoPropertyStatistics.bucket(2), "2");
+        this.checkEquals(1, PojoPropertyStatistics.bucket(3), "3");
+        this.checkEquals(6, PojoPropertyStatistics.bucket(100), "100");
+        this.checkEquals(PojoPropertyStatistics.BUCKET_COUNT - 1, PojoPropertyStatistics.bucket(Long.MAX_VALUE), "max");
+    }
+
+    @Test
+    public void testPercentileZeroFails() {
+        assertThrows(IllegalArgumentException.class, () -> this.createObject().percentile(0));
+    }
+
+    @Test
+    public void testPercentileGreaterThanHundredFails() {
+        assertThrows(IllegalArgumentException.class, () -> this.createObject().percentile(100.1));
+    }
+
+    @Test
+    public void testPercentile() {
+        final PojoPropertyStatistics statistics = this.createObject();
+
+        // 3 invocations in bucket 6 (64..127 nanos) and 1 in bucket 10 (1024..2047 nanos)
+        this.checkEquals(Duration.ofNanos(127), statistics.percentile(50), "p50");
+        this.checkEquals(Duration.ofNanos(127), statistics.percentile(75), "p75");
+        this.checkEquals(Duration.ofNanos(2047), statistics.percentile(99), "p99");
+        this.checkEquals(Duration.ofNanos(2047), statistics.percentile(100), "p100");
+    }
+
+    @Test
+    public void testPercentileWithoutInvocations() {
+        this.checkEquals(
+            Duration.ZERO,
+            PojoPropertyStatistics.with(TYPE, NAME, 0, 0, Duration.ZERO, new long[PojoPropertyStatistics.BUCKET_COUNT]).percentile(99)
+        );
+    }
+
+    @Test
+    public void testDifferentType() {
+        this.checkNotEquals(PojoPropertyStatistics.with(Object.class, NAME, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testDifferentName() {
+        this.checkNotEquals(PojoPropertyStatistics.with(TYPE, PojoName.property("different"), INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testDifferentInvocations() {
+        this.checkNotEquals(PojoPropertyStatistics.with(TYPE, NAME, 99, EXCEPTIONS, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testDifferentExceptions() {
+        this.checkNotEquals(PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, 2, TOTAL_TIME, latencies()));
+    }
+
+    @Test
+    public void testDifferentTotalTime() {
+        this.checkNotEquals(PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, EXCEPTIONS, Duration.ofDays(1), latencies()));
+    }
+
+    @Test
+    public void testDifferentLatencies() {
+        final long[] latencies = latencies();
+        latencies[0] = 1;
+        latencies[6] = 2;
+        this.checkNotEquals(PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createObject(), "java.lang.String.length invocations=4 exceptions=1 totalTime=PT0.0000004S");
+    }
+
+    @Override
+    public PojoPropertyStatistics createObject() {
+        return PojoPropertyStatistics.with(TYPE, NAME, INVOCATIONS, EXCEPTIONS, TOTAL_TIME, latencies());
+    }
+
+    private static long[] latencies() {
+        final long[] latencies = new long[PojoPropertyStatistics.BUCKET_COUNT];
+        latencies[6] = 3;
+        latencies[10] = 1;
+        return latencies;
+    }
+
+    @Override
+    public Class<PojoPropertyStatistics> type() {
+        return PojoPropertyStatistics.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
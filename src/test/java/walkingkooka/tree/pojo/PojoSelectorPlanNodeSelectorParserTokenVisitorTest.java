@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoSelectorPlanNodeSelectorParserTokenVisitorTest implements ClassTesting2<PojoSelectorPlanNodeSelectorParserTokenVisitor>,
+    ToStringTesting<PojoSelectorPlanNodeSelectorParserTokenVisitor> {
+
+    @Test
+    public void testRoot() {
+        this.stepsAndCheck("/");
+    }
+
+    @Test
+    public void testNames() {
+        this.stepsAndCheck(
+            "/orders/lines",
+            PojoSelectorPlanStep.property(PojoName.property("orders"), null),
+            PojoSelectorPlanStep.property(PojoName.property("lines"), null)
+        );
+    }
+
+    @Test
+    public void testWildcardPositionClass() {
+        this.stepsAndCheck(
+            "/*/*[2]/*[3][@class='x']/name[@class=\"y\"]",
+            PojoSelectorPlanStep.any(null),
+            PojoSelectorPlanStep.index(1, null),
+            PojoSelectorPlanStep.index(2, "x"),
+            PojoSelectorPlanStep.property(PojoName.property("name"), "y")
+        );
+    }
+
+    @Test
+    public void testRelativeFails() {
+        this.stepsFails("orders");
+    }
+
+    @Test
+    public void testAttributeFails() {
+        this.stepsFails("/*[@name='x']");
+    }
+
+    @Test
+    public void testDuplicateClassFails() {
+        this.stepsFails("/*[@class='x'][@class='y']");
+    }
+
+    private void stepsAndCheck(final String selector,
+                               final PojoSelectorPlanStep... steps) {
+        this.checkEquals(
+            Lists.of(steps),
+            Arrays.asList(PojoSelectorPlanNodeSelectorParserTokenVisitor.steps(PojoSelectorPlanTest.parse(selector))),
+            selector
+        );
+    }
+
+    private void stepsFails(final String selector) {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PojoSelectorPlanNodeSelectorParserTokenVisitor.steps(PojoSelectorPlanTest.parse(selector))
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final PojoSelectorPlanNodeSelectorParserTokenVisitor visitor = new PojoSelectorPlanNodeSelectorParserTokenVisitor();
+        visitor.accept(PojoSelectorPlanTest.parse("/orders/*"));
+        this.toStringAndCheck(visitor, "[orders]");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoSelectorPlanNodeSelectorParserTokenVisitor> type() {
+        return PojoSelectorPlanNodeSelectorParserTokenVisitor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class PojoSelectorPlanStepTest implements ClassTesting2<PojoSelectorPlanStep>,
+    ToStringTesting<PojoSelectorPlanStep> {
+
+    private final static PojoName NAME = PojoName.property("value");
+
+    @Test
+    public void testTestWithoutClassName() {
+        final PojoSelectorPlanStep step = PojoSelectorPlanStep.any(null);
+        this.checkEquals(true, step.test(null), "null");
+        this.checkEquals(true, step.test("string"), "string");
+    }
+
+    @Test
+    public void testTestWithClassName() {
+        final PojoSelectorPlanStep step = PojoSelectorPlanStep.any(String.class.getName());
+        this.checkEquals(false, step.test(null), "null");
+        this.checkEquals(true, step.test("string"), "string");
+        this.checkEquals(false, step.test(1), "integer");
+    }
+
+    @Test
+    public void testEquals() {
+        this.checkEquals(PojoSelectorPlanStep.index(1, "x"), PojoSelectorPlanStep.index(1, "x"));
+    }
+
+    @Test
+    public void testToStringProperty() {
+        this.toStringAndCheck(PojoSelectorPlanStep.property(NAME, null), "value");
+    }
+
+    @Test
+    public void testToStringIndex() {
+        this.toStringAndCheck(PojoSelectorPlanStep.index(2, null), "*[3]");
+    }
+
+    @Test
+    public void testToStringAnyClassName() {
+        this.toStringAndCheck(PojoSelectorPlanStep.any("java.lang.String"), "*[@class='java.lang.String']");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoSelectorPlanStep> type() {
+        return PojoSelectorPlanStep.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.ParserReporters;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.select.parser.ExpressionNodeSelectorParserToken;
+import walkingkooka.tree.select.parser.NodeSelectorParserContexts;
+import walkingkooka.tree.select.parser.NodeSelectorParsers;
+
+import java.math.MathContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PojoSelectorPlanTest implements ClassTesting2<PojoSelectorPlan>,
+    ToStringTesting<PojoSelectorPlan> {
+
+    private final static PojoNodeContext CONTEXT = ReflectionPojoNodeContext.with();
+
+    @Test
+    public void testCompileNullPathFails() {
+        assertThrows(NullPointerException.class, () -> PojoSelectorPlan.compile(null, TestOrders.class, CONTEXT));
+    }
+
+    @Test
+    public void testCompileNullTypeFails() {
+        assertThrows(NullPointerException.class, () -> compile("/orders", null, CONTEXT));
+    }
+
+    @Test
+    public void testCompileNullContextFails() {
+        assertThrows(NullPointerException.class, () -> compile("/orders", TestOrders.class, null));
+    }
+
+    @Test
+    public void testCompileRelativeFails() {
+        this.compileFails("orders");
+    }
+
+    @Test
+    public void testCompileDescendantFails() {
+        this.compileFails("/orders//lines");
+    }
+
+    @Test
+    public void testCompileParentFails() {
+        this.compileFails("/orders/..");
+    }
+
+    @Test
+    public void testCompileInvalidPredicateFails() {
+        this.compileFails("/orders[@name='x']");
+    }
+
+    @Test
+    public void testCompilePositionAfterNameFails() {
+        this.compileFails("/orders[1]");
+    }
+
+    @Test
+    public void testCompileZeroPositionFails() {
+        this.compileFails("/orders/*[0]");
+    }
+
+    @Test
+    public void testCompilePositionAfterClassPredicateFails() {
+        this.compileFails("/orders/*[@class='x'][1]");
+    }
+
+    @Test
+    public void testCompileUnknownRootPropertyFails() {
+        this.compileFails("/unknown");
+    }
+
+    private void compileFails(final String path) {
+        assertThrows(IllegalArgumentException.class, () -> compile(path, TestOrders.class, CONTEXT));
+    }
+
+    @Test
+    public void testSelectRoot() {
+        final PojoNode root = this.root();
+        this.checkEquals(Lists.of(root), this.plan("/").select(root));
+    }
+
+    @Test
+    public void testSelectProperty() {
+        this.selectAndCheck("/orders/*[1]/id", "A");
+    }
+
+    @Test
+    public void testSelectAny() {
+        this.selectAndCheck("/orders/*/id", "A", "B");
+    }
+
+    @Test
+    public void testSelectAnyAny() {
+        this.selectAndCheck("/orders/*/lines/*/sku", "a1", "a2", "b1");
+    }
+
+    @Test
+    public void testSelectIndex() {
+        this.selectAndCheck("/orders/*[1]/lines/*[2]/sku", "a2");
+    }
+
+    @Test
+    public void testSelectIndexOutOfRange() {
+        this.selectAndCheck("/orders/*[10]/id");
+    }
+
+    @Test
+    public void testSelectClassPredicate() {
+        this.selectAndCheck("/orders/*/lines/*[@class='" + TestSpecialLine.class.getName() + "']/sku", "a2");
+    }
+
+    @Test
+    public void testSelectClassPredicateDoubleQuotes() {
+        this.selectAndCheck("/orders/*/lines/*[@class=\"" + TestSpecialLine.class.getName() + "\"]/sku", "a2");
+    }
+
+    @Test
+    public void testSelectPositionAndClassPredicate() {
+        this.selectAndCheck("/orders/*[1]/lines/*[2][@class='" + TestSpecialLine.class.getName() + "']/sku", "a2");
+        this.selectAndCheck("/orders/*[1]/lines/*[1][@class='" + TestSpecialLine.class.getName() + "']/sku");
+    }
+
+    @Test
+    public void testSelectUnknownNestedProperty() {
+        this.selectAndCheck("/orders/*/unknown");
+    }
+
+    @Test
+    public void testSelectPropertyOfList() {
+        this.selectAndCheck("/orders/id");
+    }
+
+    @Test
+    public void testSelectMatchesAreNodesInGraph() {
+        final PojoNode root = this.root();
+        final List<PojoNode> selected = this.plan("/orders/*[2]/lines/*[1]/sku").select(root);
+
+        this.checkEquals(1, selected.size(), "selected");
+        final PojoNode sku = selected.get(0);
+        this.checkEquals(PojoName.property("sku"), sku.name(), "name");
+        this.checkEquals(
+            root.children().get(0).children().get(1).children().get(1).children().get(0).children().get(0),
+            sku
+        );
+        this.checkEquals(
+            "B",
+            sku.parentOrFail()
+                .parentOrFail()
+                .parentOrFail()
+                .children()
+                .get(0)
+                .value()
+        );
+    }
+
+    @Test
+    public void testSelectIdentitySharedReference() {
+        final TestOrder shared = new TestOrder("A", new TestLine("a1"), new TestSpecialLine("a2"));
+        final PojoNodeContext context = PojoNodeContexts.identity(CONTEXT, "cycle");
+        final PojoNode root = PojoNode.wrap(
+            PojoName.property("root"),
+            new TestOrders(shared, new TestOrder("B", new TestLine("b1")), shared),
+            context
+        );
+
+        this.checkEquals(
+            Lists.of("a1", "a2", "b1", "a1", "a2"),
+            compile("/orders/*/lines/*/sku", TestOrders.class, context)
+                .select(root)
+                .stream()
+                .map(PojoNode::value)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testSelectIdentityCycle() {
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        a.next = b;
+        b.next = a;
+
+        final PojoNodeContext context = PojoNodeContexts.identity(CONTEXT, "cycle");
+        final PojoNode root = PojoNode.wrap(PojoName.property("root"), a, context);
+        final List<PojoNode> selected = compile("/next/next", TestCycle.class, context)
+            .select(root);
+
+        this.checkEquals(1, selected.size(), "selected");
+        this.checkEquals("cycle", selected.get(0).value(), "value");
+        this.checkEquals(
+            root.children().get(1).children().get(1),
+            selected.get(0)
+        );
+    }
+
+    @Test
+    public void testSelectIdentityCycleDecorated() {
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        a.next = b;
+        b.next = a;
+
+        final PojoNodeContext context = PojoNodeContexts.instrumented(
+            PojoNodeContexts.cachePolicy(
+                PojoNodeContexts.identity(CONTEXT, "cycle"),
+                PojoNodeCachePolicy.weak()
+            )
+        );
+        final List<PojoNode> selected = compile("/next/next", TestCycle.class, context)
+            .select(PojoNode.wrap(PojoName.property("root"), a, context));
+
+        this.checkEquals(1, selected.size(), "selected");
+        this.checkEquals("cycle", selected.get(0).value(), "value");
+    }
+
+    @Test
+    public void testSelectIdentitySharedReferenceCycleOnlyOnOnePath() {
+        final TestCycle root = new TestCycle("root");
+        final TestCycle a = new TestCycle("a");
+        final TestCycle b = new TestCycle("b");
+        final TestCycle shared = new TestCycle("shared");
+        root.next = a;
+        root.other = b;
+        a.next = shared;
+        b.next = shared;
+        shared.next = b;
+
+        // root/next/next/next is b, while root/other/next/next cycles back to b
+        final PojoNodeContext context = PojoNodeContexts.identity(CONTEXT, "cycle");
+        this.checkEquals(
+            Lists.of("b"),
+            compile("/*/next/next/name", TestCycle.class, context)
+                .select(PojoNode.wrap(PojoName.property("root"), root, context))
+                .stream()
+                .map(PojoNode::value)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testSelectWrongRootTypeFails() {
+        assertThrows(IllegalArgumentException.class, () -> this.plan("/orders").select(PojoNode.wrap(PojoName.property("root"), "string", CONTEXT)));
+    }
+
+    @Test
+    public void testType() {
+        this.checkEquals(TestOrders.class, this.plan("/orders").type());
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.plan("/orders/*/id"), "/orders/*/id");
+    }
+
+    @Test
+    public void testToStringDoubleQuotes() {
+        this.toStringAndCheck(
+            this.plan("/orders/*[1]/lines/*[@class=\"x\"]"),
+            "/orders/*[1]/lines/*[@class='x']"
+        );
+    }
+
+    private void selectAndCheck(final String path,
+                                final Object... values) {
+        this.checkEquals(
+            Lists.of(values),
+            this.plan(path)
+                .select(this.root())
+                .stream()
+                .map(PojoNode::value)
+                .collect(Collectors.toList()),
+            path
+        );
+    }
+
+    private PojoSelectorPlan plan(final String path) {
+        return compile(path, TestOrders.class, CONTEXT);
+    }
+
+    /**
+     * Parses the selector and compiles the {@link ExpressionNodeSelectorParserToken}.
+     */
+    static PojoSelectorPlan compile(final String selector,
+                                    final Class<?> type,
+                                    final PojoNodeContext context) {
+        return PojoSelectorPlan.compile(
+            parse(selector),
+            type,
+            context
+        );
+    }
+
+    static ExpressionNodeSelectorParserToken parse(final String selector) {
+        return (ExpressionNodeSelectorParserToken) NodeSelectorParsers.expression()
+            .orFailIfCursorNotEmpty(ParserReporters.basic())
+            .parse(
+                TextCursors.charSequence(selector),
+                NodeSelectorParserContexts.basic(ExpressionNumberKind.DEFAULT, MathContext.DECIMAL32)
+            ).get();
+    }
+
+    private PojoNode root() {
+        return PojoNode.wrap(
+            PojoName.property("root"),
+            new TestOrders(
+                new TestOrder("A", new TestLine("a1"), new TestSpecialLine("a2")),
+                new TestOrder("B", new TestLine("b1"))
+            ),
+            CONTEXT
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<PojoSelectorPlan> type() {
+        return PojoSelectorPlan.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    public static class TestOrders {
+
+        TestOrders(final TestOrder... orders) {
+            this.orders = Lists.of(orders);
+        }
+
+        public List<TestOrder> getOrders() {
+            return this.orders;
+        }
+
+        private final List<TestOrder> orders;
+    }
+
+    public static class TestOrder {
+
+        TestOrder(final String id, final TestLine... lines) {
+            this.id = id;
+            this.lines = Lists.of(lines);
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        private final String id;
+
+        public List<TestLine> getLines() {
+            return this.lines;
+        }
+
+        private final List<TestLine> lines;
+    }
+
+    public static class TestLine {
+
+        TestLine(final String sku) {
+            this.sku = sku;
+        }
+
+        public String getSku() {
+            return this.sku;
+        }
+
+        private final String sku;
+    }
+
+    public static class TestCycle {
+
+        TestCycle(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        private final String name;
+
+        public TestCycle getNext() {
+            return this.next;
+        }
+
+        TestCycle next;
+
+        public TestCycle getOther() {
+            return this.other;
+        }
+
+        TestCycle other;
+    }
+
+    public static class TestSpecialLine extends TestLine {
+
+        TestSpecialLine(final String sku) {
+            super(sku);
+        }
+    }
+}
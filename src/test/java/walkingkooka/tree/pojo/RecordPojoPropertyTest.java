@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class RecordPojoPropertyTest implements ClassTesting2<RecordPojoProperty>,
+    ToStringTesting<RecordPojoProperty> {
+
+    @Test
+    public void testGet() throws Exception {
+        this.checkEquals("a", this.label().get(RecordPojoTypeTest.point(1, "a")));
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        this.checkEquals(
+            RecordPojoTypeTest.point(1, "b"),
+            this.label().set(RecordPojoTypeTest.point(1, "a"), "b")
+        );
+    }
+
+    @Test
+    public void testSetSameValue() throws Exception {
+        final Object point = RecordPojoTypeTest.point(1, "a");
+        assertSame(point, this.label().set(point, "a"));
+    }
+
+    @Test
+    public void testIsReadOnly() throws Exception {
+        this.checkEquals(false, this.label().isReadOnly());
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        this.toStringAndCheck(this.label(), "label");
+    }
+
+    private PojoProperty label() throws Exception {
+        return RecordPojoType.with(RecordPojoTypeTest.record())
+            .properties()
+            .get(0);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<RecordPojoProperty> type() {
+        return RecordPojoProperty.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
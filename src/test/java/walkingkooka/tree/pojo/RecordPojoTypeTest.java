@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public final class RecordPojoTypeTest implements ClassTesting2<RecordPojoType>,
+    ToStringTesting<RecordPojoType> {
+
+    @Test
+    public void testIsRecordNonRecord() {
+        this.checkEquals(false, RecordPojoType.isRecord(TestBean.class));
+    }
+
+    @Test
+    public void testIsRecord() throws Exception {
+        this.checkEquals(true, RecordPojoType.isRecord(record()));
+    }
+
+    @Test
+    public void testWithNonRecordFails() {
+        assertThrows(IllegalArgumentException.class, () -> RecordPojoType.with(TestBean.class));
+    }
+
+    @Test
+    public void testProperties() throws Exception {
+        this.checkEquals(
+            "label, x",
+            RecordPojoType.with(record())
+                .properties()
+                .stream()
+                .map(PojoProperty::toString)
+                .collect(Collectors.joining(", "))
+        );
+    }
+
+    @Test
+    public void testDiscoveredByReflectionPojoNodeContext() throws Exception {
+        final Class<?> record = record();
+        this.checkEquals(
+            RecordPojoProperty.class,
+            ReflectionPojoNodeContext.with()
+                .properties(record)
+                .get(0)
+                .getClass()
+        );
+    }
+
+    @Test
+    public void testRecordInstrumented() throws Exception {
+        final Class<?> record = record();
+        final PojoNodeContext context = PojoNodeContexts.instrumented(ReflectionPojoNodeContext.with());
+        this.checkEquals(
+            record.getName(),
+            RecordPojoType.record(context.properties(record)).toString()
+        );
+    }
+
+    @Test
+    public void testRecordNonRecord() {
+        this.checkEquals(null, RecordPojoType.record(ReflectionPojoNodeContext.with().properties(TestBean.class)));
+    }
+
+    @Test
+    public void testSetChildrenValuesInstrumented() throws Exception {
+        final InstrumentedPojoNodeContext context = InstrumentedPojoNodeContext.with(ReflectionPojoNodeContext.with());
+        final PojoNode node = PojoNode.wrap(
+            PojoName.property("point"),
+            point(1, "a"),
+            context
+        );
+        this.checkEquals(
+            point(2, "b"),
+            node.setChildrenValues(Lists.of("b", 2)).value()
+        );
+
+        // only the get of the first value compared with the new values, the rebuild is a single constructor call
+        this.checkEquals(
+            1L,
+            context.propertyStatistics()
+                .stream()
+                .mapToLong(PojoPropertyStatistics::invocations)
+                .sum(),
+            "invocations"
+        );
+    }
+
+    @Test
+    public void testValues() throws Exception {
+        final Object point = point(1, "a");
+        final Object[] values = RecordPojoType.with(point.getClass())
+            .values(point);
+        this.checkEquals(Lists.of(1, "a"), Lists.of(values));
+    }
+
+    @Test
+    public void testRebuildSame() throws Exception {
+        final Object point = point(1, "a");
+        assertSame(
+            point,
+            RecordPojoType.with(point.getClass())
+                .rebuild(point, new Object[]{1, "a"})
+        );
+    }
+
+    @Test
+    public void testRebuildDifferent() throws Exception {
+        final Object point = point(1, "a");
+        final Object rebuilt = RecordPojoType.with(point.getClass())
+            .rebuild(point, new Object[]{2, "b"});
+        assertNotSame(point, rebuilt);
+        this.checkEquals(point(2, "b"), rebuilt);
+    }
+
+    @Test
+    public void testSetChildrenValues() throws Exception {
+        final PojoNode node = PojoNode.wrap(
+            PojoName.property("point"),
+            point(1, "a"),
+            ReflectionPojoNodeContext.with()
+        );
+        this.checkEquals(
+            point(2, "b"),
+            node.setChildrenValues(Lists.of("b", 2)).value()
+        );
+    }
+
+    @Test
+    public void testSetChildren() throws Exception {
+        final PojoNode node = PojoNode.wrap(
+            PojoName.property("point"),
+            point(1, "a"),
+            ReflectionPojoNodeContext.with()
+        );
+        final PojoNodeContext context = ReflectionPojoNodeContext.with();
+        this.checkEquals(
+            point(3, "c"),
+            node.setChildren(
+                Lists.of(
+                    PojoNode.wrap(PojoName.property("label"), "c", context),
+                    PojoNode.wrap(PojoName.property("x"), 3, context)
+                )
+            ).value()
+        );
+    }
+
+    @Test
+    public void testReplaceChild() throws Exception {
+        final PojoNode node = PojoNode.wrap(
+            PojoName.property("point"),
+            point(1, "a"),
+            ReflectionPojoNodeContext.with()
+        );
+        this.checkEquals(
+            point(1, "z"),
+            node.children()
+                .get(0)
+                .setValue("z")
+                .parentOrFail()
+                .value()
+        );
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        final Class<?> record = record();
+        this.toStringAndCheck(RecordPojoType.with(record), record.getName());
+    }
+
+    // helpers..........................................................................................................
+
+    /**
+     * Creates a new instance of the test record, <code>record Point(int x, String label)</code>.
+     */
+    static Object point(final int x, final String label) throws Exception {
+        return record()
+            .getConstructor(int.class, String.class)
+            .newInstance(x, label);
+    }
+
+    /**
+     * Records cannot be declared here because this project targets java 11, so a small record is compiled and loaded
+     * when the tests run on a JRE with record support.
+     */
+    static Class<?> record() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 16, "records require java 16");
+
+        if (null == record) {
+            record = compileRecord();
+        }
+        return record;
+    }
+
+    private static Class<?> record;
+
+    private static Class<?> compileRecord() throws IOException, ClassNotFoundException {
+        final Path directory = Files.createTempDirectory(RecordPojoTypeTest.class.getSimpleName());
+        final Path source = directory.resolve("Point.java");
+        Files.write(
+            source,
+            "package test; public record Point(int x, String label) {}".getBytes()
+        );
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (0 != compiler.run(null, null, null, "-d", directory.toString(), source.toString())) {
+            throw new AssertionError("Compiling " + source + " failed");
+        }
+
+        return new URLClassLoader(new URL[]{directory.toUri().toURL()})
+            .loadClass("test.Point");
+    }
+
+    public static class TestBean {
+        public String getX() {
+            return "x";
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<RecordPojoType> type() {
+        return RecordPojoType.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
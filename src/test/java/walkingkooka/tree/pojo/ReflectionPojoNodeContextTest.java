@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class ReflectionPojoNodeContextTest implements ClassTesting2<ReflectionPojoNodeContext>,
     PojoNodeContextTesting<ReflectionPojoNodeContext> {
@@ -188,6 +189,229 @@ public final class ReflectionPojoNodeContextTest implements ClassTesting2<Reflec
         this.setAndCheck(new TestBooleanWrapperIsGetterAndSetter(), X, BOOLEAN2);
     }
 
+    // MethodHandles....................................................................................................
+
+    @Test
+    public void testMethodHandlesGetterAndSetter() {
+        final TestGetterAndSetter instance = new TestGetterAndSetter();
+        final PojoProperty property = this.methodHandleProperty(TestGetterAndSetter.class);
+        this.checkEquals(MethodHandleMutableWritablePojoProperty.class, property.getClass(), "property");
+
+        this.checkEquals(null, property.set(instance, STRING2));
+        this.checkEquals(STRING2, property.get(instance));
+    }
+
+    @Test
+    public void testMethodHandlesGetterAndSetter2() {
+        final TestGetterAndSetter2 instance = new TestGetterAndSetter2();
+        final PojoProperty property = this.methodHandleProperty(TestGetterAndSetter2.class);
+        this.checkEquals(MethodHandleImmutableWritablePojoProperty.class, property.getClass(), "property");
+
+        final TestGetterAndSetter2 result = (TestGetterAndSetter2) property.set(instance, STRING2);
+        assertNotSame(instance, result);
+        this.checkEquals(STRING2, result.x);
+        this.checkEquals(STRING, instance.x, "original property was changed");
+    }
+
+    @Test
+    public void testMethodHandlesBooleanPrimitiveIsGetterAndSetter() {
+        final TestBooleanPrimitiveIsGetterAndSetter instance = new TestBooleanPrimitiveIsGetterAndSetter();
+        final PojoProperty property = this.methodHandleProperty(TestBooleanPrimitiveIsGetterAndSetter.class);
+
+        property.set(instance, BOOLEAN2);
+        this.checkEquals(BOOLEAN2, property.get(instance));
+    }
+
+    @Test
+    public void testMethodHandlesGetterReadOnly() {
+        final PojoProperty property = this.methodHandleProperty(TestGetter.class);
+        this.checkEquals(MethodHandleReadOnlyPojoProperty.class, property.getClass(), "property");
+        this.checkEquals(STRING, property.get(new TestGetter()));
+    }
+
+    private PojoProperty methodHandleProperty(final Class<?> type) {
+        return this.properties(
+            ReflectionPojoNodeContext.with(MethodHandlePojoProperty::with),
+            type
+        ).get(0);
+    }
+
+    // cacheStatistics...........................................................................................
+
+    @Test
+    public void testPropertyIndex() {
+        this.propertyIndexAndCheck(TestGetter.class, PojoName.property("x"), 0);
+    }
+
+    @Test
+    public void testPropertyIndexUnknown() {
+        this.propertyIndexAndCheck(TestGetter.class, PojoName.property("unknown"), -1);
+    }
+
+    @Test
+    public void testPropertyIndexNullNameFails() {
+        assertThrows(NullPointerException.class, () -> this.createContext().propertyIndex(TestGetter.class, null));
+    }
+
+    @Test
+    public void testCacheStatistics() {
+        final ReflectionPojoNodeContext context = this.createContext();
+        context.properties(TestGetter.class);
+        context.properties(TestGetter.class);
+        context.properties(TestGetter.class);
+        context.properties(TestGetGetter.class);
+
+        final PojoCacheStatistics statistics = context.cacheStatistics();
+        this.checkEquals(2L, statistics.hits(), "hits");
+        this.checkEquals(2L, statistics.misses(), "misses");
+    }
+
+    // propertySnapshot...........................................................................................
+
+    @Test
+    public void testWithNullSnapshotFails() {
+        assertThrows(NullPointerException.class, () -> ReflectionPojoNodeContext.with((PojoPropertySnapshot) null));
+    }
+
+    @Test
+    public void testPropertySnapshotWithoutSnapshot() {
+        final ReflectionPojoNodeContext context = this.createContext();
+        context.properties(TestGetterAndSetter.class);
+
+        this.checkEquals(PojoPropertySnapshot.empty(), context.propertySnapshot());
+    }
+
+    @Test
+    public void testPropertySnapshotRecordsDiscovered() {
+        final ReflectionPojoNodeContext context = ReflectionPojoNodeContext.with(PojoPropertySnapshot.empty());
+        context.properties(TestGetterAndSetter.class);
+        context.properties(TestBooleanPrimitiveIsGetterAndSetter.class);
+
+        this.checkEquals(
+            PojoPropertySnapshot.with(
+                Lists.of(
+                    this.snapshotType(
+                        TestGetterAndSetter.class,
+                        PojoPropertySnapshotProperty.with(X, "getX", "setX")
+                    ),
+                    this.snapshotType(
+                        TestBooleanPrimitiveIsGetterAndSetter.class,
+                        PojoPropertySnapshotProperty.with(X, "isX", "setX")
+                    )
+                )
+            ),
+            context.propertySnapshot()
+        );
+    }
+
+    @Test
+    public void testPropertySnapshotResolved() {
+        // the snapshot omits the setter, which scanning would find
+        final ReflectionPojoNodeContext context = this.snapshotContext(
+            this.snapshotType(
+                TestGetterAndSetter.class,
+                PojoPropertySnapshotProperty.with(X, "getX", null)
+            )
+        );
+
+        final List<PojoProperty> properties = context.properties(TestGetterAndSetter.class);
+        this.checkEquals(1, properties.size(), () -> properties.toString());
+        this.checkEquals(X, properties.get(0).name(), "name");
+        this.checkEquals(true, properties.get(0).isReadOnly(), "readOnly");
+        this.getAndCheck(new TestGetterAndSetter(), properties.get(0), STRING);
+    }
+
+    @Test
+    public void testWithFactoryNullSnapshotFails() {
+        assertThrows(NullPointerException.class, () -> ReflectionPojoNodeContext.with(MethodHandlePojoProperty::with, null));
+    }
+
+    @Test
+    public void testWithNullFactorySnapshotFails() {
+        assertThrows(NullPointerException.class, () -> ReflectionPojoNodeContext.with(null, PojoPropertySnapshot.empty()));
+    }
+
+    @Test
+    public void testPropertySnapshotResolvedMethodHandles() {
+        final ReflectionPojoNodeContext context = ReflectionPojoNodeContext.with(
+            MethodHandlePojoProperty::with,
+            PojoPropertySnapshot.with(
+                Lists.of(
+                    this.snapshotType(
+                        TestGetterAndSetter.class,
+                        PojoPropertySnapshotProperty.with(X, "getX", null)
+                    )
+                )
+            )
+        );
+
+        final List<PojoProperty> properties = context.properties(TestGetterAndSetter.class);
+        this.checkEquals(1, properties.size(), () -> properties.toString());
+        this.checkEquals(MethodHandleReadOnlyPojoProperty.class, properties.get(0).getClass(), "property");
+        this.getAndCheck(new TestGetterAndSetter(), properties.get(0), STRING);
+    }
+
+    @Test
+    public void testPropertySnapshotResolvedRecorded() {
+        final PojoPropertySnapshotType type = this.snapshotType(
+            TestGetterAndSetter.class,
+            PojoPropertySnapshotProperty.with(X, "getX", null)
+        );
+        final ReflectionPojoNodeContext context = this.snapshotContext(type);
+        context.properties(TestGetterAndSetter.class);
+
+        this.checkEquals(
+            PojoPropertySnapshot.with(Lists.of(type)),
+            context.propertySnapshot()
+        );
+    }
+
+    @Test
+    public void testPropertySnapshotStaleHashDiscovered() {
+        final ReflectionPojoNodeContext context = this.snapshotContext(
+            PojoPropertySnapshotType.with(
+                TestGetterAndSetter.class.getName(),
+                PojoPropertySnapshotType.hash(TestGetterAndSetter.class) + 1,
+                Lists.of(PojoPropertySnapshotProperty.with(X, "getX", null))
+            )
+        );
+
+        this.checkEquals(false, context.properties(TestGetterAndSetter.class).get(0).isReadOnly());
+    }
+
+    @Test
+    public void testPropertySnapshotMissingMethodDiscovered() {
+        final ReflectionPojoNodeContext context = this.snapshotContext(
+            this.snapshotType(
+                TestGetterAndSetter.class,
+                PojoPropertySnapshotProperty.with(X, "getX", "setMissing")
+            )
+        );
+
+        this.checkEquals(false, context.properties(TestGetterAndSetter.class).get(0).isReadOnly());
+    }
+
+    @Test
+    public void testPropertySnapshotBridgeGetterNotRecorded() {
+        final ReflectionPojoNodeContext context = ReflectionPojoNodeContext.with(PojoPropertySnapshot.empty());
+        context.properties(TestCovariantGetter.class);
+
+        this.checkEquals(PojoPropertySnapshot.empty(), context.propertySnapshot());
+    }
+
+    private ReflectionPojoNodeContext snapshotContext(final PojoPropertySnapshotType type) {
+        return ReflectionPojoNodeContext.with(PojoPropertySnapshot.with(Lists.of(type)));
+    }
+
+    private PojoPropertySnapshotType snapshotType(final Class<?> type,
+                                                  final PojoPropertySnapshotProperty... properties) {
+        return PojoPropertySnapshotType.with(
+            type.getName(),
+            PojoPropertySnapshotType.hash(type),
+            Lists.of(properties)
+        );
+    }
+
     // createList...........................................................................................
 
     @Test
@@ -298,6 +522,21 @@ public final class ReflectionPojoNodeContextTest implements ClassTesting2<Reflec
         return JavaVisibility.PACKAGE_PRIVATE;
     }
 
+    static class TestCovariantGetterBase {
+
+        public Object getX() {
+            return STRING;
+        }
+    }
+
+    static class TestCovariantGetter extends TestCovariantGetterBase {
+
+        @Override
+        public String getX() {
+            return STRING;
+        }
+    }
+
     static class TestGetter {
 
         final String x = STRING;
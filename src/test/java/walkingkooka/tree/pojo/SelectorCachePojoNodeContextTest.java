@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.tree.pojo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SelectorCachePojoNodeContextTest implements ClassTesting2<SelectorCachePojoNodeContext>,
+    PojoNodeContextTesting<SelectorCachePojoNodeContext>,
+    ToStringTesting<SelectorCachePojoNodeContext> {
+
+    private final static PojoNodeContext CONTEXT = ReflectionPojoNodeContext.with();
+
+    @Test
+    public void testWithNullCacheFails() {
+        assertThrows(NullPointerException.class, () -> SelectorCachePojoNodeContext.with(null, CONTEXT));
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(NullPointerException.class, () -> SelectorCachePojoNodeContext.with(PojoNodeSelectorCache.with(1), null));
+    }
+
+    @Test
+    public void testReplaceChildRemovesRoot() {
+        final PojoNodeSelectorCache cache = PojoNodeSelectorCache.with(10);
+        final List<Object> value = Lists.of("a", "b", "c");
+        final PojoNode root = PojoNode.wrap(
+            PojoName.property("root"),
+            value,
+            SelectorCachePojoNodeContext.with(cache, CONTEXT)
+        );
+
+        cache.select(PojoSelectorPlanTest.compile("/*", List.class, CONTEXT), root);
+        this.checkEquals(1, cache.size(), "size");
+
+        this.checkEquals(
+            Lists.of("a", "z", "c"),
+            root.children()
+                .get(1)
+                .setValue("z")
+                .root()
+                .value()
+        );
+        this.checkEquals(0, cache.size(), "size");
+    }
+
+    @Override
+    public SelectorCachePojoNodeContext createContext() {
+        return SelectorCachePojoNodeContext.with(PojoNodeSelectorCache.with(1), CONTEXT);
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createContext(), "selectorCache " + CONTEXT);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<SelectorCachePojoNodeContext> type() {
+        return SelectorCachePojoNodeContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}